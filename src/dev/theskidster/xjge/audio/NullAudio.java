@@ -0,0 +1,45 @@
+package dev.theskidster.xjge.audio;
+
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Audio service which performs no operations. Provided by the {@link dev.theskidster.xjge.util.ServiceLocator ServiceLocator} while the engine is running in
+ * {@linkplain dev.theskidster.xjge.main.App#getHeadless() headless mode} so game code may continue to make requests to the audio engine without an OpenAL
+ * context.
+ */
+public final class NullAudio implements AudioService {
+    
+    private float soundMasterVolume = 1;
+    private float musicMasterVolume = 1;
+    
+    @Override public void init() {}
+    @Override public void findSourceStates() {}
+    @Override public int playSound(String sound, Vector3f position, boolean loop) { return -1; }
+    @Override public void playMusic(String song) {}
+    @Override public void pauseMusic() {}
+    @Override public void resumeMusic() {}
+    @Override public void stopMusic() {}
+    @Override public void checkIntroFinished() {}
+    @Override public void updateSourcePositions() {}
+    @Override public void setSourceState(int handle, int state) {}
+    @Override public void setViewportCamData(int id, Vector3f position, Vector3f direction) {}
+    
+    @Override public float getSoundMasterVolume() { return soundMasterVolume; }
+    @Override public float getMusicMasterVolume() { return musicMasterVolume; }
+    
+    @Override
+    public void setSoundMasterVolume(float masterVolume) {
+        soundMasterVolume = masterVolume;
+    }
+    
+    @Override
+    public void setMusicMasterVolume(float masterVolume) {
+        musicMasterVolume = masterVolume;
+    }
+    
+}
\ No newline at end of file
@@ -9,9 +9,12 @@ import static org.lwjgl.openal.AL10.*;
 import static org.lwjgl.stb.STBVorbis.stb_vorbis_decode_memory;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.system.libc.LibCStdlib;
 import dev.theskidster.xjge.main.App;
 import dev.theskidster.xjge.main.ErrorUtil;
 import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.util.Asset;
+import dev.theskidster.xjge.util.AssetLoader;
 
 /**
  * @author J Hoffman
@@ -25,34 +28,95 @@ import dev.theskidster.xjge.main.Logger;
 public final class Sound {
     
     public final int handle;
-    private int channels;
-    private int sampleRate;
+    private final int channels;
+    private final int sampleRate;
+    
+    /**
+     * Audio samples decoded from a file which have yet to be supplied to OpenAL. Decoding makes no calls to the audio API, as such samples may be prepared 
+     * on any thread.
+     */
+    static final class Samples {
+        final int channels;
+        final int sampleRate;
+        final ShortBuffer data;
+        
+        Samples(int channels, int sampleRate, ShortBuffer data) {
+            this.channels   = channels;
+            this.sampleRate = sampleRate;
+            this.data       = data;
+        }
+    }
     
     /**
      * Creates a new sound object from the audio file specified. If the audio file cannot be found, the engine will instead use a fallback sound in its place.
      * 
      * @param filename the name of the file to load. Expects the file extension to be included.
      */
-     Sound(String filename) {
-        handle = alGenBuffers();
+    Sound(String filename) {
+        this(decode(filename));
+    }
+    
+    /**
+     * Generates a new data buffer from audio samples that have already been decoded.
+     * 
+     * @param samples the decoded samples to supply to the buffer
+     */
+    private Sound(Samples samples) {
+        handle     = alGenBuffers();
+        channels   = samples.channels;
+        sampleRate = samples.sampleRate;
+        
+        if(channels == 1) {
+            alBufferData(handle, AL_FORMAT_MONO16, samples.data, sampleRate);
+        } else {
+            alBufferData(handle, AL_FORMAT_STEREO16, samples.data, sampleRate);
+        }
         
+        LibCStdlib.free(samples.data);
+        
+        ErrorUtil.checkALError();
+    }
+    
+    /**
+     * Begins loading a sound in the background through the {@link AssetLoader}. The audio file is decoded on a worker thread and its samples are supplied 
+     * to OpenAL by the rendering thread once they're ready.
+     * 
+     * @param filename the name of the file to load. Expects the file extension to be included.
+     * @return a handle which will supply the sound once it has finished loading
+     */
+    public static Asset<Sound> loadAsync(String filename) {
+        return AssetLoader.load(filename, () -> decode(filename), Sound::new);
+    }
+    
+    /**
+     * Reads and decodes the audio file specified. If the audio file cannot be found, the fallback sound will be decoded in its place.
+     * 
+     * @param filename the name of the file to decode. Expects the file extension to be included.
+     * @return the decoded audio samples
+     */
+    private static Samples decode(String filename) {
         try(InputStream file = Sound.class.getResourceAsStream("/dev/theskidster/" + App.DOMAIN + "/assets/" + filename)) {
-            loadSound(file);
+            return decodeSamples(file);
         } catch(Exception e) {
             Logger.logWarning("Failed to load sound: \"" + filename + "\"", e);
             
-            loadSound(Sound.class.getResourceAsStream("/dev/theskidster/" + App.DOMAIN + "/assets/sfx_beep.ogg"));
+            try(InputStream file = Sound.class.getResourceAsStream("/dev/theskidster/" + App.DOMAIN + "/assets/sfx_beep.ogg")) {
+                return decodeSamples(file);
+            } catch(IOException ex) {
+                Logger.logSevere("Failed to load fallback sound.", ex);
+                return null;
+            }
         }
-        
-        ErrorUtil.checkALError();
     }
     
     /**
-     * Parses the data of the sound file specified and generates a new data buffer from its contents that can be used by a {@link Source} object.
+     * Parses the data of the sound file specified into 16-bit samples.
      * 
      * @param file the file to extract sound data from
+     * @return the decoded audio samples
+     * @throws IOException if the file could not be read
      */
-    private void loadSound(InputStream file) {
+    private static Samples decodeSamples(InputStream file) throws IOException {
         try(MemoryStack stack = MemoryStack.stackPush()) {
             byte[] data = file.readAllBytes();
             
@@ -62,19 +126,11 @@ public final class Sound {
             
             ShortBuffer sound = stb_vorbis_decode_memory(soundBuf, channelsBuf, sampleBuf);
             
-            channels   = channelsBuf.get();
-            sampleRate = sampleBuf.get();
-            
-            if(channels == 1) {
-                alBufferData(handle, AL_FORMAT_MONO16, sound, sampleRate);
-            } else {
-                alBufferData(handle, AL_FORMAT_STEREO16, sound, sampleRate);
-            }
-            
             MemoryUtil.memFree(soundBuf);
             
-        } catch(IOException e) {
-            Logger.logSevere("Failed to load fallback sound.", e);
+            if(sound == null) throw new NullPointerException("STB failed to parse sound data.");
+            
+            return new Samples(channelsBuf.get(), sampleBuf.get(), sound);
         }
     }
     
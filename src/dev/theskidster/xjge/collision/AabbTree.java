@@ -0,0 +1,507 @@
+package dev.theskidster.xjge.collision;
+
+import java.util.Arrays;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Dynamic bounding volume hierarchy used as the broadphase of a {@link CollisionWorld}. Each leaf of the tree holds the bounds of a single collider which have
+ * been enlarged by a margin, so colliders that move only slightly remain within their existing leaf and don't need to be reinserted. Leaves are inserted
+ * beside the sibling which adds the least surface area to the tree and the tree is rebalanced through rotations as it's modified, keeping queries close to
+ * logarithmic regardless of the order colliders are added in.
+ * <br><br>
+ * Nodes are stored in parallel arrays and referred to by their index, freed nodes are recycled before the arrays are grown. Queries traverse the tree using
+ * a stack owned by the tree, as such the tree is not thread-safe and queries may not be nested.
+ */
+final class AabbTree {
+    
+    private int root = -1;
+    private int freeList;
+    private int numNodes;
+    private int capacity;
+    private int[] stack = new int[64];
+    
+    static final int NULL = -1;
+    
+    float[] bounds;
+    int[] parent;
+    int[] child1;
+    int[] child2;
+    int[] height;
+    Collider[] colliders;
+    
+    /**
+     * Visits each leaf found by a query.
+     */
+    @FunctionalInterface
+    interface Visitor {
+        
+        /**
+         * Called for each leaf whose bounds satisfy the query.
+         * 
+         * @param proxy the index of the leaf
+         * @return true to continue the query, false to end it
+         */
+        boolean visit(int proxy);
+    }
+    
+    /**
+     * Creates a new tree.
+     * 
+     * @param capacity the number of nodes to allocate space for initially
+     */
+    AabbTree(int capacity) {
+        allocate(Math.max(capacity, 16));
+    }
+    
+    /**
+     * Grows the node arrays and adds the new nodes to the free list.
+     */
+    private void allocate(int newCapacity) {
+        bounds    = (bounds == null) ? new float[newCapacity * 6] : Arrays.copyOf(bounds, newCapacity * 6);
+        parent    = (parent == null) ? new int[newCapacity] : Arrays.copyOf(parent, newCapacity);
+        child1    = (child1 == null) ? new int[newCapacity] : Arrays.copyOf(child1, newCapacity);
+        child2    = (child2 == null) ? new int[newCapacity] : Arrays.copyOf(child2, newCapacity);
+        height    = (height == null) ? new int[newCapacity] : Arrays.copyOf(height, newCapacity);
+        colliders = (colliders == null) ? new Collider[newCapacity] : Arrays.copyOf(colliders, newCapacity);
+        
+        for(int i = capacity; i < newCapacity - 1; i++) {
+            parent[i] = i + 1;
+            height[i] = -1;
+        }
+        
+        parent[newCapacity - 1] = NULL;
+        height[newCapacity - 1] = -1;
+        
+        freeList = capacity;
+        capacity = newCapacity;
+    }
+    
+    /**
+     * Takes a node from the free list, growing the tree if none remain.
+     */
+    private int allocateNode() {
+        if(freeList == NULL) allocate(capacity * 2);
+        
+        int node = freeList;
+        freeList = parent[node];
+        
+        parent[node]    = NULL;
+        child1[node]    = NULL;
+        child2[node]    = NULL;
+        height[node]    = 0;
+        colliders[node] = null;
+        
+        numNodes++;
+        
+        return node;
+    }
+    
+    /**
+     * Returns a node to the free list.
+     */
+    private void freeNode(int node) {
+        parent[node]    = freeList;
+        height[node]    = -1;
+        colliders[node] = null;
+        freeList        = node;
+        
+        numNodes--;
+    }
+    
+    /**
+     * Creates a leaf with the bounds specified for a collider.
+     * 
+     * @param collider the collider the leaf represents
+     * @return the index of the new leaf
+     */
+    int createProxy(Collider collider, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int proxy = allocateNode();
+        
+        setBounds(proxy, minX, minY, minZ, maxX, maxY, maxZ);
+        colliders[proxy] = collider;
+        
+        insertLeaf(proxy);
+        
+        return proxy;
+    }
+    
+    /**
+     * Removes the leaf of a collider from the tree.
+     * 
+     * @param proxy the index of the leaf
+     */
+    void destroyProxy(int proxy) {
+        removeLeaf(proxy);
+        freeNode(proxy);
+    }
+    
+    /**
+     * Reinserts a leaf with new bounds.
+     * 
+     * @param proxy the index of the leaf
+     */
+    void moveProxy(int proxy, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        removeLeaf(proxy);
+        setBounds(proxy, minX, minY, minZ, maxX, maxY, maxZ);
+        insertLeaf(proxy);
+    }
+    
+    /**
+     * Determines whether a box lies entirely within the bounds of a node.
+     */
+    boolean contains(int node, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int i = node * 6;
+        
+        return bounds[i]     <= minX && bounds[i + 1] <= minY && bounds[i + 2] <= minZ &&
+               bounds[i + 3] >= maxX && bounds[i + 4] >= maxY && bounds[i + 5] >= maxZ;
+    }
+    
+    /**
+     * Determines whether the bounds of two nodes overlap.
+     */
+    boolean overlaps(int a, int b) {
+        int i = a * 6;
+        int j = b * 6;
+        
+        return bounds[i]     <= bounds[j + 3] && bounds[i + 3] >= bounds[j] &&
+               bounds[i + 1] <= bounds[j + 4] && bounds[i + 4] >= bounds[j + 1] &&
+               bounds[i + 2] <= bounds[j + 5] && bounds[i + 5] >= bounds[j + 2];
+    }
+    
+    private void setBounds(int node, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int i = node * 6;
+        
+        bounds[i]     = minX;
+        bounds[i + 1] = minY;
+        bounds[i + 2] = minZ;
+        bounds[i + 3] = maxX;
+        bounds[i + 4] = maxY;
+        bounds[i + 5] = maxZ;
+    }
+    
+    /**
+     * Sets the bounds of a node to the union of the bounds of two other nodes.
+     */
+    private void combine(int node, int a, int b) {
+        int i = a * 6;
+        int j = b * 6;
+        
+        setBounds(node,
+                  Math.min(bounds[i],     bounds[j]),
+                  Math.min(bounds[i + 1], bounds[j + 1]),
+                  Math.min(bounds[i + 2], bounds[j + 2]),
+                  Math.max(bounds[i + 3], bounds[j + 3]),
+                  Math.max(bounds[i + 4], bounds[j + 4]),
+                  Math.max(bounds[i + 5], bounds[j + 5]));
+    }
+    
+    /**
+     * Finds the surface area of the bounds of a node.
+     */
+    private float area(int node) {
+        int i = node * 6;
+        
+        float dx = bounds[i + 3] - bounds[i];
+        float dy = bounds[i + 4] - bounds[i + 1];
+        float dz = bounds[i + 5] - bounds[i + 2];
+        
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+    
+    /**
+     * Finds the surface area of the union of the bounds of two nodes.
+     */
+    private float combinedArea(int a, int b) {
+        int i = a * 6;
+        int j = b * 6;
+        
+        float dx = Math.max(bounds[i + 3], bounds[j + 3]) - Math.min(bounds[i],     bounds[j]);
+        float dy = Math.max(bounds[i + 4], bounds[j + 4]) - Math.min(bounds[i + 1], bounds[j + 1]);
+        float dz = Math.max(bounds[i + 5], bounds[j + 5]) - Math.min(bounds[i + 2], bounds[j + 2]);
+        
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+    
+    /**
+     * Inserts a leaf beside the node which results in the smallest increase to the surface area of the tree.
+     */
+    private void insertLeaf(int leaf) {
+        if(root == NULL) {
+            root         = leaf;
+            parent[leaf] = NULL;
+            return;
+        }
+        
+        int index = root;
+        
+        while(child1[index] != NULL) {
+            int c1 = child1[index];
+            int c2 = child2[index];
+            
+            float area         = area(index);
+            float combinedArea = combinedArea(index, leaf);
+            float cost         = 2 * combinedArea;
+            float inheritance  = 2 * (combinedArea - area);
+            
+            float cost1 = combinedArea(leaf, c1) + inheritance;
+            float cost2 = combinedArea(leaf, c2) + inheritance;
+            
+            if(child1[c1] != NULL) cost1 -= area(c1);
+            if(child1[c2] != NULL) cost2 -= area(c2);
+            
+            if(cost < cost1 && cost < cost2) break;
+            
+            index = (cost1 < cost2) ? c1 : c2;
+        }
+        
+        int sibling   = index;
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+        
+        parent[newParent] = oldParent;
+        height[newParent] = height[sibling] + 1;
+        combine(newParent, leaf, sibling);
+        
+        if(oldParent != NULL) {
+            if(child1[oldParent] == sibling) child1[oldParent] = newParent;
+            else                             child2[oldParent] = newParent;
+        } else {
+            root = newParent;
+        }
+        
+        child1[newParent] = sibling;
+        child2[newParent] = leaf;
+        parent[sibling]   = newParent;
+        parent[leaf]      = newParent;
+        
+        refit(parent[leaf]);
+    }
+    
+    /**
+     * Removes a leaf from the tree, replacing its parent with its sibling.
+     */
+    private void removeLeaf(int leaf) {
+        if(leaf == root) {
+            root = NULL;
+            return;
+        }
+        
+        int parentNode  = parent[leaf];
+        int grandparent = parent[parentNode];
+        int sibling     = (child1[parentNode] == leaf) ? child2[parentNode] : child1[parentNode];
+        
+        if(grandparent != NULL) {
+            if(child1[grandparent] == parentNode) child1[grandparent] = sibling;
+            else                                  child2[grandparent] = sibling;
+            
+            parent[sibling] = grandparent;
+            freeNode(parentNode);
+            
+            refit(grandparent);
+        } else {
+            root            = sibling;
+            parent[sibling] = NULL;
+            freeNode(parentNode);
+        }
+    }
+    
+    /**
+     * Walks from a node to the root, rebalancing each ancestor and recalculating its height and bounds.
+     */
+    private void refit(int index) {
+        while(index != NULL) {
+            index = balance(index);
+            
+            int c1 = child1[index];
+            int c2 = child2[index];
+            
+            height[index] = 1 + Math.max(height[c1], height[c2]);
+            combine(index, c1, c2);
+            
+            index = parent[index];
+        }
+    }
+    
+    /**
+     * Performs a left or right rotation if the subtree rooted at a node is imbalanced.
+     * 
+     * @param a the root of the subtree
+     * @return the new root of the subtree
+     */
+    private int balance(int a) {
+        if(child1[a] == NULL || height[a] < 2) return a;
+        
+        int b = child1[a];
+        int c = child2[a];
+        
+        int balance = height[c] - height[b];
+        
+        if(balance > 1)  return rotate(a, c, b);
+        if(balance < -1) return rotate(a, b, c);
+        
+        return a;
+    }
+    
+    /**
+     * Promotes the taller child of a node to take its place.
+     * 
+     * @param a     the node being rotated
+     * @param up    the taller child of the node which will take its place
+     * @param other the other child of the node
+     * @return the index of the node that took the place of the original
+     */
+    private int rotate(int a, int up, int other) {
+        int f = child1[up];
+        int g = child2[up];
+        
+        child1[up] = a;
+        parent[up] = parent[a];
+        parent[a]  = up;
+        
+        if(parent[up] != NULL) {
+            if(child1[parent[up]] == a) child1[parent[up]] = up;
+            else                        child2[parent[up]] = up;
+        } else {
+            root = up;
+        }
+        
+        int keep = (height[f] > height[g]) ? f : g;
+        int move = (keep == f) ? g : f;
+        
+        child2[up]   = keep;
+        parent[keep] = up;
+        
+        if(child1[a] == up) child1[a] = move;
+        else                child2[a] = move;
+        
+        parent[move] = a;
+        
+        combine(a, other, move);
+        combine(up, a, keep);
+        
+        height[a]  = 1 + Math.max(height[other], height[move]);
+        height[up] = 1 + Math.max(height[a], height[keep]);
+        
+        return up;
+    }
+    
+    /**
+     * Pushes a node onto the traversal stack.
+     */
+    private int push(int top, int node) {
+        if(top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+        stack[top] = node;
+        
+        return top + 1;
+    }
+    
+    /**
+     * Finds every leaf whose bounds overlap the box specified.
+     * 
+     * @param visitor receives each leaf found
+     */
+    void query(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, Visitor visitor) {
+        if(root == NULL) return;
+        
+        int top = push(0, root);
+        
+        while(top > 0) {
+            int node = stack[--top];
+            int i    = node * 6;
+            
+            if(bounds[i]     > maxX || bounds[i + 3] < minX ||
+               bounds[i + 1] > maxY || bounds[i + 4] < minY ||
+               bounds[i + 2] > maxZ || bounds[i + 5] < minZ) {
+                continue;
+            }
+            
+            if(child1[node] == NULL) {
+                if(!visitor.visit(node)) return;
+            } else {
+                top = push(top, child1[node]);
+                top = push(top, child2[node]);
+            }
+        }
+    }
+    
+    /**
+     * Finds every leaf whose bounds, enlarged by a radius, are crossed by a ray. Leaves are visited in no particular order, though nodes beyond the point at
+     * which the ray has been shortened are skipped. The ray is specified by its origin and the reciprocal of each component of its direction.
+     * 
+     * @param radius      the distance to enlarge the bounds of each node by
+     * @param maxDistance the length of the ray
+     * @param caster      tests each leaf crossed by the ray and returns the new length of the ray
+     */
+    void rayCast(float ox, float oy, float oz, float invX, float invY, float invZ, float radius, float maxDistance, RayVisitor caster) {
+        if(root == NULL) return;
+        
+        int top = push(0, root);
+        
+        while(top > 0) {
+            int node = stack[--top];
+            int i    = node * 6;
+            
+            float t1 = (bounds[i]     - radius - ox) * invX;
+            float t2 = (bounds[i + 3] + radius - ox) * invX;
+            float t3 = (bounds[i + 1] - radius - oy) * invY;
+            float t4 = (bounds[i + 4] + radius - oy) * invY;
+            float t5 = (bounds[i + 2] - radius - oz) * invZ;
+            float t6 = (bounds[i + 5] + radius - oz) * invZ;
+            
+            float tMin = Math.max(Math.max(Math.min(t1, t2), Math.min(t3, t4)), Math.min(t5, t6));
+            float tMax = Math.min(Math.min(Math.max(t1, t2), Math.max(t3, t4)), Math.max(t5, t6));
+            
+            if(tMax < 0 || tMin > tMax || tMin > maxDistance) continue;
+            
+            if(child1[node] == NULL) {
+                maxDistance = caster.visit(node, maxDistance);
+            } else {
+                top = push(top, child1[node]);
+                top = push(top, child2[node]);
+            }
+        }
+    }
+    
+    /**
+     * Tests each leaf crossed by a ray.
+     */
+    @FunctionalInterface
+    interface RayVisitor {
+        
+        /**
+         * Called for each leaf whose bounds are crossed by the ray.
+         * 
+         * @param proxy       the index of the leaf
+         * @param maxDistance the current length of the ray
+         * @return the new length of the ray, shortened if the leaf was hit
+         */
+        float visit(int proxy, float maxDistance);
+    }
+    
+    /**
+     * Removes every node from the tree.
+     */
+    void clear() {
+        Arrays.fill(colliders, null);
+        
+        for(int i = 0; i < capacity - 1; i++) {
+            parent[i] = i + 1;
+            height[i] = -1;
+        }
+        
+        parent[capacity - 1] = NULL;
+        height[capacity - 1] = -1;
+        
+        root     = NULL;
+        freeList = 0;
+        numNodes = 0;
+    }
+    
+    int getHeight()   { return (root == NULL) ? 0 : height[root]; }
+    int getNumNodes() { return numNodes; }
+    
+}
\ No newline at end of file
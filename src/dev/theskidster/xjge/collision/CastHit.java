@@ -0,0 +1,36 @@
+package dev.theskidster.xjge.collision;
+
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Contains the result of a ray or sphere cast performed through a {@link CollisionWorld}. Objects of this class are intended to be allocated once and reused
+ * across casts.
+ */
+public final class CastHit {
+    
+    /**
+     * The collider that was hit, or null if the cast didn't hit anything.
+     */
+    public Collider collider;
+    
+    /**
+     * The distance travelled along the cast before the hit occurred.
+     */
+    public float distance;
+    
+    /**
+     * The point of contact between the cast and the collider that was hit.
+     */
+    public final Vector3f point = new Vector3f();
+    
+    /**
+     * The direction of the surface of the collider at the point of contact.
+     */
+    public final Vector3f normal = new Vector3f();
+    
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package dev.theskidster.xjge.collision;
+
+import dev.theskidster.xjge.entities.Entity;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A shape attached to an entity which can be added to a {@link CollisionWorld}. Colliders follow the position of the entity that owns them, offset by a fixed
+ * amount, and are removed from the world automatically once their owner requests removal. Colliders without an owner are positioned by their offset alone.
+ * <br><br>
+ * Every shape is axis-aligned and described as a box which has been rounded by a radius; boxes have no radius, spheres have no box, and capsules are a line
+ * segment along the y-axis with a radius. This allows any two shapes to be tested against one another exactly by finding the distance between their boxes.
+ * <br><br>
+ * Colliders report overlaps with other colliders to their {@linkplain #setListener(CollisionListener) listener}, provided the category of each collider is
+ * included in the mask of the other. Triggers behave the same as regular colliders except that they never report overlaps with other triggers.
+ * 
+ * @see CollisionWorld#add(Collider)
+ */
+public final class Collider {
+    
+    /**
+     * The types of shape a collider may take.
+     */
+    public enum Shape {
+        BOX, SPHERE, CAPSULE;
+    }
+    
+    private boolean trigger;
+    private int category = 1;
+    private int mask     = -1;
+    
+    final Shape shape;
+    final Entity owner;
+    final Vector3f offset = new Vector3f();
+    final float extentX;
+    final float extentY;
+    final float extentZ;
+    final float radius;
+    
+    int proxy = AabbTree.NULL;
+    int index = -1;
+    int id;
+    boolean moved;
+    boolean removed;
+    float x;
+    float y;
+    float z;
+    CollisionWorld world;
+    CollisionListener listener;
+    
+    /**
+     * Creates a new collider.
+     * 
+     * @param shape   the type of shape the collider takes
+     * @param owner   the entity the collider is attached to, or null
+     * @param extentX half the width of the box of the collider
+     * @param extentY half the height of the box of the collider
+     * @param extentZ half the depth of the box of the collider
+     * @param radius  the amount the box is rounded by
+     */
+    private Collider(Shape shape, Entity owner, float extentX, float extentY, float extentZ, float radius) {
+        this.shape   = shape;
+        this.owner   = owner;
+        this.extentX = extentX;
+        this.extentY = extentY;
+        this.extentZ = extentZ;
+        this.radius  = radius;
+    }
+    
+    /**
+     * Creates a new box collider.
+     * 
+     * @param owner       the entity the collider is attached to, or null
+     * @param halfExtents half the size of the box along each axis
+     * @return the new collider
+     */
+    public static Collider createBox(Entity owner, Vector3f halfExtents) {
+        return new Collider(Shape.BOX, owner, halfExtents.x, halfExtents.y, halfExtents.z, 0);
+    }
+    
+    /**
+     * Creates a new sphere collider.
+     * 
+     * @param owner  the entity the collider is attached to, or null
+     * @param radius the radius of the sphere
+     * @return the new collider
+     */
+    public static Collider createSphere(Entity owner, float radius) {
+        return new Collider(Shape.SPHERE, owner, 0, 0, 0, radius);
+    }
+    
+    /**
+     * Creates a new capsule collider standing upright along the y-axis.
+     * 
+     * @param owner      the entity the collider is attached to, or null
+     * @param radius     the radius of the capsule
+     * @param halfHeight half the distance between the centers of the two ends of the capsule
+     * @return the new collider
+     */
+    public static Collider createCapsule(Entity owner, float radius, float halfHeight) {
+        return new Collider(Shape.CAPSULE, owner, 0, halfHeight, 0, radius);
+    }
+    
+    /**
+     * Updates the cached center of this collider from the position of its owner.
+     */
+    void findCenter() {
+        if(owner != null) {
+            x = owner.position.x + offset.x;
+            y = owner.position.y + offset.y;
+            z = owner.position.z + offset.z;
+        } else {
+            x = offset.x;
+            y = offset.y;
+            z = offset.z;
+        }
+    }
+    
+    public Shape getShape()                { return shape; }
+    public Entity getOwner()               { return owner; }
+    public boolean getTrigger()            { return trigger; }
+    public int getCategory()               { return category; }
+    public int getMask()                   { return mask; }
+    public CollisionListener getListener() { return listener; }
+    
+    /**
+     * Finds the center of this collider as of the most recent update of the world it belongs to.
+     * 
+     * @param dest the vector which will contain the center of the collider
+     * @return the destination vector
+     */
+    public Vector3f getCenter(Vector3f dest) {
+        return dest.set(x, y, z);
+    }
+    
+    /**
+     * Sets the distance of this collider from the position of its owner. If the collider has no owner this is its position in the world.
+     * 
+     * @param value the offset of the collider
+     */
+    public void setOffset(Vector3f value) {
+        offset.set(value);
+    }
+    
+    /**
+     * Sets whether this collider is a trigger. Triggers never report overlaps with one another.
+     * 
+     * @param value if true, the collider will become a trigger
+     */
+    public void setTrigger(boolean value) {
+        trigger = value;
+    }
+    
+    /**
+     * Sets the collision layers of this collider. Two colliders only report overlaps if the category of each is included in the mask of the other. By
+     * default colliders belong to the first layer and overlap every other layer.
+     * 
+     * @param category the bits of the layers this collider belongs to
+     * @param mask     the bits of the layers this collider may overlap
+     */
+    public void setLayers(int category, int mask) {
+        this.category = category;
+        this.mask     = mask;
+    }
+    
+    /**
+     * Sets the listener notified whenever this collider begins or stops overlapping another.
+     * 
+     * @param listener the listener to notify, or null to stop notifying one
+     */
+    public void setListener(CollisionListener listener) {
+        this.listener = listener;
+    }
+    
+}
\ No newline at end of file
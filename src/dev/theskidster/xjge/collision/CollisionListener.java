@@ -0,0 +1,30 @@
+package dev.theskidster.xjge.collision;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Receives notice of the overlaps between a {@link Collider} and the other colliders of its world. Listeners are notified on the thread which updates the
+ * {@link CollisionWorld} during its {@link CollisionWorld#update() update()} method, and may add or remove colliders while doing so.
+ */
+public interface CollisionListener {
+    
+    /**
+     * Called when a collider begins overlapping another.
+     * 
+     * @param self  the collider this listener belongs to
+     * @param other the collider it has begun overlapping
+     */
+    void enter(Collider self, Collider other);
+    
+    /**
+     * Called when a collider stops overlapping another, including when either collider is removed from the world while they overlap.
+     * 
+     * @param self  the collider this listener belongs to
+     * @param other the collider it has stopped overlapping
+     */
+    void exit(Collider self, Collider other);
+    
+}
\ No newline at end of file
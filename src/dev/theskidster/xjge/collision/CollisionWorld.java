@@ -0,0 +1,843 @@
+package dev.theskidster.xjge.collision;
+
+import dev.theskidster.xjge.main.Logger;
+import java.util.Arrays;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Tracks the overlaps between a group of {@link Collider} objects and answers ray, sphere, and box queries against them. Levels that use collision should
+ * own an instance of this class and call its {@link #update()} method once each game tick after their entities have been updated.
+ * <br><br>
+ * Colliders are organized into a dynamic bounding volume hierarchy which is updated incrementally; only colliders which have moved beyond the enlarged bounds
+ * stored by the tree are reinserted and tested for new overlaps. Each pair of colliders whose enlarged bounds overlap is tracked until they separate, and the
+ * {@linkplain CollisionListener listeners} of both are notified whenever the shapes of a pair begin or stop overlapping.
+ * <br><br>
+ * All storage used by the world is allocated up front and grown only when it runs out of space, as such once a level has reached a steady number of colliders
+ * and overlaps, updates and queries will not produce any garbage. This class is not thread-safe and should only be used from the thread which updates the
+ * level.
+ */
+public final class CollisionWorld {
+    
+    private static final long EMPTY = -1L;
+    
+    private boolean locked;
+    private int nextID;
+    private int numColliders;
+    private int numMoved;
+    private int numPairs;
+    private int numPendingAdds;
+    private int numPendingRemoves;
+    private int numStale;
+    private int numHits;
+    private int numEnters;
+    private int numExits;
+    private int hashMask;
+    private float margin = 0.1f;
+    
+    private final AabbTree tree;
+    
+    private Collider[] colliders;
+    private Collider[] moveBuffer;
+    private Collider[] pendingAdds;
+    private Collider[] pendingRemoves;
+    private long[] stale = new long[16];
+    
+    private Collider[] pairFirst;
+    private Collider[] pairSecond;
+    private boolean[] pairTouching;
+    private long[] pairKeys;
+    private long[] hashKeys;
+    private int[] hashValues;
+    
+    private Collider queryCollider;
+    private Collider hitCollider;
+    private Collider[] hitDest;
+    private int queryMask;
+    private float qx;
+    private float qy;
+    private float qz;
+    private float qex;
+    private float qey;
+    private float qez;
+    private float qRadius;
+    private float hitDistance;
+    private float dx;
+    private float dy;
+    private float dz;
+    
+    private final AabbTree.Visitor pairFinder   = this::findPair;
+    private final AabbTree.Visitor staleFinder  = this::findStale;
+    private final AabbTree.Visitor sphereFinder = this::findSphere;
+    private final AabbTree.Visitor boxFinder    = this::findBox;
+    private final AabbTree.RayVisitor rayCaster = this::castRay;
+    
+    /**
+     * Creates a new collision world.
+     * 
+     * @param capacity the number of colliders to allocate space for initially. The world will grow to accommodate more than this if necessary.
+     */
+    public CollisionWorld(int capacity) {
+        capacity = Math.max(capacity, 16);
+        
+        tree           = new AabbTree(capacity * 2);
+        colliders      = new Collider[capacity];
+        moveBuffer     = new Collider[capacity];
+        pendingAdds    = new Collider[16];
+        pendingRemoves = new Collider[16];
+        
+        pairFirst    = new Collider[capacity];
+        pairSecond   = new Collider[capacity];
+        pairTouching = new boolean[capacity];
+        pairKeys     = new long[capacity];
+        
+        int hashCapacity = Integer.highestOneBit(capacity * 4 - 1) << 1;
+        
+        hashKeys   = new long[hashCapacity];
+        hashValues = new int[hashCapacity];
+        hashMask   = hashCapacity - 1;
+        
+        Arrays.fill(hashKeys, EMPTY);
+    }
+    
+    /**
+     * Appends a collider to an array, growing it if necessary.
+     */
+    private static Collider[] append(Collider[] array, int count, Collider collider) {
+        if(count == array.length) array = Arrays.copyOf(array, count * 2);
+        array[count] = collider;
+        
+        return array;
+    }
+    
+    /**
+     * Adds a collider to this world. Colliders added from within a {@link CollisionListener} are deferred until the current update has finished.
+     * 
+     * @param collider the collider to add
+     */
+    public void add(Collider collider) {
+        if(collider.world != null) {
+            Logger.logWarning("Failed to add collider. The collider already belongs to a collision world.", null);
+            return;
+        }
+        
+        collider.world   = this;
+        collider.removed = false;
+        
+        if(locked) {
+            pendingAdds = append(pendingAdds, numPendingAdds++, collider);
+        } else {
+            insert(collider);
+        }
+    }
+    
+    /**
+     * Removes a collider from this world. If the collider is overlapping any others, the listeners of both will be notified that the overlap has ended.
+     * Colliders removed from within a {@link CollisionListener} are deferred until the current update has finished.
+     * <br><br>
+     * Colliders are removed automatically once their owner has requested its removal, so this only needs to be called for colliders which should be removed
+     * while their owner remains.
+     * 
+     * @param collider the collider to remove
+     */
+    public void remove(Collider collider) {
+        if(collider.world != this || collider.removed) return;
+        
+        if(collider.index == -1) {
+            for(int i = 0; i < numPendingAdds; i++) {
+                if(pendingAdds[i] == collider) {
+                    pendingAdds[i] = pendingAdds[--numPendingAdds];
+                    pendingAdds[numPendingAdds] = null;
+                    break;
+                }
+            }
+            
+            collider.world = null;
+            return;
+        }
+        
+        collider.removed = true;
+        pendingRemoves   = append(pendingRemoves, numPendingRemoves++, collider);
+        
+        if(!locked) flush();
+    }
+    
+    /**
+     * Places a collider into the tree and queues it to be tested for overlaps during the next update.
+     */
+    private void insert(Collider collider) {
+        collider.findCenter();
+        collider.id    = nextID++;
+        collider.index = numColliders;
+        
+        colliders = append(colliders, numColliders++, collider);
+        
+        float ex = collider.extentX + collider.radius + margin;
+        float ey = collider.extentY + collider.radius + margin;
+        float ez = collider.extentZ + collider.radius + margin;
+        
+        collider.proxy = tree.createProxy(collider,
+                                          collider.x - ex, collider.y - ey, collider.z - ez,
+                                          collider.x + ex, collider.y + ey, collider.z + ez);
+        
+        collider.moved = true;
+        moveBuffer     = append(moveBuffer, numMoved++, collider);
+    }
+    
+    /**
+     * Removes a collider from the tree along with each of the pairs it belongs to, notifying the listeners of any pairs which were overlapping. Must be called
+     * while the world is locked.
+     */
+    private void extract(Collider collider) {
+        int i = collider.proxy * 6;
+        
+        numStale      = 0;
+        queryCollider = collider;
+        
+        tree.query(tree.bounds[i],     tree.bounds[i + 1], tree.bounds[i + 2],
+                   tree.bounds[i + 3], tree.bounds[i + 4], tree.bounds[i + 5], staleFinder);
+        
+        queryCollider = null;
+        
+        for(int s = 0; s < numStale; s++) {
+            int pair = find(stale[s]);
+            if(pair == -1) continue;
+            
+            if(pairTouching[pair]) notifyExit(pairFirst[pair], pairSecond[pair]);
+            removePair(pair);
+        }
+        
+        for(int m = 0; m < numMoved; m++) {
+            if(moveBuffer[m] == collider) {
+                collider.moved = false;
+                moveBuffer[m]  = moveBuffer[--numMoved];
+                moveBuffer[numMoved] = null;
+                break;
+            }
+        }
+        
+        tree.destroyProxy(collider.proxy);
+        
+        Collider last = colliders[--numColliders];
+        colliders[collider.index] = last;
+        colliders[numColliders]   = null;
+        last.index                = collider.index;
+        
+        collider.proxy   = AabbTree.NULL;
+        collider.index   = -1;
+        collider.world   = null;
+        collider.removed = false;
+    }
+    
+    /**
+     * Carries out the removals which were deferred while the world was locked, then carries out any additions.
+     */
+    private void flush() {
+        locked = true;
+        
+        while(numPendingRemoves > 0) {
+            Collider collider = pendingRemoves[--numPendingRemoves];
+            pendingRemoves[numPendingRemoves] = null;
+            
+            extract(collider);
+        }
+        
+        locked = false;
+        
+        while(numPendingAdds > 0) {
+            Collider collider = pendingAdds[--numPendingAdds];
+            pendingAdds[numPendingAdds] = null;
+            
+            insert(collider);
+        }
+    }
+    
+    /**
+     * Moves each collider to the position of its owner and notifies the listeners of any colliders which have begun or stopped overlapping one another since
+     * the previous update. Colliders whose owners have requested removal are removed from the world.
+     */
+    public void update() {
+        locked = true;
+        
+        for(int i = 0; i < numColliders; i++) {
+            Collider collider = colliders[i];
+            
+            if(collider.owner != null && collider.owner.getRemoveRequest() && !collider.removed) {
+                collider.removed = true;
+                pendingRemoves   = append(pendingRemoves, numPendingRemoves++, collider);
+            }
+        }
+        
+        flush();
+        locked = true;
+        
+        for(int i = 0; i < numColliders; i++) {
+            Collider collider = colliders[i];
+            
+            float px = collider.x;
+            float py = collider.y;
+            float pz = collider.z;
+            
+            collider.findCenter();
+            
+            float ex = collider.extentX + collider.radius;
+            float ey = collider.extentY + collider.radius;
+            float ez = collider.extentZ + collider.radius;
+            
+            if(tree.contains(collider.proxy, collider.x - ex, collider.y - ey, collider.z - ez, collider.x + ex, collider.y + ey, collider.z + ez)) {
+                continue;
+            }
+            
+            //Enlarge the bounds in the direction of travel so colliders moving steadily don't need to be reinserted each tick.
+            float mx = (collider.x - px) * 4;
+            float my = (collider.y - py) * 4;
+            float mz = (collider.z - pz) * 4;
+            
+            tree.moveProxy(collider.proxy,
+                           collider.x - ex - margin + Math.min(mx, 0), collider.y - ey - margin + Math.min(my, 0), collider.z - ez - margin + Math.min(mz, 0),
+                           collider.x + ex + margin + Math.max(mx, 0), collider.y + ey + margin + Math.max(my, 0), collider.z + ez + margin + Math.max(mz, 0));
+            
+            if(!collider.moved) {
+                collider.moved = true;
+                moveBuffer     = append(moveBuffer, numMoved++, collider);
+            }
+        }
+        
+        for(int m = 0; m < numMoved; m++) {
+            queryCollider = moveBuffer[m];
+            
+            int i = queryCollider.proxy * 6;
+            
+            tree.query(tree.bounds[i],     tree.bounds[i + 1], tree.bounds[i + 2],
+                       tree.bounds[i + 3], tree.bounds[i + 4], tree.bounds[i + 5], pairFinder);
+        }
+        
+        for(int m = 0; m < numMoved; m++) {
+            moveBuffer[m].moved = false;
+            moveBuffer[m]       = null;
+        }
+        
+        numMoved      = 0;
+        queryCollider = null;
+        
+        for(int p = numPairs - 1; p >= 0; p--) {
+            Collider a = pairFirst[p];
+            Collider b = pairSecond[p];
+            
+            if(!tree.overlaps(a.proxy, b.proxy)) {
+                if(pairTouching[p]) notifyExit(a, b);
+                removePair(p);
+                continue;
+            }
+            
+            boolean touching = filter(a, b) && touching(a, b);
+            
+            if(touching != pairTouching[p]) {
+                pairTouching[p] = touching;
+                
+                if(touching) notifyEnter(a, b);
+                else         notifyExit(a, b);
+            }
+        }
+        
+        flush();
+    }
+    
+    /**
+     * Determines whether two colliders are permitted to report overlaps with one another.
+     */
+    private static boolean filter(Collider a, Collider b) {
+        return !(a.getTrigger() && b.getTrigger()) && (a.getCategory() & b.getMask()) != 0 && (b.getCategory() & a.getMask()) != 0;
+    }
+    
+    /**
+     * Determines whether the shapes of two colliders overlap by comparing the distance between their boxes to the sum of their radii.
+     */
+    private static boolean touching(Collider a, Collider b) {
+        float gx = Math.max(Math.abs(a.x - b.x) - a.extentX - b.extentX, 0);
+        float gy = Math.max(Math.abs(a.y - b.y) - a.extentY - b.extentY, 0);
+        float gz = Math.max(Math.abs(a.z - b.z) - a.extentZ - b.extentZ, 0);
+        float r  = a.radius + b.radius;
+        
+        return gx * gx + gy * gy + gz * gz <= r * r;
+    }
+    
+    private void notifyEnter(Collider a, Collider b) {
+        numEnters++;
+        
+        if(a.listener != null) a.listener.enter(a, b);
+        if(b.listener != null) b.listener.enter(b, a);
+    }
+    
+    private void notifyExit(Collider a, Collider b) {
+        numExits++;
+        
+        if(a.listener != null) a.listener.exit(a, b);
+        if(b.listener != null) b.listener.exit(b, a);
+    }
+    
+    /**
+     * Combines the IDs of two colliders into a key which is the same regardless of their order.
+     */
+    private static long key(Collider a, Collider b) {
+        return (a.id < b.id) ? ((long) a.id << 32) | b.id : ((long) b.id << 32) | a.id;
+    }
+    
+    private int slot(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        
+        return (int) key & hashMask;
+    }
+    
+    /**
+     * Finds the index of the pair with the key specified.
+     * 
+     * @return the index of the pair or -1 if no such pair exists
+     */
+    private int find(long key) {
+        int s = slot(key);
+        
+        while(hashKeys[s] != EMPTY) {
+            if(hashKeys[s] == key) return hashValues[s];
+            s = (s + 1) & hashMask;
+        }
+        
+        return -1;
+    }
+    
+    private void put(long key, int value) {
+        int s = slot(key);
+        
+        while(hashKeys[s] != EMPTY && hashKeys[s] != key) s = (s + 1) & hashMask;
+        
+        hashKeys[s]   = key;
+        hashValues[s] = value;
+    }
+    
+    /**
+     * Removes a key from the hash table, shifting back any keys which follow it so no gaps are left for lookups to stop at.
+     */
+    private void erase(long key) {
+        int s = slot(key);
+        
+        while(hashKeys[s] != key) s = (s + 1) & hashMask;
+        
+        int next = (s + 1) & hashMask;
+        
+        while(hashKeys[next] != EMPTY) {
+            int home = slot(hashKeys[next]);
+            
+            if(((next - home) & hashMask) >= ((next - s) & hashMask)) {
+                hashKeys[s]   = hashKeys[next];
+                hashValues[s] = hashValues[next];
+                s             = next;
+            }
+            
+            next = (next + 1) & hashMask;
+        }
+        
+        hashKeys[s] = EMPTY;
+    }
+    
+    /**
+     * Doubles the size of the hash table and reinserts each pair.
+     */
+    private void rehash() {
+        int hashCapacity = hashKeys.length * 2;
+        
+        hashKeys   = new long[hashCapacity];
+        hashValues = new int[hashCapacity];
+        hashMask   = hashCapacity - 1;
+        
+        Arrays.fill(hashKeys, EMPTY);
+        
+        for(int p = 0; p < numPairs; p++) put(pairKeys[p], p);
+    }
+    
+    /**
+     * Begins tracking a pair of colliders if it isn't being tracked already.
+     */
+    private void addPair(Collider a, Collider b) {
+        long key = key(a, b);
+        if(find(key) != -1) return;
+        
+        if(numPairs == pairKeys.length) {
+            int capacity = numPairs * 2;
+            
+            pairFirst    = Arrays.copyOf(pairFirst, capacity);
+            pairSecond   = Arrays.copyOf(pairSecond, capacity);
+            pairTouching = Arrays.copyOf(pairTouching, capacity);
+            pairKeys     = Arrays.copyOf(pairKeys, capacity);
+        }
+        
+        pairFirst[numPairs]    = a;
+        pairSecond[numPairs]   = b;
+        pairTouching[numPairs] = false;
+        pairKeys[numPairs]     = key;
+        
+        if((numPairs + 1) * 2 > hashKeys.length) rehash();
+        put(key, numPairs++);
+    }
+    
+    /**
+     * Stops tracking a pair, moving the last pair into its place.
+     */
+    private void removePair(int pair) {
+        erase(pairKeys[pair]);
+        
+        int last = --numPairs;
+        
+        if(pair != last) {
+            pairFirst[pair]    = pairFirst[last];
+            pairSecond[pair]   = pairSecond[last];
+            pairTouching[pair] = pairTouching[last];
+            pairKeys[pair]     = pairKeys[last];
+            
+            put(pairKeys[pair], pair);
+        }
+        
+        pairFirst[last]  = null;
+        pairSecond[last] = null;
+    }
+    
+    private boolean findPair(int proxy) {
+        Collider other = tree.colliders[proxy];
+        
+        //Pairs between two colliders that have both moved are left for the query of the collider with the lower ID to find.
+        if(other != queryCollider && !(other.moved && other.id < queryCollider.id)) addPair(queryCollider, other);
+        
+        return true;
+    }
+    
+    private boolean findStale(int proxy) {
+        Collider other = tree.colliders[proxy];
+        
+        if(other != queryCollider) {
+            if(numStale == stale.length) stale = Arrays.copyOf(stale, numStale * 2);
+            stale[numStale++] = key(queryCollider, other);
+        }
+        
+        return true;
+    }
+    
+    private boolean findSphere(int proxy) {
+        Collider other = tree.colliders[proxy];
+        if((other.getCategory() & queryMask) == 0) return true;
+        
+        float gx = Math.max(Math.abs(qx - other.x) - other.extentX, 0);
+        float gy = Math.max(Math.abs(qy - other.y) - other.extentY, 0);
+        float gz = Math.max(Math.abs(qz - other.z) - other.extentZ, 0);
+        float r  = qRadius + other.radius;
+        
+        if(gx * gx + gy * gy + gz * gz <= r * r) hitDest[numHits++] = other;
+        
+        return numHits < hitDest.length;
+    }
+    
+    private boolean findBox(int proxy) {
+        Collider other = tree.colliders[proxy];
+        if((other.getCategory() & queryMask) == 0) return true;
+        
+        float gx = Math.max(Math.abs(qx - other.x) - qex - other.extentX, 0);
+        float gy = Math.max(Math.abs(qy - other.y) - qey - other.extentY, 0);
+        float gz = Math.max(Math.abs(qz - other.z) - qez - other.extentZ, 0);
+        
+        if(gx * gx + gy * gy + gz * gz <= other.radius * other.radius) hitDest[numHits++] = other;
+        
+        return numHits < hitDest.length;
+    }
+    
+    /**
+     * Finds the distance along the current ray at which it strikes a collider whose shape has been enlarged by the radius of the cast.
+     * 
+     * @return the distance to the collider or -1 if the ray misses it
+     */
+    private float intersect(Collider collider) {
+        float radius = collider.radius + qRadius;
+        float ox     = qx - collider.x;
+        float oy     = qy - collider.y;
+        float oz     = qz - collider.z;
+        
+        if(collider.shape == Collider.Shape.BOX) {
+            /*
+            Boxes are enlarged along each axis rather than rounded, which makes casts with a radius slightly conservative near the edges and corners of
+            boxes.
+            */
+            float ex = collider.extentX + qRadius;
+            float ey = collider.extentY + qRadius;
+            float ez = collider.extentZ + qRadius;
+            
+            float t1 = (-ex - ox) / dx;
+            float t2 = (ex - ox) / dx;
+            float t3 = (-ey - oy) / dy;
+            float t4 = (ey - oy) / dy;
+            float t5 = (-ez - oz) / dz;
+            float t6 = (ez - oz) / dz;
+            
+            float tMin = Math.max(Math.max(Math.min(t1, t2), Math.min(t3, t4)), Math.min(t5, t6));
+            float tMax = Math.min(Math.min(Math.max(t1, t2), Math.max(t3, t4)), Math.max(t5, t6));
+            
+            if(tMax < 0 || tMin > tMax) return -1;
+            
+            return Math.max(tMin, 0);
+        }
+        
+        float h = collider.extentY;
+        
+        //Test against the nearest point of the segment first to catch rays that begin inside the shape.
+        float cy = oy - Math.max(-h, Math.min(oy, h));
+        if(ox * ox + cy * cy + oz * oz <= radius * radius) return 0;
+        
+        if(h > 0) {
+            float baba = 4 * h * h;
+            float bard = 2 * h * dy;
+            float baoa = 2 * h * (oy + h);
+            float rdoa = dx * ox + dy * (oy + h) + dz * oz;
+            float oaoa = ox * ox + (oy + h) * (oy + h) + oz * oz;
+            
+            float a = baba - bard * bard;
+            float b = baba * rdoa - baoa * bard;
+            float c = baba * oaoa - baoa * baoa - radius * radius * baba;
+            float d = b * b - a * c;
+            
+            if(a != 0) {
+                if(d < 0) return -1;
+                
+                float t = (-b - (float) Math.sqrt(d)) / a;
+                float y = baoa + t * bard;
+                
+                if(y > 0 && y < baba) return (t >= 0) ? t : -1;
+                
+                //The ray enters beyond the body of the capsule, so test against the end it enters through instead.
+                oy += (y <= 0) ? h : -h;
+            } else {
+                oy += (dy > 0) ? h : -h;
+            }
+        }
+        
+        float b = ox * dx + oy * dy + oz * dz;
+        float c = ox * ox + oy * oy + oz * oz - radius * radius;
+        float d = b * b - c;
+        
+        if(d < 0) return -1;
+        
+        float t = -b - (float) Math.sqrt(d);
+        
+        return (t >= 0) ? t : -1;
+    }
+    
+    private float castRay(int proxy, float maxDistance) {
+        Collider collider = tree.colliders[proxy];
+        if((collider.getCategory() & queryMask) == 0) return maxDistance;
+        
+        float t = intersect(collider);
+        
+        if(t >= 0 && t < maxDistance) {
+            hitCollider = collider;
+            hitDistance = t;
+            return t;
+        }
+        
+        return maxDistance;
+    }
+    
+    /**
+     * Moves a sphere along a ray and finds the first collider it strikes. Casts with no radius behave as rays.
+     */
+    private boolean cast(Vector3f origin, Vector3f direction, float radius, float maxDistance, int mask, CastHit hit) {
+        float length = direction.length();
+        
+        qx        = origin.x;
+        qy        = origin.y;
+        qz        = origin.z;
+        dx        = direction.x / length;
+        dy        = direction.y / length;
+        dz        = direction.z / length;
+        qRadius   = radius;
+        queryMask = mask;
+        
+        hitCollider = null;
+        hitDistance = maxDistance;
+        
+        tree.rayCast(qx, qy, qz, 1 / dx, 1 / dy, 1 / dz, radius, maxDistance, rayCaster);
+        
+        Collider collider = hitCollider;
+        hit.collider      = collider;
+        hitCollider       = null;
+        
+        if(collider == null) return false;
+        
+        float t  = hitDistance;
+        float px = qx + dx * t;
+        float py = qy + dy * t;
+        float pz = qz + dz * t;
+        
+        hit.distance = t;
+        
+        if(t == 0) {
+            hit.normal.set(-dx, -dy, -dz);
+            hit.point.set(px, py, pz);
+            return true;
+        }
+        
+        float rx = px - collider.x;
+        float ry = py - collider.y;
+        float rz = pz - collider.z;
+        
+        if(collider.shape == Collider.Shape.BOX) {
+            float gx = Math.abs(rx) - collider.extentX;
+            float gy = Math.abs(ry) - collider.extentY;
+            float gz = Math.abs(rz) - collider.extentZ;
+            
+            if(gx >= gy && gx >= gz)  hit.normal.set(Math.signum(rx), 0, 0);
+            else if(gy >= gz)         hit.normal.set(0, Math.signum(ry), 0);
+            else                      hit.normal.set(0, 0, Math.signum(rz));
+        } else {
+            hit.normal.set(rx, ry - Math.max(-collider.extentY, Math.min(ry, collider.extentY)), rz).normalize();
+        }
+        
+        hit.point.set(hit.normal).mul(-radius).add(px, py, pz);
+        
+        return true;
+    }
+    
+    /**
+     * Casts a ray through this world and finds the first collider it strikes.
+     * 
+     * @param origin      the point the ray begins at
+     * @param direction   the direction of the ray
+     * @param maxDistance the length of the ray
+     * @param mask        the bits of the layers the ray may strike
+     * @param hit         the object which will contain the result of the cast
+     * @return true if the ray struck a collider
+     */
+    public boolean rayCast(Vector3f origin, Vector3f direction, float maxDistance, int mask, CastHit hit) {
+        return cast(origin, direction, 0, maxDistance, mask, hit);
+    }
+    
+    /**
+     * Moves a sphere through this world and finds the first collider it strikes. Boxes are treated as though they have been expanded by the radius of the
+     * sphere along each axis, so casts which pass near the edges or corners of a box may strike it slightly early.
+     * 
+     * @param origin      the point the center of the sphere begins at
+     * @param direction   the direction the sphere travels in
+     * @param radius      the radius of the sphere
+     * @param maxDistance the distance the sphere travels
+     * @param mask        the bits of the layers the sphere may strike
+     * @param hit         the object which will contain the result of the cast
+     * @return true if the sphere struck a collider
+     */
+    public boolean sphereCast(Vector3f origin, Vector3f direction, float radius, float maxDistance, int mask, CastHit hit) {
+        return cast(origin, direction, radius, maxDistance, mask, hit);
+    }
+    
+    /**
+     * Finds the colliders which overlap a sphere. The search ends early once the destination array has been filled.
+     * 
+     * @param center the center of the sphere
+     * @param radius the radius of the sphere
+     * @param mask   the bits of the layers to search
+     * @param dest   the array which will contain the colliders found
+     * @return the number of colliders found
+     */
+    public int overlapSphere(Vector3f center, float radius, int mask, Collider[] dest) {
+        if(dest.length == 0) return 0;
+        
+        qx        = center.x;
+        qy        = center.y;
+        qz        = center.z;
+        qRadius   = radius;
+        queryMask = mask;
+        hitDest   = dest;
+        numHits   = 0;
+        
+        tree.query(qx - radius, qy - radius, qz - radius, qx + radius, qy + radius, qz + radius, sphereFinder);
+        
+        hitDest = null;
+        
+        return numHits;
+    }
+    
+    /**
+     * Finds the colliders which overlap an axis-aligned box. The search ends early once the destination array has been filled.
+     * 
+     * @param center      the center of the box
+     * @param halfExtents half the size of the box along each axis
+     * @param mask        the bits of the layers to search
+     * @param dest        the array which will contain the colliders found
+     * @return the number of colliders found
+     */
+    public int overlapBox(Vector3f center, Vector3f halfExtents, int mask, Collider[] dest) {
+        if(dest.length == 0) return 0;
+        
+        qx        = center.x;
+        qy        = center.y;
+        qz        = center.z;
+        qex       = halfExtents.x;
+        qey       = halfExtents.y;
+        qez       = halfExtents.z;
+        queryMask = mask;
+        hitDest   = dest;
+        numHits   = 0;
+        
+        tree.query(qx - qex, qy - qey, qz - qez, qx + qex, qy + qey, qz + qez, boxFinder);
+        
+        hitDest = null;
+        
+        return numHits;
+    }
+    
+    /**
+     * Removes every collider from this world without notifying their listeners.
+     */
+    public void clear() {
+        for(int i = 0; i < numColliders; i++) {
+            colliders[i].proxy   = AabbTree.NULL;
+            colliders[i].index   = -1;
+            colliders[i].world   = null;
+            colliders[i].removed = false;
+            colliders[i]         = null;
+        }
+        
+        for(int p = 0; p < numPairs; p++) {
+            pairFirst[p]  = null;
+            pairSecond[p] = null;
+        }
+        
+        for(int m = 0; m < numMoved; m++) {
+            moveBuffer[m].moved = false;
+            moveBuffer[m]       = null;
+        }
+        
+        Arrays.fill(hashKeys, EMPTY);
+        tree.clear();
+        
+        numColliders = 0;
+        numMoved     = 0;
+        numPairs     = 0;
+    }
+    
+    public int getNumColliders() { return numColliders; }
+    public int getNumPairs()     { return numPairs; }
+    public int getNumEnters()    { return numEnters; }
+    public int getNumExits()     { return numExits; }
+    public int getTreeHeight()   { return tree.getHeight(); }
+    public float getMargin()     { return margin; }
+    
+    /**
+     * Sets the distance the bounds of each collider are enlarged by within the tree. Larger margins reduce how often colliders must be reinserted into the
+     * tree at the cost of tracking more pairs which don't overlap. Only affects colliders once they're next reinserted.
+     * 
+     * @param margin the distance to enlarge the bounds of each collider by
+     */
+    public void setMargin(float margin) {
+        this.margin = margin;
+    }
+    
+}
\ No newline at end of file
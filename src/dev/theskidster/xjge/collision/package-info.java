@@ -0,0 +1,10 @@
+/**
+ * Provides overlap detection and spatial queries between simple shapes without simulating their motion. Levels own a {@link CollisionWorld} and attach a 
+ * {@link Collider} to each entity that should take part in it, then call {@link CollisionWorld#update()} once per tick after their entities have been updated.
+ * <p>
+ * Colliders notify their {@link CollisionListener} as they begin and stop overlapping one another, which makes them suited to triggers, pickups, and hit 
+ * detection. Unlike the {@link dev.theskidster.xjge.physics physics} package, no forces are applied in response to an overlap; entities are free to move 
+ * through one another unless their own logic prevents it. Ray casts, sphere casts, and overlap queries are answered immediately from the most recent update.
+ * </p>
+ */
+package dev.theskidster.xjge.collision;
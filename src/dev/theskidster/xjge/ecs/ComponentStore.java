@@ -0,0 +1,157 @@
+package dev.theskidster.xjge.ecs;
+
+import java.util.Arrays;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Stores a single type of component for the objects of a {@link World} as a sparse set. Each object with the component occupies an index in a densely packed
+ * range, so the components of every object may be visited by iterating from zero to {@link getSize()} without gaps. The sparse array maps object ids to these
+ * indices, allowing components to be added, removed, and located in constant time.
+ * <br><br>
+ * Removing a component moves the last component in the store into the index it occupied, because of this indices are not stable and should not be held
+ * onto between calls which add or remove components.
+ */
+public abstract class ComponentStore {
+    
+    int size;
+    final int bit;
+    public final int stride;
+    
+    public final String name;
+    
+    private int[] sparse;
+    private int[] dense;
+    
+    final World world;
+    
+    /**
+     * Creates a new component store. Stores are created through the {@link World} they belong to.
+     * 
+     * @param world    the world this store belongs to
+     * @param name     the name used to identify the component
+     * @param stride   the number of values which make up a single component
+     * @param bit      the index of the bit representing this store in the component mask of each object
+     * @param capacity the initial number of components the store can hold
+     */
+    ComponentStore(World world, String name, int stride, int bit, int capacity) {
+        this.world  = world;
+        this.name   = name;
+        this.stride = stride;
+        this.bit    = bit;
+        
+        sparse = new int[capacity];
+        dense  = new int[capacity];
+        
+        Arrays.fill(sparse, -1);
+    }
+    
+    /**
+     * Copies the values of a component from one index to another.
+     * 
+     * @param from the index of the component to copy
+     * @param to   the index the component will be copied to
+     */
+    abstract void move(int from, int to);
+    
+    /**
+     * Increases the capacity of the data array to hold at least the number of components specified.
+     * 
+     * @param capacity the number of components the data array must be able to hold
+     */
+    abstract void growData(int capacity);
+    
+    /**
+     * Sets every value of the component at the specified index to zero.
+     * 
+     * @param index the index of the component to clear
+     */
+    abstract void clear(int index);
+    
+    /**
+     * Attaches this component to an object. The values of the component are initialized to zero. If the object already has this component its index is
+     * returned unchanged.
+     * 
+     * @param entity the id of the object
+     * @return the index of the component within this store
+     */
+    public int add(int entity) {
+        if(entity >= sparse.length) {
+            int length = sparse.length;
+            sparse = Arrays.copyOf(sparse, Math.max(entity + 1, length * 2));
+            Arrays.fill(sparse, length, sparse.length, -1);
+        }
+        
+        if(sparse[entity] != -1) return sparse[entity];
+        
+        if(size == dense.length) {
+            dense = Arrays.copyOf(dense, size * 2);
+            growData(size * 2);
+        }
+        
+        dense[size]    = entity;
+        sparse[entity] = size;
+        clear(size);
+        world.setBit(entity, bit);
+        
+        return size++;
+    }
+    
+    /**
+     * Detaches this component from an object. Has no effect if the object doesn't have this component.
+     * 
+     * @param entity the id of the object
+     */
+    public void remove(int entity) {
+        int index = indexOf(entity);
+        if(index == -1) return;
+        
+        int last = size - 1;
+        
+        if(index != last) {
+            move(last, index);
+            dense[index]         = dense[last];
+            sparse[dense[index]] = index;
+        }
+        
+        sparse[entity] = -1;
+        world.clearBit(entity, bit);
+        size--;
+    }
+    
+    /**
+     * Finds the index of the component attached to an object.
+     * 
+     * @param entity the id of the object
+     * @return the index of the component or -1 if the object doesn't have this component
+     */
+    public int indexOf(int entity) {
+        return (entity < sparse.length) ? sparse[entity] : -1;
+    }
+    
+    /**
+     * Determines whether an object has this component.
+     * 
+     * @param entity the id of the object
+     * @return true if the component is attached to the object
+     */
+    public boolean has(int entity) {
+        return indexOf(entity) != -1;
+    }
+    
+    /**
+     * Finds the object that the component at the specified index is attached to.
+     * 
+     * @param index the index of the component
+     * @return the id of the object
+     */
+    public int entityAt(int index) {
+        return dense[index];
+    }
+    
+    public int getSize() { return size; }
+    
+}
\ No newline at end of file
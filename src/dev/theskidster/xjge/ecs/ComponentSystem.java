@@ -0,0 +1,21 @@
+package dev.theskidster.xjge.ecs;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Provides behavior to the objects of a {@link World} by operating on their components. Systems should iterate the data arrays of the stores they depend on
+ * directly wherever possible, using a {@link Query} only when the objects they visit must have several components.
+ */
+public interface ComponentSystem {
+    
+    /**
+     * Updates the components this system is responsible for. Called once per game tick.
+     * 
+     * @param world the world being updated
+     */
+    void update(World world);
+    
+}
\ No newline at end of file
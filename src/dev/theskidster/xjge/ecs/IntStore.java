@@ -0,0 +1,68 @@
+package dev.theskidster.xjge.ecs;
+
+import java.util.Arrays;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Component store whose components are made up of one or more integer values, such as seeds, flags, or indices into other resources. The values of every
+ * component are packed into a single array in which the component at index <i>i</i> occupies the range <i>i * stride</i> to <i>(i + 1) * stride</i>.
+ */
+public final class IntStore extends ComponentStore {
+    
+    private int[] data;
+    
+    IntStore(World world, String name, int stride, int bit, int capacity) {
+        super(world, name, stride, bit, capacity);
+        data = new int[capacity * stride];
+    }
+    
+    @Override
+    void move(int from, int to) {
+        System.arraycopy(data, from * stride, data, to * stride, stride);
+    }
+    
+    @Override
+    void growData(int capacity) {
+        data = Arrays.copyOf(data, capacity * stride);
+    }
+    
+    @Override
+    void clear(int index) {
+        Arrays.fill(data, index * stride, (index + 1) * stride, 0);
+    }
+    
+    /**
+     * Obtains a single value of the component attached to an object.
+     * 
+     * @param entity  the id of the object
+     * @param element the index of the value within the component
+     * @return the value requested
+     */
+    public int get(int entity, int element) {
+        return data[indexOf(entity) * stride + element];
+    }
+    
+    /**
+     * Changes a single value of the component attached to an object.
+     * 
+     * @param entity  the id of the object
+     * @param element the index of the value within the component
+     * @param value   the new value
+     */
+    public void set(int entity, int element, int value) {
+        data[indexOf(entity) * stride + element] = value;
+    }
+    
+    /**
+     * Provides direct access to the values of every component in this store. The array returned is replaced whenever the store grows, so it should be obtained
+     * again after components have been added.
+     * 
+     * @return the array containing the values of each component
+     */
+    public int[] getData() { return data; }
+    
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package dev.theskidster.xjge.ecs;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Moves every object which has both a position and a velocity by adding its velocity to its position each tick. Both stores are expected to hold components
+ * with a stride of three.
+ * <br><br>
+ * When the objects of both stores occupy the same indices (as they do when each object is given both components at the time it's created) the data arrays are
+ * iterated side by side. Otherwise the position of each object is located through the position store.
+ */
+public final class MovementSystem implements ComponentSystem {
+    
+    private final FloatStore positions;
+    private final FloatStore velocities;
+    
+    /**
+     * Creates a new movement system.
+     * 
+     * @param positions  the store containing the position of each object
+     * @param velocities the store containing the velocity of each object
+     */
+    public MovementSystem(FloatStore positions, FloatStore velocities) {
+        this.positions  = positions;
+        this.velocities = velocities;
+    }
+    
+    @Override
+    public void update(World world) {
+        float[] pos = positions.getData();
+        float[] vel = velocities.getData();
+        
+        for(int i = 0; i < velocities.getSize(); i++) {
+            int entity = velocities.entityAt(i);
+            int p      = (i < positions.getSize() && positions.entityAt(i) == entity) ? i : positions.indexOf(entity);
+            
+            if(p == -1) continue;
+            
+            p *= 3;
+            int v = i * 3;
+            
+            pos[p]     += vel[v];
+            pos[p + 1] += vel[v + 1];
+            pos[p + 2] += vel[v + 2];
+        }
+    }
+    
+}
\ No newline at end of file
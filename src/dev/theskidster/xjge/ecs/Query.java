@@ -0,0 +1,82 @@
+package dev.theskidster.xjge.ecs;
+
+import java.util.function.IntConsumer;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Visits every object in a {@link World} that has a specific set of components. Queries iterate the smallest of the stores they require and skip any object
+ * whose component mask doesn't contain the others, so the cost of a query is proportional to the number of objects in its smallest store.
+ */
+public final class Query {
+    
+    private final long mask;
+    
+    private final World world;
+    private final ComponentStore[] stores;
+    
+    /**
+     * Creates a new query. Queries are created through {@link World#query(ComponentStore...)}.
+     * 
+     * @param world  the world being queried
+     * @param stores the stores containing the components an object must have
+     */
+    Query(World world, ComponentStore[] stores) {
+        this.world  = world;
+        this.stores = stores.clone();
+        
+        long value = 0;
+        for(ComponentStore store : stores) value |= (1L << store.bit);
+        mask = value;
+    }
+    
+    /**
+     * Finds the smallest store required by this query.
+     * 
+     * @return the store with the fewest components
+     */
+    private ComponentStore findSmallest() {
+        ComponentStore smallest = stores[0];
+        
+        for(int i = 1; i < stores.length; i++) {
+            if(stores[i].size < smallest.size) smallest = stores[i];
+        }
+        
+        return smallest;
+    }
+    
+    /**
+     * Performs an action on every object which has each of the components required by this query. Components may be modified by the action, but components
+     * must not be added or removed from the stores being iterated.
+     * 
+     * @param action the action to perform, supplied with the id of each object
+     */
+    public void forEach(IntConsumer action) {
+        ComponentStore smallest = findSmallest();
+        
+        for(int i = 0; i < smallest.size; i++) {
+            int entity = smallest.entityAt(i);
+            if((world.getMask(entity) & mask) == mask) action.accept(entity);
+        }
+    }
+    
+    /**
+     * Counts the number of objects which have each of the components required by this query.
+     * 
+     * @return the number of matching objects
+     */
+    public int count() {
+        ComponentStore smallest = findSmallest();
+        int count = 0;
+        
+        for(int i = 0; i < smallest.size; i++) {
+            if((world.getMask(smallest.entityAt(i)) & mask) == mask) count++;
+        }
+        
+        return count;
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package dev.theskidster.xjge.ecs;
+
+import dev.theskidster.xjge.main.Logger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A collection of objects identified by integer ids, the {@linkplain ComponentStore components} attached to them, and the {@linkplain ComponentSystem systems}
+ * which operate on those components.
+ * <br><br>
+ * Objects themselves contain no data- an id is simply an index into each component store along with a bit mask recording which components it has. The ids of
+ * destroyed objects are reused by objects created afterwards. A world may hold at most 64 component stores and is not safe to modify from multiple threads at
+ * once.
+ */
+public final class World {
+    
+    private int nextID;
+    private int numAlive;
+    private int numFree;
+    
+    private final int initialCapacity;
+    private static final int MAX_STORES = 64;
+    
+    private long[] masks;
+    private boolean[] alive;
+    private int[] freeIDs;
+    
+    private final List<ComponentStore> stores   = new ArrayList<>();
+    private final List<ComponentSystem> systems = new ArrayList<>();
+    
+    /**
+     * Creates a new world.
+     * 
+     * @param capacity the number of objects the world can hold before its arrays must grow
+     */
+    public World(int capacity) {
+        initialCapacity = Math.max(capacity, 1);
+        
+        masks   = new long[initialCapacity];
+        alive   = new boolean[initialCapacity];
+        freeIDs = new int[initialCapacity];
+    }
+    
+    /**
+     * Creates a new store for components made up of float values.
+     * 
+     * @param name   the name used to identify the component
+     * @param stride the number of values which make up a single component, for example 3 for a position
+     * @return the store created or null if the world already contains the maximum number of stores
+     */
+    public FloatStore createFloatStore(String name, int stride) {
+        if(!canAddStore(name)) return null;
+        
+        var store = new FloatStore(this, name, stride, stores.size(), initialCapacity);
+        stores.add(store);
+        
+        return store;
+    }
+    
+    /**
+     * Creates a new store for components made up of integer values.
+     * 
+     * @param name   the name used to identify the component
+     * @param stride the number of values which make up a single component
+     * @return the store created or null if the world already contains the maximum number of stores
+     */
+    public IntStore createIntStore(String name, int stride) {
+        if(!canAddStore(name)) return null;
+        
+        var store = new IntStore(this, name, stride, stores.size(), initialCapacity);
+        stores.add(store);
+        
+        return store;
+    }
+    
+    /**
+     * Determines whether another component store may be added to this world.
+     * 
+     * @param name the name of the store being created
+     * @return true if the world contains fewer than the maximum number of stores
+     */
+    private boolean canAddStore(String name) {
+        if(stores.size() == MAX_STORES) {
+            Logger.logWarning("Failed to create component store \"" + name + "\". A world may not contain more than " + MAX_STORES + " stores.", null);
+            return false;
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Creates a new object with no components.
+     * 
+     * @return the id of the object
+     */
+    public int createEntity() {
+        int id = (numFree > 0) ? freeIDs[--numFree] : nextID++;
+        
+        if(id >= masks.length) {
+            masks = Arrays.copyOf(masks, masks.length * 2);
+            alive = Arrays.copyOf(alive, alive.length * 2);
+        }
+        
+        masks[id] = 0;
+        alive[id] = true;
+        numAlive++;
+        
+        return id;
+    }
+    
+    /**
+     * Destroys an object, removing each of its components. The id of the object may be given to objects created afterwards.
+     * 
+     * @param entity the id of the object
+     */
+    public void destroyEntity(int entity) {
+        if(!getAlive(entity)) return;
+        
+        for(int i = 0; i < stores.size(); i++) {
+            if((masks[entity] & (1L << i)) != 0) stores.get(i).remove(entity);
+        }
+        
+        alive[entity] = false;
+        numAlive--;
+        
+        if(numFree == freeIDs.length) freeIDs = Arrays.copyOf(freeIDs, freeIDs.length * 2);
+        freeIDs[numFree++] = entity;
+    }
+    
+    /**
+     * Adds a system to this world. Systems are updated in the order they were added.
+     * 
+     * @param system the system to add
+     */
+    public void addSystem(ComponentSystem system) {
+        systems.add(system);
+    }
+    
+    /**
+     * Removes a system from this world.
+     * 
+     * @param system the system to remove
+     */
+    public void removeSystem(ComponentSystem system) {
+        systems.remove(system);
+    }
+    
+    /**
+     * Updates every system in this world. Called once per game tick by the level which owns the world.
+     */
+    public void update() {
+        for(int i = 0; i < systems.size(); i++) systems.get(i).update(this);
+    }
+    
+    /**
+     * Creates a query which visits every object that has all of the components specified.
+     * 
+     * @param required the stores containing the components an object must have to be visited
+     * @return a new query object which may be kept and reused
+     */
+    public Query query(ComponentStore... required) {
+        return new Query(this, required);
+    }
+    
+    /**
+     * Destroys every object in this world and removes each of its systems.
+     */
+    public void clear() {
+        for(int id = 0; id < nextID; id++) destroyEntity(id);
+        systems.clear();
+    }
+    
+    void setBit(int entity, int bit)   { masks[entity] |= (1L << bit); }
+    void clearBit(int entity, int bit) { masks[entity] &= ~(1L << bit); }
+    long getMask(int entity)           { return masks[entity]; }
+    
+    public int getNumEntities()         { return numAlive; }
+    public boolean getAlive(int entity) { return entity >= 0 && entity < nextID && alive[entity]; }
+    
+}
\ No newline at end of file
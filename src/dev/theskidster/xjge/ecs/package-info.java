@@ -0,0 +1,21 @@
+/**
+ * Contains a data-oriented alternative to {@link dev.theskidster.xjge.entities.Entity Entity} subclasses intended for levels which require very large numbers of
+ * simple objects. Rather than storing each object as its own instance, a {@link World} identifies objects by an integer id and stores the data attached to them
+ * in {@linkplain ComponentStore component stores} backed by primitive arrays. Behavior is provided by {@linkplain ComponentSystem systems} which iterate these
+ * arrays contiguously.
+ * <p>
+ * Every {@link dev.theskidster.xjge.level.Level Level} owns a world which is updated alongside its entity list, allowing existing entity subclasses to coexist
+ * with world objects while a level is migrated from one to the other.
+ * </p>
+ * <p>These include things like:</p>
+ * <ul>
+ * <li>{@link ComponentStore}</li>
+ * <li>{@link ComponentSystem}</li>
+ * <li>{@link FloatStore}</li>
+ * <li>{@link IntStore}</li>
+ * <li>{@link MovementSystem}</li>
+ * <li>{@link Query}</li>
+ * <li>{@link World}</li>
+ * </ul>
+ */
+package dev.theskidster.xjge.ecs;
\ No newline at end of file
@@ -1,7 +1,11 @@
 package dev.theskidster.xjge.entities;
 
 import dev.theskidster.xjge.graphics.LightSource;
+import dev.theskidster.xjge.main.Game;
 import dev.theskidster.xjge.util.Camera;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Queue;
 import org.joml.Vector3f;
 
 /**
@@ -14,10 +18,25 @@ import org.joml.Vector3f;
  */
 public abstract class Entity {
     
-    private boolean removeRequest;
+    private volatile boolean removeRequest;
+    private int index         = -1;
+    private int spatialHandle = -1;
+    
+    private volatile Queue<Entity> removeQueue;
+    
+    /**
+     * The pool this entity was acquired from, or null if it was constructed directly.
+     */
+    EntityPool<?> pool;
     
     public Vector3f position;
     
+    /**
+     * The position of this entity at the start of the current game tick. Used alongside {@link position} to render the entity at an interpolated position 
+     * between ticks.
+     */
+    public final Vector3f prevPosition = new Vector3f();
+    
     /**
      * Constructs a new Entity object. Most subclasses will likely overload this with their own arguments.
      * 
@@ -25,10 +44,15 @@ public abstract class Entity {
      */
     public Entity(Vector3f position) {
         this.position = position;
+        prevPosition.set(position);
     }
     
     /**
      * Used to organize entity game logic. Must be called exclusively through {@link dev.theskidster.xjge.level.Level#update() Level.update()}.
+     * <br><br>
+     * Entities updated through {@link dev.theskidster.xjge.level.Level#updateEntities() Level.updateEntities()} may be updated concurrently with one another. 
+     * In such cases this method may only modify the state of this entity, new entities should be spawned through 
+     * {@link dev.theskidster.xjge.level.Level#addEntity(Entity) Level.addEntity()} so they can be deferred until the update has finished.
      */
     public abstract void update();
     
@@ -45,6 +69,117 @@ public abstract class Entity {
      */
     public abstract void render(Camera camera, LightSource[] lights, int numLights);
     
+    /**
+     * Copies the state this entity requires to be rendered into the record provided. Called from the simulation thread at the end of each game tick while the 
+     * engine is running in {@linkplain dev.theskidster.xjge.main.App#getThreaded() threaded mode}. Subclasses that use additional state during rendering (such 
+     * as a {@link dev.theskidster.xjge.graphics.Model Model}) should override this and capture it here.
+     * 
+     * @param state the record that will contain the state of this entity
+     */
+    public void capture(EntityState state) {
+        state.position.set(position);
+        state.prevPosition.set(prevPosition);
+        state.transform.translation(position);
+        state.bounded = findBounds(state.boundsMin, state.boundsMax);
+    }
+    
+    /**
+     * Variant of {@link render(Camera, LightSource[], int) render()} used while the engine is running in threaded mode. Entities which override 
+     * {@link capture(EntityState) capture()} should also override this and draw themselves exclusively from the state provided, otherwise the default 
+     * implementation will fall back to the regular render method which may observe state that is being changed by the simulation thread.
+     * 
+     * @param state     the state of this entity as it was captured at the end of the last completed game tick
+     * @param camera    the {@link Camera} object of the {@link dev.theskidster.xjge.main.Viewport Viewport} currently being rendered
+     * @param lights    the array of light source objects captured alongside this entity
+     * @param numLights the number of lights the current level is using
+     */
+    public void render(EntityState state, Camera camera, LightSource[] lights, int numLights) {
+        render(camera, lights, numLights);
+    }
+    
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Stores the current state of this entity so it may be interpolated during rendering. Called automatically at the start of each game tick by 
+     * {@link dev.theskidster.xjge.level.Level#updateEntities() Level.updateEntities()}. Subclasses that track additional state for interpolation should 
+     * override this and call the super method.
+     */
+    public void storePrevState() {
+        prevPosition.set(position);
+    }
+    
+    /**
+     * Finds the distance between the position this entity should be drawn at and its current position. Entities can pass the result to 
+     * {@link dev.theskidster.xjge.graphics.Model#render(String, LightSource[], int, Vector3f) Model.render()} to appear to move smoothly when the game is 
+     * being rendered at a higher rate than it's being updated.
+     * 
+     * @param alpha the interpolation factor provided by {@link Game#getAlpha()}
+     * @param dest  the vector which will contain the result
+     * @return the value of dest
+     */
+    public Vector3f findRenderOffset(float alpha, Vector3f dest) {
+        return prevPosition.lerp(position, alpha, dest).sub(position);
+    }
+    
+    /**
+     * Finds the axis-aligned box in world space which encloses this entity. Used by {@link dev.theskidster.xjge.level.Level#renderEntities(Camera) 
+     * Level.renderEntities()} to skip entities outside of the view frustum of each viewport. By default entities have no bounds and are always drawn, 
+     * subclasses which render a {@link dev.theskidster.xjge.graphics.Model Model} can supply its {@linkplain dev.theskidster.xjge.graphics.Model#findBounds(Vector3f, 
+     * Vector3f) bounds} here.
+     * 
+     * @param min the vector which will contain the corner of the box with the smallest coordinates
+     * @param max the vector which will contain the corner of the box with the largest coordinates
+     * @return true if the entity has bounds, false if it should never be culled
+     */
+    public boolean findBounds(Vector3f min, Vector3f max) {
+        return false;
+    }
+    
+    /**
+     * Finds the radius of the sphere which encloses this entity. Used by the {@linkplain dev.theskidster.xjge.level.Level#getSpatialIndex() spatial index} of 
+     * the level to determine which queries the entity satisfies. By default entities are treated as points, subclasses with a physical size should 
+     * override this. The value returned is expected to remain constant for the lifetime of the entity.
+     * 
+     * @return the bounding radius of this entity
+     */
+    public float getBoundingRadius() {
+        return 0;
+    }
+    
+    /**
+     * Writes any state beyond the position of this entity needed to recreate it when the level it inhabits is saved by a 
+     * {@link dev.theskidster.xjge.level.LevelWriter LevelWriter}. The data written here is supplied to the reader 
+     * {@linkplain dev.theskidster.xjge.level.LevelFile#register(String, dev.theskidster.xjge.level.LevelFile.EntityReader) registered} for this type of 
+     * entity when the level is loaded, and must not exceed 65535 bytes. By default nothing is written.
+     * 
+     * @param out the stream to write to
+     * @throws IOException if the data could not be written
+     */
+    public void writeData(DataOutputStream out) throws IOException {}
+    
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Finds the handle used to identify this entity within the spatial index of the level it inhabits.
+     * 
+     * @return the handle of this entity or -1 if it isn't currently indexed
+     */
+    public int getSpatialHandle() {
+        return spatialHandle;
+    }
+    
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Sets the handle used to identify this entity within the spatial index of the level it inhabits. Called automatically by the level as the entity is 
+     * added to or removed from its index.
+     * 
+     * @param handle the handle provided by the index or -1 if the entity is no longer indexed
+     */
+    public void setSpatialHandle(int handle) {
+        spatialHandle = handle;
+    }
+    
     /**
      * Used to free resources used by this entity once it is no longer needed. Calls like 
      * {@link dev.theskidster.xjge.graphics.Graphics#freeBuffers() Graphics.freeBuffers()} and 
@@ -53,20 +188,80 @@ public abstract class Entity {
     protected abstract void destroy();
     
     /**
-     * Finds if this entity has made a request for {@linkplain remove removal}. If it has, the entity is {@linkplain destroy destroyed} and subsequently removed 
-     * from the current levels {@linkplain dev.theskidster.xjge.level.Level#entityList entity list}.
+     * Finds if this entity has made a request for {@linkplain remove removal}.
      * 
      * @return true if the entity has requested removal
      * @see dev.theskidster.xjge.level.Level#resolveRemoveRequest() 
      */
     public boolean getRemoveRequest() {
-        if(removeRequest) destroy();
         return removeRequest;
     }
     
     /**
-     * Requests the removal and destruction of this entity.
+     * Requests the removal and destruction of this entity. The entity is queued by the level it inhabits so that it may be removed without searching the 
+     * entire {@linkplain dev.theskidster.xjge.level.Level#entityList entity list}. Entities acquired from an {@link EntityPool} are returned to their pool 
+     * rather than destroyed.
+     */
+    public void remove() {
+        if(removeRequest) return;
+        
+        removeRequest = true;
+        
+        Queue<Entity> queue = removeQueue;
+        if(queue != null) queue.add(this);
+    }
+    
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Finds the position of this entity within the {@linkplain dev.theskidster.xjge.level.Level#entityList entity list} of the level it inhabits.
+     * 
+     * @return the index of this entity or -1 if it isn't currently tracked by a level
+     */
+    public int getIndex() {
+        return index;
+    }
+    
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Records the position of this entity within the entity list of a level along with the queue that its removal requests should be posted to. If the entity 
+     * requested removal before it was tracked by the level, the request is posted immediately.
+     * 
+     * @param index       the index of this entity or -1 if it's no longer tracked by a level
+     * @param removeQueue the queue of the level this entity inhabits or null if it's no longer tracked by a level
+     */
+    public void setIndex(int index, Queue<Entity> removeQueue) {
+        boolean adopted = (this.removeQueue == null && removeQueue != null);
+        
+        this.index       = index;
+        this.removeQueue = removeQueue;
+        
+        if(adopted && removeRequest) removeQueue.add(this);
+    }
+    
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Disposes of this entity once it has been removed from a level. Entities acquired from an {@link EntityPool} are returned to it with their resources 
+     * intact, otherwise the entity is {@linkplain destroy() destroyed} through {@link Game#submitGLTask(Runnable)}.
+     */
+    public void recycle() {
+        if(pool != null) pool.reclaim(this);
+        else             Game.submitGLTask(this::destroy);
+    }
+    
+    /**
+     * Called when this entity is acquired from an {@link EntityPool} after having been used previously. Subclasses intended to be pooled should override this 
+     * to restore any state changed during their last use, such as timers or animations. The position of the entity is set by the pool beforehand.
      */
-    public void remove() { removeRequest = true; }
+    protected void reset() {}
+    
+    /**
+     * Clears the removal request of this entity so that it may be used again. Called by {@link EntityPool} when the entity is acquired.
+     */
+    void clearRemoveRequest() {
+        removeRequest = false;
+    }
     
 }
\ No newline at end of file
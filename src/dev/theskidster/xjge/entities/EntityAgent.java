@@ -0,0 +1,79 @@
+package dev.theskidster.xjge.entities;
+
+import dev.theskidster.xjge.graphics.LightSource;
+import dev.theskidster.xjge.util.Camera;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A lightweight entity without any graphical representation that wanders aimlessly within a bounded area. Used to populate levels with large numbers of
+ * entities for the purposes of measuring simulation performance, and is safe to use while the engine is running in
+ * {@linkplain dev.theskidster.xjge.main.App#getHeadless() headless mode}.
+ * <br><br>
+ * Agents use their own pseudo-random number generator so that their movement is deterministic for any given seed.
+ */
+public class EntityAgent extends Entity {
+    
+    private int seed;
+    private final float bounds;
+    
+    private final Vector3f velocity = new Vector3f();
+    
+    /**
+     * Creates a new agent.
+     * 
+     * @param position the initial position of this entity in 3D space
+     * @param bounds   the distance from the world origin this agent may wander along any axis
+     * @param seed     the value used to seed the movement of this agent. Must not be zero.
+     */
+    public EntityAgent(Vector3f position, float bounds, int seed) {
+        super(position);
+        
+        this.bounds = bounds;
+        this.seed   = (seed != 0) ? seed : 1;
+    }
+    
+    @Override
+    public void update() {
+        velocity.add(nextFloat() * 0.02f, nextFloat() * 0.02f, nextFloat() * 0.02f);
+        velocity.mul(0.98f);
+        
+        position.add(velocity);
+        
+        if(Math.abs(position.x) > bounds) velocity.x = -velocity.x;
+        if(Math.abs(position.y) > bounds) velocity.y = -velocity.y;
+        if(Math.abs(position.z) > bounds) velocity.z = -velocity.z;
+    }
+    
+    @Override
+    public void render(Camera camera, LightSource[] lights, int numLights) {}
+    
+    @Override
+    protected void destroy() {}
+    
+    @Override
+    public void writeData(DataOutputStream out) throws IOException {
+        out.writeFloat(bounds);
+        out.writeInt(seed);
+    }
+    
+    /**
+     * Generates the next value of this agents xorshift sequence.
+     * 
+     * @return a value between -1 and 1
+     */
+    private float nextFloat() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        
+        return seed / (float) Integer.MAX_VALUE;
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package dev.theskidster.xjge.entities;
+
+import dev.theskidster.xjge.graphics.LightSource;
+import dev.theskidster.xjge.physics.PhysicsService;
+import dev.theskidster.xjge.physics.RigidBody;
+import dev.theskidster.xjge.util.Camera;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A sphere without any graphical representation that's moved entirely by the {@link PhysicsService}. Used to populate levels with large numbers of rigid 
+ * bodies for the purposes of measuring physics performance, and is safe to use while the engine is running in 
+ * {@linkplain dev.theskidster.xjge.main.App#getHeadless() headless mode}.
+ */
+public class EntityBody extends Entity {
+    
+    private final float radius;
+    private final RigidBody body;
+    
+    /**
+     * Creates a new body entity and adds its sphere to the physics world.
+     * 
+     * @param position the initial position of this entity in 3D space
+     * @param radius   the radius of the sphere
+     * @param mass     the total mass of the sphere
+     */
+    public EntityBody(Vector3f position, float radius, float mass) {
+        super(position);
+        
+        this.radius = radius;
+        body        = PhysicsService.addSphere(position, radius, mass);
+    }
+    
+    @Override
+    public void update() {
+        body.getPosition(position);
+    }
+    
+    @Override
+    public void render(Camera camera, LightSource[] lights, int numLights) {}
+    
+    @Override
+    protected void destroy() {}
+    
+    @Override
+    public void remove() {
+        body.remove();
+        super.remove();
+    }
+    
+    @Override
+    public boolean findBounds(Vector3f min, Vector3f max) {
+        min.set(position).sub(radius, radius, radius);
+        max.set(position).add(radius, radius, radius);
+        
+        return true;
+    }
+    
+    @Override
+    public float getBoundingRadius() {
+        return radius;
+    }
+    
+    public RigidBody getBody() { return body; }
+    
+}
@@ -2,7 +2,9 @@ package dev.theskidster.xjge.entities;
 
 import dev.theskidster.xjge.graphics.LightSource;
 import dev.theskidster.xjge.graphics.Model;
+import dev.theskidster.xjge.main.Game;
 import dev.theskidster.xjge.util.Camera;
+import dev.theskidster.xjge.util.Transform;
 import org.joml.Vector3f;
 
 /**
@@ -13,31 +15,70 @@ import org.joml.Vector3f;
 public class EntityBuster extends Entity {
 
     public final Model model;
+    private final boolean shared;
+    private final Vector3f offset     = new Vector3f();
+    private final Transform transform = new Transform();
     
     public EntityBuster(Vector3f position) {
+        this(position, new Model("mod_buster.fbx"), false);
+        model.setAnimation("TPose", 0);
+    }
+    
+    /**
+     * Creates a buster which draws a model shared with other entities. The model is attached to the transform of each buster as it's drawn, while its 
+     * animation is left for the owner of the model to update and free.
+     * 
+     * @param position the position of the entity
+     * @param model    the shared model to draw the entity with
+     */
+    public EntityBuster(Vector3f position, Model model) {
+        this(position, model, true);
+    }
+    
+    private EntityBuster(Vector3f position, Model model, boolean shared) {
         super(position);
         
-        model = new Model("mod_buster.fbx");
-        model.setAnimation("TPose", 0);
+        this.model  = model;
+        this.shared = shared;
+        
+        transform.setScale(0.04f);
+        model.setTransform(transform);
     }
 
     @Override
     public void update() {
-        model.delocalizeNormal();
-        model.translation(position);
-        model.scale(0.04f);
-        
-        model.updateAnimation();
+        transform.setPosition(position);
+        if(!shared) model.updateAnimation();
     }
 
     @Override
     public void render(Camera camera, LightSource[] lights, int numLights) {
-        model.render("default", lights, numLights);
+        if(shared) model.setTransform(transform);
+        model.render("default", lights, numLights, findRenderOffset(Game.getAlpha(), offset));
     }
 
+    @Override
+    public boolean findBounds(Vector3f min, Vector3f max) {
+        model.findBounds(transform.getWorldMatrix(), min, max);
+        return true;
+    }
+    
+    @Override
+    public void capture(EntityState state) {
+        super.capture(state);
+        
+        if(shared) model.setTransform(transform);
+        model.capture(state.getPose());
+    }
+    
+    @Override
+    public void render(EntityState state, Camera camera, LightSource[] lights, int numLights) {
+        model.render("default", state.pose, state.findRenderOffset(Game.getAlpha(), offset), lights, numLights);
+    }
+    
     @Override
     protected void destroy() {
-        model.destroy();
+        if(!shared) model.destroy();
     }
     
 }
\ No newline at end of file
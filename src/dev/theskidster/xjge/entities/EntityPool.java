@@ -0,0 +1,130 @@
+package dev.theskidster.xjge.entities;
+
+import dev.theskidster.xjge.main.Game;
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Maintains a collection of idle entities of a single type which can be reused in place of constructing new ones. Intended for short-lived entities that are 
+ * spawned frequently such as projectiles or particle effects, where allocating new objects along with their graphics resources each time would otherwise 
+ * produce noticeable hitches.
+ * <br><br>
+ * Entities obtained through {@link acquire(Vector3f)} are returned to the pool automatically once they've been {@linkplain Entity#remove() removed} from the 
+ * level they inhabit. Their resources are kept intact while idle and only freed if the pool is full or has been {@linkplain destroy() destroyed}. Pools may 
+ * be used from multiple threads, such as by entities spawning projectiles while the level is updated in parallel.
+ * 
+ * @param <T> the type of entity held by the pool
+ */
+public final class EntityPool<T extends Entity> {
+    
+    private int numCreated;
+    private final int capacity;
+    
+    private boolean destroyed;
+    
+    private final Supplier<T> factory;
+    private final ArrayDeque<T> idle;
+    
+    /**
+     * Creates a new entity pool.
+     * 
+     * @param factory  the function used to construct new entities when the pool is empty. Entities are constructed on the thread which calls 
+     *                 {@link acquire(Vector3f)}, as such entities which allocate graphics resources should only be acquired on the thread that renders 
+     *                 the game or {@linkplain prefill(int) prefilled} ahead of time.
+     * @param capacity the maximum number of idle entities the pool will hold, entities returned beyond this are destroyed
+     */
+    public EntityPool(Supplier<T> factory, int capacity) {
+        this.factory  = factory;
+        this.capacity = Math.max(capacity, 1);
+        
+        idle = new ArrayDeque<>(this.capacity);
+    }
+    
+    /**
+     * Obtains an entity from the pool, constructing a new one if none are idle. Entities which have been used previously have their removal request cleared 
+     * and their {@link Entity#reset()} method called.
+     * 
+     * @param position the position to place the entity at
+     * @return an entity ready to be added to a level
+     */
+    public synchronized T acquire(Vector3f position) {
+        T entity       = idle.pollLast();
+        boolean reused = (entity != null);
+        
+        if(!reused) {
+            entity      = factory.get();
+            entity.pool = this;
+            
+            numCreated++;
+        }
+        
+        entity.position.set(position);
+        entity.prevPosition.set(position);
+        
+        if(reused) {
+            entity.clearRemoveRequest();
+            entity.reset();
+        }
+        
+        return entity;
+    }
+    
+    /**
+     * Constructs entities until the pool holds the number of idle entities specified. Used to move the cost of creating entities to a convenient time such 
+     * as while a level is being initialized.
+     * 
+     * @param count the number of idle entities the pool should contain
+     */
+    public synchronized void prefill(int count) {
+        count = Math.min(count, capacity);
+        
+        while(idle.size() < count) {
+            T entity = factory.get();
+            
+            entity.pool = this;
+            idle.add(entity);
+            
+            numCreated++;
+        }
+    }
+    
+    /**
+     * Returns an entity to the pool once it has been removed from its level. Entities are destroyed instead if the pool is full or has been destroyed.
+     * 
+     * @param entity the entity to return
+     */
+    @SuppressWarnings("unchecked")
+    synchronized void reclaim(Entity entity) {
+        if(!destroyed && idle.size() < capacity) {
+            idle.add((T) entity);
+        } else {
+            entity.pool = null;
+            Game.submitGLTask(entity::destroy);
+        }
+    }
+    
+    /**
+     * Destroys every idle entity held by the pool. Entities acquired from the pool which are still in use will be destroyed once they're removed from their 
+     * level. Should be called when the level using the pool exits.
+     */
+    public synchronized void destroy() {
+        destroyed = true;
+        
+        for(T entity : idle) {
+            entity.pool = null;
+            Game.submitGLTask(entity::destroy);
+        }
+        
+        idle.clear();
+    }
+    
+    public synchronized int getNumIdle()    { return idle.size(); }
+    public synchronized int getNumCreated() { return numCreated; }
+    
+}
@@ -0,0 +1,65 @@
+package dev.theskidster.xjge.entities;
+
+import dev.theskidster.xjge.graphics.ModelPose;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Record containing the state of a single {@link Entity} at the end of a game tick. Entity states are owned by a
+ * {@link dev.theskidster.xjge.main.RenderSnapshot RenderSnapshot} and reused between captures, as such entities should copy values into the fields provided
+ * rather than replace them.
+ * 
+ * @see Entity#capture(EntityState)
+ */
+public final class EntityState {
+    
+    /**
+     * The entity this state was captured from.
+     */
+    public Entity entity;
+    
+    public final Vector3f position     = new Vector3f();
+    public final Vector3f prevPosition = new Vector3f();
+    public final Matrix4f transform    = new Matrix4f();
+    
+    /**
+     * The bounding box of the entity in world space and whether it has one. Entities without bounds are never culled.
+     * 
+     * @see Entity#findBounds(Vector3f, Vector3f)
+     */
+    public final Vector3f boundsMin = new Vector3f();
+    public final Vector3f boundsMax = new Vector3f();
+    public boolean bounded;
+    
+    /**
+     * Pose data for entities which use a {@link dev.theskidster.xjge.graphics.Model Model}. Remains null until the entity first captures it.
+     */
+    public ModelPose pose;
+    
+    /**
+     * Equivalent of {@link Entity#findRenderOffset(float, Vector3f)} which uses the positions captured by this state.
+     * 
+     * @param alpha the interpolation factor provided by {@link dev.theskidster.xjge.main.Game#getAlpha() Game.getAlpha()}
+     * @param dest  the vector which will contain the result
+     * @return the value of dest
+     */
+    public Vector3f findRenderOffset(float alpha, Vector3f dest) {
+        return prevPosition.lerp(position, alpha, dest).sub(position);
+    }
+    
+    /**
+     * Convenience method that returns the pose of this state, creating it first if necessary.
+     * 
+     * @return the model pose object used by this state
+     */
+    public ModelPose getPose() {
+        if(pose == null) pose = new ModelPose();
+        return pose;
+    }
+    
+}
\ No newline at end of file
@@ -2,7 +2,12 @@ package dev.theskidster.xjge.entities;
 
 import dev.theskidster.xjge.graphics.LightSource;
 import dev.theskidster.xjge.graphics.Model;
+import dev.theskidster.xjge.main.Game;
+import dev.theskidster.xjge.util.Asset;
 import dev.theskidster.xjge.util.Camera;
+import dev.theskidster.xjge.util.Color;
+import dev.theskidster.xjge.util.Transform;
+import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
 /**
@@ -12,31 +17,69 @@ import org.joml.Vector3f;
 
 public class EntityTeapot extends Entity {
 
-    private Model model;
     private float angle;
+    private final Vector3f offset      = new Vector3f();
+    private final Transform transform  = new Transform();
+    private final Quaternionf rotation = new Quaternionf().rotationY((float) Math.toRadians(90)).rotateZ((float) Math.toRadians(-135));
+    
+    /**
+     * Every teapot submits an instance of the same model so they may be drawn together. The model is loaded in the background when the first teapot is
+     * created and freed once the last teapot using it is destroyed. Teapots are created by the simulation thread but destroyed by the rendering thread, so
+     * the shared handle is only exchanged while holding the lock of this class.
+     */
+    private static Asset<Model> sharedModel;
+    private static int numTeapots;
+    
+    private final Asset<Model> model;
     
     public EntityTeapot(Vector3f position) {
         super(position);
         
-        model = new Model("mod_teapot.fbx");
+        synchronized(EntityTeapot.class) {
+            if(numTeapots++ == 0) sharedModel = Model.loadAsync("mod_teapot.fbx");
+            model = sharedModel;
+        }
+        
+        transform.setRotation(rotation);
     }
 
     @Override
     public void update() {
-        model.delocalizeNormal();
-        model.translation(position);
-        model.rotateY(90);
-        model.rotateZ(-135);
+        transform.setPosition(position);
     }
 
     @Override
     public void render(Camera camera, LightSource[] lights, int numLights) {
-        model.render("default", lights, numLights);
+        if(model.get() != null) model.get().submit("default", transform, findRenderOffset(Game.getAlpha(), offset), Color.WHITE);
     }
 
+    @Override
+    public boolean findBounds(Vector3f min, Vector3f max) {
+        if(model.get() == null) return false;
+        
+        model.get().findBounds(transform.getWorldMatrix(), min, max);
+        return true;
+    }
+    
+    @Override
+    public void capture(EntityState state) {
+        super.capture(state);
+        state.transform.set(transform.getWorldMatrix());
+    }
+    
+    @Override
+    public void render(EntityState state, Camera camera, LightSource[] lights, int numLights) {
+        if(model.get() != null) model.get().submit("default", state.transform, state.findRenderOffset(Game.getAlpha(), offset), Color.WHITE);
+    }
+    
     @Override
     protected void destroy() {
-        model.destroy();
+        synchronized(EntityTeapot.class) {
+            if(--numTeapots > 0) return;
+            sharedModel = null;
+        }
+        
+        if(model.get() != null) model.get().destroy();
     }
     
 }
\ No newline at end of file
@@ -1,19 +1,9 @@
 package dev.theskidster.xjge.graphics;
 
-import dev.theskidster.xjge.main.App;
 import dev.theskidster.xjge.main.ErrorUtil;
-import dev.theskidster.xjge.main.Logger;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
+import java.util.HashMap;
 import java.util.Map;
 import static org.lwjgl.opengl.GL13.*;
-import static org.lwjgl.stb.STBImage.STBI_rgb_alpha;
-import static org.lwjgl.stb.STBImage.stbi_image_free;
-import static org.lwjgl.stb.STBImage.stbi_load_from_memory;
-import org.lwjgl.system.MemoryStack;
-import org.lwjgl.system.MemoryUtil;
 
 /**
  * @author J Hoffman
@@ -34,20 +24,14 @@ class Cubemap {
      * <br><br>
      * <b>*All images used by the cubemap must exhibit the same width/height dimensions in pixels otherwise it will appear black.*</b>
      * 
-     * @param images the names of each image file to parse texture data from
+     * @param images the decoded image data of each face, as supplied by {@link decode(Map)}
      */
-    Cubemap(Map<Integer, String> images) {
+    Cubemap(Map<Integer, Texture.Image> images) {
         handle = glGenTextures();
         glBindTexture(GL_TEXTURE_CUBE_MAP, handle);
         
-        images.forEach((target, filename) -> {
-            try(InputStream file = Cubemap.class.getResourceAsStream("/dev/theskidster/" + App.DOMAIN + "/assets/" + filename)) {
-                loadCubemap(target, file);
-            } catch(Exception e) {
-                Logger.logWarning("Failed to load cubemap image: \"" + filename + "\"", e);
-                
-                loadCubemap(target, Cubemap.class.getResourceAsStream("/dev/theskidster/" + App.DOMAIN + "/assets/img_null.png"));
-            }
+        images.forEach((target, image) -> {
+            glTexImage2D(target, 0, GL_RGBA, image.width, image.height, 0, GL_RGBA, GL_UNSIGNED_BYTE, image.pixels);
         });
         
         glTexParameteri(GL_TEXTURE_CUBE_MAP, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
@@ -57,37 +41,24 @@ class Cubemap {
         glTexParameteri(GL_TEXTURE_CUBE_MAP, GL_TEXTURE_WRAP_R, GL_CLAMP_TO_EDGE);
         
         ErrorUtil.checkGLError();
+        
+        images.values().stream().distinct().forEach(Texture.Image::free);
     }
     
     /**
-     * Parses the data of the image file specified and uses it to generate a larger OpenGL cubemap texture object.
+     * Reads and decodes the image of each face of a cubemap. Faces which share the same file are decoded only once. Makes no calls to the graphics API and 
+     * may therefore be used on any thread.
      * 
-     * @param target the OpenGL texture target, this will be specified automatically though the constructor 
-     * @param file   the file to extract texture data from
+     * @param filenames the names of each image file to parse texture data from, keyed by the OpenGL texture target of the face they'll be used for
+     * @return the decoded image data of each face
      */
-    private void loadCubemap(int target, InputStream file) {
-        try(MemoryStack stack = MemoryStack.stackPush()) {
-            byte[] data = file.readAllBytes();
-            
-            ByteBuffer imageBuf  = MemoryUtil.memAlloc(data.length).put(data).flip();
-            IntBuffer widthBuf   = stack.mallocInt(1);
-            IntBuffer heightBuf  = stack.mallocInt(1);
-            IntBuffer channelBuf = stack.mallocInt(1);
-            
-            ByteBuffer texture = stbi_load_from_memory(imageBuf, widthBuf, heightBuf, channelBuf, STBI_rgb_alpha);
-            
-            if(texture != null) {
-                glTexImage2D(target, 0, GL_RGBA, widthBuf.get(), heightBuf.get(), 0, GL_RGBA, GL_UNSIGNED_BYTE, texture);
-            } else {
-                throw new NullPointerException("STBI failed to parse texture data.");
-            }
-            
-            stbi_image_free(texture);
-            MemoryUtil.memFree(imageBuf);
-            
-        } catch(IOException e) {
-            Logger.logSevere("Failed to load fallback texture.", e);
-        }
+    static Map<Integer, Texture.Image> decode(Map<Integer, String> filenames) {
+        Map<Integer, Texture.Image> images = new HashMap<>();
+        Map<String, Texture.Image> decoded = new HashMap<>();
+        
+        filenames.forEach((target, filename) -> images.put(target, decoded.computeIfAbsent(filename, Texture::decode)));
+        
+        return images;
     }
     
     /**
@@ -17,9 +17,20 @@ public class Light {
     public static final Light SUNSET   = new Light(0.7f, 0.46f, new Vector3f(-1, 1, -2), Color.create(173, 141, 162), Color.create(255, 204, 76));
     public static final Light MIDNIGHT = new Light(0.95f, 1, new Vector3f(1, 2, 2), Color.create(35, 45, 74), Color.WHITE);
     
+    /**
+     * The range given to new lights, see {@link range}.
+     */
+    public static final float DEFAULT_RANGE = 100;
+    
     public float brightness;
     public float contrast;
     
+    /**
+     * The distance at which the light no longer has any effect. Only observed while {@linkplain dev.theskidster.xjge.main.App#getClusteredLighting() 
+     * clustered lighting} is enabled, where the light will fade smoothly to nothing as it approaches this distance. Has no effect on the world light.
+     */
+    public float range = DEFAULT_RANGE;
+    
     public Vector3f position;
     public Vector3f ambient;
     public Vector3f diffuse;
@@ -0,0 +1,410 @@
+package dev.theskidster.xjge.graphics;
+
+import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.shader.core.ShaderCore;
+import dev.theskidster.xjge.util.JobSystem;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import org.joml.Matrix4f;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import static org.lwjgl.opengl.GL31.*;
+import org.lwjgl.system.MemoryUtil;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Assigns the point lights of a level to the clusters of a viewport for clustered forward shading. The view frustum of the viewport camera is divided into a
+ * grid of {@value #GRID_X} by {@value #GRID_Y} tiles across the screen and {@value #GRID_Z} slices along its depth, which grow exponentially in size the further
+ * they are from the camera. Each light is added to the list of every cluster its sphere of influence overlaps, allowing the fragment shader to evaluate only
+ * the lights that can affect the cluster it lies in rather than every light in the level.
+ * <br><br>
+ * Lights are assigned to clusters on the CPU through {@link bin(Matrix4f, Matrix4f, LightSource[]) bin()}, which distributes the slices of the grid across the
+ * {@link JobSystem}, then supplied to the graphics pipeline through {@link upload(int, int) upload()} as a set of texture buffers. Binning makes no calls to
+ * the graphics API, so it may be used and measured while the engine is running headless.
+ * <br><br>
+ * Clusters are only supported by cameras using perspective projection, and only extend to a fixed distance from the camera. Fragments beyond this distance
+ * use the lights of the furthest slice.
+ */
+public final class LightClusters {
+    
+    public static final int GRID_X       = 16;
+    public static final int GRID_Y       = 9;
+    public static final int GRID_Z       = 24;
+    public static final int NUM_TILES    = GRID_X * GRID_Y;
+    public static final int NUM_CLUSTERS = NUM_TILES * GRID_Z;
+    
+    /**
+     * The number of floats each light occupies in the light data buffer. Each light is stored as three RGBA texels containing its position and range, its
+     * ambient color and brightness, and its diffuse color and contrast.
+     */
+    private static final int LIGHT_STRIDE = 12;
+    
+    private int numLights;
+    private int numIndices;
+    private int maxTexels;
+    private int dataBuffer;
+    private int dataTexture;
+    private int gridBuffer;
+    private int gridTexture;
+    private int indexBuffer;
+    private int indexTexture;
+    private float near;
+    private float far;
+    private float logRatio;
+    
+    private float[] lightData = new float[LIGHT_STRIDE * 64];
+    private float[] viewData  = new float[4 * 64];
+    private int[] sliceRange  = new int[2 * 64];
+    private int[] indices     = new int[1024];
+    
+    private final int[] clusterData   = new int[NUM_CLUSTERS * 2];
+    private final float[] sliceDepth  = new float[GRID_Z + 1];
+    private final float[] tileBoundsX = new float[GRID_X + 1];
+    private final float[] tileBoundsY = new float[GRID_Y + 1];
+    private final Slice[] slices      = new Slice[GRID_Z];
+    private final Vector2f tileSize   = new Vector2f();
+    
+    private FloatBuffer dataStaging;
+    private IntBuffer gridStaging;
+    private IntBuffer indexStaging;
+    
+    private final IntConsumer binner    = this::binSlice;
+    private final IntConsumer scatterer = this::scatterSlice;
+    
+    /**
+     * Temporary storage used while assigning lights to the clusters of a single slice. Each slice is processed by one thread at a time.
+     */
+    private static class Slice {
+        int base;
+        int numPairs;
+        int[] pairs            = new int[256];
+        final int[] tileCounts = new int[NUM_TILES];
+        final int[] cursors    = new int[NUM_TILES];
+    }
+    
+    /**
+     * Creates a new set of clusters.
+     * 
+     * @param far the distance from the camera at which the furthest slice of clusters ends
+     */
+    public LightClusters(float far) {
+        this.far = far;
+        
+        for(int k = 0; k < GRID_Z; k++) slices[k] = new Slice();
+    }
+    
+    /**
+     * Finds the slice that contains a point at the distance from the camera specified.
+     */
+    private int findSlice(float depth) {
+        int k = (int) (Math.log(depth / near) * GRID_Z / logRatio);
+        return Math.max(0, Math.min(k, GRID_Z - 1));
+    }
+    
+    /**
+     * Assigns each enabled point light to the clusters it overlaps. The first light source is the world light and is ignored.
+     * 
+     * @param viewMatrix the view matrix of the camera
+     * @param projMatrix the projection matrix of the camera
+     * @param lights     the light sources of the current level, which may contain null elements
+     * @return true if the lights were assigned, false if the projection matrix doesn't use perspective projection
+     */
+    public boolean bin(Matrix4f viewMatrix, Matrix4f projMatrix, LightSource[] lights) {
+        //Perspective projection matrices are the only ones which map the w component to the negated z component.
+        if(projMatrix.m23() != -1) return false;
+        
+        near     = projMatrix.perspectiveNear();
+        logRatio = (float) Math.log(far / near);
+        
+        float tanX = 1 / projMatrix.m00();
+        float tanY = 1 / projMatrix.m11();
+        
+        for(int k = 0; k <= GRID_Z; k++) sliceDepth[k]  = near * (float) Math.pow(far / near, (float) k / GRID_Z);
+        for(int c = 0; c <= GRID_X; c++) tileBoundsX[c] = tanX * (-1 + 2f * c / GRID_X);
+        for(int r = 0; r <= GRID_Y; r++) tileBoundsY[r] = tanY * (-1 + 2f * r / GRID_Y);
+        
+        numLights = 0;
+        
+        for(int i = 1; i < lights.length; i++) {
+            LightSource source = lights[i];
+            if(source == null || !source.enabled) continue;
+            
+            if(numLights * LIGHT_STRIDE == lightData.length) {
+                lightData  = Arrays.copyOf(lightData, lightData.length * 2);
+                viewData   = Arrays.copyOf(viewData, viewData.length * 2);
+                sliceRange = Arrays.copyOf(sliceRange, sliceRange.length * 2);
+            }
+            
+            Vector3f position = source.getPosition();
+            Vector3f ambient  = source.getAmbient();
+            Vector3f diffuse  = source.getDiffuse();
+            float range       = source.getRange();
+            
+            int d = numLights * LIGHT_STRIDE;
+            
+            lightData[d]      = position.x;
+            lightData[d + 1]  = position.y;
+            lightData[d + 2]  = position.z;
+            lightData[d + 3]  = range;
+            lightData[d + 4]  = ambient.x;
+            lightData[d + 5]  = ambient.y;
+            lightData[d + 6]  = ambient.z;
+            lightData[d + 7]  = source.getBrightness();
+            lightData[d + 8]  = diffuse.x;
+            lightData[d + 9]  = diffuse.y;
+            lightData[d + 10] = diffuse.z;
+            lightData[d + 11] = source.getContrast();
+            
+            int v = numLights * 4;
+            
+            viewData[v]     = viewMatrix.m00() * position.x + viewMatrix.m10() * position.y + viewMatrix.m20() * position.z + viewMatrix.m30();
+            viewData[v + 1] = viewMatrix.m01() * position.x + viewMatrix.m11() * position.y + viewMatrix.m21() * position.z + viewMatrix.m31();
+            viewData[v + 2] = viewMatrix.m02() * position.x + viewMatrix.m12() * position.y + viewMatrix.m22() * position.z + viewMatrix.m32();
+            viewData[v + 3] = range;
+            
+            float depth = -viewData[v + 2];
+            
+            if(depth + range < near || depth - range > far) {
+                sliceRange[numLights * 2]     = 1;
+                sliceRange[numLights * 2 + 1] = 0;
+            } else {
+                sliceRange[numLights * 2]     = findSlice(Math.max(depth - range, near));
+                sliceRange[numLights * 2 + 1] = findSlice(Math.min(depth + range, far));
+            }
+            
+            numLights++;
+        }
+        
+        JobSystem.parallelFor(GRID_Z, 1, binner);
+        
+        numIndices = 0;
+        
+        for(Slice slice : slices) {
+            slice.base  = numIndices;
+            numIndices += slice.numPairs / 2;
+        }
+        
+        if(numIndices > indices.length) indices = new int[Math.max(numIndices, indices.length * 2)];
+        
+        JobSystem.parallelFor(GRID_Z, 1, scatterer);
+        
+        return true;
+    }
+    
+    /**
+     * Finds each light which overlaps the clusters of a slice and counts the number of lights in each cluster.
+     * 
+     * @param k the index of the slice
+     */
+    private void binSlice(int k) {
+        Slice slice = slices[k];
+        
+        slice.numPairs = 0;
+        Arrays.fill(slice.tileCounts, 0);
+        
+        float dn = sliceDepth[k];
+        float df = sliceDepth[k + 1];
+        
+        for(int l = 0; l < numLights; l++) {
+            if(k < sliceRange[l * 2] || k > sliceRange[l * 2 + 1]) continue;
+            
+            float x = viewData[l * 4];
+            float y = viewData[l * 4 + 1];
+            float z = viewData[l * 4 + 2];
+            float r = viewData[l * 4 + 3];
+            
+            //The side of each tile furthest from the center of the view is widest at the far end of the slice.
+            float gz = Math.max(Math.max(-df - z, z + dn), 0);
+            
+            for(int row = 0; row < GRID_Y; row++) {
+                float minY = tileBoundsY[row] * ((tileBoundsY[row] < 0) ? df : dn);
+                float maxY = tileBoundsY[row + 1] * ((tileBoundsY[row + 1] > 0) ? df : dn);
+                
+                if(maxY < y - r) continue;
+                if(minY > y + r) break;
+                
+                float gy = Math.max(Math.max(minY - y, y - maxY), 0);
+                
+                for(int col = 0; col < GRID_X; col++) {
+                    float minX = tileBoundsX[col] * ((tileBoundsX[col] < 0) ? df : dn);
+                    float maxX = tileBoundsX[col + 1] * ((tileBoundsX[col + 1] > 0) ? df : dn);
+                    
+                    if(maxX < x - r) continue;
+                    if(minX > x + r) break;
+                    
+                    float gx = Math.max(Math.max(minX - x, x - maxX), 0);
+                    
+                    if(gx * gx + gy * gy + gz * gz > r * r) continue;
+                    
+                    int tile = col + row * GRID_X;
+                    
+                    if(slice.numPairs == slice.pairs.length) slice.pairs = Arrays.copyOf(slice.pairs, slice.pairs.length * 2);
+                    
+                    slice.pairs[slice.numPairs++] = tile;
+                    slice.pairs[slice.numPairs++] = l;
+                    slice.tileCounts[tile]++;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Finds the offset of each cluster of a slice in the list of light indices and copies the lights of the slice into it.
+     * 
+     * @param k the index of the slice
+     */
+    private void scatterSlice(int k) {
+        Slice slice = slices[k];
+        
+        int offset = slice.base;
+        
+        for(int tile = 0; tile < NUM_TILES; tile++) {
+            int cluster = tile + k * NUM_TILES;
+            
+            clusterData[cluster * 2]     = offset;
+            clusterData[cluster * 2 + 1] = slice.tileCounts[tile];
+            slice.cursors[tile]          = offset;
+            
+            offset += slice.tileCounts[tile];
+        }
+        
+        for(int p = 0; p < slice.numPairs; p += 2) {
+            indices[slice.cursors[slice.pairs[p]]++] = slice.pairs[p + 1];
+        }
+    }
+    
+    /**
+     * Creates a buffer object and a buffer texture which reads from it.
+     */
+    private static int createTexture(int buffer, int format) {
+        int texture = glGenTextures();
+        
+        glBindBuffer(GL_TEXTURE_BUFFER, buffer);
+        glBufferData(GL_TEXTURE_BUFFER, 16, GL_STREAM_DRAW);
+        
+        glBindTexture(GL_TEXTURE_BUFFER, texture);
+        glTexBuffer(GL_TEXTURE_BUFFER, format, buffer);
+        glBindTexture(GL_TEXTURE_BUFFER, 0);
+        
+        return texture;
+    }
+    
+    /**
+     * Supplies the results of the most recent call to {@link bin(Matrix4f, Matrix4f, LightSource[]) bin()} to the graphics pipeline and binds them to the
+     * texture units read by the default fragment shader. Must be called from the thread which owns the graphics context before the level is rendered.
+     * 
+     * @param width  the width of the viewport in pixels
+     * @param height the height of the viewport in pixels
+     */
+    public void upload(int width, int height) {
+        if(dataBuffer == 0) {
+            dataBuffer   = glGenBuffers();
+            gridBuffer   = glGenBuffers();
+            indexBuffer  = glGenBuffers();
+            dataTexture  = createTexture(dataBuffer, GL_RGBA32F);
+            gridTexture  = createTexture(gridBuffer, GL_RG32I);
+            indexTexture = createTexture(indexBuffer, GL_R32I);
+            maxTexels    = glGetInteger(GL_MAX_TEXTURE_BUFFER_SIZE);
+            
+            dataStaging  = MemoryUtil.memAllocFloat(lightData.length);
+            gridStaging  = MemoryUtil.memAllocInt(clusterData.length);
+            indexStaging = MemoryUtil.memAllocInt(indices.length);
+        }
+        
+        int numTexels = Math.min(numIndices, maxTexels);
+        
+        if(numTexels < numIndices) {
+            Logger.logWarning("Light clusters exceeded the maximum size of a buffer texture. " + (numIndices - numTexels) + " lights were dropped.", null);
+        }
+        
+        if(dataStaging.capacity() < numLights * LIGHT_STRIDE) dataStaging = MemoryUtil.memRealloc(dataStaging, lightData.length);
+        if(indexStaging.capacity() < numTexels) indexStaging = MemoryUtil.memRealloc(indexStaging, indices.length);
+        
+        dataStaging.clear().put(lightData, 0, numLights * LIGHT_STRIDE).flip();
+        indexStaging.clear().put(indices, 0, numTexels).flip();
+        gridStaging.clear().put(clusterData).flip();
+        
+        //Clusters whose lists extend beyond the end of the index buffer are truncated.
+        if(numTexels < numIndices) {
+            for(int c = 0; c < NUM_CLUSTERS; c++) {
+                gridStaging.put(c * 2 + 1, Math.max(0, Math.min(clusterData[c * 2 + 1], numTexels - clusterData[c * 2])));
+            }
+        }
+        
+        glBindBuffer(GL_TEXTURE_BUFFER, dataBuffer);
+        if(dataStaging.hasRemaining()) glBufferData(GL_TEXTURE_BUFFER, dataStaging, GL_STREAM_DRAW);
+        glBindBuffer(GL_TEXTURE_BUFFER, gridBuffer);
+        glBufferData(GL_TEXTURE_BUFFER, gridStaging, GL_STREAM_DRAW);
+        glBindBuffer(GL_TEXTURE_BUFFER, indexBuffer);
+        if(indexStaging.hasRemaining()) glBufferData(GL_TEXTURE_BUFFER, indexStaging, GL_STREAM_DRAW);
+        glBindBuffer(GL_TEXTURE_BUFFER, 0);
+        
+        glActiveTexture(GL_TEXTURE1);
+        glBindTexture(GL_TEXTURE_BUFFER, dataTexture);
+        glActiveTexture(GL_TEXTURE2);
+        glBindTexture(GL_TEXTURE_BUFFER, gridTexture);
+        glActiveTexture(GL_TEXTURE3);
+        glBindTexture(GL_TEXTURE_BUFFER, indexTexture);
+        glActiveTexture(GL_TEXTURE0);
+        
+        tileSize.set((float) width / GRID_X, (float) height / GRID_Y);
+        
+        ShaderCore.setInt("uClustered", 1);
+        ShaderCore.setFloat("uClusterScale", GRID_Z / logRatio);
+        ShaderCore.setFloat("uClusterBias", GRID_Z * (float) Math.log(near) / logRatio);
+        ShaderCore.setVec2("uTileSize", tileSize);
+    }
+    
+    /**
+     * Frees the graphics resources used by these clusters.
+     */
+    public void destroy() {
+        if(dataBuffer == 0) return;
+        
+        glDeleteTextures(dataTexture);
+        glDeleteTextures(gridTexture);
+        glDeleteTextures(indexTexture);
+        glDeleteBuffers(dataBuffer);
+        glDeleteBuffers(gridBuffer);
+        glDeleteBuffers(indexBuffer);
+        
+        MemoryUtil.memFree(dataStaging);
+        MemoryUtil.memFree(gridStaging);
+        MemoryUtil.memFree(indexStaging);
+        
+        dataBuffer = 0;
+    }
+    
+    public int getNumLights()  { return numLights; }
+    public int getNumIndices() { return numIndices; }
+    public float getFar()      { return far; }
+    
+    /**
+     * Finds the number of lights assigned to a cluster by the most recent call to {@link bin(Matrix4f, Matrix4f, LightSource[]) bin()}.
+     * 
+     * @param x the column of the tile the cluster lies in
+     * @param y the row of the tile the cluster lies in
+     * @param z the slice the cluster lies in
+     * @return the number of lights in the cluster
+     */
+    public int getClusterSize(int x, int y, int z) {
+        return clusterData[(x + y * GRID_X + z * NUM_TILES) * 2 + 1];
+    }
+    
+    /**
+     * Sets the distance from the camera at which the furthest slice of clusters ends. Lights beyond this distance are ignored, and fragments beyond it use the
+     * lights of the furthest slice.
+     * 
+     * @param far the distance in world units
+     */
+    public void setFar(float far) {
+        this.far = far;
+    }
+    
+}
\ No newline at end of file
@@ -2,7 +2,10 @@ package dev.theskidster.xjge.graphics;
 
 import dev.theskidster.xjge.shader.core.ShaderCore;
 import dev.theskidster.xjge.util.Color;
+import dev.theskidster.xjge.main.App;
 import dev.theskidster.xjge.main.ErrorUtil;
+import dev.theskidster.xjge.main.Game;
+import org.joml.Matrix4f;
 import org.joml.Vector3f;
 import static org.lwjgl.opengl.GL30.*;
 import org.lwjgl.system.MemoryStack;
@@ -19,24 +22,74 @@ public class LightSource {
     
     public boolean enabled = true;
     
+    /**
+     * The position of the light at the end of the previous and current game ticks. Used to render the light source icon at an interpolated position.
+     */
+    public final Vector3f prevPosition = new Vector3f();
+    public final Vector3f currPosition = new Vector3f();
+    private final Vector3f renderPos   = new Vector3f();
+    
+    private final boolean hasIcon;
     private final Light light;
-    private final Graphics g;
-    private final Texture texture;
-    private final SpriteSheet sprite;
+    private final Matrix4f modelMatrix = new Matrix4f();
+    
+    /**
+     * The number of light sources currently sharing the icon quad and its texture.
+     */
+    private static int numIcons;
+    private static Graphics g;
+    private static Texture texture;
     
     /**
-     * Creates a new object that represents a source of light, such as a light bulb.
+     * Creates a new object that represents a source of light, such as a light bulb. The quad and texture used to draw the icon of the light are shared by 
+     * every light source and only allocated alongside the first, none are allocated while the engine is running in {@linkplain App#getHeadless() headless 
+     * mode}.
      * 
      * @param light the light data to use in the fragment shader
      */
     public LightSource(Light light) {
         this.light = light;
         
+        prevPosition.set(light.position);
+        currPosition.set(light.position);
+        
+        hasIcon = !App.getHeadless();
+        
+        if(hasIcon) {
+            synchronized(LightSource.class) {
+                if(numIcons++ == 0) genIcon();
+            }
+        }
+    }
+    
+    /**
+     * Transfers the state of the light source object provided into this one. Called automatically from 
+     * {@link dev.theskidster.xjge.level.Level#addLightSource(Light) Level.addLightSource()}. The interpolated position begins at that of the new light 
+     * rather than the one it replaces so its icon doesn't travel between them.
+     * 
+     * @param light  the light data to use in the fragment shader
+     * @param source the light source object that this instance will assume
+     */
+    public LightSource(Light light, LightSource source) {
+        this.light = light;
+        
+        enabled = source.enabled;
+        hasIcon = source.hasIcon;
+        
+        prevPosition.set(light.position);
+        currPosition.set(light.position);
+    }
+    
+    /**
+     * Allocates the quad and texture shared by the icon of every light source.
+     */
+    private static void genIcon() {
         Cell cell = new Cell(20, 20);
         
         g       = new Graphics();
         texture = new Texture("spr_engineicons.png");
-        sprite  = new SpriteSheet(texture, cell);
+        
+        SpriteSheet sprite = new SpriteSheet(texture, cell);
         
         glBindTexture(GL_TEXTURE_2D, texture.handle);
             glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
@@ -72,26 +125,12 @@ public class LightSource {
     }
     
     /**
-     * Transfers the state of the light source object provided into this one. Called automatically from 
-     * {@link dev.theskidster.xjge.level.Level#addLightSource(Light) Level.addLightSource()}.
-     * 
-     * @param light  the light data to use in the fragment shader
-     * @param source the light source object that this instance will assume
-     */
-    public LightSource(Light light, LightSource source) {
-        this.light = light;
-        
-        enabled    = source.enabled;
-        g          = source.g;
-        texture    = source.texture;
-        sprite     = source.sprite;
-    }
-    
-    /**
-     * updates the position of the light source.
+     * Updates the position of the light source. Called once per game tick by {@link dev.theskidster.xjge.level.Level#updateLightSources() 
+     * Level.updateLightSources()}.
      */
     public void update() {
-        g.modelMatrix.translation(light.position);
+        prevPosition.set(currPosition);
+        currPosition.set(light.position);
     }
     
     /**
@@ -104,7 +143,7 @@ public class LightSource {
      * @param camUp  the direction considered upwards relative to the viewports camera
      */
     public void render(Vector3f camPos, Vector3f camDir, Vector3f camUp) {
-        g.modelMatrix.billboardSpherical(light.position, camPos, camUp);
+        modelMatrix.billboardSpherical(prevPosition.lerp(currPosition, Game.getAlpha(), renderPos), camPos, camUp);
 
         ShaderCore.use("default");
 
@@ -112,7 +151,7 @@ public class LightSource {
         glBindVertexArray(g.vao);
 
         ShaderCore.setInt("uType", 6);
-        ShaderCore.setMat4("uModel", false, g.modelMatrix);
+        ShaderCore.setMat4("uModel", false, modelMatrix);
         ShaderCore.setVec3("uColor", light.ambient);
 
         glDrawElements(GL_TRIANGLES, g.indices.limit(), GL_UNSIGNED_INT, 0);
@@ -121,15 +160,25 @@ public class LightSource {
     }
     
     /**
-     * Frees all resources used by this light source object.
+     * Releases this light source's reference to the shared icon resources, which are freed once no light source uses them.
      */
     public void destroy() {
-        g.freeBuffers();
-        texture.freeTexture();
+        if(!hasIcon) return;
+        
+        synchronized(LightSource.class) {
+            if(--numIcons > 0) return;
+            
+            g.freeBuffers();
+            texture.freeTexture();
+            
+            g       = null;
+            texture = null;
+        }
     }
     
     public float getBrightness()  { return light.brightness; }
     public float getContrast()    { return light.contrast; }
+    public float getRange()       { return light.range; }
     public Vector3f getPosition() { return light.position; }
     public Vector3f getAmbient()  { return light.ambient; }
     public Vector3f getDiffuse()  { return light.diffuse; }
@@ -152,6 +201,16 @@ public class LightSource {
         light.contrast = contrast;
     }
     
+    /**
+     * Sets the distance at which the sources light no longer has any effect. Only observed while 
+     * {@linkplain App#getClusteredLighting() clustered lighting} is enabled.
+     * 
+     * @param range the range of the light in world units
+     */
+    public void setRange(float range) {
+        light.range = range;
+    }
+    
     /**
      * Sets the position from which the light will be emitted.
      * 
@@ -0,0 +1,138 @@
+package dev.theskidster.xjge.graphics;
+
+import dev.theskidster.xjge.main.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Stores the levels of detail generated for the meshes of a {@link Model} on disk so the {@link MeshSimplifier} doesn't need to run each time the model is
+ * loaded. Each model is given its own file in the {@value #DIRECTORY} directory, which is identified by a hash of the model file, the post processing
+ * arguments it was imported with, and the version of the simplifier. Files whose hash doesn't match are ignored and replaced.
+ */
+final class LodCache {
+    
+    static final String DIRECTORY = "cache";
+    
+    private static final int MAGIC = 0x584C4F44; //"XLOD"
+    
+    /**
+     * Finds the location of the cache file used by the model specified.
+     */
+    private static Path findPath(String filename) {
+        return Path.of(DIRECTORY, filename.replaceAll("[^A-Za-z0-9._-]", "_") + ".lod");
+    }
+    
+    /**
+     * Reads the levels of detail of a model from its cache file.
+     * 
+     * @param filename the name of the model file
+     * @param hash     the hash of the model file and the arguments it was imported with
+     * @param levels   the array which will contain the indices of each level of each mesh, excluding the first
+     * @param errors   the array which will contain the error of each level of each mesh, excluding the first
+     * @return true if a cache file matching the hash was found and read successfully
+     */
+    static boolean read(String filename, long hash, int[][][] levels, float[][] errors) {
+        Path path = findPath(filename);
+        if(!Files.isRegularFile(path)) return false;
+        
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if(in.readInt() != MAGIC || in.readInt() != MeshSimplifier.VERSION || in.readLong() != hash || in.readInt() != levels.length) {
+                return false;
+            }
+            
+            //No array stored in the file can hold more elements than the file has room for, which guards against allocating corrupt lengths.
+            long limit = Files.size(path) / Integer.BYTES;
+            
+            for(int m = 0; m < levels.length; m++) {
+                levels[m] = new int[readLength(in, limit)][];
+                errors[m] = new float[levels[m].length];
+                
+                for(int l = 0; l < levels[m].length; l++) {
+                    errors[m][l] = in.readFloat();
+                    levels[m][l] = new int[readLength(in, limit)];
+                    
+                    for(int i = 0; i < levels[m][l].length; i++) levels[m][l][i] = in.readInt();
+                }
+            }
+            
+            return true;
+        } catch(IOException e) {
+            Logger.logWarning("Failed to read cached levels of detail for model: \"" + filename + "\"", e);
+            return false;
+        }
+    }
+    
+    /**
+     * Reads the length of an array from a cache file.
+     * 
+     * @param in    the stream of the cache file
+     * @param limit the largest length the file could contain
+     * @return the length of the array
+     * @throws IOException if the length is negative or exceeds the limit, as it would in a corrupt file
+     */
+    private static int readLength(DataInputStream in, long limit) throws IOException {
+        int length = in.readInt();
+        if(length < 0 || length > limit) throw new IOException("Invalid array length " + length + " in cache file.");
+        
+        return length;
+    }
+    
+    /**
+     * Writes the levels of detail of a model to its cache file. The file is written in full before replacing any existing one, so models loaded concurrently
+     * will never observe a partially written file. Should writing fail, the temporary file is deleted.
+     * 
+     * @param filename the name of the model file
+     * @param hash     the hash of the model file and the arguments it was imported with
+     * @param levels   the indices of each level of each mesh, excluding the first
+     * @param errors   the error of each level of each mesh, excluding the first
+     */
+    static void write(String filename, long hash, int[][][] levels, float[][] errors) {
+        Path temp = null;
+        
+        try {
+            Files.createDirectories(Path.of(DIRECTORY));
+            
+            temp = Files.createTempFile(Path.of(DIRECTORY), null, ".tmp");
+            
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(MeshSimplifier.VERSION);
+                out.writeLong(hash);
+                out.writeInt(levels.length);
+                
+                for(int m = 0; m < levels.length; m++) {
+                    out.writeInt(levels[m].length);
+                    
+                    for(int l = 0; l < levels[m].length; l++) {
+                        out.writeFloat(errors[m][l]);
+                        out.writeInt(levels[m][l].length);
+                        
+                        for(int index : levels[m][l]) out.writeInt(index);
+                    }
+                }
+            }
+            
+            Files.move(temp, findPath(filename), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch(IOException e) {
+            Logger.logWarning("Failed to cache levels of detail for model: \"" + filename + "\"", e);
+            
+            if(temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch(IOException ignored) {}
+            }
+        }
+    }
+    
+}
\ No newline at end of file
@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import org.joml.Matrix4f;
+import org.joml.Vector3f;
 import org.lwjgl.PointerBuffer;
 import org.lwjgl.assimp.AIBone;
 import org.lwjgl.assimp.AIFace;
@@ -38,12 +39,29 @@ class Mesh {
     IntBuffer indices;
     Matrix4f modelMatrix = new Matrix4f();
     
+    /**
+     * The corners of the axis-aligned box which encloses every vertex of this mesh in its local space.
+     */
+    final Vector3f aabbMin = new Vector3f(Float.POSITIVE_INFINITY);
+    final Vector3f aabbMax = new Vector3f(Float.NEGATIVE_INFINITY);
+    
+    /**
+     * The position of each level of detail in the index buffer of this mesh, and the greatest distance in local space each displaces the surface of the mesh 
+     * by. The first level is the mesh as it was loaded.
+     */
+    int[] lodOffsets;
+    int[] lodCounts;
+    float[] lodErrors;
+    
     /**
      * Creates a mesh object that will be used by the engine to render a {@link Model}.
      * 
-     * @param aiMesh the mesh object provided by the Assimp library with which vertex data will be parsed
+     * @param aiMesh    the mesh object provided by the Assimp library with which vertex data will be parsed
+     * @param bones     the list of bones belonging to the model which the bones of this mesh will be added to
+     * @param lods      the indices of each level of detail generated for this mesh excluding the first, or null
+     * @param lodErrors the error of each level of detail generated for this mesh excluding the first, or null
      */
-    Mesh(AIMesh aiMesh, List<Bone> bones) {
+    Mesh(AIMesh aiMesh, List<Bone> bones, int[][] lods, float[] lodErrors) {
         glBindVertexArray(vao);
         
         matIndex = aiMesh.mMaterialIndex(); //Used to specify which texture to use for this mesh
@@ -52,7 +70,7 @@ class Mesh {
         parseTexCoordData(aiMesh);
         parseNormalData(aiMesh);
         parseBoneData(aiMesh, bones);
-        parseFaceData(aiMesh);
+        parseFaceData(aiMesh, lods, lodErrors);
         
         glEnableVertexAttribArray(0); //position
         glEnableVertexAttribArray(1); //texture coordinates
@@ -62,7 +80,7 @@ class Mesh {
     }
     
     /**
-     * Extracts the vertex positions of the mesh object and provides them to the graphics pipeline.
+     * Extracts the vertex positions of the mesh object and provides them to the graphics pipeline. The bounding box of the mesh is calculated alongside them.
      * 
      * @param aiMesh the mesh object provided by the Assimp library with which vertex data will be parsed
      */
@@ -76,6 +94,14 @@ class Mesh {
             positionBuf.put(aiVec.x())
                        .put(aiVec.y())
                        .put(aiVec.z());
+            
+            aabbMin.set(Math.min(aabbMin.x, aiVec.x()), Math.min(aabbMin.y, aiVec.y()), Math.min(aabbMin.z, aiVec.z()));
+            aabbMax.set(Math.max(aabbMax.x, aiVec.x()), Math.max(aabbMax.y, aiVec.y()), Math.max(aabbMax.z, aiVec.z()));
+        }
+        
+        if(aiMesh.mNumVertices() == 0) {
+            aabbMin.zero();
+            aabbMax.zero();
         }
         
         glBindBuffer(GL_ARRAY_BUFFER, vbo);
@@ -219,12 +245,28 @@ class Mesh {
     }
     
     /**
-     * Uses the number of faces in the mesh to generate indices that can be used by the graphics pipeline to optimize rendering.
+     * Uses the number of faces in the mesh to generate indices that can be used by the graphics pipeline to optimize rendering. The indices of each level of 
+     * detail are placed in the same buffer following those of the mesh itself.
      * 
-     * @param aiMesh the mesh object provided by the Assimp library with which vertex data will be parsed
+     * @param aiMesh    the mesh object provided by the Assimp library with which vertex data will be parsed
+     * @param lods      the indices of each level of detail generated for this mesh excluding the first, or null
+     * @param lodErrors the error of each level of detail generated for this mesh excluding the first, or null
      */
-    private void parseFaceData(AIMesh aiMesh) {
-        indices = MemoryUtil.memAllocInt(aiMesh.mNumFaces() * 3);
+    private void parseFaceData(AIMesh aiMesh, int[][] lods, float[] lodErrors) {
+        int numLods = (lods != null) ? lods.length + 1 : 1;
+        
+        lodOffsets     = new int[numLods];
+        lodCounts      = new int[numLods];
+        this.lodErrors = new float[numLods];
+        lodCounts[0]   = aiMesh.mNumFaces() * 3;
+        
+        for(int l = 1; l < numLods; l++) {
+            lodOffsets[l]     = lodOffsets[l - 1] + lodCounts[l - 1];
+            lodCounts[l]      = lods[l - 1].length;
+            this.lodErrors[l] = lodErrors[l - 1];
+        }
+        
+        indices = MemoryUtil.memAllocInt(lodOffsets[numLods - 1] + lodCounts[numLods - 1]);
         AIFace.Buffer aiFaceBuf = aiMesh.mFaces();
         
         for(int i = 0; i < aiMesh.mNumFaces(); i++) {
@@ -232,6 +274,8 @@ class Mesh {
             indices.put(aiFace.mIndices());
         }
         
+        for(int l = 1; l < numLods; l++) indices.put(lods[l - 1]);
+        
         glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ibo);
         glBufferData(GL_ELEMENT_ARRAY_BUFFER, indices.flip(), GL_STATIC_DRAW);
         
@@ -0,0 +1,383 @@
+package dev.theskidster.xjge.graphics;
+
+import java.util.Arrays;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Reduces the number of triangles in a mesh by repeatedly collapsing the edge whose removal would displace its surface the least, as measured by the quadric
+ * error metric of Garland and Heckbert. Edges are collapsed onto one of their existing vertices rather than a new position, which allows every level of
+ * detail produced to share the vertex data of the original mesh and differ only by their indices.
+ * <br><br>
+ * Vertices along the border of the mesh (including seams created by texture coordinates or normals that differ between faces) are never moved, which keeps
+ * the silhouette and texturing of the mesh intact at the cost of a less aggressive reduction. Collapses that would flip the facing of a triangle are rejected.
+ * <br><br>
+ * Each call to {@link simplify(int, float) simplify()} continues from where the previous one left off, so a chain of progressively coarser levels can be
+ * generated from a single instance. Makes no calls to the graphics API and may therefore be used on any thread.
+ */
+final class MeshSimplifier {
+    
+    /**
+     * Increased whenever the output of the simplifier changes so that stale results stored by the {@link LodCache} are discarded.
+     */
+    static final int VERSION = 1;
+    
+    /**
+     * The cosine of the greatest angle the facing of a triangle may be turned by when one of its vertices is moved.
+     */
+    private static final float MAX_TURN = 0.5f;
+    
+    private int numIndices;
+    private int stamp;
+    private float error;
+    
+    private final float[] positions;
+    private final double[] quadrics;
+    private final boolean[] locked;
+    private final boolean[] visited;
+    private final int[] remap;
+    private final int[] marks;
+    private final int[] adjOffsets;
+    private final float[] before = new float[3];
+    private final float[] after  = new float[3];
+    private int[] indices;
+    private int[] adjacency;
+    
+    /**
+     * Creates a new simplifier for the mesh specified.
+     * 
+     * @param positions the position of each vertex in the mesh stored as three consecutive floats
+     * @param indices   the indices of each triangle in the mesh. This array is not modified.
+     */
+    MeshSimplifier(float[] positions, int[] indices) {
+        int numVertices = positions.length / 3;
+        
+        this.positions = positions;
+        this.indices   = indices.clone();
+        numIndices     = indices.length - indices.length % 3;
+        quadrics       = new double[numVertices * 11];
+        locked         = new boolean[numVertices];
+        visited        = new boolean[numVertices];
+        remap          = new int[numVertices];
+        marks          = new int[numVertices];
+        adjOffsets     = new int[numVertices + 1];
+        adjacency      = new int[numIndices];
+        
+        for(int t = 0; t < numIndices; t += 3) addPlane(this.indices[t], this.indices[t + 1], this.indices[t + 2]);
+        
+        findBorders();
+    }
+    
+    /**
+     * Adds the plane of a triangle to the quadric of each of its vertices, weighted by the area of the triangle.
+     */
+    private void addPlane(int i0, int i1, int i2) {
+        double ux = positions[i1 * 3]     - positions[i0 * 3];
+        double uy = positions[i1 * 3 + 1] - positions[i0 * 3 + 1];
+        double uz = positions[i1 * 3 + 2] - positions[i0 * 3 + 2];
+        double vx = positions[i2 * 3]     - positions[i0 * 3];
+        double vy = positions[i2 * 3 + 1] - positions[i0 * 3 + 1];
+        double vz = positions[i2 * 3 + 2] - positions[i0 * 3 + 2];
+        
+        double nx     = uy * vz - uz * vy;
+        double ny     = uz * vx - ux * vz;
+        double nz     = ux * vy - uy * vx;
+        double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        
+        if(length == 0) return;
+        
+        double weight = length / 2;
+        
+        nx /= length;
+        ny /= length;
+        nz /= length;
+        
+        double d = -(nx * positions[i0 * 3] + ny * positions[i0 * 3 + 1] + nz * positions[i0 * 3 + 2]);
+        
+        addQuadric(i0 * 11, weight, nx, ny, nz, d);
+        addQuadric(i1 * 11, weight, nx, ny, nz, d);
+        addQuadric(i2 * 11, weight, nx, ny, nz, d);
+    }
+    
+    /**
+     * Adds a weighted plane to the quadric beginning at the index specified.
+     */
+    private void addQuadric(int q, double weight, double nx, double ny, double nz, double d) {
+        quadrics[q]      += weight * nx * nx;
+        quadrics[q + 1]  += weight * nx * ny;
+        quadrics[q + 2]  += weight * nx * nz;
+        quadrics[q + 3]  += weight * nx * d;
+        quadrics[q + 4]  += weight * ny * ny;
+        quadrics[q + 5]  += weight * ny * nz;
+        quadrics[q + 6]  += weight * ny * d;
+        quadrics[q + 7]  += weight * nz * nz;
+        quadrics[q + 8]  += weight * nz * d;
+        quadrics[q + 9]  += weight * d * d;
+        quadrics[q + 10] += weight;
+    }
+    
+    /**
+     * Locks each vertex that lies on an edge which isn't shared by exactly two triangles.
+     */
+    private void findBorders() {
+        long[] edges = findEdges();
+        
+        for(int e = 0; e < edges.length;) {
+            int run = 1;
+            while(e + run < edges.length && edges[e + run] == edges[e]) run++;
+            
+            if(run != 2) {
+                locked[(int) (edges[e] >>> 32)] = true;
+                locked[(int) edges[e]]          = true;
+            }
+            
+            e += run;
+        }
+    }
+    
+    /**
+     * Collects the edges of every remaining triangle, each identified by the indices of its two vertices with the smallest first. The edges are sorted so
+     * that those shared between triangles are adjacent.
+     */
+    private long[] findEdges() {
+        long[] edges = new long[numIndices];
+        
+        for(int t = 0; t < numIndices; t += 3) {
+            for(int k = 0; k < 3; k++) {
+                int a = indices[t + k];
+                int b = indices[t + (k + 1) % 3];
+                
+                edges[t + k] = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+            }
+        }
+        
+        Arrays.sort(edges);
+        
+        return edges;
+    }
+    
+    /**
+     * Builds the list of triangles each vertex belongs to.
+     */
+    private void findAdjacency() {
+        Arrays.fill(adjOffsets, 0);
+        
+        for(int i = 0; i < numIndices; i++) adjOffsets[indices[i] + 1]++;
+        for(int v = 0; v < locked.length; v++) adjOffsets[v + 1] += adjOffsets[v];
+        
+        int[] cursors = Arrays.copyOf(adjOffsets, locked.length);
+        
+        for(int i = 0; i < numIndices; i++) adjacency[cursors[indices[i]]++] = i / 3;
+    }
+    
+    /**
+     * Calculates the error introduced by moving one vertex onto another, as the mean squared distance of the destination from the planes accumulated by
+     * both vertices.
+     */
+    private double findCost(int src, int dst) {
+        int a = src * 11;
+        int b = dst * 11;
+        
+        double x = positions[dst * 3];
+        double y = positions[dst * 3 + 1];
+        double z = positions[dst * 3 + 2];
+        
+        double cost   = findQuadricError(a, x, y, z) + findQuadricError(b, x, y, z);
+        double weight = quadrics[a + 10] + quadrics[b + 10];
+        
+        return (weight > 0) ? Math.max(cost / weight, 0) : 0;
+    }
+    
+    /**
+     * Evaluates the quadric beginning at the index specified at a point, which yields the weighted sum of the squared distances from the point to each of 
+     * its planes.
+     */
+    private double findQuadricError(int q, double x, double y, double z) {
+        return quadrics[q] * x * x + 2 * quadrics[q + 1] * x * y + 2 * quadrics[q + 2] * x * z + 2 * quadrics[q + 3] * x +
+               quadrics[q + 4] * y * y + 2 * quadrics[q + 5] * y * z + 2 * quadrics[q + 6] * y +
+               quadrics[q + 7] * z * z + 2 * quadrics[q + 8] * z +
+               quadrics[q + 9];
+    }
+    
+    /**
+     * Determines whether moving a vertex onto another would fold the surface of the mesh over itself. This occurs when the two vertices share neighbors
+     * other than those of the triangles along the edge between them, or when the facing of any triangle that remains afterwards would be reversed.
+     */
+    private boolean findFold(int src, int dst) {
+        stamp++;
+        
+        int numShared = 0;
+        int numCommon = 0;
+        
+        for(int j = adjOffsets[dst]; j < adjOffsets[dst + 1]; j++) {
+            int t = adjacency[j] * 3;
+            for(int k = 0; k < 3; k++) marks[indices[t + k]] = stamp;
+        }
+        
+        for(int j = adjOffsets[src]; j < adjOffsets[src + 1]; j++) {
+            int t = adjacency[j] * 3;
+            
+            if(indices[t] == dst || indices[t + 1] == dst || indices[t + 2] == dst) numShared++;
+            
+            for(int k = 0; k < 3; k++) {
+                int v = indices[t + k];
+                
+                if(v != src && v != dst && marks[v] == stamp) {
+                    marks[v] = -stamp;
+                    numCommon++;
+                }
+            }
+        }
+        
+        if(numCommon != numShared) return true;
+        
+        for(int j = adjOffsets[src]; j < adjOffsets[src + 1]; j++) {
+            int t = adjacency[j] * 3;
+            
+            int i0 = indices[t];
+            int i1 = indices[t + 1];
+            int i2 = indices[t + 2];
+            
+            if(i0 == dst || i1 == dst || i2 == dst) continue;
+            
+            findNormal(i0, i1, i2, before);
+            findNormal((i0 == src) ? dst : i0, (i1 == src) ? dst : i1, (i2 == src) ? dst : i2, after);
+            
+            float dot     = before[0] * after[0] + before[1] * after[1] + before[2] * after[2];
+            float lengths = (float) Math.sqrt((before[0] * before[0] + before[1] * before[1] + before[2] * before[2]) *
+                                              (after[0] * after[0] + after[1] * after[1] + after[2] * after[2]));
+            
+            //Triangles are also prevented from turning too sharply in a single collapse so they can't be reversed gradually over several.
+            if(dot <= MAX_TURN * lengths) return true;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Finds the unnormalized normal of a triangle and stores it in the array provided.
+     */
+    private void findNormal(int i0, int i1, int i2, float[] normal) {
+        float ux = positions[i1 * 3]     - positions[i0 * 3];
+        float uy = positions[i1 * 3 + 1] - positions[i0 * 3 + 1];
+        float uz = positions[i1 * 3 + 2] - positions[i0 * 3 + 2];
+        float vx = positions[i2 * 3]     - positions[i0 * 3];
+        float vy = positions[i2 * 3 + 1] - positions[i0 * 3 + 1];
+        float vz = positions[i2 * 3 + 2] - positions[i0 * 3 + 2];
+        
+        normal[0] = uy * vz - uz * vy;
+        normal[1] = uz * vx - ux * vz;
+        normal[2] = ux * vy - uy * vx;
+    }
+    
+    /**
+     * Collapses edges until the mesh contains no more than the number of indices specified, or until no edge can be collapsed without exceeding the error
+     * specified.
+     * 
+     * @param targetIndices the number of indices the mesh should be reduced to
+     * @param maxError      the greatest distance the surface of the mesh may be displaced by
+     * @return the indices of the simplified mesh
+     */
+    int[] simplify(int targetIndices, float maxError) {
+        double maxCost = (double) maxError * maxError;
+        
+        while(numIndices > targetIndices) {
+            findAdjacency();
+            
+            long[] edges  = findEdges();
+            int[] srcs    = new int[edges.length];
+            int[] dsts    = new int[edges.length];
+            float[] costs = new float[edges.length];
+            
+            int numCandidates = 0;
+            
+            for(int e = 0; e < edges.length; e++) {
+                if(e > 0 && edges[e] == edges[e - 1]) continue;
+                
+                int a = (int) (edges[e] >>> 32);
+                int b = (int) edges[e];
+                
+                double costAB = (locked[a]) ? Double.POSITIVE_INFINITY : findCost(a, b);
+                double costBA = (locked[b]) ? Double.POSITIVE_INFINITY : findCost(b, a);
+                double cost   = Math.min(costAB, costBA);
+                
+                if(cost > maxCost) continue;
+                
+                srcs[numCandidates]  = (costAB <= costBA) ? a : b;
+                dsts[numCandidates]  = (costAB <= costBA) ? b : a;
+                costs[numCandidates] = (float) cost;
+                numCandidates++;
+            }
+            
+            //Costs are never negative, so the bits of each one sort in the same order as the value itself.
+            long[] order = new long[numCandidates];
+            for(int c = 0; c < numCandidates; c++) order[c] = ((long) Float.floatToIntBits(costs[c]) << 32) | c;
+            Arrays.sort(order);
+            
+            for(int v = 0; v < remap.length; v++) remap[v] = v;
+            Arrays.fill(visited, false);
+            
+            int numRemoved   = 0;
+            int numCollapsed = 0;
+            int toRemove     = (numIndices - targetIndices) / 3;
+            
+            for(int o = 0; o < numCandidates && numRemoved < toRemove; o++) {
+                int c   = (int) order[o];
+                int src = srcs[c];
+                int dst = dsts[c];
+                
+                if(visited[src] || visited[dst] || findFold(src, dst)) continue;
+                
+                //Every vertex sharing a triangle with the source is left alone for the rest of this pass so the triangles examined remain accurate.
+                for(int j = adjOffsets[src]; j < adjOffsets[src + 1]; j++) {
+                    int t = adjacency[j] * 3;
+                    
+                    visited[indices[t]]     = true;
+                    visited[indices[t + 1]] = true;
+                    visited[indices[t + 2]] = true;
+                    
+                    if(indices[t] == dst || indices[t + 1] == dst || indices[t + 2] == dst) numRemoved++;
+                }
+                
+                for(int k = 0; k < 11; k++) quadrics[dst * 11 + k] += quadrics[src * 11 + k];
+                
+                remap[src] = dst;
+                error      = Math.max(error, (float) Math.sqrt(costs[c]));
+                numCollapsed++;
+            }
+            
+            if(numCollapsed == 0) break;
+            
+            int count = 0;
+            
+            for(int t = 0; t < numIndices; t += 3) {
+                int i0 = remap[indices[t]];
+                int i1 = remap[indices[t + 1]];
+                int i2 = remap[indices[t + 2]];
+                
+                if(i0 == i1 || i1 == i2 || i2 == i0) continue;
+                
+                indices[count++] = i0;
+                indices[count++] = i1;
+                indices[count++] = i2;
+            }
+            
+            numIndices = count;
+        }
+        
+        return Arrays.copyOf(indices, numIndices);
+    }
+    
+    /**
+     * Finds the greatest error introduced by the edges collapsed so far, as a distance in the local space of the mesh.
+     * 
+     * @return the error of the most recently simplified mesh
+     */
+    float getError() {
+        return error;
+    }
+    
+}
\ No newline at end of file
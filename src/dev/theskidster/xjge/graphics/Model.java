@@ -1,18 +1,23 @@
 package dev.theskidster.xjge.graphics;
 
 import dev.theskidster.xjge.main.App;
-import dev.theskidster.xjge.shader.core.ShaderCore;
 import dev.theskidster.xjge.util.Camera;
 import dev.theskidster.xjge.util.Color;
-import dev.theskidster.xjge.main.ErrorUtil;
 import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.util.Asset;
+import dev.theskidster.xjge.util.AssetLoader;
+import dev.theskidster.xjge.util.JobSystem;
+import dev.theskidster.xjge.util.Transform;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32;
 import org.joml.Matrix3f;
 import org.joml.Matrix4f;
 import org.joml.Quaternionf;
@@ -21,6 +26,7 @@ import org.lwjgl.PointerBuffer;
 import org.lwjgl.assimp.*;
 import static org.lwjgl.assimp.Assimp.*;
 import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
 import org.lwjgl.system.MemoryUtil;
 import static org.lwjgl.system.MemoryUtil.*;
 
@@ -37,39 +43,100 @@ import static org.lwjgl.system.MemoryUtil.*;
 public class Model {
     
     private int prevNumKeyFrames;
+    private int transformVersion;
+    private int instanceVbo;
+    private int numInstances;
+    private int instanceBase;
+    
+    private float nearestDistance;
     
     private float speed = 1.5f;
     
     private boolean loop = true;
     
     private AIScene aiScene;
-    private final Vector3f color   = new Vector3f(1);
-    private final Vector3f noValue = new Vector3f();
-    private final Matrix3f normal  = new Matrix3f();
+    private final Vector3f color          = new Vector3f(1);
+    private final Matrix3f normal         = new Matrix3f();
+    private final Matrix4f offsetMatrix   = new Matrix4f();
+    private final Vector3f meshMin        = new Vector3f();
+    private final Vector3f meshMax        = new Vector3f();
+    private final Matrix4f nearestMatrix  = new Matrix4f();
+    private final Matrix4f instanceMatrix = new Matrix4f();
+    private final Matrix3f instanceNormal = new Matrix3f();
+    private final Vector3f instanceColor  = new Vector3f();
     private Matrix4f rootTransform;
+    private FloatBuffer instanceData;
+    private String instanceShader;
     
     private Node rootNode;
     private SkeletalAnimation currAnimation;
+    private Transform transform;
     
     private Mesh[] meshes;
+    private Matrix4f[] meshMatrices;
+    private Matrix4f[] instanceMatrices;
     private Texture[] textures;
+    private Texture.Image[] images;
+    private int[][][] lodIndices;
+    private float[][] lodErrors;
+    private int[] lodLevels;
+    private int[] batchLodLevels;
+    private int[] instanceLodLevels;
     
     private final List<Bone> bones = new ArrayList<>();
     
     private Map<String, SkeletalAnimation> animations;
     
+    private static int lodViewport;
+    private static boolean lodPerspective;
+    private static float lodScale;
+    private static float lodThreshold = 1;
+    private static final Vector3f lodEye    = new Vector3f();
+    private static final Vector3f lodCenter = new Vector3f();
+    private static final Vector3f lodScales = new Vector3f();
+    
+    private static final List<Model> instanced = new ArrayList<>();
+    private static final List<Model> uploads   = new ArrayList<>();
+    
+    /**
+     * The number of floats each instance occupies in the instance buffer of a model. Includes the model matrix, normal matrix, and color of the instance.
+     */
+    private static final int INSTANCE_SIZE = 28;
+    
+    /**
+     * The number of levels of detail generated for each mesh, including the mesh itself.
+     */
+    private static final int MAX_LODS = 4;
+    
+    /**
+     * Meshes with fewer triangles than this are always drawn in full detail.
+     */
+    private static final int MIN_LOD_TRIANGLES = 256;
+    
+    /**
+     * The fraction of the error threshold a level of detail must pass by before a viewport will switch to it, which prevents meshes near the threshold 
+     * from rapidly changing between levels as they move.
+     */
+    private static final float LOD_HYSTERESIS = 0.25f;
+    
+    /**
+     * The number of viewports which keep track of the level of detail they last drew each mesh with.
+     */
+    static final int LOD_VIEWPORTS = 4;
+    
+    private static final int DEFAULT_ARGS = aiProcess_JoinIdenticalVertices | 
+                                            aiProcess_Triangulate | 
+                                            aiProcess_GenSmoothNormals | 
+                                            aiProcess_LimitBoneWeights | 
+                                            aiProcess_FixInfacingNormals;
+    
     /**
      * Parses the file provided and generates a 3D model from the data it contains.
      * 
      * @param filename the name of the file to load. Expects the file extension to be included.
      */
     public Model(String filename) {
-        loadModel(filename, 
-                aiProcess_JoinIdenticalVertices | 
-                aiProcess_Triangulate | 
-                aiProcess_GenSmoothNormals | 
-                aiProcess_LimitBoneWeights | 
-                aiProcess_FixInfacingNormals);
+        this(filename, DEFAULT_ARGS);
     }
     
     /**
@@ -81,18 +148,55 @@ public class Model {
      *                 {@link org.lwjgl.assimp.Assimp#aiProcess_FixInfacingNormals aiProcess_FixInfacingNormals}, etc.
      */
     public Model(String filename, int args) {
-        loadModel(filename, args); 
+        if(importScene(filename, args)) uploadScene(filename);
+    }
+    
+    /**
+     * Creates an empty model whose data will be supplied by the {@link AssetLoader}.
+     */
+    private Model() {}
+    
+    /**
+     * Begins loading a model in the background through the {@link AssetLoader}. The model file and the textures it uses are parsed on a worker thread while 
+     * its meshes and textures are uploaded by the rendering thread once they're ready.
+     * 
+     * @param filename the name of the file to load. Expects the file extension to be included.
+     * @return a handle which will supply the model once it has finished loading
+     */
+    public static Asset<Model> loadAsync(String filename) {
+        return loadAsync(filename, DEFAULT_ARGS);
     }
     
     /**
-     * Specifies various file open/read/close procedures and then constructs a new model instance using the data parsed from the file.
+     * Overloaded version of {@link loadAsync(String)} that permits the use of custom post processing arguments.
+     * 
+     * @param filename the name of the file to load. Expects the file extension to be included.
+     * @param args     the Assimp arguments to use for post processing
+     * @return a handle which will supply the model once it has finished loading
+     */
+    public static Asset<Model> loadAsync(String filename, int args) {
+        return AssetLoader.load(filename, 
+                () -> {
+                    Model model = new Model();
+                    return (model.importScene(filename, args)) ? model : null;
+                },
+                model -> {
+                    if(model != null) model.uploadScene(filename);
+                    return model;
+                });
+    }
+    
+    /**
+     * Specifies various file open/read/close procedures and then imports the data parsed from the file. The texture images used by the model are decoded 
+     * alongside it. Makes no calls to the graphics API and may therefore be used on any thread.
      * 
      * @param filename the name of the file to load. Expects the file extension to be included.
      * @param args     the Assimp arguments to use for post processing such as {@link org.lwjgl.assimp.Assimp#aiProcess_Triangulate aiProcess_Triangulate}, 
      *                 {@link org.lwjgl.assimp.Assimp#aiProcess_GenSmoothNormals aiProcess_GenSmoothNormals}, 
      *                 {@link org.lwjgl.assimp.Assimp#aiProcess_FixInfacingNormals aiProcess_FixInfacingNormals}, etc.
+     * @return true if the file was imported successfully
      */
-    private void loadModel(String filename, int args) {
+    private boolean importScene(String filename, int args) {
         String filepath = "/dev/theskidster/" + App.DOMAIN + "/assets/" + filename;
         
         try(InputStream file = Model.class.getResourceAsStream(filepath)) {
@@ -160,10 +264,94 @@ public class Model {
                 rootTransform = Graphics.convertFromAssimp(aiRoot.mTransformation());
                 rootNode      = parseFileHierarchy(aiRoot, null);
                 
-                parseMeshData(aiScene.mMeshes());
-                parseTextureData(aiScene.mMaterials());
-                parseAnimationData(aiScene.mAnimations());
+                decodeTextureData(aiScene.mMaterials());
+                genLodData(filename, data, args);
             }
+            
+            return true;
+        } catch(Exception e) {
+            Logger.logWarning("Failed to load model: \"" + filename + "\"", e);
+            return false;
+        }
+    }
+    
+    /**
+     * Generates the levels of detail of each mesh in the model using the {@link MeshSimplifier}, or reads them from the {@link LodCache} if they were 
+     * generated for this file previously. Meshes are simplified in parallel through the {@link JobSystem}.
+     * 
+     * @param filename the name of the file the model was loaded from
+     * @param data     the contents of the model file
+     * @param args     the Assimp arguments used for post processing
+     */
+    private void genLodData(String filename, byte[] data, int args) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        
+        long hash = (crc.getValue() << 32) ^ args;
+        
+        lodIndices = new int[aiScene.mNumMeshes()][][];
+        lodErrors  = new float[aiScene.mNumMeshes()][];
+        
+        if(LodCache.read(filename, hash, lodIndices, lodErrors)) return;
+        
+        PointerBuffer meshBuf = aiScene.mMeshes();
+        
+        JobSystem.parallelFor(lodIndices.length, 1, m -> {
+            AIMesh aiMesh = AIMesh.create(meshBuf.get(m));
+            
+            List<int[]> levels = new ArrayList<>();
+            List<Float> errors = new ArrayList<>();
+            
+            if(aiMesh.mPrimitiveTypes() == aiPrimitiveType_TRIANGLE && aiMesh.mNumFaces() >= MIN_LOD_TRIANGLES) {
+                float[] positions          = new float[aiMesh.mNumVertices() * 3];
+                int[] indices              = new int[aiMesh.mNumFaces() * 3];
+                AIVector3D.Buffer aiVecBuf = aiMesh.mVertices();
+                AIFace.Buffer aiFaceBuf    = aiMesh.mFaces();
+                
+                for(int v = 0; v < aiMesh.mNumVertices(); v++) {
+                    AIVector3D aiVec = aiVecBuf.get(v);
+                    
+                    positions[v * 3]     = aiVec.x();
+                    positions[v * 3 + 1] = aiVec.y();
+                    positions[v * 3 + 2] = aiVec.z();
+                }
+                
+                for(int f = 0; f < aiMesh.mNumFaces(); f++) aiFaceBuf.get(f).mIndices().get(indices, f * 3, 3);
+                
+                MeshSimplifier simplifier = new MeshSimplifier(positions, indices);
+                int[] level               = indices;
+                
+                //Levels which fail to remove a meaningful number of triangles aren't worth the memory they occupy.
+                while(levels.size() < MAX_LODS - 1) {
+                    int[] next = simplifier.simplify(level.length / 2, Float.POSITIVE_INFINITY);
+                    if(next.length > level.length * 0.8f) break;
+                    
+                    levels.add(next);
+                    errors.add(simplifier.getError());
+                    level = next;
+                }
+            }
+            
+            lodIndices[m] = levels.toArray(new int[levels.size()][]);
+            lodErrors[m]  = new float[errors.size()];
+            
+            for(int l = 0; l < errors.size(); l++) lodErrors[m][l] = errors.get(l);
+        });
+        
+        LodCache.write(filename, hash, lodIndices, lodErrors);
+    }
+    
+    /**
+     * Constructs the meshes, textures, and animations of the model from the data imported by {@link importScene(String, int)}. Must be called from the 
+     * rendering thread.
+     * 
+     * @param filename the name of the file the model was loaded from
+     */
+    private void uploadScene(String filename) {
+        try {
+            parseMeshData(aiScene.mMeshes());
+            parseTextureData();
+            parseAnimationData(aiScene.mAnimations());
         } catch(Exception e) {
             Logger.logWarning("Failed to load model: \"" + filename + "\"", e);
         }
@@ -203,8 +391,14 @@ public class Model {
         
         for(int i = 0; i < meshes.length; i++) {
             AIMesh aiMesh = AIMesh.create(meshBuf.get(i));
-            meshes[i]     = new Mesh(aiMesh, bones);
+            meshes[i]     = new Mesh(aiMesh, bones, lodIndices[i], lodErrors[i]);
         }
+        
+        lodIndices = null;
+        lodErrors  = null;
+        
+        meshMatrices = new Matrix4f[meshes.length];
+        for(int i = 0; i < meshes.length; i++) meshMatrices[i] = meshes[i].modelMatrix;
     }
     
     /**
@@ -222,19 +416,19 @@ public class Model {
      * <br>
      * <li>Texture image files used by models must be located in the same directory as the model file itself.</li>
      * </ol>
+     * Texture images are decoded here alongside the model file and uploaded later by {@link parseTextureData()}.
      * 
      * @param materialBuf the buffer of models material data provided by Assimp
-     * @throws Exception  if one or more textures could not be located. The engine will instead use a placeholder texture.
      */
-    private void parseTextureData(PointerBuffer materialBuf) throws Exception {
+    private void decodeTextureData(PointerBuffer materialBuf) {
         if(aiScene.mNumMaterials() > App.MAX_TEXTURES) {
-            textures = new Texture[App.MAX_TEXTURES];
+            images = new Texture.Image[App.MAX_TEXTURES];
             Logger.logWarning(
                     "Invalid number of textures. Limit of " + App.MAX_TEXTURES + 
                     " permitted, found " + aiScene.mNumMaterials(), 
                     null);
         } else {
-            textures = new Texture[aiScene.mNumMaterials()];
+            images = new Texture.Image[aiScene.mNumMaterials()];
         }
         
         /*
@@ -244,15 +438,28 @@ public class Model {
         the engine.
         */
         
-        for(int i = 0; i < textures.length; i++) {
+        for(int i = 0; i < images.length; i++) {
             AIMaterial aiMaterial = AIMaterial.create(materialBuf.get(i));
             
             AIString filename = AIString.calloc();
             Assimp.aiGetMaterialTexture(aiMaterial, aiTextureType_DIFFUSE, 0, filename, (IntBuffer) null, null, null, null, null, null);
             
-            textures[i] = new Texture(filename.dataString());
+            images[i] = Texture.decode(filename.dataString());
             
             filename.free();
+        }
+    }
+    
+    /**
+     * Uploads the texture images decoded by {@link decodeTextureData(PointerBuffer)} and applies the texture parameters used by models.
+     * 
+     * @throws Exception if one or more textures could not be located. The engine will instead use a placeholder texture.
+     */
+    private void parseTextureData() throws Exception {
+        textures = new Texture[images.length];
+        
+        for(int i = 0; i < textures.length; i++) {
+            textures[i] = new Texture(images[i]);
             
             glBindTexture(GL_TEXTURE_2D, textures[i].handle);
                 glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_MIRRORED_REPEAT);
@@ -261,6 +468,8 @@ public class Model {
                 glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
             glBindTexture(GL_TEXTURE_2D, 0);
         }
+        
+        images = null;
     }
     
     /**
@@ -361,58 +570,448 @@ public class Model {
     
     /**
      * Renders the 3D model. Should be called from within the implementing entities 
-     * {@link dev.theskidster.xjge.entities.Entity#render(Camera, LightSource[], int) render()} method.
+     * {@link dev.theskidster.xjge.entities.Entity#render(Camera, LightSource[], int) render()} method. The meshes of the model are added to the 
+     * {@link RenderQueue} and drawn alongside every other model once the current viewport has finished rendering the level.
      * 
      * @param shader    the shader to use to render this model
      * @param lights    an array of light source objects inhabiting the current level
      * @param numLights the total number of lights in the level
      */
     public void render(String shader, LightSource[] lights, int numLights) {
-        glEnable(GL_DEPTH_TEST);
-        glEnable(GL_CULL_FACE);
+        render(shader, lights, numLights, null);
+    }
+    
+    /**
+     * Variant of {@link render(String, LightSource[], int) render()} which displaces the model from its current position. Used by entities to draw themselves 
+     * at an {@linkplain dev.theskidster.xjge.entities.Entity#findRenderOffset(float, Vector3f) interpolated position} between game ticks.
+     * 
+     * @param shader    the shader to use to render this model
+     * @param lights    an array of light source objects inhabiting the current level
+     * @param numLights the total number of lights in the level
+     * @param offset    the distance in world space the model will be displaced by, or null to render it as-is
+     */
+    public void render(String shader, LightSource[] lights, int numLights, Vector3f offset) {
+        syncTransform();
         
-        ShaderCore.use(shader);
+        int[] levels;
         
-        for(Mesh mesh : meshes) {
-            glBindTexture(GL_TEXTURE_2D, textures[mesh.matIndex].handle);
+        if(transform != null) {
+            levels = transform.getLodLevels(this, meshes.length * LOD_VIEWPORTS);
+        } else {
+            if(lodLevels == null) lodLevels = new int[meshes.length * LOD_VIEWPORTS];
+            levels = lodLevels;
+        }
+        
+        draw(shader, meshMatrices, normal, (currAnimation != null) ? currAnimation.getCurrFrame().getTransformData() : null, offset, color, lights, numLights,
+             levels, lodViewport * meshes.length);
+    }
+    
+    /**
+     * Variant of {@link render(String, LightSource[], int) render()} which draws the model using the state captured in a {@link ModelPose} rather than its 
+     * current state. Used by entities while the engine is running in threaded mode.
+     * 
+     * @param shader    the shader to use to render this model
+     * @param pose      the state of the model as captured by {@link capture(ModelPose)}
+     * @param offset    the distance in world space the model will be displaced by, or null to render it as it was captured
+     * @param lights    an array of light source objects inhabiting the current level
+     * @param numLights the total number of lights in the level
+     */
+    public void render(String shader, ModelPose pose, Vector3f offset, LightSource[] lights, int numLights) {
+        if(pose.meshMatrices.length != meshes.length) return;
+        draw(shader, pose.meshMatrices, pose.normal, (pose.animated) ? pose.boneTransforms : null, offset, color, lights, numLights, pose.lodLevels, 
+             lodViewport * meshes.length);
+    }
+    
+    /**
+     * Adds a {@linkplain RenderQueue.Packet packet} to the {@link RenderQueue} for each {@link Mesh} of this model. The meshes are drawn once the current 
+     * viewport has finished rendering the level.
+     * 
+     * @param shader         the shader to use to render this model
+     * @param matrices       the model matrix of each mesh, ordered the same as the meshes themselves
+     * @param normal         the normal matrix to use during lighting calculations
+     * @param boneTransforms the bone transformations of the current animation or null if the model isn't animated
+     * @param offset         the distance in world space each mesh will be displaced by, or null
+     * @param color          the color to draw each mesh with
+     * @param lights         an array of light source objects inhabiting the current level
+     * @param numLights      the total number of lights in the level
+     * @param levels         the level of detail the caller last drew each mesh with, which is updated to the levels chosen
+     * @param levelIndex     the index in the levels array of the first mesh as drawn by the current viewport
+     */
+    private void draw(String shader, Matrix4f[] matrices, Matrix3f normal, List<Matrix4f> boneTransforms, Vector3f offset, Vector3f color, 
+                      LightSource[] lights, int numLights, int[] levels, int levelIndex) {
+        for(int m = 0; m < meshes.length; m++) {
+            Mesh mesh = meshes[m];
             
-            glBindVertexArray(mesh.vao);
+            if(offset != null) offsetMatrix.translation(offset).mul(matrices[m]);
+            else               offsetMatrix.set(matrices[m]);
             
-            ShaderCore.setInt("uType", 5);
-            ShaderCore.setMat4("uModel", false, mesh.modelMatrix);
-            ShaderCore.setMat3("uNormal", true, normal);
-            ShaderCore.setInt("uNumLights", numLights);
-            ShaderCore.setVec3("uColor", color);
-            
-            for(int i = 0; i < App.MAX_LIGHTS; i++) {
-                if(lights[i] != null) {
-                    if(lights[i].enabled) {
-                        ShaderCore.setFloat("uLights[" + i + "].brightness", lights[i].getBrightness());
-                        ShaderCore.setFloat("uLights[" + i + "].contrast",   lights[i].getContrast());
-                        ShaderCore.setVec3("uLights[" + i + "].position",    lights[i].getPosition());
-                        ShaderCore.setVec3("uLights[" + i + "].ambient",     lights[i].getAmbient());
-                        ShaderCore.setVec3("uLights[" + i + "].diffuse",     lights[i].getDiffuse());
-                    } else {
-                        ShaderCore.setFloat("uLights[" + i + "].brightness", 0);
-                        ShaderCore.setFloat("uLights[" + i + "].contrast",   0);
-                        ShaderCore.setVec3("uLights[" + i + "].position",    noValue);
-                        ShaderCore.setVec3("uLights[" + i + "].ambient",     noValue);
-                        ShaderCore.setVec3("uLights[" + i + "].diffuse",     noValue);
-                    }
-                }
+            offsetMatrix.transformPosition(lodCenter.set(mesh.aabbMin).add(mesh.aabbMax).mul(0.5f));
+            
+            RenderQueue.Packet packet = RenderQueue.add(shader, textures[mesh.matIndex].handle, mesh.vao, lodCenter.distance(lodEye));
+            
+            int level = selectLod(mesh, matrices[m], offset, levels, levelIndex + m);
+            
+            packet.type           = 5;
+            packet.count          = mesh.lodCounts[level];
+            packet.offset         = (long) mesh.lodOffsets[level] * Integer.BYTES;
+            packet.boneTransforms = boneTransforms;
+            packet.lights         = lights;
+            packet.numLights      = numLights;
+            packet.modelMatrix.set(offsetMatrix);
+            packet.normal.set(normal);
+            packet.color.set(color);
+        }
+    }
+    
+    /**
+     * Queues an instance of this model to be drawn at the location described by a {@link Transform}. Unlike {@link render(String, LightSource[], int, Vector3f) 
+     * render()}, no packets are added to the {@link RenderQueue} immediately. Instead, every instance of the model submitted while the current viewport is 
+     * being rendered is added at once by {@link flushInstances(LightSource[], int) flushInstances()} using a single instanced draw call per mesh. As such, entities which share one model object and 
+     * submit it in place of rendering it themselves can be drawn in far fewer calls to the graphics API.
+     * <br><br>
+     * Each instance is drawn in the shader used by the first instance submitted since instances were last flushed. Animated models are drawn one instance at 
+     * a time in the current pose of the model.
+     * 
+     * @param shader    the shader to use to render this model
+     * @param transform the transform which describes the location of the instance. Its world matrix is used in place of that of the model.
+     * @param offset    the distance in world space the instance will be displaced by, or null to draw it as-is
+     * @param color     the color of the instance
+     * @see setColor(Color)
+     */
+    public void submit(String shader, Transform transform, Vector3f offset, Color color) {
+        queueInstance(shader, transform.getWorldMatrix(), transform.getNormalMatrix(), offset, color);
+    }
+    
+    /**
+     * Variant of {@link submit(String, Transform, Vector3f, Color) submit()} which accepts a model matrix directly, such as one captured by an 
+     * {@link dev.theskidster.xjge.entities.EntityState EntityState} while the engine is running in threaded mode.
+     * 
+     * @param shader the shader to use to render this model
+     * @param matrix the model matrix of the instance
+     * @param offset the distance in world space the instance will be displaced by, or null to draw it as-is
+     * @param color  the color of the instance
+     */
+    public void submit(String shader, Matrix4f matrix, Vector3f offset, Color color) {
+        queueInstance(shader, matrix, matrix.normal(instanceNormal), offset, color);
+    }
+    
+    /**
+     * Writes the values of an instance into the instance buffer of this model, growing it if necessary. The instance nearest the camera is retained so each 
+     * mesh can be drawn at the level of detail it requires.
+     * 
+     * @param shader the shader to use to render this model
+     * @param matrix the model matrix of the instance
+     * @param normal the normal matrix of the instance
+     * @param offset the distance in world space the instance will be displaced by, or null
+     * @param color  the color of the instance
+     */
+    private void queueInstance(String shader, Matrix4f matrix, Matrix3f normal, Vector3f offset, Color color) {
+        if(numInstances == instanceBase) {
+            instanceShader  = shader;
+            nearestDistance = Float.POSITIVE_INFINITY;
+            instanced.add(this);
+        }
+        
+        if(instanceData == null) {
+            instanceData = memAllocFloat(INSTANCE_SIZE * 16);
+        } else if(instanceData.capacity() < (numInstances + 1) * INSTANCE_SIZE) {
+            instanceData = memRealloc(instanceData, instanceData.capacity() * 2);
+        }
+        
+        int index = numInstances * INSTANCE_SIZE;
+        
+        if(offset != null) offsetMatrix.translation(offset).mul(matrix).get(index, instanceData);
+        else               matrix.get(index, instanceData);
+        
+        normal.get(index + 16, instanceData);
+        instanceData.put(index + 25, color.r).put(index + 26, color.g).put(index + 27, color.b);
+        
+        float distance = lodEye.distanceSquared(instanceData.get(index + 12), instanceData.get(index + 13), instanceData.get(index + 14));
+        
+        if(distance < nearestDistance) {
+            nearestDistance = distance;
+            nearestMatrix.set(instanceData.position(index));
+        }
+        
+        numInstances++;
+    }
+    
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Adds every instance {@linkplain submit(String, Transform, Vector3f, Color) submitted} since this method was last called to the {@link RenderQueue}. 
+     * Called automatically by 
+     * {@link dev.theskidster.xjge.level.Level#renderEntities(Camera) Level.renderEntities()} once each entity has been rendered. Levels which submit 
+     * instances elsewhere should call this before their render method returns.
+     * 
+     * @param lights    an array of light source objects inhabiting the current level
+     * @param numLights the total number of lights in the level
+     */
+    public static void flushInstances(LightSource[] lights, int numLights) {
+        for(int i = 0; i < instanced.size(); i++) instanced.get(i).queueInstances(lights, numLights);
+        instanced.clear();
+    }
+    
+    /**
+     * Adds the instances of this model submitted since this method was last called to the {@link RenderQueue}. Each mesh is drawn with a single instanced 
+     * draw call unless the model is animated or {@linkplain App#setInstancing(boolean) instancing} is disabled, in which case each instance is drawn 
+     * separately.
+     * <br><br>
+     * The packets of each instanced batch record where its instances begin in the instance buffer. Batches queued later for the same viewport are appended 
+     * behind them rather than overwriting them, and the buffer is only uploaded once the queue is {@linkplain RenderQueue#flush() flushed}.
+     * 
+     * @param lights    an array of light source objects inhabiting the current level
+     * @param numLights the total number of lights in the level
+     */
+    private void queueInstances(LightSource[] lights, int numLights) {
+        if(!App.getInstancing() || currAnimation != null) {
+            List<Matrix4f> boneTransforms = (currAnimation != null) ? currAnimation.getCurrFrame().getTransformData() : null;
+            
+            if(instanceMatrices == null) instanceMatrices = new Matrix4f[meshes.length];
+            
+            //Instances are submitted in the same order each frame, so the levels of detail are tracked by the position of each instance in the batch.
+            int stride = meshes.length * LOD_VIEWPORTS;
+            
+            if(instanceLodLevels == null || instanceLodLevels.length < (numInstances - instanceBase) * stride) {
+                instanceLodLevels = Arrays.copyOf((instanceLodLevels == null) ? new int[0] : instanceLodLevels, (numInstances - instanceBase) * stride * 2);
             }
             
-            if(currAnimation != null) {
-                ShaderCore.setMat4("uBoneTransforms", false, currAnimation.getCurrFrame().getTransformData());
+            for(int i = instanceBase; i < numInstances; i++) {
+                int index = i * INSTANCE_SIZE;
+                
+                instanceMatrix.set(instanceData.position(index));
+                instanceColor.set(index + 25, instanceData);
+                
+                //The default shader transposes the normal matrix as it's uploaded, so the inverse is supplied here instead.
+                instanceNormal.set(instanceData.position(index + 16)).transpose();
+                
+                Arrays.fill(instanceMatrices, instanceMatrix);
+                draw(instanceShader, instanceMatrices, instanceNormal, boneTransforms, null, instanceColor, lights, numLights, instanceLodLevels, 
+                     (i - instanceBase) * stride + lodViewport * meshes.length);
             }
             
-            glDrawElements(GL_TRIANGLES, mesh.indices.limit(), GL_UNSIGNED_INT, 0);
+            numInstances = instanceBase;
+        } else {
+            if(instanceVbo == 0) genInstanceBuffer();
+            if(instanceBase == 0) uploads.add(this);
+            
+            if(batchLodLevels == null) batchLodLevels = new int[meshes.length * LOD_VIEWPORTS];
+            
+            float depth = (float) Math.sqrt(nearestDistance);
+            
+            for(int m = 0; m < meshes.length; m++) {
+                Mesh mesh = meshes[m];
+                RenderQueue.Packet packet = RenderQueue.add(instanceShader, textures[mesh.matIndex].handle, mesh.vao, depth);
+                
+                int level = selectLod(mesh, nearestMatrix, null, batchLodLevels, lodViewport * meshes.length + m);
+                
+                packet.type          = 10;
+                packet.count         = mesh.lodCounts[level];
+                packet.offset        = (long) mesh.lodOffsets[level] * Integer.BYTES;
+                packet.instances     = numInstances - instanceBase;
+                packet.baseInstance  = instanceBase;
+                packet.instanceModel = this;
+                packet.lights        = lights;
+                packet.numLights     = numLights;
+            }
+            
+            instanceBase = numInstances;
+        }
+        
+        instanceData.clear();
+    }
+    
+    /**
+     * Uploads the instance buffer of each model that has queued an instanced draw call since the last time this method was called. Called by the 
+     * {@link RenderQueue} before it draws any of its packets.
+     */
+    static void uploadInstances() {
+        for(int i = 0; i < uploads.size(); i++) {
+            Model model = uploads.get(i);
+            
+            glBindBuffer(GL_ARRAY_BUFFER, model.instanceVbo);
+            glBufferData(GL_ARRAY_BUFFER, model.instanceData.position(0).limit(model.numInstances * INSTANCE_SIZE), GL_STREAM_DRAW);
+            
+            model.instanceData.clear();
+            model.numInstances = 0;
+            model.instanceBase = 0;
         }
         
-        glDisable(GL_DEPTH_TEST);
-        glDisable(GL_CULL_FACE);
+        uploads.clear();
+    }
+    
+    /**
+     * Points the instance attributes of the vertex array currently bound at the instance in the instance buffer of this model that an instanced draw call 
+     * should begin from. The model matrix of each instance occupies attribute locations 9 through 12, its normal matrix 13 through 15, and its color 
+     * location 6.
+     * 
+     * @param baseInstance the index of the first instance to draw
+     */
+    void bindInstances(int baseInstance) {
+        int stride  = INSTANCE_SIZE * Float.BYTES;
+        long offset = (long) baseInstance * stride;
+        
+        glBindBuffer(GL_ARRAY_BUFFER, instanceVbo);
+        
+        for(int c = 0; c < 4; c++) glVertexAttribPointer(9 + c, 4, GL_FLOAT, false, stride, offset + (c * 4) * Float.BYTES);
+        for(int c = 0; c < 3; c++) glVertexAttribPointer(13 + c, 3, GL_FLOAT, false, stride, offset + (16 + c * 3) * Float.BYTES);
+        
+        glVertexAttribPointer(6, 3, GL_FLOAT, false, stride, offset + 25 * Float.BYTES);
+    }
+    
+    /**
+     * Creates the buffer which supplies the values of each instance to the vertex shader and attaches it to the vertex array of each mesh. The attributes 
+     * are pointed at the instances of each draw call by {@link bindInstances(int)} as the queue is flushed.
+     */
+    private void genInstanceBuffer() {
+        instanceVbo = glGenBuffers();
         
-        ErrorUtil.checkGLError();
+        for(Mesh mesh : meshes) {
+            glBindVertexArray(mesh.vao);
+            bindInstances(0);
+            
+            for(int c = 0; c < 7; c++) {
+                glEnableVertexAttribArray(9 + c);
+                glVertexAttribDivisor(9 + c, 1);
+            }
+            
+            glEnableVertexAttribArray(6);
+            glVertexAttribDivisor(6, 1);
+        }
+    }
+    
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Supplies the perspective of the viewport about to be rendered, which is used to choose the level of detail each mesh is drawn with. Called 
+     * automatically by the {@link App} class before each viewport renders the current level.
+     * 
+     * @param viewportID the ID of the viewport
+     * @param viewMatrix the view matrix of the viewports camera
+     * @param projMatrix the projection matrix of the viewports camera
+     * @param height     the height of the viewport in pixels
+     */
+    public static void setLodView(int viewportID, Matrix4f viewMatrix, Matrix4f projMatrix, int height) {
+        lodViewport    = viewportID;
+        lodPerspective = (projMatrix.m23() == -1);
+        lodScale       = height * projMatrix.m11() / 2;
+        
+        viewMatrix.originAffine(lodEye);
+    }
+    
+    /**
+     * Chooses the level of detail a mesh will be drawn with by the current viewport. The coarsest level whose error would appear smaller than the 
+     * {@linkplain setLodThreshold(float) threshold} once projected to the screen is chosen, with some {@link LOD_HYSTERESIS hysteresis} applied relative to 
+     * the level the viewport drew previously. As models are often shared between several entities, the previous level is supplied by the caller rather than 
+     * kept by the mesh.
+     * 
+     * @param mesh   the mesh to draw
+     * @param matrix the model matrix of the mesh
+     * @param offset the distance in world space the mesh will be displaced by, or null
+     * @param levels the level of detail each mesh was last drawn with by the caller
+     * @param index  the index in the levels array of this mesh as drawn by the current viewport
+     * @return the index of the level of detail to draw
+     */
+    private static int selectLod(Mesh mesh, Matrix4f matrix, Vector3f offset, int[] levels, int index) {
+        if(lodThreshold <= 0 || mesh.lodCounts.length == 1) return 0;
+        
+        matrix.transformPosition(lodCenter.set(mesh.aabbMin).add(mesh.aabbMax).mul(0.5f));
+        if(offset != null) lodCenter.add(offset);
+        
+        matrix.getScale(lodScales);
+        
+        float scale    = Math.max(lodScales.x, Math.max(lodScales.y, lodScales.z));
+        float radius   = mesh.aabbMin.distance(mesh.aabbMax) * 0.5f * scale;
+        float distance = (lodPerspective) ? Math.max(lodCenter.distance(lodEye) - radius, 0.0001f) : 1;
+        float pixels   = lodScale * scale / distance;
+        
+        int level = Math.min(levels[index], mesh.lodCounts.length - 1);
+        
+        while(level < mesh.lodCounts.length - 1 && mesh.lodErrors[level + 1] * pixels <= lodThreshold * (1 - LOD_HYSTERESIS)) level++;
+        while(level > 0 && mesh.lodErrors[level] * pixels > lodThreshold * (1 + LOD_HYSTERESIS)) level--;
+        
+        levels[index] = level;
+        
+        return level;
+    }
+    
+    /**
+     * Finds the axis-aligned box in world space which encloses every {@link Mesh} of this model. The box of each mesh is calculated once when the model is 
+     * loaded and transformed by the current model matrix of that mesh, as such the result reflects the bind pose of the model and won't account for vertices 
+     * displaced by its current animation.
+     * 
+     * @param min the vector which will contain the corner of the box with the smallest coordinates
+     * @param max the vector which will contain the corner of the box with the largest coordinates
+     */
+    public void findBounds(Vector3f min, Vector3f max) {
+        syncTransform();
+        
+        min.set(Float.POSITIVE_INFINITY);
+        max.set(Float.NEGATIVE_INFINITY);
+        
+        for(Mesh mesh : meshes) {
+            mesh.modelMatrix.transformAab(mesh.aabbMin, mesh.aabbMax, meshMin, meshMax);
+            
+            min.min(meshMin);
+            max.max(meshMax);
+        }
+    }
+    
+    /**
+     * Variant of {@link findBounds(Vector3f, Vector3f)} which finds the box enclosing this model if it were drawn with the model matrix specified. Used to find 
+     * the bounds of an instance {@linkplain submit(String, Transform, Vector3f, Color) submitted} with that matrix.
+     * 
+     * @param matrix the model matrix of the instance
+     * @param min    the vector which will contain the corner of the box with the smallest coordinates
+     * @param max    the vector which will contain the corner of the box with the largest coordinates
+     */
+    public void findBounds(Matrix4f matrix, Vector3f min, Vector3f max) {
+        min.set(Float.POSITIVE_INFINITY);
+        max.set(Float.NEGATIVE_INFINITY);
+        
+        for(Mesh mesh : meshes) {
+            matrix.transformAab(mesh.aabbMin, mesh.aabbMax, meshMin, meshMax);
+            
+            min.min(meshMin);
+            max.max(meshMax);
+        }
+    }
+    
+    /**
+     * Copies the current state of this model into the pose object provided so it may be rendered later without referencing this model's live state. Called 
+     * from the simulation thread while the engine is running in threaded mode.
+     * 
+     * @param pose the object that will contain the captured state of this model
+     * @see ModelPose
+     */
+    public void capture(ModelPose pose) {
+        syncTransform();
+        pose.ensureCapacity(meshes.length);
+        
+        for(int m = 0; m < meshes.length; m++) pose.meshMatrices[m].set(meshes[m].modelMatrix);
+        pose.normal.set(normal);
+        
+        pose.animated = (currAnimation != null);
+        
+        if(pose.animated) {
+            List<Matrix4f> transforms = currAnimation.getCurrFrame().getTransformData();
+            for(int b = 0; b < transforms.size(); b++) pose.boneTransforms.get(b).set(transforms.get(b));
+        }
+    }
+    
+    /**
+     * Copies the world matrix of the {@link Transform} this model is attached to into the model matrix of each mesh, provided it has changed since this model 
+     * was last drawn.
+     */
+    private void syncTransform() {
+        if(transform == null || transform.getVersion() == transformVersion) return;
+        
+        for(Mesh mesh : meshes) mesh.modelMatrix.set(transform.getWorldMatrix());
+        
+        //The default shader transposes the normal matrix as it's uploaded, so the inverse is stored here instead.
+        normal.set(transform.getNormalMatrix()).transpose();
+        
+        transformVersion = transform.getVersion();
     }
     
     /**
@@ -421,6 +1020,9 @@ public class Model {
     public void destroy() {
         for(Mesh mesh : meshes) mesh.freeBuffers();
         for(Texture texture : textures) texture.freeTexture();
+        
+        if(instanceVbo != 0)     glDeleteBuffers(instanceVbo);
+        if(instanceData != null) memFree(instanceData);
     }
     
     /**
@@ -499,6 +1101,29 @@ public class Model {
         this.speed = speed * App.MAX_ANIM_SPEED;
     }
     
+    /**
+     * Sets the greatest distance in pixels the surface of a model may appear to be displaced by when it's drawn with a reduced level of detail. Levels of 
+     * detail are generated for each mesh with a sufficient number of triangles when a model is loaded and cached in the <i>cache</i> directory, 
+     * after which each viewport will choose the coarsest level whose error falls below this threshold. By default this value is one pixel.
+     * 
+     * @param pixels the error threshold in pixels, or zero to always draw models in full detail
+     */
+    public static void setLodThreshold(float pixels) {
+        lodThreshold = pixels;
+    }
+    
+    /**
+     * Attaches this model to a {@link Transform}. Attached models are drawn using the world matrix of the transform, which is only copied into the model 
+     * once it has changed. As such, an attached model that doesn't move requires no work to position each game tick. Calls to methods which alter the meshes 
+     * of the model directly such as {@link translation(Vector3f)} or {@link rotateY(float)} will be overwritten the next time the transform changes.
+     * 
+     * @param transform the transform to attach this model to, or null to detach it from its current transform
+     */
+    public void setTransform(Transform transform) {
+        this.transform   = transform;
+        transformVersion = (transform != null) ? transform.getVersion() - 1 : 0;
+    }
+    
     /**
      * Sets the color of this model.
      * <br><br>
@@ -513,7 +1138,8 @@ public class Model {
     }
     
     /**
-     * Updates the current skeletal animation.
+     * Updates the current skeletal animation. Only the state of this model is modified, so a level may submit this to the 
+     * {@link dev.theskidster.xjge.util.JobSystem JobSystem} and sample the animations of several models concurrently.
      */
     public void updateAnimation() {
         if(currAnimation.transition && currAnimation.getFinished()) {
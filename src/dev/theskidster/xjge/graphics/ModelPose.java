@@ -0,0 +1,53 @@
+package dev.theskidster.xjge.graphics;
+
+import dev.theskidster.xjge.main.App;
+import java.util.ArrayList;
+import java.util.List;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Data structure which contains a copy of every value a {@link Model} requires to be rendered at some point in time. This includes the model matrix of each
+ * {@link Mesh}, the normal matrix, and the bone transformations of the current {@link SkeletalAnimation} (if any).
+ * <br><br>
+ * Poses are captured by the simulation thread through {@link Model#capture(ModelPose)} and later consumed by the rendering thread through
+ * {@link Model#render(String, ModelPose, org.joml.Vector3f, LightSource[], int)}, which allows a model to be drawn without reading state that may be changing concurrently.
+ */
+public final class ModelPose {
+    
+    boolean animated;
+    
+    Matrix4f[] meshMatrices = new Matrix4f[0];
+    final Matrix3f normal   = new Matrix3f();
+    
+    final List<Matrix4f> boneTransforms = new ArrayList<>();
+    
+    /**
+     * The level of detail each viewport last drew the meshes of this pose with.
+     */
+    int[] lodLevels = new int[0];
+    
+    /**
+     * Ensures this pose is large enough to contain the state of the model provided. Values are allocated once and reused by subsequent captures.
+     * 
+     * @param numMeshes the number of meshes the model is comprised of
+     */
+    void ensureCapacity(int numMeshes) {
+        if(meshMatrices.length != numMeshes) {
+            meshMatrices = new Matrix4f[numMeshes];
+            for(int i = 0; i < numMeshes; i++) meshMatrices[i] = new Matrix4f();
+            
+            lodLevels = new int[numMeshes * Model.LOD_VIEWPORTS];
+        }
+        
+        if(boneTransforms.isEmpty()) {
+            for(int b = 0; b < App.MAX_BONES; b++) boneTransforms.add(new Matrix4f());
+        }
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,310 @@
+package dev.theskidster.xjge.graphics;
+
+import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.main.ErrorUtil;
+import dev.theskidster.xjge.shader.core.ShaderCore;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL31.glDrawElementsInstanced;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Collects the draw calls issued by each {@link Model} while a viewport is being rendered so they may be sorted by the state they require before any of
+ * them are issued. Every {@link Packet} is given a 64-bit key comprised of its shader program, texture, vertex array, and distance from the camera in that
+ * order of significance. Once the level has finished rendering, the keys are radix sorted and the packets are drawn in order, binding each program, texture,
+ * and vertex array only when it differs from that of the previous packet. Packets which require the same state are drawn from front to back so the depth
+ * test may reject hidden fragments early.
+ * <br><br>
+ * The number of binds and draw calls issued while each viewport was rendered are displayed by the {@link dev.theskidster.xjge.ui.RuntimeInfo RuntimeInfo}
+ * component. Sorting may be disabled through {@link App#setRenderSorting(boolean) App.setRenderSorting()} to compare these against the order the packets
+ * were submitted in.
+ */
+public final class RenderQueue {
+    
+    private static int size;
+    private static int numBinds;
+    private static int numDraws;
+    
+    private static Packet[] packets = new Packet[0];
+    private static long[] keys      = new long[0];
+    private static long[] tempKeys  = new long[0];
+    private static int[] order      = new int[0];
+    private static int[] tempOrder  = new int[0];
+    
+    private static final int[] counts                    = new int[256];
+    private static final Vector3f noValue                = new Vector3f();
+    private static final Map<String, Integer> programIDs = new HashMap<>();
+    
+    /**
+     * Contains the state required to issue a single draw call. Packets are pooled by the queue and reused each frame.
+     */
+    static final class Packet {
+        
+        String shader;
+        int texture;
+        int vao;
+        int type;
+        int count;
+        int instances;
+        int baseInstance;
+        long offset;
+        
+        Model instanceModel;
+        
+        LightSource[] lights;
+        int numLights;
+        
+        List<Matrix4f> boneTransforms;
+        final Matrix4f modelMatrix = new Matrix4f();
+        final Matrix3f normal      = new Matrix3f();
+        final Vector3f color       = new Vector3f();
+        
+    }
+    
+    /**
+     * Adds a packet to the queue. The packet returned only contains the state used to sort it, the caller is expected to supply the remaining values.
+     * 
+     * @param shader  the name of the shader program to draw the packet with
+     * @param texture the handle of the texture to bind
+     * @param vao     the handle of the vertex array to bind
+     * @param depth   the distance between the camera and the object being drawn
+     * @return the packet that was added
+     */
+    static Packet add(String shader, int texture, int vao, float depth) {
+        if(size == packets.length) {
+            int capacity = Math.max(64, size * 2);
+            
+            packets   = Arrays.copyOf(packets, capacity);
+            keys      = Arrays.copyOf(keys, capacity);
+            tempKeys  = new long[capacity];
+            order     = Arrays.copyOf(order, capacity);
+            tempOrder = new int[capacity];
+            
+            for(int i = size; i < capacity; i++) packets[i] = new Packet();
+        }
+        
+        Packet packet = packets[size];
+        
+        packet.shader    = shader;
+        packet.texture   = texture;
+        packet.vao       = vao;
+        packet.instances = 0;
+        
+        keys[size]  = genKey(shader, texture, vao, depth);
+        order[size] = size;
+        size++;
+        
+        return packet;
+    }
+    
+    /**
+     * Generates the sort key of a packet. The shader program occupies the 10 most significant bits followed by 16 bits each for the texture and vertex
+     * array, while the remaining 22 bits are taken from the upper bits of the depth. Because the bit pattern of a positive float increases alongside its
+     * value, the key orders packets from nearest to farthest without needing to know the range of the depth. Handles which don't fit are truncated, which
+     * may only prevent packets from being grouped perfectly as the state of each is compared in full while the queue is being drawn.
+     * 
+     * @param shader  the name of the shader program
+     * @param texture the handle of the texture
+     * @param vao     the handle of the vertex array
+     * @param depth   the distance between the camera and the object being drawn
+     * @return the key to sort the packet by
+     */
+    private static long genKey(String shader, int texture, int vao, float depth) {
+        int program = programIDs.computeIfAbsent(shader, name -> programIDs.size());
+        
+        return ((long) (program & 0x3FF) << 54) |
+               ((long) (texture & 0xFFFF) << 38) |
+               ((long) (vao & 0xFFFF) << 22) |
+               (Float.floatToRawIntBits(Math.max(depth, 0)) >>> 9);
+    }
+    
+    /**
+     * Sorts the packets of the queue by their keys using a least significant digit radix sort, eight bits at a time. Passes over digits which every key
+     * shares are skipped, which is common for the upper bits of the key as most levels use only a few shader programs.
+     */
+    private static void sort() {
+        for(int shift = 0; shift < Long.SIZE; shift += 8) {
+            Arrays.fill(counts, 0);
+            
+            for(int i = 0; i < size; i++) counts[(int) (keys[i] >>> shift) & 0xFF]++;
+            
+            if(counts[(int) (keys[0] >>> shift) & 0xFF] == size) continue;
+            
+            for(int d = 0, total = 0; d < counts.length; d++) {
+                int count = counts[d];
+                counts[d] = total;
+                total    += count;
+            }
+            
+            for(int i = 0; i < size; i++) {
+                int j = counts[(int) (keys[i] >>> shift) & 0xFF]++;
+                
+                tempKeys[j]  = keys[i];
+                tempOrder[j] = order[i];
+            }
+            
+            long[] swapKeys = keys;
+            keys            = tempKeys;
+            tempKeys        = swapKeys;
+            
+            int[] swapOrder = order;
+            order           = tempOrder;
+            tempOrder       = swapOrder;
+        }
+    }
+    
+    /**
+     * Supplies the light sources of the current level to the shader currently in use.
+     * 
+     * @param lights    an array of light source objects inhabiting the current level
+     * @param numLights the total number of lights in the level
+     */
+    private static void setLights(LightSource[] lights, int numLights) {
+        //Point lights are read from the light clusters of the viewport instead while clustered lighting is enabled.
+        int count = (App.getClusteredLighting()) ? 1 : Math.min(numLights, App.MAX_LIGHTS);
+        
+        ShaderCore.setInt("uNumLights", count);
+        
+        for(int i = 0; i < count; i++) {
+            if(lights[i] != null) {
+                if(lights[i].enabled) {
+                    ShaderCore.setFloat("uLights[" + i + "].brightness", lights[i].getBrightness());
+                    ShaderCore.setFloat("uLights[" + i + "].contrast",   lights[i].getContrast());
+                    ShaderCore.setVec3("uLights[" + i + "].position",    lights[i].getPosition());
+                    ShaderCore.setVec3("uLights[" + i + "].ambient",     lights[i].getAmbient());
+                    ShaderCore.setVec3("uLights[" + i + "].diffuse",     lights[i].getDiffuse());
+                } else {
+                    ShaderCore.setFloat("uLights[" + i + "].brightness", 0);
+                    ShaderCore.setFloat("uLights[" + i + "].contrast",   0);
+                    ShaderCore.setVec3("uLights[" + i + "].position",    noValue);
+                    ShaderCore.setVec3("uLights[" + i + "].ambient",     noValue);
+                    ShaderCore.setVec3("uLights[" + i + "].diffuse",     noValue);
+                }
+            }
+        }
+    }
+    
+    /**
+     * <b>*For internal use only*</b>
+     * <br><br>
+     * Sorts and draws every packet added to the queue since it was last flushed. Called automatically by the {@link App} class once the current level has
+     * finished rendering to a viewport. The light sources of the level are only supplied to a shader program when they differ from those it last received
+     * during the flush.
+     */
+    public static void flush() {
+        numBinds = 0;
+        numDraws = 0;
+        
+        Model.uploadInstances();
+        
+        if(size == 0) return;
+        if(App.getRenderSorting()) sort();
+        
+        glEnable(GL_DEPTH_TEST);
+        glEnable(GL_CULL_FACE);
+        
+        String shader        = null;
+        int texture          = -1;
+        int vao              = -1;
+        int type             = -1;
+        int numLights        = -1;
+        LightSource[] lights = null;
+        
+        for(int i = 0; i < size; i++) {
+            Packet packet = packets[order[i]];
+            
+            if(!packet.shader.equals(shader)) {
+                ShaderCore.use(packet.shader);
+                
+                shader = packet.shader;
+                type   = -1;
+                lights = null;
+                numBinds++;
+            }
+            
+            if(packet.lights != lights || packet.numLights != numLights) {
+                setLights(packet.lights, packet.numLights);
+                
+                lights    = packet.lights;
+                numLights = packet.numLights;
+            }
+            
+            if(packet.texture != texture) {
+                glBindTexture(GL_TEXTURE_2D, packet.texture);
+                texture = packet.texture;
+                numBinds++;
+            }
+            
+            if(packet.vao != vao) {
+                glBindVertexArray(packet.vao);
+                vao = packet.vao;
+                numBinds++;
+            }
+            
+            if(packet.type != type) {
+                ShaderCore.setInt("uType", packet.type);
+                type = packet.type;
+            }
+            
+            if(packet.instances > 0) {
+                packet.instanceModel.bindInstances(packet.baseInstance);
+                glDrawElementsInstanced(GL_TRIANGLES, packet.count, GL_UNSIGNED_INT, packet.offset, packet.instances);
+            } else {
+                ShaderCore.setMat4("uModel", false, packet.modelMatrix);
+                ShaderCore.setMat3("uNormal", true, packet.normal);
+                ShaderCore.setVec3("uColor", packet.color);
+                
+                if(packet.boneTransforms != null) {
+                    ShaderCore.setMat4("uBoneTransforms", false, packet.boneTransforms);
+                }
+                
+                glDrawElements(GL_TRIANGLES, packet.count, GL_UNSIGNED_INT, packet.offset);
+            }
+            
+            numDraws++;
+        }
+        
+        glDisable(GL_DEPTH_TEST);
+        glDisable(GL_CULL_FACE);
+        
+        for(int i = 0; i < size; i++) {
+            packets[i].lights         = null;
+            packets[i].boneTransforms = null;
+            packets[i].instanceModel  = null;
+        }
+        
+        size = 0;
+        
+        ErrorUtil.checkGLError();
+    }
+    
+    /**
+     * Obtains the number of shader programs, textures, and vertex arrays bound during the most recent {@linkplain flush() flush} of the queue.
+     * 
+     * @return the number of binds issued while the most recent viewport was rendered
+     */
+    public static int getNumBinds() {
+        return numBinds;
+    }
+    
+    /**
+     * Obtains the number of draw calls issued during the most recent {@linkplain flush() flush} of the queue. Instanced draw calls are counted once
+     * regardless of the number of instances drawn.
+     * 
+     * @return the number of draw calls issued while the most recent viewport was rendered
+     */
+    public static int getNumDraws() {
+        return numDraws;
+    }
+    
+}
\ No newline at end of file
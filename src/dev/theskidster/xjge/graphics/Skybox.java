@@ -2,6 +2,8 @@ package dev.theskidster.xjge.graphics;
 
 import dev.theskidster.xjge.shader.core.ShaderCore;
 import dev.theskidster.xjge.main.ErrorUtil;
+import dev.theskidster.xjge.util.Asset;
+import dev.theskidster.xjge.util.AssetLoader;
 import java.util.HashMap;
 import java.util.Map;
 import org.joml.Matrix3f;
@@ -22,6 +24,7 @@ public class Skybox {
     
     private final Graphics g;
     private final Cubemap cubemap;
+    private final String[] filenames;
     
     private Matrix3f tempView = new Matrix3f();
     private Matrix4f newView  = new Matrix4f();
@@ -55,20 +58,33 @@ public class Skybox {
      * @param bottomFilename the filename of the image to use for the bottom of the skybox
      */
     public Skybox(String topFilename, String centerFilename, String bottomFilename) {
-        Map<Integer, String> images = new HashMap<>();
+        this(centerFilename, centerFilename, topFilename, bottomFilename, centerFilename, centerFilename);
+    }
+    
+    /**
+     * Overloaded version of {@link Skybox(String, String, String)}. This variant permits more variation between faces of the skybox.
+     * 
+     * @param rightFilename  the filename of the image to use for the right side of the skybox
+     * @param leftFilename   the filename of the image to use for the left side of the skybox
+     * @param topFilename    the filename of the image to use for the top of the skybox
+     * @param bottomFilename the filename of the image to use for the bottom of the skybox
+     * @param frontFilename  the filename of the image to use for the front of the skybox
+     * @param backFilename   the filename of the image to use for the back of the skybox
+     */
+    public Skybox(String rightFilename, String leftFilename, String topFilename, String bottomFilename, String frontFilename, String backFilename) {
+        this(new String[] {rightFilename, leftFilename, topFilename, bottomFilename, frontFilename, backFilename}, null);
+    }
+    
+    /**
+     * Creates a new skybox from the images of each face.
+     * 
+     * @param filenames the filename of the image used by each face in the order right, left, top, bottom, front, back
+     * @param images    the decoded image data of each face keyed by the OpenGL texture target of the face they'll be used for, or null to decode them here
+     */
+    private Skybox(String[] filenames, Map<Integer, Texture.Image> images) {
+        this.filenames = filenames;
         
-        for(int i = 0; i < 6; i++) {
-            switch(i) {
-                case 0 -> images.put(GL_TEXTURE_CUBE_MAP_POSITIVE_X, centerFilename);
-                case 1 -> images.put(GL_TEXTURE_CUBE_MAP_NEGATIVE_X, centerFilename);
-                case 2 -> images.put(GL_TEXTURE_CUBE_MAP_POSITIVE_Y, topFilename);
-                case 3 -> images.put(GL_TEXTURE_CUBE_MAP_NEGATIVE_Y, bottomFilename);
-                case 4 -> images.put(GL_TEXTURE_CUBE_MAP_POSITIVE_Z, centerFilename);
-                case 5 -> images.put(GL_TEXTURE_CUBE_MAP_NEGATIVE_Z, centerFilename);
-            }
-        }
-        
-        cubemap = new Cubemap(images);
+        cubemap = new Cubemap((images != null) ? images : Cubemap.decode(mapFaces(filenames)));
         g       = new Graphics();
         
         genMesh();
@@ -81,7 +97,20 @@ public class Skybox {
     }
     
     /**
-     * Overloaded version of {@link Skybox(String, String, String)}. This variant permits more variation between faces of the skybox.
+     * Begins loading a skybox in the background through the {@link dev.theskidster.xjge.util.AssetLoader AssetLoader}. Variant of 
+     * {@link Skybox(String, String, String)} which decodes its images on a worker thread and creates the skybox on the rendering thread once they're ready.
+     * 
+     * @param topFilename    the filename of the image to use for the top of the skybox
+     * @param centerFilename the filename of the image to use for the sides of the skybox
+     * @param bottomFilename the filename of the image to use for the bottom of the skybox
+     * @return a handle which will supply the skybox once it has finished loading
+     */
+    public static Asset<Skybox> loadAsync(String topFilename, String centerFilename, String bottomFilename) {
+        return loadAsync(centerFilename, centerFilename, topFilename, bottomFilename, centerFilename, centerFilename);
+    }
+    
+    /**
+     * Overloaded version of {@link loadAsync(String, String, String)} which permits more variation between faces of the skybox.
      * 
      * @param rightFilename  the filename of the image to use for the right side of the skybox
      * @param leftFilename   the filename of the image to use for the left side of the skybox
@@ -89,31 +118,32 @@ public class Skybox {
      * @param bottomFilename the filename of the image to use for the bottom of the skybox
      * @param frontFilename  the filename of the image to use for the front of the skybox
      * @param backFilename   the filename of the image to use for the back of the skybox
+     * @return a handle which will supply the skybox once it has finished loading
      */
-    public Skybox(String rightFilename, String leftFilename, String topFilename, String bottomFilename, String frontFilename, String backFilename) {
-        Map<Integer, String> images = new HashMap<>();
+    public static Asset<Skybox> loadAsync(String rightFilename, String leftFilename, String topFilename, String bottomFilename, String frontFilename, 
+                                          String backFilename) {
+        String[] filenames = {rightFilename, leftFilename, topFilename, bottomFilename, frontFilename, backFilename};
         
-        for(int i = 0; i < 6; i++) {
-            switch(i) {
-                case 0 -> images.put(GL_TEXTURE_CUBE_MAP_POSITIVE_X, rightFilename);
-                case 1 -> images.put(GL_TEXTURE_CUBE_MAP_NEGATIVE_X, leftFilename);
-                case 2 -> images.put(GL_TEXTURE_CUBE_MAP_POSITIVE_Y, topFilename);
-                case 3 -> images.put(GL_TEXTURE_CUBE_MAP_NEGATIVE_Y, bottomFilename);
-                case 4 -> images.put(GL_TEXTURE_CUBE_MAP_POSITIVE_Z, frontFilename);
-                case 5 -> images.put(GL_TEXTURE_CUBE_MAP_NEGATIVE_Z, backFilename);
-            }
-        }
-        
-        cubemap = new Cubemap(images);
-        g       = new Graphics();
-        
-        genMesh();
+        return AssetLoader.load(topFilename, () -> Cubemap.decode(mapFaces(filenames)), images -> new Skybox(filenames, images));
+    }
+    
+    /**
+     * Pairs the filename of the image used for each face of the skybox with the OpenGL texture target of that face.
+     * 
+     * @param filenames the filename of the image used by each face in the order right, left, top, bottom, front, back
+     * @return the filename of each face keyed by its texture target
+     */
+    private static Map<Integer, String> mapFaces(String[] filenames) {
+        Map<Integer, String> images = new HashMap<>();
         
-        glVertexAttribPointer(0, 3, GL_FLOAT, false, (3 * Float.BYTES), 0);
-        glEnableVertexAttribArray(0);
+        images.put(GL_TEXTURE_CUBE_MAP_POSITIVE_X, filenames[0]);
+        images.put(GL_TEXTURE_CUBE_MAP_NEGATIVE_X, filenames[1]);
+        images.put(GL_TEXTURE_CUBE_MAP_POSITIVE_Y, filenames[2]);
+        images.put(GL_TEXTURE_CUBE_MAP_NEGATIVE_Y, filenames[3]);
+        images.put(GL_TEXTURE_CUBE_MAP_POSITIVE_Z, filenames[4]);
+        images.put(GL_TEXTURE_CUBE_MAP_NEGATIVE_Z, filenames[5]);
         
-        MemoryUtil.memFree(g.vertices);
-        MemoryUtil.memFree(g.indices);
+        return images;
     }
     
     /**
@@ -199,6 +229,16 @@ public class Skybox {
         ErrorUtil.checkGLError();
     }
     
+    /**
+     * Obtains the filename of the image used by a face of the skybox.
+     * 
+     * @param face the index of the face in the order right, left, top, bottom, front, back
+     * @return the filename of the image used by the face
+     */
+    public String getFilename(int face) {
+        return filenames[face];
+    }
+    
     /**
      * Frees all resources used by this skybox.
      */
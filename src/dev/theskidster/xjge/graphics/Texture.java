@@ -11,6 +11,8 @@ import org.lwjgl.system.MemoryUtil;
 import dev.theskidster.xjge.main.App;
 import dev.theskidster.xjge.main.ErrorUtil;
 import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.util.Asset;
+import dev.theskidster.xjge.util.AssetLoader;
 
 /**
  * @author J Hoffman
@@ -24,9 +26,34 @@ import dev.theskidster.xjge.main.Logger;
 public final class Texture {
     
     public final int handle;
-    private int width;
-    private int height;
-    private int channels;
+    private final int width;
+    private final int height;
+    private final int channels;
+    
+    /**
+     * Image data decoded from a file which has yet to be uploaded to the graphics pipeline. Decoding makes no calls to the graphics API, as such images may 
+     * be prepared on any thread.
+     */
+    static final class Image {
+        final int width;
+        final int height;
+        final int channels;
+        final ByteBuffer pixels;
+        
+        Image(int width, int height, int channels, ByteBuffer pixels) {
+            this.width    = width;
+            this.height   = height;
+            this.channels = channels;
+            this.pixels   = pixels;
+        }
+        
+        /**
+         * Frees the memory used to store the pixels of the image once they've been uploaded.
+         */
+        void free() {
+            stbi_image_free(pixels);
+        }
+    }
     
     /**
      * Creates a new texture object from the image file specified. If the image file cannot be found, the engine will instead use a fallback texture in its place.
@@ -34,26 +61,68 @@ public final class Texture {
      * @param filename the name of the file to load. Expects the file extension to be included.
      */
     public Texture(String filename) {
-        handle = glGenTextures();
+        this(decode(filename));
+    }
+    
+    /**
+     * Generates a new OpenGL texture object from image data that has already been decoded.
+     * 
+     * @param image the decoded image data to upload
+     */
+    Texture(Image image) {
+        handle   = glGenTextures();
+        width    = image.width;
+        height   = image.height;
+        channels = image.channels;
+        
         glBindTexture(GL_TEXTURE_2D, handle);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, image.pixels);
+        
+        image.free();
         
+        ErrorUtil.checkGLError();
+    }
+    
+    /**
+     * Begins loading a texture in the background through the {@link AssetLoader}. The image file is decoded on a worker thread and uploaded by the rendering 
+     * thread once it's ready.
+     * 
+     * @param filename the name of the file to load. Expects the file extension to be included.
+     * @return a handle which will supply the texture once it has finished loading
+     */
+    public static Asset<Texture> loadAsync(String filename) {
+        return AssetLoader.load(filename, () -> decode(filename), Texture::new);
+    }
+    
+    /**
+     * Reads and decodes the image file specified. If the image file cannot be found, the fallback texture image will be decoded in its place.
+     * 
+     * @param filename the name of the file to decode. Expects the file extension to be included.
+     * @return the decoded image data
+     */
+    static Image decode(String filename) {
         try(InputStream file = Texture.class.getResourceAsStream("/dev/theskidster/" + App.DOMAIN + "/assets/" + filename)) {
-            loadTexture(file);
+            return decodeImage(file);
         } catch(Exception e) {
             Logger.logWarning("Failed to load texture image: \"" + filename + "\"", e);
             
-            loadTexture(Texture.class.getResourceAsStream("/dev/theskidster/" + App.DOMAIN + "/assets/img_null.png"));
+            try(InputStream file = Texture.class.getResourceAsStream("/dev/theskidster/" + App.DOMAIN + "/assets/img_null.png")) {
+                return decodeImage(file);
+            } catch(IOException ex) {
+                Logger.logSevere("Failed to load fallback texture image.", ex);
+                return null;
+            }
         }
-        
-        ErrorUtil.checkGLError();
     }
     
     /**
-     * Parses the data of the image file specified and generates a new OpenGL texture object from its contents.
+     * Parses the data of the image file specified into RGBA encoded pixels.
      * 
      * @param file the file to extract texture data from
+     * @return the decoded image data
+     * @throws IOException if the file could not be read
      */
-    private void loadTexture(InputStream file) {
+    private static Image decodeImage(InputStream file) throws IOException {
         try(MemoryStack stack = MemoryStack.stackPush()) {
             byte[] data = file.readAllBytes();
             
@@ -64,21 +133,11 @@ public final class Texture {
             
             ByteBuffer texture = stbi_load_from_memory(imageBuf, widthBuf, heightBuf, channelBuf, STBI_rgb_alpha);
             
-            width    = widthBuf.get();
-            height   = heightBuf.get();
-            channels = channelBuf.get();
-            
-            if(texture != null) {
-                glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, texture);
-            } else {
-                throw new NullPointerException("STBI failed to parse texture image data.");
-            }
-            
-            stbi_image_free(texture);
             MemoryUtil.memFree(imageBuf);
             
-        } catch(IOException e) {
-            Logger.logSevere("Failed to load fallback texture image.", e);
+            if(texture == null) throw new NullPointerException("STBI failed to parse texture image data.");
+            
+            return new Image(widthBuf.get(), heightBuf.get(), channelBuf.get(), texture);
         }
     }
     
@@ -98,13 +98,13 @@ public class Controller extends InputDevice {
                 switch(action) {
                     case "left x", "left y", "right x", "right y" -> {
                         if(Math.abs(state.axes(axes.get(action))) >= sensitivity) {
-                            command.execute(this, state.axes(axes.get(action)));
+                            execute(action, command, state.axes(axes.get(action)));
                         }
                     }
                     
-                    case "left trigger", "right trigger" -> command.execute(this, state.axes(axes.get(action)));
+                    case "left trigger", "right trigger" -> execute(action, command, state.axes(axes.get(action)));
                     
-                    default -> command.execute(this, state.buttons(buttons.get(action)));
+                    default -> execute(action, command, state.buttons(buttons.get(action)));
                 }
             });
         }
@@ -1,9 +1,11 @@
 package dev.theskidster.xjge.hardware;
 
-import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import dev.theskidster.xjge.puppets.Command;
 import dev.theskidster.xjge.puppets.Puppet;
+import dev.theskidster.xjge.main.Game;
 import dev.theskidster.xjge.main.Logger;
 
 /**
@@ -37,7 +39,7 @@ public abstract class InputDevice {
     
     public Stack<Boolean> enableStates = new Stack<>();
     public Stack<Puppet> puppets       = new Stack<>();
-    private Queue<Puppet> pupSetEvents = new LinkedList<>();
+    private Queue<Puppet> pupSetEvents = new ConcurrentLinkedQueue<>();
     
     /**
      * Creates a new input device object.
@@ -64,12 +66,31 @@ public abstract class InputDevice {
     
     /**
      * Resolves the set event requested by {@link setPuppet(Puppet)} or {@link setPrevPuppet()}. Called in {@link poll()} after all input events have been resolved 
-     * to avoid a {@link java.util.ConcurrentModificationException ConcurrentModificationException}.
+     * to avoid a {@link java.util.ConcurrentModificationException ConcurrentModificationException}. Like the commands themselves, the request is resolved on the 
+     * simulation thread behind any commands executed during the same poll.
      */
     protected void resolvePuppetSetRequest() {
-        if(pupSetEvents.size() > 0) {
-            puppets.push(pupSetEvents.poll());
-        }
+        Game.runOnSimulation(() -> {
+            if(pupSetEvents.size() > 0) {
+                puppets.push(pupSetEvents.poll());
+            }
+        });
+    }
+    
+    /**
+     * Executes a command of the current puppet with the value supplied by one of this devices interactive components. Devices should execute commands 
+     * through this method rather than calling {@link Command#execute(InputDevice, float)} directly so the input can be captured by the {@link InputRecorder}.
+     * <br><br>
+     * Devices are polled by the rendering thread, as GLFW only permits input to be read from the main thread. In threaded mode the command itself is queued 
+     * to the simulation thread through {@link Game#runOnSimulation(Runnable)} so that it may safely change the state of the level.
+     * 
+     * @param action  the name of the interactive component as it appears in {@link Puppet#commands}
+     * @param command the command to execute
+     * @param value   the value of the interactive components input state
+     */
+    protected void execute(String action, Command command, float value) {
+        if(InputRecorder.getRecording()) InputRecorder.record(id, action, value);
+        Game.runOnSimulation(() -> command.execute(this, value));
     }
     
     /**
@@ -0,0 +1,177 @@
+package dev.theskidster.xjge.hardware;
+
+import dev.theskidster.xjge.main.Logger;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Captures every {@link dev.theskidster.xjge.puppets.Command Command} executed by an {@link InputDevice} alongside a checksum of the level state at the end of
+ * each tick so a play session may later be reproduced exactly by {@link InputReplay}.
+ * <br><br>
+ * Recordings are held in memory until {@link stop()} is called, at which point they're written to a binary file with the following layout:
+ * <blockquote><pre>
+ * int    magic number ("XJIR")
+ * short  format version
+ * UTF    name of the level being played
+ * int    game tick at which the recording started
+ * short  number of actions, followed by the name of each action (UTF)
+ * int    number of ticks, followed by each tick:
+ *        int    number of commands executed, followed by each command:
+ *               byte   id of the input device
+ *               short  index of the action
+ *               float  value supplied to the command
+ *        int    checksum of the level state
+ * </pre></blockquote>
+ */
+public final class InputRecorder {
+    
+    private static int numTicks;
+    private static int numCommands;
+    private static int startTick;
+    
+    private static boolean recording;
+    
+    private static String filename;
+    private static String levelName;
+    
+    static final int MAGIC   = 0x584A4952;
+    static final int VERSION = 2;
+    
+    private static final ByteArrayOutputStream commandBytes = new ByteArrayOutputStream();
+    private static final ByteArrayOutputStream tickBytes    = new ByteArrayOutputStream();
+    private static final DataOutputStream commands          = new DataOutputStream(commandBytes);
+    private static final DataOutputStream ticks             = new DataOutputStream(tickBytes);
+    
+    private static final List<String> actions         = new ArrayList<>();
+    private static final Map<String, Integer> indices = new HashMap<>();
+    
+    /**
+     * Begins capturing input. Any recording already in progress will be discarded.
+     * 
+     * @param filename  the name of the file the recording will be written to once stopped
+     * @param levelName the name of the level currently being played
+     * @param tick      the current game tick
+     */
+    public static void start(String filename, String levelName, int tick) {
+        InputRecorder.filename  = filename;
+        InputRecorder.levelName = levelName;
+        
+        startTick   = tick;
+        numTicks    = 0;
+        numCommands = 0;
+        recording   = true;
+        
+        commandBytes.reset();
+        tickBytes.reset();
+        actions.clear();
+        indices.clear();
+        
+        Logger.logInfo("Started recording input to \"" + filename + "\"");
+    }
+    
+    /**
+     * Captures a single command executed by an input device during the current tick.
+     * 
+     * @param deviceID the id of the input device that executed the command
+     * @param action   the name of the interactive component which triggered the command
+     * @param value    the value supplied to the command
+     */
+    static void record(int deviceID, String action, float value) {
+        if(deviceID < Byte.MIN_VALUE || deviceID > Byte.MAX_VALUE) {
+            Logger.logWarning("Failed to record input command. Device ID " + deviceID + " can't be stored in a recording.", null);
+            return;
+        }
+        
+        Integer index = indices.get(action);
+        
+        if(index == null) {
+            if(actions.size() == 0xFFFF) {
+                Logger.logWarning("Failed to record input command. Recordings may contain no more than 65535 unique actions.", null);
+                return;
+            }
+            
+            index = actions.size();
+            actions.add(action);
+            indices.put(action, index);
+        }
+        
+        try {
+            commands.writeByte(deviceID);
+            commands.writeShort(index);
+            commands.writeFloat(value);
+            numCommands++;
+        } catch(IOException e) {
+            Logger.logWarning("Failed to record input command.", e);
+        }
+    }
+    
+    /**
+     * Ends the current tick, storing the commands captured during it with the checksum of the level.
+     * <br><br>
+     * <b>*For internal use only*</b>
+     * 
+     * @param checksum the checksum of the level state at the end of the tick
+     */
+    public static void endTick(int checksum) {
+        try {
+            ticks.writeInt(numCommands);
+            commandBytes.writeTo(ticks);
+            ticks.writeInt(checksum);
+        } catch(IOException e) {
+            Logger.logWarning("Failed to record input tick.", e);
+        }
+        
+        commandBytes.reset();
+        numCommands = 0;
+        numTicks++;
+    }
+    
+    /**
+     * Stops capturing input and writes the recording to its file.
+     * 
+     * @return true if the recording was written successfully
+     */
+    public static boolean stop() {
+        if(!recording) return false;
+        
+        recording = false;
+        
+        try(DataOutputStream file = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename)))) {
+            file.writeInt(MAGIC);
+            file.writeShort(VERSION);
+            file.writeUTF(levelName);
+            file.writeInt(startTick);
+            
+            file.writeShort(actions.size());
+            for(String action : actions) file.writeUTF(action);
+            
+            file.writeInt(numTicks);
+            tickBytes.writeTo(file);
+        } catch(IOException e) {
+            Logger.logWarning("Failed to write input recording \"" + filename + "\"", e);
+            return false;
+        }
+        
+        Logger.logInfo("Input recording of " + numTicks + " ticks written to \"" + filename + "\" (" + tickBytes.size() + " bytes)");
+        tickBytes.reset();
+        
+        return true;
+    }
+    
+    public static boolean getRecording() { return recording; }
+    public static int getNumTicks()      { return numTicks; }
+    public static String getFilename()   { return filename; }
+    
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package dev.theskidster.xjge.hardware;
+
+import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.puppets.Command;
+import dev.theskidster.xjge.puppets.Puppet;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Plays back a recording produced by the {@link InputRecorder}. While a replay is in progress each {@link ReplayDevice} executes the commands its live
+ * counterpart executed during the same tick of the recording, and the checksum of the level state is compared against the recorded one at the end of every
+ * tick so any divergence in the simulation can be detected.
+ */
+public final class InputReplay {
+    
+    private static int tick;
+    private static int numTicks;
+    private static int numDivergent;
+    private static int firstDivergence;
+    private static int startTick;
+    
+    private static boolean replaying;
+    
+    private static String levelName;
+    private static String[] actions;
+    
+    private static int[] tickStarts;
+    private static int[] checksums;
+    private static byte[] devices;
+    private static short[] actionIndices;
+    private static float[] values;
+    
+    /**
+     * Loads a recording from a file and prepares it for playback. Playback will begin on the next tick.
+     * 
+     * @param filename the name of the file containing the recording
+     * @return true if the recording was loaded successfully
+     */
+    public static boolean start(String filename) {
+        try(DataInputStream file = new DataInputStream(new BufferedInputStream(new FileInputStream(filename)))) {
+            if(file.readInt() != InputRecorder.MAGIC || file.readShort() != InputRecorder.VERSION) {
+                Logger.logWarning("Failed to load input recording \"" + filename + "\". Unrecognized format or recorded by an older version.", null);
+                return false;
+            }
+            
+            levelName = file.readUTF();
+            startTick = file.readInt();
+            
+            actions = new String[file.readUnsignedShort()];
+            for(int i = 0; i < actions.length; i++) actions[i] = file.readUTF();
+            
+            numTicks   = file.readInt();
+            tickStarts = new int[numTicks + 1];
+            checksums  = new int[numTicks];
+            
+            int capacity = 256;
+            int count    = 0;
+            
+            devices       = new byte[capacity];
+            actionIndices = new short[capacity];
+            values        = new float[capacity];
+            
+            for(int t = 0; t < numTicks; t++) {
+                tickStarts[t] = count;
+                
+                int numCommands = file.readInt();
+                
+                if(numCommands < 0) throw new IOException("Tick " + t + " has a negative number of commands.");
+                
+                if(count + numCommands > capacity) {
+                    capacity      = Math.max(capacity * 2, count + numCommands);
+                    devices       = Arrays.copyOf(devices, capacity);
+                    actionIndices = Arrays.copyOf(actionIndices, capacity);
+                    values        = Arrays.copyOf(values, capacity);
+                }
+                
+                for(int c = 0; c < numCommands; c++) {
+                    devices[count]       = file.readByte();
+                    actionIndices[count] = file.readShort();
+                    values[count]        = file.readFloat();
+                    count++;
+                }
+                
+                checksums[t] = file.readInt();
+            }
+            
+            tickStarts[numTicks] = count;
+        } catch(IOException e) {
+            Logger.logWarning("Failed to load input recording \"" + filename + "\"", e);
+            return false;
+        }
+        
+        tick            = 0;
+        numDivergent    = 0;
+        firstDivergence = -1;
+        replaying       = numTicks > 0;
+        
+        Logger.logInfo("Replaying " + numTicks + " ticks of input from \"" + filename + "\" (level: " + levelName + ", recorded at tick " + startTick + ")");
+        
+        return replaying;
+    }
+    
+    /**
+     * Executes the commands recorded for an input device during the current tick.
+     * 
+     * @param device the device replaying the input
+     * @param puppet the puppet currently controlled by the device
+     */
+    static void feed(InputDevice device, Puppet puppet) {
+        if(!replaying) return;
+        
+        for(int i = tickStarts[tick]; i < tickStarts[tick + 1]; i++) {
+            if(devices[i] == device.id) {
+                Command command = puppet.commands.get(actions[actionIndices[i] & 0xFFFF]);
+                if(command != null) command.execute(device, values[i]);
+            }
+        }
+    }
+    
+    /**
+     * Compares the checksum of the level state against the one recorded for the current tick and advances to the next. Once every tick has been replayed a
+     * summary is written to the log and playback ends.
+     * <br><br>
+     * <b>*For internal use only*</b>
+     * 
+     * @param checksum the checksum of the level state at the end of the tick
+     */
+    public static void endTick(int checksum) {
+        if(!replaying) return;
+        
+        if(checksum != checksums[tick]) {
+            if(firstDivergence == -1) {
+                firstDivergence = tick;
+                Logger.logWarning("Simulation diverged from input recording at tick " + tick + ".", null);
+            }
+            
+            numDivergent++;
+        }
+        
+        tick++;
+        
+        if(tick == numTicks) {
+            replaying = false;
+            
+            if(numDivergent == 0) {
+                Logger.logInfo("Replay finished, all " + numTicks + " ticks matched the recording.");
+            } else {
+                Logger.logInfo("Replay finished, " + numDivergent + " of " + numTicks + " ticks diverged from the recording starting at tick " +
+                               firstDivergence + ".");
+            }
+        }
+    }
+    
+    /**
+     * Finds the ids of each input device that executed at least one command in the recording.
+     * 
+     * @return the ids of the recorded devices
+     */
+    public static int[] findDeviceIDs() {
+        return IntStream.range(0, tickStarts[numTicks]).map(i -> devices[i]).distinct().toArray();
+    }
+    
+    public static boolean getReplaying() { return replaying; }
+    public static int getTick()          { return tick; }
+    public static int getNumDivergent()  { return numDivergent; }
+    public static String getLevelName()  { return levelName; }
+    
+}
\ No newline at end of file
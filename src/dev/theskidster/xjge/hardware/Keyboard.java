@@ -96,9 +96,9 @@ public class Keyboard extends InputDevice {
                 switch(action) {
                     case "left x", "left y" -> {
                         if(glfwGetKey(App.getWindowHandle(), axes.get(action).btn1) == GLFW_PRESS) {
-                            command.execute(this, -1);
+                            execute(action, command, -1);
                         } else if(glfwGetKey(App.getWindowHandle(), axes.get(action).btn2) == GLFW_PRESS) {
-                            command.execute(this, 1);
+                            execute(action, command, 1);
                         }
                     }
                     
@@ -106,7 +106,7 @@ public class Keyboard extends InputDevice {
                         glfwGetCursorPos(App.getWindowHandle(), x, y);
 
                         if((float) x.get(0) != prevX) {
-                            command.execute(this, findAxisValue((float) x.get(0), prevX));
+                            execute(action, command, findAxisValue((float) x.get(0), prevX));
                             prevX = (float) x.get(0);
                         }
                     }
@@ -115,14 +115,14 @@ public class Keyboard extends InputDevice {
                         glfwGetCursorPos(App.getWindowHandle(), x, y);
                         
                         if((float) y.get(0) != prevY) {
-                            command.execute(this, findAxisValue((float) y.get(0), prevY));
+                            execute(action, command, findAxisValue((float) y.get(0), prevY));
                             prevY = (float) y.get(0);
                         }
                     }
                         
-                    case "left trigger", "right trigger" -> command.execute(this, glfwGetMouseButton(App.getWindowHandle(), mouse.get(action)));
+                    case "left trigger", "right trigger" -> execute(action, command, glfwGetMouseButton(App.getWindowHandle(), mouse.get(action)));
                     
-                    default -> command.execute(this, glfwGetKey(App.getWindowHandle(), keys.get(action)));
+                    default -> execute(action, command, glfwGetKey(App.getWindowHandle(), keys.get(action)));
                 }
             });
         }
@@ -0,0 +1,43 @@
+package dev.theskidster.xjge.hardware;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Stands in for a live {@link InputDevice} while an {@link InputReplay} is in progress. Rather than reading the state of any hardware, this device executes the
+ * commands captured from the device it replaces.
+ */
+public final class ReplayDevice extends InputDevice {
+    
+    /**
+     * Creates a new replay device for an input device which is not currently connected.
+     * 
+     * @param id the id of the recorded input device
+     */
+    public ReplayDevice(int id) {
+        super(id);
+        name = "replay " + id;
+    }
+    
+    /**
+     * Creates a new replay device which takes over the state of a live input device, including its puppets.
+     * 
+     * @param device the device being replaced
+     */
+    public ReplayDevice(InputDevice device) {
+        super(device);
+        name = "replay " + device.name;
+    }
+    
+    @Override
+    public void poll() {
+        if(!puppets.empty() && puppets.peek() != null) InputReplay.feed(this, puppets.peek());
+        resolvePuppetSetRequest();
+    }
+    
+    @Override
+    public void configure() {}
+    
+}
\ No newline at end of file
@@ -1,14 +1,25 @@
 package dev.theskidster.xjge.level;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import dev.theskidster.xjge.ecs.World;
 import dev.theskidster.xjge.entities.Entity;
+import dev.theskidster.xjge.entities.EntityState;
 import dev.theskidster.xjge.graphics.Light;
+import dev.theskidster.xjge.graphics.LightClusters;
 import dev.theskidster.xjge.graphics.LightSource;
+import dev.theskidster.xjge.graphics.Model;
 import dev.theskidster.xjge.graphics.Skybox;
 import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.main.Game;
 import dev.theskidster.xjge.util.Camera;
 import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.main.RenderSnapshot;
+import dev.theskidster.xjge.util.JobSystem;
+import dev.theskidster.xjge.util.SpatialIndex;
 import org.joml.Matrix4f;
 import org.joml.Vector3f;
 
@@ -23,20 +34,49 @@ import org.joml.Vector3f;
 public abstract class Level {
     
     private int index;
-    private int numLights = 1;
+    private int numLights         = 1;
+    private int parallelThreshold = 1024;
+    
+    private volatile boolean updatingEntities;
     
     /**
      * Collection that contains every {@link Entity} currently present in the game world.
      */
     public List<Entity> entityList = new ArrayList<>();
     
+    /**
+     * Data-oriented storage for large numbers of simple objects. Objects in the world coexist with those in the {@linkplain entityList entity list} and are 
+     * updated by {@link updateWorld()}.
+     * 
+     * @see dev.theskidster.xjge.ecs
+     */
+    protected final World world = new World(64);
+    
     private Skybox skybox;
-    private final LightSource[] lights = new LightSource[App.MAX_LIGHTS];
+    private SpatialIndex<Entity> spatialIndex;
+    private LightSource[] lights           = new LightSource[App.MAX_LIGHTS];
+    private final Queue<Entity> spawnQueue = new ConcurrentLinkedQueue<>();
+    private final Queue<Entity> removeQueue = new ConcurrentLinkedQueue<>();
+    private final Vector3f boundsMin       = new Vector3f();
+    private final Vector3f boundsMax       = new Vector3f();
     
     Level() {
         lights[0] = new LightSource(Light.NOON);
     }
     
+    /**
+     * Called when the level is first set, before {@link init()}. Levels may override this method to begin loading the resources they require in the 
+     * background through methods such as {@link dev.theskidster.xjge.graphics.Model#loadAsync(String) Model.loadAsync()} and retain the 
+     * {@link dev.theskidster.xjge.util.Asset Asset} handles returned for use once the level is initialized. While these resources are loading the game will
+     * display a {@link LevelLoading} in place of this level.
+     * <br><br>
+     * Resources are decoded on worker threads and uploaded by the rendering thread a little at a time each frame, so the game continues to run throughout.
+     * The init method of the level will not be called until every resource requested has finished loading.
+     * 
+     * @see dev.theskidster.xjge.util.AssetLoader
+     */
+    public void preload() {}
+    
     /**
      * Called once when the level object is initialized. Intended to be used to set application state and load any resources required by the level including entities, 
      * game world maps, etc.
@@ -60,6 +100,78 @@ public abstract class Level {
      */
     public abstract void render(Camera camera);
     
+    /**
+     * Variant of {@link render(Camera)} used while the engine is running in {@linkplain App#getThreaded() threaded mode}. Renders the state of each entity as 
+     * it was captured by the snapshot provided, skipping those whose captured bounds lie outside the view frustum of the camera. Levels which draw additional 
+     * objects should override this method to do so.
+     * 
+     * @param snapshot the state of the level at the end of the most recently completed game tick
+     * @param camera   the {@link Camera Camera} object of the {@link dev.theskidster.xjge.main.Viewport Viewport} currently being rendered
+     * @see Entity#render(EntityState, Camera, LightSource[], int)
+     */
+    public void render(RenderSnapshot snapshot, Camera camera) {
+        for(int i = 0; i < snapshot.getNumEntities(); i++) {
+            EntityState state = snapshot.getEntityState(i);
+            
+            if(state.bounded) {
+                boundsMin.set(state.boundsMin);
+                boundsMax.set(state.boundsMax);
+                
+                if(!testVisible(camera, state.prevPosition, state.position)) continue;
+            } else {
+                camera.countDrawn();
+            }
+            
+            state.entity.render(state, camera, snapshot.getLightSources(), snapshot.getNumLights());
+        }
+        
+        Model.flushInstances(snapshot.getLightSources(), snapshot.getNumLights());
+    }
+    
+    /**
+     * Calls the {@link Entity#render(Camera, LightSource[], int) render()} method of every entity in the {@linkplain entityList entity list} that's visible to 
+     * the camera provided. Entities which supply {@linkplain Entity#findBounds(Vector3f, Vector3f) bounds} are culled if those bounds lie entirely outside 
+     * of the view frustum of the camera, otherwise they're always drawn. Any {@link Model} instances submitted by the entities are drawn once every entity 
+     * has been rendered. Intended to be used by implementing classes in {@link render(Camera)} in place of iterating the list themselves.
+     * 
+     * @param camera the {@link Camera Camera} object of the {@link dev.theskidster.xjge.main.Viewport Viewport} currently being rendered
+     */
+    protected void renderEntities(Camera camera) {
+        for(int i = 0; i < entityList.size(); i++) {
+            Entity entity = entityList.get(i);
+            
+            if(entity.findBounds(boundsMin, boundsMax)) {
+                if(!testVisible(camera, entity.prevPosition, entity.position)) continue;
+            } else {
+                camera.countDrawn();
+            }
+            
+            entity.render(camera, getLightSources(), getNumLights());
+        }
+        
+        Model.flushInstances(getLightSources(), getNumLights());
+    }
+    
+    /**
+     * Tests the bounds currently held by {@link boundsMin} and {@link boundsMax} against the view frustum of a camera. Because entities are drawn at a 
+     * position interpolated between game ticks, the bounds are first extended to cover the distance the entity has travelled since the previous tick.
+     * 
+     * @param camera       the camera to test against
+     * @param prevPosition the position of the entity at the start of the current tick
+     * @param position     the current position of the entity
+     * @return true if the entity is visible to the camera
+     */
+    private boolean testVisible(Camera camera, Vector3f prevPosition, Vector3f position) {
+        float dx = prevPosition.x - position.x;
+        float dy = prevPosition.y - position.y;
+        float dz = prevPosition.z - position.z;
+        
+        boundsMin.add(Math.min(dx, 0), Math.min(dy, 0), Math.min(dz, 0));
+        boundsMax.add(Math.max(dx, 0), Math.max(dy, 0), Math.max(dz, 0));
+        
+        return camera.testVisible(boundsMin, boundsMax);
+    }
+    
     /**
      * Used to free any resources used by this level before changing to a new one.
      * 
@@ -67,40 +179,276 @@ public abstract class Level {
      */
     public abstract void exit();
     
+    /**
+     * Calls the {@link Entity#update() update()} method of every entity in the {@linkplain entityList entity list}, storing the previous state of each 
+     * beforehand so it may be {@linkplain Entity#findRenderOffset(float, Vector3f) interpolated} during rendering. Intended to be used by implementing classes 
+     * in place of iterating the list themselves.
+     * <br><br>
+     * If the number of entities meets the {@linkplain setParallelThreshold(int) parallel threshold} the list is split into chunks which are updated 
+     * concurrently by the {@link JobSystem}. Because of this, an entity may only modify its own state from within its update method- the state of 
+     * other entities may be read but not written. Entities added through {@link addEntity(Entity)} while this method is executing are buffered and appended 
+     * to the entity list once every entity has been updated. Calls to {@link Entity#remove()} are always safe as they only mark the entity for removal by 
+     * {@link resolveRemoveRequest()}.
+     * <br><br>
+     * Once every entity has been updated the {@linkplain setSpatialIndex(SpatialIndex) spatial index} of the level, if it has one, is brought up to date with 
+     * their new positions.
+     */
+    protected void updateEntities() {
+        int size = entityList.size();
+        
+        updatingEntities = true;
+        
+        try {
+            if(size < parallelThreshold) {
+                for(int i = 0; i < size; i++) {
+                    Entity entity = entityList.get(i);
+                    
+                    if(entity.getIndex() != i) entity.setIndex(i, removeQueue);
+                    
+                    entity.storePrevState();
+                    entity.update();
+                }
+            } else {
+                int grain = Math.max(64, size / ((JobSystem.getNumWorkers() + 1) * 4));
+                JobSystem.parallelFor(size, grain, i -> {
+                    Entity entity = entityList.get(i);
+                    
+                    if(entity.getIndex() != i) entity.setIndex(i, removeQueue);
+                    
+                    entity.storePrevState();
+                    entity.update();
+                });
+            }
+        } finally {
+            updatingEntities = false;
+        }
+        
+        while(!spawnQueue.isEmpty()) append(spawnQueue.poll());
+        
+        if(spatialIndex != null) updateSpatialIndex();
+    }
+    
+    /**
+     * <b>*For internal use only*</b>
+     * <br><br>
+     * Stores the current state of each entity as its previous state without updating it. Called automatically by the {@link dev.theskidster.xjge.main.Game 
+     * Game} class in place of {@link update()} while an {@link dev.theskidster.xjge.util.Event Event} has paused the game, so entities are drawn at rest 
+     * rather than repeatedly {@linkplain Entity#findRenderOffset(float, Vector3f) interpolated} toward the position they had reached when it was paused.
+     */
+    public final void holdEntities() {
+        for(int i = 0; i < entityList.size(); i++) entityList.get(i).storePrevState();
+    }
+    
+    /**
+     * Moves each entity in the {@linkplain entityList entity list} to its current position within the spatial index. Entities which haven't been indexed yet 
+     * are inserted.
+     */
+    private void updateSpatialIndex() {
+        for(int i = 0; i < entityList.size(); i++) {
+            Entity entity = entityList.get(i);
+            
+            if(entity.getSpatialHandle() == -1) {
+                entity.setSpatialHandle(spatialIndex.insert(entity, entity.position, entity.getBoundingRadius()));
+            } else {
+                spatialIndex.update(entity.getSpatialHandle(), entity.position);
+            }
+        }
+    }
+    
+    /**
+     * Updates every {@linkplain dev.theskidster.xjge.ecs.ComponentSystem system} of the levels {@linkplain world world}. Intended to be called by implementing
+     * classes alongside {@link updateEntities()}.
+     */
+    protected void updateWorld() {
+        world.update();
+    }
+    
+    /**
+     * Adds an entity to the level. If called while the level is {@linkplain updateEntities() updating its entities} the entity will be deferred until the update 
+     * has completed.
+     * 
+     * @param entity the entity to add
+     */
+    public void addEntity(Entity entity) {
+        if(updatingEntities) spawnQueue.add(entity);
+        else                 append(entity);
+    }
+    
+    /**
+     * Appends an entity to the end of the {@linkplain entityList entity list} and begins tracking its removal requests.
+     * 
+     * @param entity the entity to append
+     */
+    private void append(Entity entity) {
+        entity.setIndex(entityList.size(), removeQueue);
+        entityList.add(entity);
+    }
+    
+    /**
+     * Stops tracking an entity which has been taken out of the {@linkplain entityList entity list} and disposes of it.
+     * 
+     * @param entity the entity to release
+     */
+    private void release(Entity entity) {
+        if(spatialIndex != null && entity.getSpatialHandle() != -1) {
+            spatialIndex.remove(entity.getSpatialHandle());
+            entity.setSpatialHandle(-1);
+        }
+        
+        entity.setIndex(-1, null);
+        entity.recycle();
+    }
+    
     /**
      * Used in {@link update()} to remove {@linkplain Entity entities} from the {@linkplain entityList entity list} safely.
+     * <br><br>
+     * Entities post themselves to a queue when they {@linkplain Entity#remove() request removal}, so only the entities which have been removed are visited. 
+     * Each is replaced by the last entity in the list, as such the order of the list is not preserved. Entities added to the list directly rather than 
+     * through {@link addEntity(Entity)} are tracked from the next call to {@link updateEntities()}.
      * 
      * @see Entity#getRemoveRequest()
      */
     protected void resolveRemoveRequest() {
-        entityList.removeIf(e -> e.getRemoveRequest());
+        Entity entity;
+        
+        while((entity = removeQueue.poll()) != null) {
+            int index = entity.getIndex();
+            if(index == -1) continue;
+            
+            if(index >= entityList.size() || entityList.get(index) != entity) {
+                index = entityList.indexOf(entity);
+                
+                if(index == -1) {
+                    entity.setIndex(-1, null);
+                    continue;
+                }
+            }
+            
+            Entity last = entityList.remove(entityList.size() - 1);
+            
+            if(last != entity) {
+                entityList.set(index, last);
+                last.setIndex(index, removeQueue);
+            }
+            
+            release(entity);
+        }
     }
     
     /**
-     * Frees all resources allocated by every entity in the level.
+     * Frees all resources allocated by every entity in the level. Entities acquired from an {@link dev.theskidster.xjge.entities.EntityPool EntityPool} are 
+     * returned to it instead.
      */
     protected void freeEntities() {
-        entityList.forEach(e -> e.remove());
-        resolveRemoveRequest();
+        for(int i = 0; i < entityList.size(); i++) release(entityList.get(i));
+        
+        entityList.clear();
+        removeQueue.clear();
+        world.clear();
+        
+        if(spatialIndex != null) spatialIndex.clear();
     }
     
     /**
-     * Frees all resources allocated by every light source in the level.
+     * Frees all resources allocated by every light source in the level. Light sources are destroyed through {@link Game#submitGLTask(Runnable)} so their 
+     * resources outlive any snapshot still being rendered and are released in batches during a level change.
      */
     protected void freeLightSources() {
         for(LightSource light : lights) {
             if(light != null && light != lights[0]) {
-                light.destroy();
+                Game.submitGLTask(light::destroy);
             }
         }
     }
     
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Captures the state of every entity and light source in the level at the end of a game tick. Called automatically by the simulation thread while the engine 
+     * is running in {@linkplain App#getThreaded() threaded mode}.
+     * 
+     * @param snapshot the snapshot that will be published to the rendering thread
+     */
+    public void capture(RenderSnapshot snapshot) {
+        snapshot.captureEntities(entityList);
+        snapshot.captureLights(lights, numLights);
+    }
+    
+    /**
+     * Produces a checksum of the level state used by the {@link dev.theskidster.xjge.hardware.InputRecorder InputRecorder} to detect when a replayed session
+     * diverges from its recording. By default this considers the number of entities in the level and the position of each. Levels which store additional 
+     * gameplay state should override this method to include it.
+     * 
+     * @return a value which will differ between most distinct level states
+     */
+    public int findChecksum() {
+        int hash = entityList.size();
+        
+        for(int i = 0; i < entityList.size(); i++) {
+            Vector3f position = entityList.get(i).position;
+            
+            hash = 31 * hash + Float.floatToIntBits(position.x);
+            hash = 31 * hash + Float.floatToIntBits(position.y);
+            hash = 31 * hash + Float.floatToIntBits(position.z);
+        }
+        
+        return hash;
+    }
+    
     protected int getNumLights()              { return numLights; }
+    protected int getParallelThreshold()      { return parallelThreshold; }
     protected LightSource[] getLightSources() { return lights; }
+    protected Skybox getSkybox()              { return skybox; }
+    
+    /**
+     * Obtains the spatial index used to find the entities in a region of the level. The index reflects the position of each entity as of the last call to 
+     * {@link updateEntities()}.
+     * 
+     * @return the spatial index of the level or null if one hasn't been {@linkplain setSpatialIndex(SpatialIndex) set}
+     */
+    public SpatialIndex<Entity> getSpatialIndex() {
+        return spatialIndex;
+    }
+    
+    /**
+     * Sets the spatial index the level will maintain for its entities. Every entity currently in the {@linkplain entityList entity list} is inserted into the 
+     * new index immediately, after which entities are kept up to date by {@link updateEntities()} and removed alongside their removal from the level.
+     * <br><br>
+     * A {@link dev.theskidster.xjge.util.SpatialGrid SpatialGrid} is generally the better choice for densely populated levels which are mostly flat, whereas a 
+     * {@link dev.theskidster.xjge.util.LooseOctree LooseOctree} suits sparse levels which make use of all three dimensions.
+     * 
+     * @param index the index to use or null to stop indexing entities
+     */
+    protected void setSpatialIndex(SpatialIndex<Entity> index) {
+        for(int i = 0; i < entityList.size(); i++) entityList.get(i).setSpatialHandle(-1);
+        
+        if(spatialIndex != null) spatialIndex.clear();
+        spatialIndex = index;
+        
+        if(spatialIndex != null) {
+            spatialIndex.clear();
+            updateSpatialIndex();
+        }
+    }
+    
+    /**
+     * Sets the minimum number of entities the level must contain before {@link updateEntities()} will update them in parallel. Levels with fewer entities are 
+     * updated serially on the calling thread, as the cost of distributing work to other threads would outweigh any benefit.
+     * 
+     * @param value the minimum number of entities required to use the parallel update path
+     */
+    protected void setParallelThreshold(int value) {
+        if(value > 0) {
+            parallelThreshold = value;
+        } else {
+            Logger.logWarning("Failed to set parallel threshold. Value must be greater than zero.", null);
+        }
+    }
     
     /**
      * Adds a new light source to the level. If the maximum number of allowed light sources is exceeded, it will hijack an already existing one in place of a 
-     * new instance.
+     * new instance. While {@linkplain App#getClusteredLighting() clustered lighting} is enabled there is no maximum, and the level will instead make room for 
+     * as many light sources as it's given.
      * 
      * @param light the light data to use in the fragment shader
      */
@@ -108,7 +456,11 @@ public abstract class Level {
         boolean search = true;
         
         for(int i = 1; search; i++) {
-            if(i < App.MAX_LIGHTS) {
+            if(i == lights.length && App.getClusteredLighting()) {
+                lights = Arrays.copyOf(lights, lights.length * 2);
+            }
+            
+            if(i < lights.length) {
                 if(lights[i] != null) {
                     if(!lights[i].enabled) {
                         lights[i] = new LightSource(light, lights[i]);
@@ -172,12 +524,13 @@ public abstract class Level {
     }
     
     /**
-     * Updates each {@link LightSource} object that currently exists in the level.
+     * Updates each {@link LightSource} object that currently exists in the level. The light array grows alongside the number of lights added while 
+     * clustered lighting is enabled, in which case it's divided between the workers of the {@link JobSystem} once it's large enough.
      */
     protected void updateLightSources() {
-        for(LightSource light : lights) {
-            if(light != null) light.update();
-        }
+        JobSystem.parallelFor(lights.length, 256, i -> {
+            if(lights[i] != null) lights[i].update();
+        });
     }
     
     /**
@@ -205,6 +558,35 @@ public abstract class Level {
      * @param camUp  the direction considered upwards relative to the viewports camera
      */
     public void renderLightSources(Vector3f camPos, Vector3f camDir, Vector3f camUp) {
+        renderLightSources(lights, camPos, camDir, camUp);
+    }
+    
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Assigns the light sources of this level to the clusters of a viewport. Called automatically by the {@link App} class before this level is rendered 
+     * while {@linkplain App#getClusteredLighting() clustered lighting} is enabled.
+     * 
+     * @param clusters   the clusters of the viewport currently rendering the level
+     * @param viewMatrix the view matrix of the viewport camera
+     * @param projMatrix the projection matrix of the viewport camera
+     * @return true if the lights were assigned, false if the projection of the camera doesn't support clustering
+     */
+    public boolean binLights(LightClusters clusters, Matrix4f viewMatrix, Matrix4f projMatrix) {
+        return clusters.bin(viewMatrix, projMatrix, lights);
+    }
+    
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Renders the light sources provided. Used in threaded mode to draw the light sources captured by a {@link RenderSnapshot}.
+     * 
+     * @param lights the light source objects to render
+     * @param camPos the position of the viewports camera in the game world
+     * @param camDir the direction in which the viewports camera is facing
+     * @param camUp  the direction considered upwards relative to the viewports camera
+     */
+    public void renderLightSources(LightSource[] lights, Vector3f camPos, Vector3f camDir, Vector3f camUp) {
         if(App.getShowLightSources()) {
             for(LightSource light : lights) {
                 if(light != null) light.render(camPos, camDir, camUp);
@@ -0,0 +1,54 @@
+package dev.theskidster.xjge.level;
+
+import dev.theskidster.xjge.entities.EntityAgent;
+import dev.theskidster.xjge.util.Camera;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A level populated exclusively by {@link EntityAgent} objects. Used to measure the throughput of the simulation with a large number of entities, and as the
+ * default level while the engine is running in {@linkplain dev.theskidster.xjge.main.App#getHeadless() headless mode} as it requires no graphics resources.
+ */
+public class LevelBenchmark extends Level {
+    
+    private final int numEntities;
+    
+    /**
+     * Creates a new benchmark level.
+     * 
+     * @param numEntities the number of agents that will inhabit the level
+     */
+    public LevelBenchmark(int numEntities) {
+        this.numEntities = numEntities;
+    }
+    
+    @Override
+    public void init() {
+        for(int i = 0; i < numEntities; i++) {
+            entityList.add(new EntityAgent(new Vector3f(), 100, i + 1));
+        }
+    }
+    
+    @Override
+    public void update() {
+        updateEntities();
+        updateWorld();
+        updateLightSources();
+        
+        resolveRemoveRequest();
+    }
+    
+    @Override
+    public void render(Camera camera) {}
+    
+    @Override
+    public void exit() {
+        freeEntities();
+        freeLightSources();
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package dev.theskidster.xjge.level;
+
+import dev.theskidster.xjge.collision.CastHit;
+import dev.theskidster.xjge.collision.Collider;
+import dev.theskidster.xjge.collision.CollisionListener;
+import dev.theskidster.xjge.collision.CollisionWorld;
+import dev.theskidster.xjge.entities.EntityAgent;
+import dev.theskidster.xjge.main.Game;
+import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.util.Camera;
+import java.util.Random;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A level populated by {@link EntityAgent} objects which each carry a box, sphere, or capsule {@link Collider}, a tenth of which are triggers. Used to measure
+ * the time taken by the {@link CollisionWorld} to track the overlaps between a large number of moving shapes, along with a batch of ray casts and overlap
+ * queries performed each tick. The average times are logged every few seconds.
+ */
+public class LevelBenchmarkCollision extends Level {
+    
+    private static final int NUM_QUERIES = 100;
+    
+    private final int numEntities;
+    private int numTouching;
+    private long updateTime;
+    private long queryTime;
+    
+    private final Random random      = new Random(1);
+    private final CastHit hit        = new CastHit();
+    private final Collider[] results = new Collider[32];
+    private final Vector3f origin    = new Vector3f();
+    private final Vector3f direction = new Vector3f();
+    private final CollisionWorld world;
+    
+    private final CollisionListener listener = new CollisionListener() {
+        @Override
+        public void enter(Collider self, Collider other) {
+            numTouching++;
+        }
+        
+        @Override
+        public void exit(Collider self, Collider other) {
+            numTouching--;
+        }
+    };
+    
+    /**
+     * Creates a new benchmark level.
+     * 
+     * @param numEntities the number of agents that will inhabit the level
+     */
+    public LevelBenchmarkCollision(int numEntities) {
+        this.numEntities = numEntities;
+        world            = new CollisionWorld(numEntities);
+    }
+    
+    @Override
+    public void init() {
+        Vector3f halfExtents = new Vector3f(0.4f, 0.3f, 0.5f);
+        
+        //Agents travel roughly a tenth of a unit each tick, so the margin is widened to keep most of them within their existing leaves.
+        world.setMargin(0.5f);
+        
+        for(int i = 0; i < numEntities; i++) {
+            Vector3f position = new Vector3f(random.nextFloat() * 100 - 50, random.nextFloat() * 100 - 50, random.nextFloat() * 100 - 50);
+            EntityAgent agent = new EntityAgent(position, 50, i + 1);
+            
+            Collider collider = switch(i % 3) {
+                case 0  -> Collider.createBox(agent, halfExtents);
+                case 1  -> Collider.createSphere(agent, 0.5f);
+                default -> Collider.createCapsule(agent, 0.3f, 0.4f);
+            };
+            
+            collider.setTrigger(i % 10 == 0);
+            collider.setListener(listener);
+            
+            entityList.add(agent);
+            world.add(collider);
+        }
+    }
+    
+    @Override
+    public void update() {
+        updateEntities();
+        
+        long start = System.nanoTime();
+        world.update();
+        updateTime += System.nanoTime() - start;
+        
+        start = System.nanoTime();
+        
+        for(int i = 0; i < NUM_QUERIES; i++) {
+            origin.set(random.nextFloat() * 100 - 50, random.nextFloat() * 100 - 50, random.nextFloat() * 100 - 50);
+            direction.set(random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f);
+            
+            world.rayCast(origin, direction, 50, -1, hit);
+            world.overlapSphere(origin, 2, -1, results);
+        }
+        
+        queryTime += System.nanoTime() - start;
+        
+        updateLightSources();
+        resolveRemoveRequest();
+        
+        if(Game.tick(300)) {
+            Logger.logInfo("Collision update: " + String.format("%.3f", updateTime / 300 / 1_000_000.0) + "ms, " + NUM_QUERIES + " ray casts and " + 
+                           "overlaps: " + String.format("%.3f", queryTime / 300 / 1_000_000.0) + "ms (" + world.getNumColliders() + " colliders, " + 
+                           world.getNumPairs() + " pairs, " + numTouching / 2 + " touching)");
+            
+            updateTime = 0;
+            queryTime  = 0;
+        }
+    }
+    
+    @Override
+    public void render(Camera camera) {}
+    
+    @Override
+    public void exit() {
+        world.clear();
+        
+        freeEntities();
+        freeLightSources();
+    }
+    
+}
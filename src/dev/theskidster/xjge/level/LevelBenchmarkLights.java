@@ -0,0 +1,115 @@
+package dev.theskidster.xjge.level;
+
+import dev.theskidster.xjge.graphics.Light;
+import dev.theskidster.xjge.graphics.LightClusters;
+import dev.theskidster.xjge.main.Game;
+import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.util.Camera;
+import dev.theskidster.xjge.util.Color;
+import java.util.Random;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A level populated by a large number of point lights which drift about the origin while a camera circles around them. Used to measure the time taken to
+ * assign every light to the {@link LightClusters} of a viewport, which is performed once each tick against the perspective of the orbiting camera. The
+ * average time and the number of lights assigned to each cluster are logged every few seconds.
+ * <br><br>
+ * This level requires {@linkplain dev.theskidster.xjge.main.App#setClusteredLighting(boolean) clustered lighting} to be enabled, otherwise only the first
+ * {@link dev.theskidster.xjge.main.App#MAX_LIGHTS MAX_LIGHTS} lights will be added.
+ */
+public class LevelBenchmarkLights extends Level {
+    
+    private final int numLights;
+    private float angle;
+    private long binTime;
+    private long numIndices;
+    
+    private final Random random          = new Random(1);
+    private final Vector3f eye           = new Vector3f();
+    private final Vector3f center        = new Vector3f();
+    private final Vector3f up            = new Vector3f(0, 1, 0);
+    private final Matrix4f viewMatrix    = new Matrix4f();
+    private final Matrix4f projMatrix    = new Matrix4f();
+    private final LightClusters clusters = new LightClusters(1000);
+    
+    private Light[] lights;
+    private Vector3f[] origins;
+    private float[] phases;
+    
+    /**
+     * Creates a new benchmark level.
+     * 
+     * @param numLights the number of point lights that will inhabit the level
+     */
+    public LevelBenchmarkLights(int numLights) {
+        this.numLights = numLights;
+    }
+    
+    @Override
+    public void init() {
+        lights  = new Light[numLights];
+        origins = new Vector3f[numLights];
+        phases  = new float[numLights];
+        
+        projMatrix.setPerspective((float) Math.toRadians(45), 16 / 9f, 0.1f, Float.POSITIVE_INFINITY);
+        
+        for(int i = 0; i < numLights; i++) {
+            origins[i] = new Vector3f(random.nextFloat() * 200 - 100, random.nextFloat() * 40 - 20, random.nextFloat() * 200 - 100);
+            phases[i]  = random.nextFloat() * 6.28f;
+            
+            Color color = Color.create(random.nextInt(256), random.nextInt(256), random.nextInt(256));
+            
+            lights[i]       = new Light(0.5f, 0.5f, new Vector3f(origins[i]), color, color);
+            lights[i].range = 2 + random.nextFloat() * 8;
+            
+            addLightSource(lights[i]);
+        }
+    }
+    
+    @Override
+    public void update() {
+        angle += 0.005f;
+        
+        for(int i = 0; i < numLights; i++) {
+            float phase = phases[i] + angle * 4;
+            lights[i].position.set(origins[i]).add((float) Math.cos(phase) * 3, (float) Math.sin(phase * 2), (float) Math.sin(phase) * 3);
+        }
+        
+        updateLightSources();
+        
+        eye.set((float) Math.cos(angle) * 120, 30, (float) Math.sin(angle) * 120);
+        viewMatrix.setLookAt(eye, center, up);
+        
+        long start = System.nanoTime();
+        binLights(clusters, viewMatrix, projMatrix);
+        binTime += System.nanoTime() - start;
+        
+        numIndices += clusters.getNumIndices();
+        
+        resolveRemoveRequest();
+        
+        if(Game.tick(300)) {
+            Logger.logInfo("Light binning: " + String.format("%.3f", binTime / 300 / 1_000_000.0) + "ms (" + clusters.getNumLights() + " lights, " +
+                           String.format("%.2f", numIndices / 300.0 / LightClusters.NUM_CLUSTERS) + " lights per cluster)");
+            
+            binTime    = 0;
+            numIndices = 0;
+        }
+    }
+    
+    @Override
+    public void render(Camera camera) {}
+    
+    @Override
+    public void exit() {
+        freeEntities();
+        freeLightSources();
+    }
+    
+}
\ No newline at end of file
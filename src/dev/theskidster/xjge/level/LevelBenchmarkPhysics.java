@@ -0,0 +1,79 @@
+package dev.theskidster.xjge.level;
+
+import dev.theskidster.xjge.entities.EntityBody;
+import dev.theskidster.xjge.main.Game;
+import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.physics.PhysicsService;
+import dev.theskidster.xjge.util.Camera;
+import java.util.Random;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A level populated by {@link EntityBody} objects which are dropped in a column onto the ground, where they collide with one another until they come to rest. 
+ * Used to measure the time taken by each step of the {@link PhysicsService} with a large number of rigid bodies in contact. The average step time is logged 
+ * every few seconds.
+ */
+public class LevelBenchmarkPhysics extends Level {
+    
+    private final int numEntities;
+    
+    /**
+     * Creates a new benchmark level.
+     * 
+     * @param numEntities the number of rigid bodies that will inhabit the level
+     */
+    public LevelBenchmarkPhysics(int numEntities) {
+        this.numEntities = numEntities;
+    }
+    
+    @Override
+    public void init() {
+        Random random = new Random(numEntities);
+        int width     = (int) Math.ceil(Math.sqrt(numEntities / 10.0));
+        
+        PhysicsService.addPlane(new Vector3f(0, 1, 0), 0);
+        
+        for(int i = 0; i < numEntities; i++) {
+            int layer = i / (width * width);
+            int cell  = i % (width * width);
+            
+            Vector3f position = new Vector3f((cell % width - width / 2f) * 1.1f + random.nextFloat() * 0.1f, 
+                                             1 + layer * 1.1f, 
+                                             (cell / width - width / 2f) * 1.1f + random.nextFloat() * 0.1f);
+            
+            entityList.add(new EntityBody(position, 0.5f, 1));
+        }
+        
+        PhysicsService.start();
+    }
+    
+    @Override
+    public void update() {
+        updateEntities();
+        updateLightSources();
+        
+        resolveRemoveRequest();
+        
+        if(Game.tick(300)) {
+            Logger.logInfo("Physics step: " + String.format("%.3f", PhysicsService.getStepTime()) + "ms (" + PhysicsService.getNumBodies() + 
+                           " bodies, " + PhysicsService.getNumContacts() + " contacts)");
+        }
+    }
+    
+    @Override
+    public void render(Camera camera) {}
+    
+    @Override
+    public void exit() {
+        PhysicsService.stop();
+        
+        freeEntities();
+        freeLightSources();
+    }
+    
+}
@@ -0,0 +1,147 @@
+package dev.theskidster.xjge.level;
+
+import dev.theskidster.xjge.entities.Entity;
+import dev.theskidster.xjge.graphics.Light;
+import dev.theskidster.xjge.graphics.LightSource;
+import dev.theskidster.xjge.graphics.Model;
+import dev.theskidster.xjge.graphics.Skybox;
+import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.main.Game;
+import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.util.Asset;
+import dev.theskidster.xjge.util.Camera;
+import dev.theskidster.xjge.util.Color;
+import dev.theskidster.xjge.util.Job;
+import dev.theskidster.xjge.util.JobSystem;
+import dev.theskidster.xjge.util.ScreenSplitType;
+import dev.theskidster.xjge.util.Transform;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A level populated by a large number of props arranged in a grid, each of which alternates between one of two models. Used to measure the number of binds
+ * and draw calls issued by the {@link dev.theskidster.xjge.graphics.RenderQueue RenderQueue} with
+ * {@linkplain App#setRenderSorting(boolean) sorting} enabled and disabled. As neighboring props use different models, an unsorted queue must rebind the
+ * texture and vertex array of nearly every mesh it draws. The statistics of the first viewport are logged every few seconds.
+ */
+public class LevelBenchmarkRender extends Level {
+    
+    private final int numProps;
+    
+    private Asset<Model> teapotModel;
+    private Asset<Model> busterModel;
+    
+    /**
+     * A stationary entity which draws one of the models shared by the level with its own transform.
+     */
+    private static class Prop extends Entity {
+        
+        private final Model model;
+        private final Transform transform = new Transform();
+        
+        Prop(Vector3f position, Model model, Quaternionf rotation, float scale) {
+            super(position);
+            
+            this.model = model;
+            
+            transform.setPosition(position);
+            transform.setRotation(rotation);
+            transform.setScale(scale);
+        }
+        
+        @Override
+        public void update() {}
+        
+        @Override
+        public void render(Camera camera, LightSource[] lights, int numLights) {
+            model.setTransform(transform);
+            model.render("default", lights, numLights, null);
+        }
+        
+        @Override
+        public boolean findBounds(Vector3f min, Vector3f max) {
+            model.findBounds(transform.getWorldMatrix(), min, max);
+            return true;
+        }
+        
+        @Override
+        protected void destroy() {}
+        
+    }
+    
+    /**
+     * Creates a new benchmark level.
+     * 
+     * @param numProps the number of props that will inhabit the level
+     */
+    public LevelBenchmarkRender(int numProps) {
+        this.numProps = numProps;
+    }
+    
+    @Override
+    public void preload() {
+        teapotModel = Model.loadAsync("mod_teapot.fbx");
+        busterModel = Model.loadAsync("mod_buster.fbx");
+    }
+    
+    @Override
+    public void init() {
+        App.setSplitType(ScreenSplitType.NO_SPLIT);
+        App.setClearColor(Color.SOFT_BLUE);
+        
+        setSkybox(Skybox.NOON);
+        setWorldLight(Light.NOON);
+        
+        busterModel.get().setAnimation("TPose", 0);
+        
+        Quaternionf teapotRotation = new Quaternionf().rotationY((float) Math.toRadians(90)).rotateZ((float) Math.toRadians(-135));
+        Quaternionf busterRotation = new Quaternionf();
+        
+        int columns = (int) Math.ceil(Math.sqrt(numProps));
+        
+        for(int i = 0; i < numProps; i++) {
+            Vector3f position = new Vector3f((i % columns - columns / 2f) * 6, -10, -20 - (i / columns) * 6);
+            
+            if(i % 2 == 0) addEntity(new Prop(position, teapotModel.get(), teapotRotation, 1));
+            else           addEntity(new Prop(position, busterModel.get(), busterRotation, 0.04f));
+        }
+    }
+    
+    @Override
+    public void update() {
+        //The shared animation is sampled by a worker while the props are updated, none of which read it until they're rendered.
+        Job animation = JobSystem.submit(busterModel.get()::updateAnimation);
+        
+        updateEntities();
+        updateLightSources();
+        
+        JobSystem.waitFor(animation);
+        
+        resolveRemoveRequest();
+        
+        if(Game.tick(300)) {
+            Logger.logInfo("Render queue: " + App.getViewportNumBinds(0) + " binds, " + App.getViewportNumDrawCalls(0) + " draws (" + numProps +
+                           " props, sorting " + App.getRenderSorting() + ")");
+        }
+    }
+    
+    @Override
+    public void render(Camera camera) {
+        renderEntities(camera);
+    }
+    
+    @Override
+    public void exit() {
+        freeEntities();
+        freeLightSources();
+        
+        teapotModel.get().destroy();
+        busterModel.get().destroy();
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package dev.theskidster.xjge.level;
+
+import dev.theskidster.xjge.entities.Entity;
+import dev.theskidster.xjge.entities.EntityAgent;
+import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.util.Camera;
+import dev.theskidster.xjge.util.LooseOctree;
+import dev.theskidster.xjge.util.SpatialGrid;
+import java.util.Random;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Variant of {@link LevelBenchmark} in which every agent searches for its neighbors each tick. Used to compare the cost of maintaining and querying the
+ * available {@linkplain dev.theskidster.xjge.util.SpatialIndex spatial indices} against that of testing every pair of entities directly. Agents are scattered
+ * throughout the level rather than starting at its origin so that the number of neighbors found remains representative of a populated game world.
+ */
+public class LevelBenchmarkSpatial extends Level {
+    
+    private final int numEntities;
+    private long numNeighbors;
+    private final float bounds      = 100;
+    private final float queryRadius = 4;
+    private final String indexType;
+    
+    private final Entity[] neighbors = new Entity[256];
+    
+    /**
+     * Creates a new benchmark level.
+     * 
+     * @param numEntities the number of agents that will inhabit the level
+     * @param indexType   the spatial index used to find neighbors. One of "grid", "octree", or "none" to test every pair of agents.
+     */
+    public LevelBenchmarkSpatial(int numEntities, String indexType) {
+        this.numEntities = numEntities;
+        this.indexType   = indexType;
+    }
+    
+    @Override
+    public void init() {
+        Random random = new Random(numEntities);
+        
+        for(int i = 0; i < numEntities; i++) {
+            Vector3f position = new Vector3f((random.nextFloat() * 2 - 1) * bounds,
+                                             (random.nextFloat() * 2 - 1) * bounds,
+                                             (random.nextFloat() * 2 - 1) * bounds);
+            
+            entityList.add(new EntityAgent(position, bounds, i + 1));
+        }
+        
+        switch(indexType) {
+            case "grid"   -> setSpatialIndex(new SpatialGrid<>(queryRadius, numEntities));
+            case "octree" -> setSpatialIndex(new LooseOctree<>(new Vector3f(), bounds * 1.28f, 6, numEntities));
+            case "none"   -> {}
+            default       -> Logger.logWarning("Unknown spatial index type \"" + indexType + "\", testing every pair of agents instead.", null);
+        }
+    }
+    
+    @Override
+    public void update() {
+        updateEntities();
+        updateLightSources();
+        
+        if(getSpatialIndex() != null) {
+            for(int i = 0; i < entityList.size(); i++) {
+                numNeighbors += getSpatialIndex().querySphere(entityList.get(i).position, queryRadius, neighbors);
+            }
+        } else {
+            float radiusSquared = queryRadius * queryRadius;
+            
+            for(int i = 0; i < entityList.size(); i++) {
+                Vector3f position = entityList.get(i).position;
+                
+                for(int j = 0; j < entityList.size(); j++) {
+                    if(position.distanceSquared(entityList.get(j).position) <= radiusSquared) numNeighbors++;
+                }
+            }
+        }
+        
+        resolveRemoveRequest();
+    }
+    
+    @Override
+    public void render(Camera camera) {}
+    
+    @Override
+    public void exit() {
+        freeEntities();
+        freeLightSources();
+    }
+    
+    /**
+     * Includes the total number of neighbors found so far so that replays will detect any disagreement between the index and the positions of the agents.
+     * 
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int findChecksum() {
+        return 31 * super.findChecksum() + Long.hashCode(numNeighbors);
+    }
+    
+    public long getNumNeighbors() { return numNeighbors; }
+    
+}
\ No newline at end of file
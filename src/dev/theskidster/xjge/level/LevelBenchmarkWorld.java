@@ -0,0 +1,109 @@
+package dev.theskidster.xjge.level;
+
+import dev.theskidster.xjge.ecs.ComponentSystem;
+import dev.theskidster.xjge.ecs.FloatStore;
+import dev.theskidster.xjge.ecs.IntStore;
+import dev.theskidster.xjge.ecs.MovementSystem;
+import dev.theskidster.xjge.ecs.World;
+import dev.theskidster.xjge.util.Camera;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Counterpart to {@link LevelBenchmark} which populates its {@link World} with objects that behave like {@link dev.theskidster.xjge.entities.EntityAgent
+ * EntityAgent} instances rather than adding entities to its entity list. Used to measure the throughput of the data-oriented storage, is updated on a single
+ * thread, and requires no graphics resources.
+ */
+public class LevelBenchmarkWorld extends Level {
+    
+    private final int numEntities;
+    private final float bounds = 100;
+    
+    private FloatStore positions;
+    private FloatStore velocities;
+    private IntStore seeds;
+    
+    /**
+     * Accelerates each object in a random direction and reverses its velocity along any axis on which it has left the bounds of the level.
+     */
+    private class WanderSystem implements ComponentSystem {
+        @Override
+        public void update(World world) {
+            float[] pos = positions.getData();
+            float[] vel = velocities.getData();
+            int[] seed  = seeds.getData();
+            
+            for(int i = 0; i < seeds.getSize(); i++) {
+                int v = i * 3;
+                int s = seed[i];
+                
+                for(int axis = 0; axis < 3; axis++) {
+                    if(Math.abs(pos[v + axis]) > bounds) vel[v + axis] = -vel[v + axis];
+                    
+                    s ^= s << 13;
+                    s ^= s >>> 17;
+                    s ^= s << 5;
+                    
+                    vel[v + axis] = (vel[v + axis] + (s / (float) Integer.MAX_VALUE) * 0.02f) * 0.98f;
+                }
+                
+                seed[i] = s;
+            }
+        }
+    }
+    
+    /**
+     * Creates a new benchmark level.
+     * 
+     * @param numEntities the number of objects that will inhabit the level
+     */
+    public LevelBenchmarkWorld(int numEntities) {
+        this.numEntities = numEntities;
+    }
+    
+    @Override
+    public void init() {
+        positions  = world.createFloatStore("position", 3);
+        velocities = world.createFloatStore("velocity", 3);
+        seeds      = world.createIntStore("seed", 1);
+        
+        for(int i = 0; i < numEntities; i++) {
+            int entity = world.createEntity();
+            
+            positions.add(entity);
+            velocities.add(entity);
+            seeds.add(entity);
+            seeds.set(entity, 0, i + 1);
+        }
+        
+        world.addSystem(new WanderSystem());
+        world.addSystem(new MovementSystem(positions, velocities));
+    }
+    
+    @Override
+    public void update() {
+        updateWorld();
+    }
+    
+    @Override
+    public void render(Camera camera) {}
+    
+    @Override
+    public void exit() {
+        freeEntities();
+    }
+    
+    @Override
+    public int findChecksum() {
+        float[] pos = positions.getData();
+        int hash    = positions.getSize();
+        
+        for(int i = 0; i < positions.getSize() * 3; i++) hash = 31 * hash + Float.floatToIntBits(pos[i]);
+        
+        return hash;
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,455 @@
+package dev.theskidster.xjge.level;
+
+import dev.theskidster.xjge.entities.Entity;
+import dev.theskidster.xjge.entities.EntityAgent;
+import dev.theskidster.xjge.entities.EntityBuster;
+import dev.theskidster.xjge.entities.EntityTeapot;
+import dev.theskidster.xjge.graphics.Light;
+import dev.theskidster.xjge.graphics.Skybox;
+import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.util.Asset;
+import dev.theskidster.xjge.util.Color;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Provides access to the contents of a level file written by a {@link LevelWriter}. Level files are divided into chunks which are located through a table at
+ * the start of the file, the file itself is memory-mapped rather than read into memory and only the table of chunks and the string table are parsed when it's
+ * opened. Every other chunk is parsed when its contents are first requested, directly from the mapped file.
+ * <br><br>
+ * Strings such as the type of each entity and the filenames of resources are stored once in the string table and referred to by their index, so entities can
+ * be {@linkplain spawnEntities(Level) spawned} without creating any objects other than the entities themselves. Files have the following layout:
+ * <blockquote><pre>
+ * int    magic number ("XJLV")
+ * short  format version
+ * short  number of chunks, followed by each chunk:
+ *        int    id of the chunk
+ *        int    offset of the chunk from the start of the file
+ *        int    length of the chunk in bytes
+ * 
+ * "STRS" int    number of strings, followed by each string:
+ *               short  length of the string in bytes
+ *               byte[] UTF-8 encoded characters of the string
+ * "ENTS" int    number of entities, followed by each entity:
+ *               short  index of the entity type in the string table
+ *               short  length of the data written by the entity
+ *               float  x, y, and z coordinates of the entity
+ *               byte[] data written by the entity
+ * "LGHT" int    number of lights, the first of which is the world light, followed by each light:
+ *               float  brightness
+ *               float  contrast
+ *               float  x, y, and z coordinates of the light
+ *               byte   red, green, and blue components of the ambient color
+ *               byte   red, green, and blue components of the diffuse color
+ *               float  range (version 2 and later)
+ * "SKYB" short  index of the image used for the right, left, top, bottom, front, and back faces in the string table
+ * "GEOM" int    number of static models, followed by each model:
+ *               short  index of the model filename in the string table
+ *               short  reserved
+ *               float  x, y, and z coordinates of the model
+ *               float  rotation of the model around the x, y, and z axes in degrees
+ *               float  scale of the model
+ * </pre></blockquote>
+ * Level files are not thread-safe and should only be used by the thread which loads the level.
+ */
+public final class LevelFile {
+    
+    static final int MAGIC   = 0x584A4C56;
+    static final int VERSION = 2;
+    
+    static final int CHUNK_STRINGS  = 0x53545253;
+    static final int CHUNK_ENTITIES = 0x454E5453;
+    static final int CHUNK_LIGHTS   = 0x4C474854;
+    static final int CHUNK_SKYBOX   = 0x534B5942;
+    static final int CHUNK_GEOMETRY = 0x47454F4D;
+    
+    static final int ENTITY_HEADER_SIZE = 16;
+    static final int LIGHT_SIZE         = 30;
+    static final int GEOMETRY_SIZE      = 32;
+    
+    private int entitiesOffset = -1;
+    private int entitiesEnd;
+    private int lightsOffset   = -1;
+    private int skyboxOffset   = -1;
+    private int geometryOffset = -1;
+    private int numEntities;
+    private int numLights;
+    private int numGeometry;
+    private final int lightSize;
+    
+    private final String filename;
+    private final ByteBuffer buffer;
+    private String[] strings = new String[0];
+    
+    private final Map<String, EntityReader> localReaders = new HashMap<>();
+    private static final Map<String, EntityReader> readers = new ConcurrentHashMap<>();
+    
+    /**
+     * Recreates an entity from the data it wrote through {@link Entity#writeData(java.io.DataOutputStream) writeData()} when the level was saved.
+     */
+    @FunctionalInterface
+    public interface EntityReader {
+        
+        /**
+         * Creates a new entity.
+         * 
+         * @param position the position of the entity. The vector is created for the entity and may be used as its position directly.
+         * @param data     the buffer containing the data written by the entity, positioned at the start of the data and limited to its end. Should only
+         *                 be read using relative methods.
+         * @return the new entity, or null if no entity should be created
+         */
+        Entity read(Vector3f position, ByteBuffer data);
+    }
+    
+    static {
+        register("EntityAgent",  (position, data) -> new EntityAgent(position, data.getFloat(), data.getInt()));
+        register("EntityBuster", (position, data) -> new EntityBuster(position));
+        register("EntityTeapot", (position, data) -> new EntityTeapot(position));
+    }
+    
+    /**
+     * Maps a file into memory and parses its table of chunks and string table.
+     * 
+     * @param filename the name of the level file
+     * @param buffer   the contents of the file
+     */
+    private LevelFile(String filename, ByteBuffer buffer) {
+        this.filename = filename;
+        this.buffer   = buffer;
+        
+        short version = buffer.getShort(4);
+        
+        if(buffer.getInt(0) != MAGIC || version < 1 || version > VERSION) throw new IllegalStateException("Unrecognized format.");
+        
+        //Lights written before the second version of the format have no range.
+        lightSize = (version == 1) ? LIGHT_SIZE - 4 : LIGHT_SIZE;
+        
+        int numChunks = buffer.getShort(6) & 0xFFFF;
+        
+        for(int i = 0; i < numChunks; i++) {
+            int entry  = 8 + i * 12;
+            int id     = buffer.getInt(entry);
+            int offset = buffer.getInt(entry + 4);
+            int length = buffer.getInt(entry + 8);
+            
+            if(offset < 0 || length < 0 || offset + length > buffer.capacity()) throw new IllegalStateException("Chunk exceeds the length of the file.");
+            
+            switch(id) {
+                case CHUNK_STRINGS  -> parseStrings(offset, offset + length);
+                case CHUNK_ENTITIES -> { entitiesOffset = offset + 4; entitiesEnd = offset + length; numEntities = readCount(offset, length, ENTITY_HEADER_SIZE); }
+                case CHUNK_LIGHTS   -> { lightsOffset = offset + 4;   numLights = readCount(offset, length, lightSize); }
+                case CHUNK_SKYBOX   -> { checkLength(length, 12); skyboxOffset = offset; }
+                case CHUNK_GEOMETRY -> { geometryOffset = offset + 4; numGeometry = readCount(offset, length, GEOMETRY_SIZE); }
+            }
+        }
+        
+        //The string table may follow the chunks that refer to it, so indices are only checked once every chunk has been located.
+        if(skyboxOffset != -1) {
+            for(int i = 0; i < 6; i++) checkString(skyboxOffset + i * 2);
+        }
+        
+        for(int i = 0; i < numGeometry; i++) checkString(geometryOffset + i * GEOMETRY_SIZE);
+    }
+    
+    /**
+     * Ensures the string index stored at a position in the file refers to a string in the string table.
+     */
+    private void checkString(int pos) {
+        int index = buffer.getShort(pos) & 0xFFFF;
+        
+        if(index >= strings.length) {
+            throw new IllegalStateException("String index " + index + " exceeds the string table of " + strings.length + " strings.");
+        }
+    }
+    
+    /**
+     * Reads the number of records a chunk contains and ensures the chunk is long enough to hold them.
+     * 
+     * @param offset     the offset of the chunk
+     * @param length     the length of the chunk in bytes
+     * @param recordSize the minimum number of bytes each record occupies
+     * @return the number of records in the chunk
+     */
+    private int readCount(int offset, int length, int recordSize) {
+        checkLength(length, 4);
+        
+        int count = buffer.getInt(offset);
+        
+        if(count < 0) throw new IllegalStateException("Chunk has a negative number of records.");
+        checkLength(length, 4 + (long) count * recordSize);
+        
+        return count;
+    }
+    
+    /**
+     * Ensures a chunk is at least as long as required.
+     */
+    private static void checkLength(int length, long required) {
+        if(length < required) throw new IllegalStateException("Chunk is truncated, expected at least " + required + " bytes but found " + length + ".");
+    }
+    
+    /**
+     * Opens a level file. The file is mapped into memory for as long as the returned object is reachable.
+     * 
+     * @param filename the name of the level file
+     * @return the opened file, or null if it couldn't be opened
+     */
+    public static LevelFile open(String filename) {
+        try(FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            return new LevelFile(filename, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch(IOException | RuntimeException e) {
+            Logger.logWarning("Failed to open level file \"" + filename + "\"", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Registers the reader used to recreate entities of a specific type. Readers for the entities included with the engine are registered automatically.
+     * 
+     * @param type   the type of entity as written to the level file, which is the simple name of its class
+     * @param reader the reader used to recreate entities of this type
+     */
+    public static void register(String type, EntityReader reader) {
+        readers.put(type, reader);
+    }
+    
+    /**
+     * Replaces the {@linkplain register(String, EntityReader) registered} reader of an entity type for this file only. Used by levels which create their 
+     * entities from resources they've preloaded, such as a model shared between every entity of one type.
+     * 
+     * @param type   the type of entity as written to the level file
+     * @param reader the reader used to recreate entities of this type from this file
+     */
+    public void setReader(String type, EntityReader reader) {
+        localReaders.put(type, reader);
+    }
+    
+    /**
+     * Determines whether the string table of the file contains the string specified, such as the type of an entity or the name of a model. Levels may use 
+     * this to skip loading resources the file has no use for.
+     * 
+     * @param value the string to search for
+     * @return true if the file contains the string
+     */
+    public boolean hasString(String value) {
+        for(String string : strings) {
+            if(string.equals(value)) return true;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Parses the string table of the file.
+     * 
+     * @param offset the offset of the string table chunk
+     * @param end    the offset at which the string table chunk ends
+     */
+    private void parseStrings(int offset, int end) {
+        strings = new String[readCount(offset, end - offset, 2)];
+        
+        int pos = offset + 4;
+        
+        for(int i = 0; i < strings.length; i++) {
+            if(pos + 2 > end) throw new IllegalStateException("String table is truncated.");
+            
+            byte[] bytes = new byte[buffer.getShort(pos) & 0xFFFF];
+            
+            if(pos + 2 + bytes.length > end) throw new IllegalStateException("String table is truncated.");
+            
+            buffer.get(pos + 2, bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            
+            pos += 2 + bytes.length;
+        }
+    }
+    
+    /**
+     * Finds the string at the index specified by a short stored in the file. The indices used by the skybox and static geometry are 
+     * {@linkplain checkString(int) checked} when the file is opened.
+     */
+    private String findString(int pos) {
+        return strings[buffer.getShort(pos) & 0xFFFF];
+    }
+    
+    /**
+     * Creates every entity stored in the file and adds them to a level. Entities whose types haven't been {@linkplain register(String, EntityReader)
+     * registered} are skipped. Should a record extend beyond the end of the entity chunk, as it would in a truncated file, a warning is logged and the 
+     * remaining entities are skipped.
+     * 
+     * @param level the level to add entities to
+     * @return the number of entities added to the level
+     */
+    public int spawnEntities(Level level) {
+        if(entitiesOffset == -1) return 0;
+        
+        EntityReader[] typeReaders = new EntityReader[strings.length];
+        boolean[] resolved         = new boolean[strings.length];
+        
+        int pos   = entitiesOffset;
+        int count = 0;
+        
+        for(int i = 0; i < numEntities; i++) {
+            if(pos + ENTITY_HEADER_SIZE > entitiesEnd) {
+                logTruncated(i);
+                break;
+            }
+            
+            int type = buffer.getShort(pos) & 0xFFFF;
+            int data = pos + ENTITY_HEADER_SIZE;
+            int end  = data + (buffer.getShort(pos + 2) & 0xFFFF);
+            
+            if(end > entitiesEnd || type >= strings.length) {
+                logTruncated(i);
+                break;
+            }
+            
+            float x = buffer.getFloat(pos + 4);
+            float y = buffer.getFloat(pos + 8);
+            float z = buffer.getFloat(pos + 12);
+            
+            pos = end;
+            
+            if(!resolved[type]) {
+                resolved[type]    = true;
+                typeReaders[type] = localReaders.getOrDefault(strings[type], readers.get(strings[type]));
+                
+                if(typeReaders[type] == null) {
+                    Logger.logWarning("No reader registered for entities of type \"" + strings[type] + "\" in level file \"" + filename + "\"", null);
+                }
+            }
+            
+            if(typeReaders[type] == null) continue;
+            
+            buffer.limit(end).position(data);
+            
+            try {
+                Entity entity = typeReaders[type].read(new Vector3f(x, y, z), buffer);
+                
+                if(entity != null) {
+                    level.addEntity(entity);
+                    count++;
+                }
+            } catch(BufferUnderflowException e) {
+                Logger.logWarning("Failed to read entity of type \"" + strings[type] + "\" from level file \"" + filename + "\"", e);
+            } finally {
+                buffer.limit(buffer.capacity());
+            }
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Reports that an entity record extends beyond the entity chunk or refers to a type missing from the string table.
+     * 
+     * @param index the index of the entity that couldn't be read
+     */
+    private void logTruncated(int index) {
+        Logger.logWarning("Level file \"" + filename + "\" is truncated or corrupt. Entity " + index + " of " + numEntities + " exceeds the entity chunk, " +
+                          "the remaining entities were skipped.", null);
+    }
+    
+    /**
+     * Adds every light stored in the file to a level. The first light replaces the world light of the level.
+     * 
+     * @param level the level to add lights to
+     */
+    public void applyLights(Level level) {
+        for(int i = 0; i < numLights; i++) {
+            int pos = lightsOffset + i * lightSize;
+            
+            Light light = new Light(buffer.getFloat(pos),
+                                    buffer.getFloat(pos + 4),
+                                    new Vector3f(buffer.getFloat(pos + 8), buffer.getFloat(pos + 12), buffer.getFloat(pos + 16)),
+                                    Color.create(buffer.get(pos + 20) & 0xFF, buffer.get(pos + 21) & 0xFF, buffer.get(pos + 22) & 0xFF),
+                                    Color.create(buffer.get(pos + 23) & 0xFF, buffer.get(pos + 24) & 0xFF, buffer.get(pos + 25) & 0xFF));
+            
+            if(lightSize == LIGHT_SIZE) light.range = buffer.getFloat(pos + 26);
+            
+            if(i == 0) level.setWorldLight(light);
+            else       level.addLightSource(light);
+        }
+    }
+    
+    /**
+     * Begins loading the skybox referenced by the file in the background.
+     * 
+     * @return a handle which will supply the skybox once it has finished loading, or null if the file doesn't reference a skybox
+     */
+    public Asset<Skybox> loadSkybox() {
+        if(skyboxOffset == -1) return null;
+        
+        return Skybox.loadAsync(findString(skyboxOffset),
+                                findString(skyboxOffset + 2),
+                                findString(skyboxOffset + 4),
+                                findString(skyboxOffset + 6),
+                                findString(skyboxOffset + 8),
+                                findString(skyboxOffset + 10));
+    }
+    
+    public String getFilename()   { return filename; }
+    public int getNumEntities()   { return numEntities; }
+    public int getNumLights()     { return numLights; }
+    public int getNumGeometry()   { return numGeometry; }
+    public boolean getHasSkybox() { return skyboxOffset != -1; }
+    
+    /**
+     * Finds the filename of the model used by a piece of static geometry.
+     * 
+     * @param index the index of the static model in the file
+     * @return the filename of the model
+     */
+    public String getGeometryModel(int index) {
+        return findString(geometryOffset + index * GEOMETRY_SIZE);
+    }
+    
+    /**
+     * Finds the position of a piece of static geometry.
+     * 
+     * @param index the index of the static model in the file
+     * @param dest  the vector which will contain the position of the model
+     * @return the destination vector
+     */
+    public Vector3f getGeometryPosition(int index, Vector3f dest) {
+        int pos = geometryOffset + index * GEOMETRY_SIZE;
+        return dest.set(buffer.getFloat(pos + 4), buffer.getFloat(pos + 8), buffer.getFloat(pos + 12));
+    }
+    
+    /**
+     * Finds the rotation of a piece of static geometry.
+     * 
+     * @param index the index of the static model in the file
+     * @param dest  the vector which will contain the rotation of the model around each axis in degrees
+     * @return the destination vector
+     */
+    public Vector3f getGeometryRotation(int index, Vector3f dest) {
+        int pos = geometryOffset + index * GEOMETRY_SIZE;
+        return dest.set(buffer.getFloat(pos + 16), buffer.getFloat(pos + 20), buffer.getFloat(pos + 24));
+    }
+    
+    /**
+     * Finds the scale of a piece of static geometry.
+     * 
+     * @param index the index of the static model in the file
+     * @return the factor the size of the model is multiplied by
+     */
+    public float getGeometryScale(int index) {
+        return buffer.getFloat(geometryOffset + index * GEOMETRY_SIZE + 28);
+    }
+    
+}
\ No newline at end of file
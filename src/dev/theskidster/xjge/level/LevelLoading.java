@@ -0,0 +1,52 @@
+package dev.theskidster.xjge.level;
+
+import dev.theskidster.xjge.main.RenderSnapshot;
+import dev.theskidster.xjge.util.AssetLoader;
+import dev.theskidster.xjge.util.Camera;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Placeholder level which occupies the game while the resources of the next level are {@linkplain Level#preload() loaded} in the background. The loading
+ * level contains no entities and draws nothing but the clear color of each viewport, it exists so that the game loop can continue to run and render frames
+ * while uploads are spread across them.
+ * 
+ * @see dev.theskidster.xjge.main.Game#setLevel(Level)
+ */
+public class LevelLoading extends Level {
+    
+    private int numPending;
+    
+    @Override
+    public void init() {}
+    
+    @Override
+    public void update() {
+        numPending = AssetLoader.getNumPending();
+    }
+    
+    @Override
+    public void render(Camera camera) {}
+    
+    /**
+     * Entities captured by snapshots published before the level changed belong to the previous level and are ignored.
+     */
+    @Override
+    public void render(RenderSnapshot snapshot, Camera camera) {}
+    
+    @Override
+    public void exit() {}
+    
+    /**
+     * Finds the number of resources the next level is still waiting on as of the most recent game tick.
+     * 
+     * @return the number of resources that haven't finished loading
+     */
+    public int getNumPending() {
+        return numPending;
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,213 @@
+package dev.theskidster.xjge.level;
+
+import dev.theskidster.xjge.entities.EntityBuster;
+import dev.theskidster.xjge.graphics.Model;
+import dev.theskidster.xjge.graphics.Skybox;
+import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.main.Game;
+import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.main.RenderSnapshot;
+import dev.theskidster.xjge.util.Asset;
+import dev.theskidster.xjge.util.Camera;
+import dev.theskidster.xjge.util.Job;
+import dev.theskidster.xjge.util.JobSystem;
+import dev.theskidster.xjge.util.Transform;
+import java.util.HashMap;
+import java.util.Map;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Level whose contents are loaded from a {@link LevelFile}. The skybox and static models referenced by the file are {@linkplain preload() loaded} in the
+ * background, after which its light sources and entities are added to the level when it's initialized. Static models are drawn beneath the entities of the
+ * level and culled individually against the view frustum of each camera.
+ * <br><br>
+ * Levels of this type can be created from the state of a running level through {@link Game#saveLevel(String)}.
+ */
+public class LevelMap extends Level {
+    
+    private final String filename;
+    private LevelFile file;
+    private Asset<Skybox> skyboxAsset;
+    private Asset<Model> busterAsset;
+    private Model busterModel;
+    private Model[] models;
+    private Transform[] transforms;
+    private float[] bounds;
+    
+    private final Map<String, Asset<Model>> modelAssets = new HashMap<>();
+    
+    private final Vector3f position       = new Vector3f();
+    private final Vector3f rotation       = new Vector3f();
+    private final Vector3f modelMin       = new Vector3f();
+    private final Vector3f modelMax       = new Vector3f();
+    private final Quaternionf orientation = new Quaternionf();
+    
+    /**
+     * Creates a new level which will be loaded from the file specified.
+     * 
+     * @param filename the name of the level file
+     */
+    public LevelMap(String filename) {
+        this.filename = filename;
+    }
+    
+    /**
+     * Opens the level file and begins loading the skybox and each unique static model it references, along with the model shared by every 
+     * {@link EntityBuster} in the file. Graphical resources are skipped while the engine is running in headless mode.
+     */
+    @Override
+    public void preload() {
+        file = LevelFile.open(filename);
+        
+        if(file == null || App.getHeadless()) return;
+        
+        skyboxAsset = file.loadSkybox();
+        
+        for(int i = 0; i < file.getNumGeometry(); i++) {
+            modelAssets.computeIfAbsent(file.getGeometryModel(i), Model::loadAsync);
+        }
+        
+        if(file.hasString("EntityBuster")) busterAsset = Model.loadAsync("mod_buster.fbx");
+    }
+    
+    @Override
+    public void init() {
+        if(file == null) return;
+        
+        long start = System.nanoTime();
+        
+        file.applyLights(this);
+        
+        if(skyboxAsset != null && skyboxAsset.get() != null) setSkybox(skyboxAsset.get());
+        
+        if(!modelAssets.isEmpty()) {
+            models     = new Model[file.getNumGeometry()];
+            transforms = new Transform[models.length];
+            bounds     = new float[models.length * 6];
+            
+            for(int i = 0; i < models.length; i++) {
+                models[i] = modelAssets.get(file.getGeometryModel(i)).get();
+                if(models[i] != null) placeGeometry(i);
+            }
+        }
+        
+        if(busterAsset != null && busterAsset.get() != null) {
+            busterModel = busterAsset.get();
+            busterModel.setAnimation("TPose", 0);
+            
+            file.setReader("EntityBuster", (position, data) -> new EntityBuster(position, busterModel));
+        }
+        
+        int numEntities = file.spawnEntities(this);
+        
+        Logger.logInfo("Loaded " + numEntities + " entities from \"" + filename + "\" in " +
+                       String.format("%.2f", (System.nanoTime() - start) / 1_000_000f) + "ms");
+    }
+    
+    @Override
+    public void update() {
+        Job animation = (busterModel != null) ? JobSystem.submit(busterModel::updateAnimation) : null;
+        
+        updateEntities();
+        updateWorld();
+        updateLightSources();
+        
+        if(animation != null) JobSystem.waitFor(animation);
+        
+        resolveRemoveRequest();
+    }
+    
+    @Override
+    public void render(Camera camera) {
+        renderGeometry(camera);
+        renderEntities(camera);
+    }
+    
+    @Override
+    public void render(RenderSnapshot snapshot, Camera camera) {
+        renderGeometry(camera);
+        super.render(snapshot, camera);
+    }
+    
+    /**
+     * Creates the {@link Transform} of a static model from the level file and finds the box which encloses it. Static models never move, so this is only
+     * performed once when the level is initialized.
+     * 
+     * @param i the index of the static model in the level file
+     */
+    private void placeGeometry(int i) {
+        file.getGeometryPosition(i, position);
+        file.getGeometryRotation(i, rotation);
+        
+        orientation.rotationXYZ((float) Math.toRadians(rotation.x), (float) Math.toRadians(rotation.y), (float) Math.toRadians(rotation.z));
+        
+        transforms[i] = new Transform();
+        transforms[i].setPosition(position);
+        transforms[i].setRotation(orientation);
+        transforms[i].setScale(file.getGeometryScale(i));
+        
+        models[i].setTransform(transforms[i]);
+        models[i].findBounds(modelMin, modelMax);
+        
+        bounds[i * 6]     = modelMin.x;
+        bounds[i * 6 + 1] = modelMin.y;
+        bounds[i * 6 + 2] = modelMin.z;
+        bounds[i * 6 + 3] = modelMax.x;
+        bounds[i * 6 + 4] = modelMax.y;
+        bounds[i * 6 + 5] = modelMax.z;
+    }
+    
+    /**
+     * Draws every static model in the level that's visible to the camera provided. Static models share their model objects with one another, so each is
+     * attached to its own transform immediately before it's drawn. The matrices of each transform are calculated once and merely copied into the model.
+     * 
+     * @param camera the camera of the viewport currently being rendered
+     */
+    private void renderGeometry(Camera camera) {
+        if(models == null) return;
+        
+        for(int i = 0; i < models.length; i++) {
+            Model model = models[i];
+            if(model == null) continue;
+            
+            modelMin.set(bounds[i * 6],     bounds[i * 6 + 1], bounds[i * 6 + 2]);
+            modelMax.set(bounds[i * 6 + 3], bounds[i * 6 + 4], bounds[i * 6 + 5]);
+            
+            if(!camera.testVisible(modelMin, modelMax)) continue;
+            
+            model.setTransform(transforms[i]);
+            model.render("default", getLightSources(), getNumLights());
+        }
+    }
+    
+    @Override
+    public void exit() {
+        freeEntities();
+        freeLightSources();
+        
+        Game.submitGLTask(() -> {
+            for(Asset<Model> asset : modelAssets.values()) {
+                if(asset.get() != null) asset.get().destroy();
+            }
+            
+            if(busterAsset != null && busterAsset.get() != null) busterAsset.get().destroy();
+            if(skyboxAsset != null && skyboxAsset.get() != null) skyboxAsset.get().destroy();
+        });
+    }
+    
+    /**
+     * Obtains the file the level was loaded from.
+     * 
+     * @return the level file, or null if it couldn't be opened
+     */
+    public LevelFile getFile() {
+        return file;
+    }
+    
+}
\ No newline at end of file
@@ -2,8 +2,11 @@ package dev.theskidster.xjge.level;
 
 import dev.theskidster.xjge.entities.EntityBuster;
 import dev.theskidster.xjge.graphics.Light;
+import dev.theskidster.xjge.graphics.Model;
 import dev.theskidster.xjge.graphics.Skybox;
 import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.main.Game;
+import dev.theskidster.xjge.util.Asset;
 import dev.theskidster.xjge.util.Camera;
 import dev.theskidster.xjge.util.Color;
 import dev.theskidster.xjge.util.ScreenSplitType;
@@ -19,7 +22,12 @@ import org.joml.Vector3f;
  */
 public class LevelTest extends Level {
     
-    public static EntityBuster buster = new EntityBuster(new Vector3f(0, -10, -40));
+    private Asset<Model> busterModel;
+    
+    @Override
+    public void preload() {
+        busterModel = Model.loadAsync("mod_buster.fbx");
+    }
     
     @Override
     public void init() {
@@ -29,7 +37,9 @@ public class LevelTest extends Level {
         setSkybox(Skybox.NOON);
         setWorldLight(Light.NOON);
         
-        entityList.add(buster);
+        busterModel.get().setAnimation("TPose", 0);
+        
+        addEntity(new EntityBuster(new Vector3f(0, -10, -40), busterModel.get()));
         
         /*
         - Re-write weak parts of the documentation
@@ -50,7 +60,9 @@ public class LevelTest extends Level {
 
     @Override
     public void update() {
-        entityList.forEach(e -> e.update());
+        busterModel.get().updateAnimation();
+        updateEntities();
+        updateWorld();
         updateLightSources();
         
         resolveRemoveRequest();
@@ -60,13 +72,15 @@ public class LevelTest extends Level {
 
     @Override
     public void render(Camera camera) {
-        entityList.forEach(e -> e.render(camera, getLightSources(), getNumLights()));
+        renderEntities(camera);
     }
 
     @Override
     public void exit() {
         freeEntities();
         freeLightSources();
+        
+        Game.submitGLTask(busterModel.get()::destroy);
     }
     
 }
\ No newline at end of file
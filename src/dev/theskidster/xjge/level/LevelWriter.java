@@ -0,0 +1,257 @@
+package dev.theskidster.xjge.level;
+
+import dev.theskidster.xjge.entities.Entity;
+import dev.theskidster.xjge.graphics.LightSource;
+import dev.theskidster.xjge.graphics.Skybox;
+import dev.theskidster.xjge.main.Logger;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Writes the contents of a level to a file which can later be loaded through {@link LevelFile}. The writer can {@linkplain capture(Level) capture} the
+ * entities, light sources, and skybox of a running level, and static models may be added alongside them. Everything added to the writer is held in memory
+ * until {@link write(String)} is called.
+ * <br><br>
+ * Capturing a level reads the state of every entity it contains, as such it should only be done from the thread which updates the level.
+ * 
+ * @see dev.theskidster.xjge.main.Game#saveLevel(String)
+ */
+public final class LevelWriter {
+    
+    private int numEntities;
+    private int numLights;
+    private int numGeometry;
+    private int[] skybox;
+    
+    private final ByteArrayOutputStream entityBytes   = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream dataBytes     = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream lightBytes    = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream geometryBytes = new ByteArrayOutputStream();
+    private final DataOutputStream entities           = new DataOutputStream(entityBytes);
+    private final DataOutputStream data               = new DataOutputStream(dataBytes);
+    private final DataOutputStream lights             = new DataOutputStream(lightBytes);
+    private final DataOutputStream geometry           = new DataOutputStream(geometryBytes);
+    
+    private final List<String> strings         = new ArrayList<>();
+    private final Map<String, Integer> indices = new HashMap<>();
+    
+    /**
+     * Finds the index of a string in the string table, adding it if it isn't present.
+     */
+    private int indexOf(String value) {
+        return indices.computeIfAbsent(value, v -> {
+            strings.add(v);
+            return strings.size() - 1;
+        });
+    }
+    
+    /**
+     * Adds every entity and light source in a level to the writer along with its skybox, if it has one.
+     * 
+     * @param level the level to capture
+     */
+    public void capture(Level level) {
+        for(int i = 0; i < level.entityList.size(); i++) addEntity(level.entityList.get(i));
+        
+        LightSource[] sources = level.getLightSources();
+        
+        for(int i = 0; i < sources.length; i++) {
+            if(sources[i] != null) addLightSource(sources[i]);
+        }
+        
+        if(level.getSkybox() != null) setSkybox(level.getSkybox());
+    }
+    
+    /**
+     * Adds an entity to the writer. The type of the entity is recorded as the simple name of its class, along with any data it writes through
+     * {@link Entity#writeData(DataOutputStream) writeData()}.
+     * 
+     * @param entity the entity to add
+     */
+    public void addEntity(Entity entity) {
+        try {
+            dataBytes.reset();
+            entity.writeData(data);
+            
+            if(dataBytes.size() > 0xFFFF) {
+                Logger.logWarning("Failed to save entity of type \"" + entity.getClass().getSimpleName() + "\". Entity data exceeds 65535 bytes.", null);
+                return;
+            }
+            
+            entities.writeShort(indexOf(entity.getClass().getSimpleName()));
+            entities.writeShort(dataBytes.size());
+            entities.writeFloat(entity.position.x);
+            entities.writeFloat(entity.position.y);
+            entities.writeFloat(entity.position.z);
+            dataBytes.writeTo(entities);
+            
+            numEntities++;
+        } catch(IOException e) {
+            Logger.logWarning("Failed to save entity of type \"" + entity.getClass().getSimpleName() + "\"", e);
+        }
+    }
+    
+    /**
+     * Adds a light source to the writer. The first light source added will become the world light of the level when it's loaded.
+     * 
+     * @param source the light source to add
+     */
+    public void addLightSource(LightSource source) {
+        try {
+            lights.writeFloat(source.getBrightness());
+            lights.writeFloat(source.getContrast());
+            lights.writeFloat(source.getPosition().x);
+            lights.writeFloat(source.getPosition().y);
+            lights.writeFloat(source.getPosition().z);
+            writeColor(source.getAmbient());
+            writeColor(source.getDiffuse());
+            lights.writeFloat(source.getRange());
+            
+            numLights++;
+        } catch(IOException e) {
+            Logger.logWarning("Failed to save light source.", e);
+        }
+    }
+    
+    /**
+     * Writes each component of a color as a single byte.
+     */
+    private void writeColor(Vector3f color) throws IOException {
+        lights.writeByte(Math.round(Math.max(0, Math.min(color.x, 1)) * 255));
+        lights.writeByte(Math.round(Math.max(0, Math.min(color.y, 1)) * 255));
+        lights.writeByte(Math.round(Math.max(0, Math.min(color.z, 1)) * 255));
+    }
+    
+    /**
+     * Sets the skybox the level will use. Only the filenames of its images are recorded.
+     * 
+     * @param value the skybox to use
+     */
+    public void setSkybox(Skybox value) {
+        skybox = new int[6];
+        for(int i = 0; i < 6; i++) skybox[i] = indexOf(value.getFilename(i));
+    }
+    
+    /**
+     * Adds a static model to the writer. Static models are not entities and are expected to remain in place for the lifetime of the level.
+     * 
+     * @param model    the filename of the model
+     * @param position the position of the model
+     * @param rotation the rotation of the model around the x, y, and z axes in degrees
+     * @param scale    the factor the size of the model will be multiplied by
+     */
+    public void addGeometry(String model, Vector3f position, Vector3f rotation, float scale) {
+        try {
+            geometry.writeShort(indexOf(model));
+            geometry.writeShort(0);
+            geometry.writeFloat(position.x);
+            geometry.writeFloat(position.y);
+            geometry.writeFloat(position.z);
+            geometry.writeFloat(rotation.x);
+            geometry.writeFloat(rotation.y);
+            geometry.writeFloat(rotation.z);
+            geometry.writeFloat(scale);
+            
+            numGeometry++;
+        } catch(IOException e) {
+            Logger.logWarning("Failed to save static model \"" + model + "\"", e);
+        }
+    }
+    
+    /**
+     * Writes everything added to the writer to a file.
+     * 
+     * @param filename the name of the file to write
+     * @return true if the file was written successfully
+     */
+    public boolean write(String filename) {
+        ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream skyboxBytes = new ByteArrayOutputStream();
+        
+        //Strings are referred to by an unsigned short index.
+        if(strings.size() > 0xFFFF) {
+            Logger.logWarning("Failed to write level file \"" + filename + "\". String table exceeds 65535 strings.", null);
+            return false;
+        }
+        
+        try {
+            DataOutputStream out = new DataOutputStream(stringBytes);
+            out.writeInt(strings.size());
+            
+            for(String value : strings) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                
+                if(bytes.length > 0xFFFF) {
+                    Logger.logWarning("Failed to write level file \"" + filename + "\". String exceeds 65535 bytes: \"" + value.substring(0, 32) + "...\"", null);
+                    return false;
+                }
+                
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+            
+            if(skybox != null) {
+                out = new DataOutputStream(skyboxBytes);
+                for(int index : skybox) out.writeShort(index);
+            }
+        } catch(IOException e) {
+            Logger.logWarning("Failed to write level file \"" + filename + "\"", e);
+            return false;
+        }
+        
+        int[] ids = {LevelFile.CHUNK_STRINGS, LevelFile.CHUNK_ENTITIES, LevelFile.CHUNK_LIGHTS, LevelFile.CHUNK_SKYBOX, LevelFile.CHUNK_GEOMETRY};
+        int[] counts = {-1, numEntities, numLights, -1, numGeometry};
+        ByteArrayOutputStream[] chunks = {stringBytes, entityBytes, lightBytes, skyboxBytes, geometryBytes};
+        
+        try(DataOutputStream file = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename)))) {
+            int numChunks = (skybox != null) ? chunks.length : chunks.length - 1;
+            int offset    = 8 + numChunks * 12;
+            
+            file.writeInt(LevelFile.MAGIC);
+            file.writeShort(LevelFile.VERSION);
+            file.writeShort(numChunks);
+            
+            for(int i = 0; i < chunks.length; i++) {
+                if(ids[i] == LevelFile.CHUNK_SKYBOX && skybox == null) continue;
+                
+                int length = chunks[i].size() + ((counts[i] != -1) ? 4 : 0);
+                
+                file.writeInt(ids[i]);
+                file.writeInt(offset);
+                file.writeInt(length);
+                
+                offset += length;
+            }
+            
+            for(int i = 0; i < chunks.length; i++) {
+                if(ids[i] == LevelFile.CHUNK_SKYBOX && skybox == null) continue;
+                
+                if(counts[i] != -1) file.writeInt(counts[i]);
+                chunks[i].writeTo(file);
+            }
+        } catch(IOException e) {
+            Logger.logWarning("Failed to write level file \"" + filename + "\"", e);
+            return false;
+        }
+        
+        Logger.logInfo("Level file written to \"" + filename + "\" (" + numEntities + " entities, " + numLights + " lights, " + numGeometry +
+                       " static models)");
+        
+        return true;
+    }
+    
+}
\ No newline at end of file
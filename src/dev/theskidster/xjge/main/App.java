@@ -5,11 +5,13 @@ import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EmptyStackException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
+import java.util.function.Supplier;
 import org.joml.Matrix4f;
 import org.joml.Vector2i;
 import org.joml.Vector3f;
@@ -25,13 +27,19 @@ import static org.lwjgl.stb.STBImage.*;
 import org.lwjgl.system.MemoryStack;
 import static org.lwjgl.system.MemoryUtil.NULL;
 import dev.theskidster.xjge.audio.Audio;
+import dev.theskidster.xjge.audio.NullAudio;
 import dev.theskidster.xjge.util.Camera;
+import dev.theskidster.xjge.graphics.Model;
+import dev.theskidster.xjge.graphics.RenderQueue;
 import dev.theskidster.xjge.hardware.AudioDevice;
 import dev.theskidster.xjge.hardware.Controller;
 import dev.theskidster.xjge.hardware.DisplayDevice;
 import dev.theskidster.xjge.hardware.InputDevice;
 import static dev.theskidster.xjge.hardware.InputDevice.*;
+import dev.theskidster.xjge.hardware.InputRecorder;
+import dev.theskidster.xjge.hardware.InputReplay;
 import dev.theskidster.xjge.hardware.Keyboard;
+import dev.theskidster.xjge.hardware.ReplayDevice;
 import dev.theskidster.xjge.level.Level;
 import dev.theskidster.xjge.puppet.freecam.Freecam;
 import dev.theskidster.xjge.puppets.Puppet;
@@ -42,6 +50,7 @@ import dev.theskidster.xjge.shader.core.ShaderProgram;
 import dev.theskidster.xjge.shader.core.ShaderSource;
 import dev.theskidster.xjge.ui.Component;
 import dev.theskidster.xjge.ui.InputInfo;
+import dev.theskidster.xjge.ui.ProfilerInfo;
 import dev.theskidster.xjge.ui.RectangleBatch;
 import dev.theskidster.xjge.ui.RuntimeInfo;
 import dev.theskidster.xjge.ui.SystemInfo;
@@ -49,6 +58,8 @@ import dev.theskidster.xjge.util.Color;
 import dev.theskidster.xjge.util.ScreenSplitType;
 import static dev.theskidster.xjge.util.ScreenSplitType.*;
 import dev.theskidster.xjge.util.ServiceLocator;
+import dev.theskidster.xjge.util.Job;
+import dev.theskidster.xjge.util.JobSystem;
 
 /**
  * @author J Hoffman
@@ -62,15 +73,26 @@ import dev.theskidster.xjge.util.ServiceLocator;
 public final class App {
     
     private static int fbo;
+    private static int targetFPS;
+    static int maxTicks;
     
     private static boolean fullscreen;
     private static boolean vsync = true;
     private static boolean showInputInfo;
     private static boolean showLightSources;
+    private static boolean showProfiler;
     private static boolean showRuntimeInfo;
     private static boolean showSystemInfo;
     private static boolean terminalEnabled;
     private static boolean freecamEnabled;
+    private static boolean clusteredLighting;
+    private static boolean instancing    = true;
+    private static boolean renderSorting = true;
+    static boolean threaded;
+    static boolean headless;
+    static boolean uncapped;
+    static String recordFile;
+    static String replayFile;
     
     public static final int MAX_WEIGHTS       = 4;
     public static final int MAX_TEXTURES      = 4;
@@ -94,6 +116,18 @@ public final class App {
     private static final NavigableMap<Integer, AudioDevice> audioDevices     = new TreeMap<>();
     private static final NavigableMap<Integer, DisplayDevice> displayDevices = new TreeMap<>();
     private static final Map<Integer, InputDevice> inputDevices              = new HashMap<>();
+    private static final Map<Integer, InputDevice> replacedDevices           = new HashMap<>();
+    
+    private final Supplier<Level> initialLevel;
+    
+    /**
+     * Creates the application.
+     * 
+     * @param initialLevel creates the level the game will start in, or null to start in the default level
+     */
+    App(Supplier<Level> initialLevel) {
+        this.initialLevel = initialLevel;
+    }
     
     /**
      * Initializes utilities required by the application then enters the {@link Game#loop()}.
@@ -106,6 +140,11 @@ public final class App {
                     null);
         }
         
+        if(headless) {
+            startHeadless();
+            return;
+        }
+        
         if(!glfwInit()) Logger.logSevere("Failed to initialize GLFW.", null);
         
         findAudioDevices();
@@ -113,6 +152,7 @@ public final class App {
         
         audioDevice   = audioDevices.get(0);
         displayDevice = displayDevices.get(0);
+        targetFPS     = displayDevice.videoMode.refreshRate();
         window        = new Window("Extensible Java Game Engine (" + ENGINE_VERSION + ")"); //TODO change window title.
         
         findInputDevices();
@@ -124,14 +164,47 @@ public final class App {
         Logger.logSystemInfo();
         window.show();
         
-        new Game().loop();
+        Game game = new Game(initialLevel);
+        startInputCapture();
+        game.loop();
+        
+        if(InputRecorder.getRecording()) stopRecording();
         
         audioDevices.forEach((id, device) -> alcCloseDevice(device.handle));
+        for(Viewport viewport : viewports) viewport.clusters.destroy();
         ShaderCore.deleteAll();
         GL.destroy();
         glfwTerminate();
     }
     
+    /**
+     * Alternate startup sequence used while the engine is running in headless mode. No window, graphics context, or audio device will be created. Instead the 
+     * {@link ServiceLocator} will provide a {@link NullAudio} service and the {@link Game#loop()} will update the current level without rendering it.
+     * 
+     * @see getHeadless()
+     */
+    private void startHeadless() {
+        ServiceLocator.setAudio(new NullAudio());
+        
+        Logger.logInfo("Running headless " + ((uncapped) ? "(uncapped)" : "(" + Game.getTickRate() + " ticks per second)") + System.lineSeparator());
+        
+        Game game = new Game(initialLevel);
+        startInputCapture();
+        game.loop();
+        
+        if(InputRecorder.getRecording()) stopRecording();
+    }
+    
+    /**
+     * Begins recording or replaying input if requested through the "-record" or "-replay" command line arguments.
+     * 
+     * @see Main#main(String[])
+     */
+    private void startInputCapture() {
+        if(replayFile != null) startReplay(replayFile);
+        if(recordFile != null) startRecording(recordFile);
+    }
+    
     /**
      * Establishes the audio engine and sets the current OpenAL context to the default audio device found in {@link start()}.
      * 
@@ -192,6 +265,13 @@ public final class App {
             program.addUniform(BufferType.VEC3, "uColor");
             program.addUniform(BufferType.INT, "uNumLights");
             program.addUniform(BufferType.MAT4, "uBoneTransforms");
+            program.addUniform(BufferType.INT,  "uClustered");
+            program.addUniform(BufferType.FLOAT, "uClusterScale");
+            program.addUniform(BufferType.FLOAT, "uClusterBias");
+            program.addUniform(BufferType.VEC2, "uTileSize");
+            program.addUniform(BufferType.INT,  "uLightData");
+            program.addUniform(BufferType.INT,  "uClusterGrid");
+            program.addUniform(BufferType.INT,  "uLightIndices");
             
             for(int i = 0; i < MAX_LIGHTS; i++) {
                 program.addUniform(BufferType.FLOAT, "uLights[" + i + "].brightness");
@@ -204,6 +284,11 @@ public final class App {
         
         ShaderCore.init(shaderPrograms);
         ShaderCore.use("default");
+        
+        //The texture units the buffers of each viewports light clusters are bound to.
+        ShaderCore.setInt("uLightData",    1);
+        ShaderCore.setInt("uClusterGrid",  2);
+        ShaderCore.setInt("uLightIndices", 3);
     }
     
     /**
@@ -286,6 +371,80 @@ public final class App {
         });
     }
     
+    /**
+     * Begins capturing every command executed by the input devices along with a checksum of the level state each tick. Recordings can't be made while the
+     * engine is running in {@linkplain getThreaded() threaded mode} as input and game ticks are not processed in lockstep.
+     * 
+     * @param filename the name of the file the recording will be written to once {@linkplain stopRecording() stopped}
+     * @return true if recording has started
+     * @see InputRecorder
+     */
+    public static boolean startRecording(String filename) {
+        if(threaded) {
+            Logger.logWarning("Failed to start input recording. Recordings are not supported in threaded mode.", null);
+            return false;
+        }
+        
+        InputRecorder.start(filename, Game.getLevelName(), Game.getTickCount());
+        return true;
+    }
+    
+    /**
+     * Stops capturing input and writes the current recording to its file.
+     * 
+     * @return true if the recording was written successfully
+     */
+    public static boolean stopRecording() {
+        return InputRecorder.stop();
+    }
+    
+    /**
+     * Replaces each input device that appears in a recording with a {@link ReplayDevice} which executes the commands it recorded. The recording should be 
+     * replayed from the same level state it was captured in, typically by supplying it through the "-replay" command line argument so it begins with the 
+     * first tick of the initial level. Once the replay has finished the original devices are restored, or the application will exit if running headless.
+     * 
+     * @param filename the name of the file containing the recording
+     * @return true if the replay has started
+     * @see InputReplay
+     */
+    public static boolean startReplay(String filename) {
+        if(threaded) {
+            Logger.logWarning("Failed to start input replay. Replays are not supported in threaded mode.", null);
+            return false;
+        }
+        
+        if(InputReplay.getReplaying()) stopReplay();
+        if(!InputReplay.start(filename)) return false;
+        
+        if(!InputReplay.getLevelName().equals(Game.getLevelName())) {
+            Logger.logWarning("Input recording was captured in level \"" + InputReplay.getLevelName() + "\" but the current level is \"" + 
+                              Game.getLevelName() + "\". The replay is unlikely to match.", null);
+        }
+        
+        for(int id : InputReplay.findDeviceIDs()) {
+            InputDevice device = inputDevices.get(id);
+            
+            replacedDevices.put(id, device);
+            inputDevices.put(id, (device != null) ? new ReplayDevice(device) : new ReplayDevice(id));
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Restores the input devices replaced by {@link startReplay(String)}. Called automatically once a replay has finished.
+     */
+    static void stopReplay() {
+        replacedDevices.forEach((id, device) -> {
+            if(device != null) inputDevices.put(id, device);
+            else               inputDevices.remove(id);
+        });
+        
+        replacedDevices.clear();
+        
+        if(headless) terminate();
+    }
+    
     /**
      * Generates new viewport objects using their previous states. Called whenever some operation performed by the application invalidates the current state of 
      * the viewports. 
@@ -306,16 +465,58 @@ public final class App {
      * @see dev.theskidster.xjge.ui.Component
      */
     static void updateViewports() {
+        updateCameras();
+        updateViewportUI(null);
+    }
+    
+    /**
+     * Updates the current {@link Camera} object of each active viewport. In threaded mode this is called by the simulation thread.
+     */
+    static void updateCameras() {
         for(Viewport viewport : viewports) {
             if(viewport.active && viewport.currCamera != null) {
+                viewport.currCamera.storePrevState();
                 viewport.currCamera.update();
-                viewport.ui.forEach((name, component) -> component.update());
+            }
+        }
+    }
+    
+    /**
+     * Updates each viewports UI components and provides the audio engine with the position of its camera. The UI components of each viewport are updated 
+     * by a separate {@link JobSystem job}, and the positions of audio sources are calculated by another which depends on them, as components may play 
+     * sounds as they update. This method returns once every job has finished.
+     * 
+     * @param snapshot the most recent snapshot published by the simulation thread, or null if the engine isn't running in threaded mode
+     */
+    static void updateViewportUI(RenderSnapshot snapshot) {
+        int numJobs  = 0;
+        Job[] uiJobs = new Job[viewports.length];
+        
+        for(Viewport viewport : viewports) {
+            if(viewport.active && viewport.currCamera != null) {
+                uiJobs[numJobs++] = JobSystem.submit(() -> viewport.ui.forEach((name, component) -> component.update()));
                 
-                ServiceLocator.getAudio().setViewportCamData(viewport.id, viewport.currCamera.position, viewport.currCamera.direction);
+                if(snapshot == null) {
+                    ServiceLocator.getAudio().setViewportCamData(viewport.id, viewport.currCamera.position, viewport.currCamera.direction);
+                } else {
+                    ServiceLocator.getAudio().setViewportCamData(viewport.id, snapshot.camPos[viewport.id], snapshot.camDir[viewport.id]);
+                }
             }
         }
         
-        ServiceLocator.getAudio().updateSourcePositions();
+        Job audioJob = JobSystem.submit(ServiceLocator.getAudio()::updateSourcePositions, Arrays.copyOf(uiJobs, numJobs));
+        JobSystem.waitFor(audioJob);
+    }
+    
+    /**
+     * Captures the orientation of the camera used by each active viewport.
+     * 
+     * @param snapshot the snapshot that will be published to the rendering thread
+     */
+    static void captureCameras(RenderSnapshot snapshot) {
+        for(Viewport viewport : viewports) {
+            if(viewport.active && viewport.currCamera != null) snapshot.captureCamera(viewport.id, viewport.currCamera);
+        }
     }
     
     /**
@@ -325,6 +526,17 @@ public final class App {
      * @param proj  an additional projection matrix used to align the Framebuffer image produced by the viewport
      */
     static void renderViewports(Level level, Matrix4f proj) {
+        renderViewports(level, null, proj);
+    }
+    
+    /**
+     * Renders the perspective of the game from each active viewport using the state captured by a {@link RenderSnapshot}.
+     * 
+     * @param level    the current level of the game to render
+     * @param snapshot the snapshot to render, or null to render the current state of the level directly
+     * @param proj     an additional projection matrix used to align the Framebuffer image produced by the viewport
+     */
+    static void renderViewports(Level level, RenderSnapshot snapshot, Matrix4f proj) {
         for(Viewport viewport : viewports) {
             if(viewport.active) {
                 if(viewport.id == 0) {
@@ -345,36 +557,98 @@ public final class App {
                     
                     viewport.resetCamera();
                     
-                    viewport.render("camera");
-                    level.renderSkybox(viewport.currCamera.viewMatrix);
-                    level.render(viewport.currCamera);
-                    level.renderLightSources(viewport.currCamera.position, viewport.currCamera.direction, viewport.currCamera.up);
+                    Profiler.start(Profiler.camera(viewport.id));
+                    
+                    if(snapshot == null) {
+                        viewport.render("camera");
+                        viewport.currCamera.updateFrustum(viewport.currCamera.viewMatrix);
+                        
+                        boolean clustered = clusteredLighting && 
+                                            level.binLights(viewport.clusters, viewport.currCamera.viewMatrix, viewport.currCamera.getProjMatrix());
+                        
+                        bindLightClusters(viewport, clustered);
+                        Model.setLodView(viewport.id, viewport.currCamera.viewMatrix, viewport.currCamera.getProjMatrix(), viewport.height);
+                        level.renderSkybox(viewport.currCamera.viewMatrix);
+                        level.render(viewport.currCamera);
+                        RenderQueue.flush();
+                        level.renderLightSources(viewport.currCamera.position, viewport.currCamera.direction, viewport.currCamera.up);
+                    } else {
+                        int id = viewport.id;
+                        
+                        Matrix4f viewMatrix = snapshot.findViewMatrix(id, Game.getAlpha());
+                        
+                        viewport.renderCamera(viewMatrix);
+                        viewport.currCamera.updateFrustum(viewMatrix);
+                        
+                        boolean clustered = clusteredLighting && 
+                                            viewport.clusters.bin(viewMatrix, viewport.currCamera.getProjMatrix(), snapshot.getLightSources());
+                        
+                        bindLightClusters(viewport, clustered);
+                        Model.setLodView(viewport.id, viewMatrix, viewport.currCamera.getProjMatrix(), viewport.height);
+                        level.renderSkybox(viewMatrix);
+                        level.render(snapshot, viewport.currCamera);
+                        RenderQueue.flush();
+                        level.renderLightSources(snapshot.getLightSources(), snapshot.camPos[id], snapshot.camDir[id], snapshot.camUp[id]);
+                    }
+                    
+                    viewport.numDrawn     = viewport.currCamera.getNumDrawn();
+                    viewport.numCulled    = viewport.currCamera.getNumCulled();
+                    viewport.numBinds     = RenderQueue.getNumBinds();
+                    viewport.numDrawCalls = RenderQueue.getNumDraws();
+                    
+                    Profiler.end(Profiler.camera(viewport.id));
+                    
+                    Profiler.start(Profiler.ui(viewport.id));
                     viewport.render("ui");
+                    Profiler.end(Profiler.ui(viewport.id));
                 glBindFramebuffer(GL_FRAMEBUFFER, 0);
                 
+                Profiler.start(Profiler.texture(viewport.id));
                 glViewport(viewport.botLeft.x, viewport.botLeft.y, viewport.topRight.x, viewport.topRight.y);
                 proj.setOrtho(viewport.width, 0, 0, viewport.height, 0, 1);
                 ShaderCore.setMat4("uProjection", false, proj);
                 viewport.render("texture");
+                Profiler.end(Profiler.texture(viewport.id));
             }
         }
     }
     
+    /**
+     * Supplies the light clusters of a viewport to the default shader, or instructs it to fall back to its fixed array of lights.
+     * 
+     * @param viewport  the viewport currently being rendered
+     * @param clustered true if the lights of the current level were successfully assigned to the clusters of the viewport
+     */
+    private static void bindLightClusters(Viewport viewport, boolean clustered) {
+        ShaderCore.use("default");
+        
+        if(clustered) viewport.clusters.upload(viewport.width, viewport.height);
+        else          ShaderCore.setInt("uClustered", 0);
+    }
+    
     /**
      * Ceases application execution and exits gracefully.
      */
     public static void terminate() {
-        glfwSetWindowShouldClose(window.handle, true);
+        if(headless) Game.stopHeadless();
+        else         glfwSetWindowShouldClose(window.handle, true);
     }
     
     public static boolean getFullscreen()        { return fullscreen; }
     public static boolean getVSync()             { return vsync; }
+    public static int getTargetFPS()             { return targetFPS; }
     public static boolean getShowRuntimeInfo()   { return showRuntimeInfo; }
     public static boolean getShowSystemInfo()    { return showSystemInfo; }
     public static boolean getShowInputInfo()     { return showInputInfo; }
     public static boolean getShowLightSources()  { return showLightSources; }
+    public static boolean getClusteredLighting() { return clusteredLighting; }
+    public static boolean getInstancing()        { return instancing; }
+    public static boolean getRenderSorting()     { return renderSorting; }
+    public static boolean getShowProfiler()      { return showProfiler; }
     public static boolean getTerminalEnabled()   { return terminalEnabled; }
     public static boolean getFreecamEnabled()    { return freecamEnabled; }
+    public static boolean getThreaded()          { return threaded; }
+    public static boolean getHeadless()          { return headless; }
     public static String getAudioDeviceName()    { return audioDevice.name; }
     public static int getNumAudioDevices()       { return audioDevices.size(); }
     public static long getDisplayHandle()        { return displayDevice.handle; }
@@ -397,6 +671,10 @@ public final class App {
     public static String getInputDeviceName(int id)       { return (getInputDevicePresent(id)) ? inputDevices.get(id).name : "N/A"; }
     public static Puppet getInputDevicePuppet(int id)     { return (getInputDevicePresent(id)) ? inputDevices.get(id).puppets.peek() : null; }
     public static boolean getViewportActive(int id)       { return viewports[id].active; }
+    public static int getViewportNumDrawn(int id)         { return viewports[id].numDrawn; }
+    public static int getViewportNumCulled(int id)        { return viewports[id].numCulled; }
+    public static int getViewportNumBinds(int id)         { return viewports[id].numBinds; }
+    public static int getViewportNumDrawCalls(int id)     { return viewports[id].numDrawCalls; }
     
     /**
      * Sets the application to use fullscreen or windowed mode.
@@ -424,6 +702,23 @@ public final class App {
         Logger.logInfo("VSync changed: (" + vsync + ")");
     }
     
+    /**
+     * Sets the number of frames the game will attempt to render each second. This is independent of the rate at which the game is updated, which is set 
+     * through {@link Game#setTickRate(int) Game.setTickRate()}. By default the target frame rate will match the refresh rate of the display device the 
+     * application started on. The target is only used while {@linkplain setVSync(boolean) VSync} is disabled, as the display paces each frame otherwise.
+     * 
+     * @param value the target frame rate. Passing zero will disable frame pacing entirely.
+     * @see FramePacer
+     */
+    public static void setTargetFPS(int value) {
+        if(value >= 0) {
+            targetFPS = value;
+            Logger.logInfo("Target FPS changed: (" + targetFPS + ")");
+        } else {
+            Logger.logWarning("Failed to set target FPS. Value must not be negative.", null);
+        }
+    }
+    
     /**
      * Provides information pertaining to the current state of the engine at runtime. Calling this will disable 
      * {@link setShowSystemInfo(boolean) setShowSystemInfo()} or {@link setShowInputInfo(boolean) setShowInputInfo()} if either is active.
@@ -481,6 +776,18 @@ public final class App {
         }
     }
     
+    /**
+     * Displays the minimum, average, and 99th percentile time spent in each phase of the game loop over recent frames as recorded by the {@link Profiler}.
+     * 
+     * @param value if true, the component will be visible. Supplying false will hide it.
+     */
+    public static void setShowProfiler(boolean value) {
+        showProfiler = value;
+        
+        if(showProfiler) addUIComponent(0, "profiler", new ProfilerInfo());
+        else             removeUIComponent(0, "profiler");
+    }
+    
     /**
      * Exposes the locations of all {@link dev.theskidster.xjge.graphics.LightSource LightSource} objects inhabiting the current {@link Level}.
      * 
@@ -493,6 +800,46 @@ public final class App {
         else                 Logger.logInfo("Light source locations hidden.");
     }
     
+    /**
+     * Sets whether the point lights of the current {@link Level} are assigned to the clusters of each viewport. While enabled, the number of light sources a 
+     * level may contain is unlimited and each fragment is lit only by the lights whose {@linkplain dev.theskidster.xjge.graphics.Light#range range} reaches 
+     * it. Viewports whose cameras don't use perspective projection are lit by the world light alone.
+     * 
+     * @param value true to enable clustered lighting or false to light each fragment with the first {@link MAX_LIGHTS} light sources of the level
+     * @see dev.theskidster.xjge.graphics.LightClusters
+     */
+    public static void setClusteredLighting(boolean value) {
+        clusteredLighting = value;
+        
+        Logger.logInfo("Clustered lighting changed: (" + clusteredLighting + ")");
+    }
+    
+    /**
+     * Sets whether {@linkplain Model#submit(String, dev.theskidster.xjge.util.Transform, org.joml.Vector3f, Color) submitted} instances of a {@link Model} 
+     * are drawn together using a single draw call per mesh. Disabling this will draw each instance separately, which can be used alongside the draw call 
+     * count displayed by the {@link dev.theskidster.xjge.ui.RuntimeInfo RuntimeInfo} component to measure the effect of instancing on a scene.
+     * 
+     * @param value true to enable instancing or false to draw each instance with its own draw calls
+     */
+    public static void setInstancing(boolean value) {
+        instancing = value;
+        
+        Logger.logInfo("Instancing changed: (" + instancing + ")");
+    }
+    
+    /**
+     * Sets whether the {@link RenderQueue} sorts the draw calls it receives by the state they require before issuing them. Disabling this will issue them 
+     * in the order they were submitted, which can be used alongside the number of binds displayed by the {@link dev.theskidster.xjge.ui.RuntimeInfo 
+     * RuntimeInfo} component to measure the effect of sorting on a scene.
+     * 
+     * @param value true to sort draw calls or false to issue them in the order they were submitted
+     */
+    public static void setRenderSorting(boolean value) {
+        renderSorting = value;
+        
+        Logger.logInfo("Render sorting changed: (" + renderSorting + ")");
+    }
+    
     /**
      * Provides access to the engines debugging utilities via the {@linkplain dev.theskidster.xjge.puppet.terminal.Terminal command line terminal}. While open, 
      * the command terminal will disable free roaming camera movement.
@@ -534,11 +881,11 @@ public final class App {
                 
             if(freecamEnabled) {
                 glfwSetInputMode(window.handle, GLFW_CURSOR, GLFW_CURSOR_DISABLED);
-                setViewportCamera(0, Puppets.FREECAM);
+                Game.runOnSimulation(() -> setViewportCamera(0, Puppets.FREECAM));
                 device.setEnabled(false);
             } else {
                 glfwSetInputMode(window.handle, GLFW_CURSOR, GLFW_CURSOR_NORMAL);
-                setViewportCameraPrev(0);
+                Game.runOnSimulation(() -> setViewportCameraPrev(0));
                 
                 try {
                     device.enableStates.pop();
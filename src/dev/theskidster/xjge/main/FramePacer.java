@@ -0,0 +1,146 @@
+package dev.theskidster.xjge.main;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Limits the rate at which the {@link Game#loop()} produces frames independently of the rate at which the game is updated.
+ * <br><br>
+ * Sleeping threads will often wake later than requested, the amount of which varies between operating systems. To compensate for this the pacer measures
+ * how long the thread oversleeps during {@link calibrate()} and continues to refine that estimate each frame. The thread is then parked until it's within the
+ * estimated margin of the next frame deadline, at which point the remaining time is spent spin-waiting.
+ * <br><br>
+ * The pacer also keeps a record of the time between recent frames so the consistency of the frame rate may be displayed by the {@link dev.theskidster.xjge.ui.RuntimeInfo}
+ * component.
+ */
+final class FramePacer {
+    
+    private int index;
+    private int numSamples;
+    
+    private long slack = 1_000_000;
+    private long deadline;
+    private long prevFrameTime;
+    
+    private boolean lowPower;
+    
+    static final int LOW_POWER_FPS       = 20;
+    private static final int MAX_SAMPLES = 120;
+    private static final long MIN_SLACK  = 50_000;
+    private static final long MAX_SLACK  = 4_000_000;
+    
+    private final long[] frameTimes = new long[MAX_SAMPLES];
+    
+    /**
+     * Estimates the amount of time a thread will oversleep by parking it several times.
+     */
+    void calibrate() {
+        long worst = 0;
+        
+        for(int i = 0; i < 20; i++) {
+            long start = System.nanoTime();
+            LockSupport.parkNanos(1_000_000);
+            worst = Math.max(worst, System.nanoTime() - start - 1_000_000);
+        }
+        
+        slack = Math.min(Math.max(worst, MIN_SLACK), MAX_SLACK);
+        
+        Logger.logInfo("Frame pacer calibrated, sleep slack: " + (slack / 1000) + "us");
+    }
+    
+    /**
+     * Waits until the deadline of the next frame. If the previous frame finished later than its deadline by more than an entire frame the schedule is reset
+     * rather than attempting to catch up.
+     * 
+     * @param targetFPS the number of frames that should be produced each second
+     * @param lowPower  if true, the thread will not spin-wait for the deadline and will instead accept whatever accuracy parking provides
+     */
+    void sync(int targetFPS, boolean lowPower) {
+        this.lowPower = lowPower;
+        
+        long period = 1_000_000_000L / targetFPS;
+        long now    = System.nanoTime();
+        
+        deadline += period;
+        if(now - deadline > period) deadline = now;
+        
+        long remaining = deadline - now;
+        
+        if(remaining > slack || (lowPower && remaining > 0)) {
+            long request = (lowPower) ? remaining : remaining - slack;
+            long start   = System.nanoTime();
+            
+            LockSupport.parkNanos(request);
+            
+            long overshoot = (System.nanoTime() - start) - request;
+            slack = Math.min(Math.max((slack * 7 + Math.max(overshoot, 0)) / 8, MIN_SLACK), MAX_SLACK);
+        }
+        
+        if(!lowPower) {
+            while(System.nanoTime() < deadline) Thread.onSpinWait();
+        }
+    }
+    
+    /**
+     * Records the time elapsed since the previous frame.
+     */
+    void recordFrame() {
+        long now = System.nanoTime();
+        
+        if(prevFrameTime != 0) {
+            frameTimes[index] = now - prevFrameTime;
+            index = (index + 1) % MAX_SAMPLES;
+            if(numSamples < MAX_SAMPLES) numSamples++;
+        }
+        
+        prevFrameTime = now;
+    }
+    
+    /**
+     * Resets the pacer schedule. Used when frames are no longer being paced so the pacer doesn't attempt to catch up once pacing resumes.
+     */
+    void reset() {
+        deadline = System.nanoTime();
+        lowPower = false;
+    }
+    
+    /**
+     * Finds the average time between recent frames.
+     * 
+     * @return the mean frame time in milliseconds
+     */
+    float getMeanFrameTime() {
+        if(numSamples == 0) return 0;
+        
+        long sum = 0;
+        for(int i = 0; i < numSamples; i++) sum += frameTimes[i];
+        
+        return (sum / (float) numSamples) / 1_000_000f;
+    }
+    
+    /**
+     * Finds the standard deviation of the time between recent frames.
+     * 
+     * @return the frame time deviation in milliseconds
+     */
+    float getFrameTimeDeviation() {
+        if(numSamples < 2) return 0;
+        
+        double mean = getMeanFrameTime() * 1_000_000.0;
+        double sum  = 0;
+        
+        for(int i = 0; i < numSamples; i++) {
+            double diff = frameTimes[i] - mean;
+            sum += diff * diff;
+        }
+        
+        return (float) (Math.sqrt(sum / (numSamples - 1)) / 1_000_000.0);
+    }
+    
+    boolean getLowPower() { return lowPower; }
+    
+}
\ No newline at end of file
@@ -1,19 +1,43 @@
 package dev.theskidster.xjge.main;
 
+import dev.theskidster.xjge.util.AssetLoader;
 import dev.theskidster.xjge.util.Event;
+import dev.theskidster.xjge.util.EventBus;
+import dev.theskidster.xjge.util.EventChannel;
+import dev.theskidster.xjge.util.JobSystem;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.joml.Matrix4f;
 import static org.lwjgl.glfw.GLFW.*;
 import static org.lwjgl.openal.AL10.AL_PLAYING;
 import static dev.theskidster.xjge.audio.Audio.ALL_SOURCES;
 import dev.theskidster.xjge.entities.Entity;
 import dev.theskidster.xjge.graphics.Light;
+import dev.theskidster.xjge.hardware.InputRecorder;
+import dev.theskidster.xjge.hardware.InputReplay;
 import static dev.theskidster.xjge.hardware.InputDevice.*;
 import dev.theskidster.xjge.level.Level;
+import dev.theskidster.xjge.level.LevelBenchmark;
+import dev.theskidster.xjge.level.LevelBenchmarkCollision;
+import dev.theskidster.xjge.level.LevelBenchmarkLights;
+import dev.theskidster.xjge.level.LevelBenchmarkPhysics;
+import dev.theskidster.xjge.level.LevelBenchmarkRender;
+import dev.theskidster.xjge.level.LevelBenchmarkSpatial;
+import dev.theskidster.xjge.level.LevelBenchmarkWorld;
+import dev.theskidster.xjge.level.LevelLoading;
+import dev.theskidster.xjge.level.LevelMap;
 import dev.theskidster.xjge.level.LevelTest;
+import dev.theskidster.xjge.level.LevelWriter;
+import dev.theskidster.xjge.physics.PhysicsService;
 import dev.theskidster.xjge.util.ServiceLocator;
+import dev.theskidster.xjge.util.TimerService;
 
 /**
  * @author J Hoffman
@@ -27,67 +51,416 @@ public final class Game {
     
     private static int tickCount = 0;
     private static int fps;
+    private static int tps;
+    private static volatile int tickRate = 60;
+    private static volatile int maxCatchUpSteps = 5;
+    private static volatile int longestBurst;
+    private static volatile long lateTicks;
+    private static volatile long droppedTicks;
+    private static volatile long processedTicks;
+    private static volatile int generation;
+    private static long prevProcessedTicks;
+    private static long prevDroppedTicks;
     
     private double delta = 0;
     private static double deltaMetric;
+    private static float alpha;
+    private static float dilation = 1;
     
     private static boolean ticked;
+    private static volatile boolean running = true;
+    
+    private static boolean releasing;
     
     private static Level level;
+    private static Level nextLevel;
+    private static LevelLoading loadingLevel;
     private static Event event;
     
-    private static final Queue<Event> events = new PriorityQueue<>(Comparator.comparing(Event::getPriority));
+    private static Thread glThread;
+    private static Simulation simulation;
+    private static final FramePacer pacer = new FramePacer();
+    
+    private static final Queue<Event> events   = new PriorityQueue<>(Comparator.comparing(Event::getPriority));
+    private static final Queue<GLTask> glTasks = new ConcurrentLinkedQueue<>();
+    
+    private static final EventChannel<Event> eventChannel     = EventBus.createChannel("events", 64);
+    private static final EventChannel<Integer> resolveChannel = EventBus.createChannel("resolve events", 64);
+    
+    private static final Map<String, Function<String, Level>> benchmarks = new HashMap<>();
+    
+    static {
+        eventChannel.subscribe(events::add);
+        resolveChannel.subscribe(Game::markResolved);
+        
+        benchmarks.put("ecs",       value -> new LevelBenchmarkWorld(100_000));
+        benchmarks.put("physics",   value -> new LevelBenchmarkPhysics(3000));
+        benchmarks.put("collision", value -> new LevelBenchmarkCollision(20_000));
+        benchmarks.put("spatial",   value -> new LevelBenchmarkSpatial(10_000, (value != null) ? value : "grid"));
+        benchmarks.put("lights",    value -> {
+            App.setClusteredLighting(true);
+            return new LevelBenchmarkLights(parseCount(value, 1000));
+        });
+        benchmarks.put("props",     value -> {
+            if(App.getHeadless()) {
+                Logger.logWarning("The props benchmark can't be run while headless.", null);
+                return null;
+            }
+            
+            return new LevelBenchmarkRender(parseCount(value, 1000));
+        });
+    }
+    
+    /**
+     * Work submitted to the rendering thread by the simulation thread. Tasks are stamped with the sequence number of the {@link RenderSnapshot} that was 
+     * being produced when they were submitted so they aren't executed until the renderer has stopped drawing older snapshots.
+     */
+    private static class GLTask {
+        private final long seq;
+        private final Runnable task;
+        
+        GLTask(long seq, Runnable task) {
+            this.seq  = seq;
+            this.task = task;
+        }
+    }
     
     /**
      * Creates a new game instance and sets the initial level state. Called once immediately following the applications startup sequence. 
+     * 
+     * @param initialLevel creates the level the game will start in, or null to start in the default level. Levels are created once the application has 
+     *                     been initialized.
      */
-    public Game() {
-        setLevel(new LevelTest()); //TODO set to custom level.
+    public Game(Supplier<Level> initialLevel) {
+        Level initial = (initialLevel != null) ? initialLevel.get() : null;
+        
+        if(initial != null)        setLevel(initial);
+        else if(App.getHeadless()) setLevel(new LevelBenchmark(10_000));
+        else                       setLevel(new LevelTest()); //TODO set to custom level.
+    }
+    
+    /**
+     * Finds the level used by a benchmark. Benchmarks are selected through the "-benchmark" command line argument, which may be followed by a value 
+     * such as the number of objects to create, separated from the name by a colon.
+     * 
+     * @param arg the name of the benchmark and its optional value, for example "lights:500"
+     * @return an object which creates the benchmark level, or null if no benchmark exists by that name
+     * @see Main#main(String[])
+     */
+    static Supplier<Level> findBenchmark(String arg) {
+        int split    = arg.indexOf(':');
+        String name  = (split == -1) ? arg : arg.substring(0, split);
+        String value = (split == -1) ? null : arg.substring(split + 1);
+        
+        Function<String, Level> factory = benchmarks.get(name);
+        
+        if(factory == null) {
+            Logger.logWarning("Unrecognized benchmark: \"" + name + "\"", null);
+            return null;
+        }
+        
+        return () -> factory.apply(value);
+    }
+    
+    /**
+     * Parses the number of objects a benchmark level will be populated with.
+     * 
+     * @param value    the value supplied alongside the name of the benchmark
+     * @param fallback the number of objects to use if no valid value was supplied
+     * @return the number of objects the benchmark will create
+     */
+    private static int parseCount(String value, int fallback) {
+        if(value == null) return fallback;
+        
+        try {
+            return Integer.parseInt(value);
+        } catch(NumberFormatException e) {
+            Logger.logWarning("Invalid benchmark count: \"" + value + "\"", null);
+            return fallback;
+        }
     }
     
     /**
      * Central game loop which decouples game time progression from processor speed and framerate.
      */
     public void loop() {
+        glThread = Thread.currentThread();
+        
+        if(App.getHeadless()) {
+            loopHeadless();
+            return;
+        }
+        
+        pacer.calibrate();
+        
+        if(App.getThreaded()) {
+            loopThreaded();
+            return;
+        }
+        
         int cycles = 0;
         
-        final double TARGET_DELTA = 1 / 60.0;
+        double targetDelta;
         double currTime;
         double prevTime = glfwGetTime();
         
         Matrix4f proj = new Matrix4f();
         
+        Profiler.start(Profiler.FRAME);
+        
         while(!glfwWindowShouldClose(App.getWindowHandle())) {
             glfwPollEvents();
+            updateLoading();
             
-            currTime = glfwGetTime();
+            currTime    = glfwGetTime();
+            targetDelta = 1.0 / tickRate;
             
             delta += currTime - prevTime;
-            if(delta < TARGET_DELTA && App.getVSync()) delta = TARGET_DELTA;
+            if(delta < targetDelta && App.getVSync() && App.getTargetFPS() <= 0) delta = targetDelta;
             
             prevTime = currTime;
             ticked   = false;
             
-            while(delta >= TARGET_DELTA) {
+            int burst = 0;
+            
+            while(delta >= targetDelta && burst < maxCatchUpSteps) {
+                Profiler.start(Profiler.INPUT);
                 App.pollInput();
+                Profiler.end(Profiler.INPUT);
                 
                 deltaMetric = delta;
                 
-                delta     -= TARGET_DELTA;
+                delta     -= targetDelta;
                 ticked    = true;
-                tickCount = (tickCount == Integer.MAX_VALUE) ? 0 : tickCount + 1;
+                advanceTick();
+                burst++;
                 
+                Profiler.start(Profiler.UPDATE);
                 pauseEvents();
+                Profiler.end(Profiler.UPDATE);
+                
+                recordTick();
+                
+                Profiler.start(Profiler.UPDATE_VIEWPORTS);
                 App.updateViewports();
+                Profiler.end(Profiler.UPDATE_VIEWPORTS);
                 
-                if(tick(60)) {
+                if(tick(tickRate)) {
                     fps = cycles;
                     cycles = 0;
+                    JobSystem.sampleUtilization();
+                    sampleCatchUp();
                 }
             }
             
+            delta = limitCatchUp(burst, delta, targetDelta);
+            alpha = (float) (delta / targetDelta);
+            
             App.renderViewports(level, proj);
+            
+            Profiler.start(Profiler.SWAP_BUFFERS);
             glfwSwapBuffers(App.getWindowHandle());
+            Profiler.end(Profiler.SWAP_BUFFERS);
+            
+            pace();
+            cycles++;
+            
+            Profiler.endFrame();
+        }
+    }
+    
+    /**
+     * Variant of {@link loop()} used while the engine is running in {@linkplain App#getHeadless() headless mode}. The current level is updated at the 
+     * {@linkplain setTickRate(int) tick rate}, or as fast as the processor will allow if uncapped. Nothing is rendered and no input is polled unless an {@link InputReplay} is in progress. The number of ticks processed each 
+     * second is written to the console so the throughput of the simulation may be measured.
+     */
+    private void loopHeadless() {
+        int cycles    = 0;
+        long numTicks = 0;
+        
+        final long START_TIME = System.nanoTime();
+        long targetDelta;
+        long currTime;
+        long prevTime   = START_TIME;
+        long sampleTime = START_TIME;
+        long lag        = 0;
+        
+        while(running && (App.maxTicks <= 0 || numTicks < App.maxTicks)) {
+            updateLoading();
+            
+            currTime    = System.nanoTime();
+            targetDelta = 1_000_000_000L / tickRate;
+            
+            if(App.uncapped) {
+                lag = targetDelta;
+            } else {
+                lag += currTime - prevTime;
+            }
+            
+            prevTime = currTime;
+            ticked   = false;
+            
+            int burst = 0;
+            
+            while(lag >= targetDelta && burst < maxCatchUpSteps && (App.maxTicks <= 0 || numTicks < App.maxTicks)) {
+                lag -= targetDelta;
+                burst++;
+                
+                deltaMetric = targetDelta / 1_000_000_000.0;
+                ticked      = true;
+                advanceTick();
+                
+                if(InputReplay.getReplaying()) App.pollInput();
+                
+                pauseEvents();
+                recordTick();
+                
+                cycles++;
+                numTicks++;
+            }
+            
+            lag = (long) limitCatchUp(burst, lag, targetDelta);
+            
+            if(currTime - sampleTime >= 1_000_000_000L) {
+                tps        = cycles;
+                cycles     = 0;
+                sampleTime = currTime;
+                
+                JobSystem.sampleUtilization();
+                sampleCatchUp();
+                Logger.logInfo("TPS: " + tps);
+            }
+            
+            if(!ticked) LockSupport.parkNanos(targetDelta - lag);
+        }
+        
+        double elapsed = (System.nanoTime() - START_TIME) / 1_000_000_000.0;
+        
+        Logger.logInfo("Processed " + numTicks + " ticks in " + String.format("%.3f", elapsed) + " seconds (average TPS: " + 
+                       String.format("%.1f", numTicks / elapsed) + ")" + System.lineSeparator());
+        
+        level.exit();
+    }
+    
+    /**
+     * Stops the headless game loop once it has finished processing the current tick.
+     * 
+     * @see App#terminate()
+     */
+    static void stopHeadless() {
+        running = false;
+    }
+    
+    /**
+     * Variant of {@link loop()} used while the engine is running in {@linkplain App#getThreaded() threaded mode}. The current level is updated by a 
+     * {@link Simulation} on its own thread while this thread polls input and renders the most recent {@link RenderSnapshot} published by 
+     * the simulation. Neither thread will wait on the other. Input devices must be polled here as GLFW only permits it on the main thread, but the commands 
+     * they execute are queued to the simulation thread.
+     */
+    private void loopThreaded() {
+        int cycles = 0;
+        int steps  = 0;
+        
+        double targetDelta;
+        double currTime;
+        double prevTime = glfwGetTime();
+        
+        Matrix4f proj = new Matrix4f();
+        
+        var buffer = new SnapshotBuffer();
+        simulation = new Simulation(buffer);
+        simulation.start();
+        
+        Profiler.start(Profiler.FRAME);
+        
+        while(!glfwWindowShouldClose(App.getWindowHandle())) {
+            glfwPollEvents();
+            
+            currTime    = glfwGetTime();
+            targetDelta = 1.0 / tickRate;
+            
+            delta += currTime - prevTime;
+            if(delta < targetDelta && App.getVSync() && App.getTargetFPS() <= 0) delta = targetDelta;
+            
+            prevTime = currTime;
+            ticked   = false;
+            
+            int burst = 0;
+            
+            while(delta >= targetDelta && burst < maxCatchUpSteps) {
+                burst++;
+                
+                Profiler.start(Profiler.INPUT);
+                App.pollInput();
+                Profiler.end(Profiler.INPUT);
+                
+                deltaMetric = delta;
+                
+                delta  -= targetDelta;
+                ticked = true;
+                steps++;
+                
+                if(steps % tickRate == 0) {
+                    fps = cycles;
+                    cycles = 0;
+                    JobSystem.sampleUtilization();
+                    sampleCatchUp();
+                }
+            }
+            
+            //The simulation keeps its own catch-up statistics, so the steps owed here are simply discarded rather than passed to limitCatchUp().
+            if(delta >= targetDelta) delta -= Math.floor(delta / targetDelta) * targetDelta;
+            
+            RenderSnapshot snapshot = buffer.acquire();
+            runGLTasks(snapshot.seq);
+            updateLoading();
+            
+            //Snapshots captured before a level change may reference resources that have since been freed, so the previous frame is kept on screen 
+            //until the simulation has published a snapshot of the current level.
+            if(snapshot.generation == generation) {
+                alpha = (float) Math.min((System.nanoTime() - snapshot.time) / (targetDelta * 1_000_000_000.0), 1);
+                
+                Profiler.start(Profiler.UPDATE_VIEWPORTS);
+                App.updateViewportUI(snapshot);
+                Profiler.end(Profiler.UPDATE_VIEWPORTS);
+                
+                App.renderViewports(level, snapshot, proj);
+                
+                Profiler.start(Profiler.SWAP_BUFFERS);
+                glfwSwapBuffers(App.getWindowHandle());
+                Profiler.end(Profiler.SWAP_BUFFERS);
+            }
+            
+            pace();
+            cycles++;
+            
+            Profiler.endFrame();
+        }
+        
+        simulation.stop();
+        runGLTasks(Long.MAX_VALUE);
+    }
+    
+    /**
+     * Waits until the next frame should begin. Frames are paced to the {@linkplain App#getTargetFPS() target frame rate}, which is lowered automatically while 
+     * the window is unfocused or iconified. While VSync is enabled the buffer swap already waits for the display, so frames are only paced in low power 
+     * mode. If no target frame rate has been set the loop will instead sleep briefly whenever a frame passes without a game tick.
+     * 
+     * @see FramePacer
+     */
+    private void pace() {
+        long handle      = App.getWindowHandle();
+        boolean lowPower = glfwGetWindowAttrib(handle, GLFW_FOCUSED) == GLFW_FALSE || glfwGetWindowAttrib(handle, GLFW_ICONIFIED) == GLFW_TRUE;
+        int targetFPS    = App.getTargetFPS();
+        
+        if(lowPower) {
+            pacer.sync((targetFPS > 0) ? Math.min(targetFPS, FramePacer.LOW_POWER_FPS) : FramePacer.LOW_POWER_FPS, true);
+        } else if(App.getVSync()) {
+            pacer.reset();
+        } else if(targetFPS > 0) {
+            pacer.sync(targetFPS, false);
+        } else {
+            pacer.reset();
             
             if(!ticked) {
                 try {
@@ -95,26 +468,168 @@ public final class Game {
                 } catch(InterruptedException e) {
                     Logger.logSevere(e.getMessage(), e);
                 }
-            } else {
-                cycles++;
             }
         }
+        
+        pacer.recordFrame();
+    }
+    
+    /**
+     * Executes the work submitted to the rendering thread up to and including the snapshot specified.
+     * 
+     * @param seq the sequence number of the snapshot about to be rendered
+     */
+    private void runGLTasks(long seq) {
+        while(!glTasks.isEmpty() && glTasks.peek().seq <= seq) {
+            glTasks.poll().task.run();
+        }
+    }
+    
+    /**
+     * Spends the upload budget of the {@link AssetLoader} for the current frame and, once every resource requested by the level being loaded has finished 
+     * loading, replaces the {@link LevelLoading loading level} with it and calls its {@link Level#init() init()} method.
+     */
+    private static void updateLoading() {
+        AssetLoader.processUploads();
+        
+        if(nextLevel == null || AssetLoader.getNumPending() > 0) return;
+        
+        if(simulation != null) simulation.suspend();
+        
+        level     = nextLevel;
+        nextLevel = null;
+        generation++;
+        level.init();
+        
+        Logger.logInfo("Level loaded: \"" + level.getClass().getSimpleName() + "\"" + System.lineSeparator());
+        
+        if(simulation != null) simulation.resume();
+    }
+    
+    /**
+     * Increments the tick count and synchronizes the transforms of any bodies in the physics world with the most recent step of the {@link PhysicsService}. 
+     * The {@link TimerService} is advanced separately by {@link pauseEvents()} so timers don't run while the game is paused.
+     */
+    private static void advanceTick() {
+        tickCount = (tickCount == Integer.MAX_VALUE) ? 0 : tickCount + 1;
+        PhysicsService.sync();
+    }
+    
+    /**
+     * Applies the catch-up policy once the fixed-step loop has finished processing ticks for the current frame. If the loop stopped because it reached the
+     * {@linkplain setMaxCatchUpSteps(int) maximum number of catch-up steps} while whole ticks were still owed, those ticks are dropped rather than being 
+     * carried into the next frame, slowing the passage of game time relative to real time until the game is able to keep up again.
+     * 
+     * @param burst       the number of ticks processed during the current frame
+     * @param delta       the amount of accumulated time not yet simulated
+     * @param targetDelta the amount of time simulated by a single tick, in the same unit as delta
+     * @return the accumulated time which remains after dropping any owed ticks
+     */
+    static double limitCatchUp(int burst, double delta, double targetDelta) {
+        processedTicks += burst;
+        
+        if(burst > 1) lateTicks += burst - 1;
+        if(burst > longestBurst) longestBurst = burst;
+        
+        if(delta >= targetDelta) {
+            long dropped = (long) (delta / targetDelta);
+            
+            droppedTicks += dropped;
+            delta        -= dropped * targetDelta;
+        }
+        
+        return delta;
+    }
+    
+    /**
+     * Calculates the time dilation over the period since the previous sample and writes a warning to the log if any ticks were dropped. Called once per second.
+     */
+    private static void sampleCatchUp() {
+        long processed = processedTicks - prevProcessedTicks;
+        long dropped   = droppedTicks - prevDroppedTicks;
+        
+        prevProcessedTicks = processedTicks;
+        prevDroppedTicks   = droppedTicks;
+        
+        dilation = (processed + dropped > 0) ? processed / (float) (processed + dropped) : 1;
+        
+        if(dropped > 0) {
+            Logger.logWarning("Game is running behind, " + dropped + " ticks were dropped (time dilation: " + 
+                              Math.round(dilation * 100) + "%, longest catch-up burst: " + longestBurst + " ticks)", null);
+        }
+    }
+    
+    /**
+     * Supplies the checksum of the level state at the end of the current tick to the {@link InputRecorder} and {@link InputReplay} if either is in use.
+     */
+    private static void recordTick() {
+        if(!InputRecorder.getRecording() && !InputReplay.getReplaying()) return;
+        
+        int checksum = level.findChecksum();
+        
+        if(InputRecorder.getRecording()) InputRecorder.endTick(checksum);
+        
+        if(InputReplay.getReplaying()) {
+            InputReplay.endTick(checksum);
+            if(!InputReplay.getReplaying()) App.stopReplay();
+        }
+    }
+    
+    /**
+     * Advances the game by a single tick. Called by the {@link Simulation} thread while the engine is running in threaded mode. Events are resolved here 
+     * rather than by the rendering thread so that the {@link EventBus} delivers them on the same thread that updates the level.
+     */
+    static void simulate() {
+        advanceTick();
+        pauseEvents();
+        App.updateCameras();
+    }
+    
+    /**
+     * Captures the state of the game at the end of the current tick into the snapshot provided.
+     * 
+     * @param snapshot the snapshot that will be published to the rendering thread
+     */
+    static void capture(RenderSnapshot snapshot) {
+        snapshot.tick       = tickCount;
+        snapshot.generation = generation;
+        
+        level.capture(snapshot);
+        App.captureCameras(snapshot);
     }
     
     /**
      * Alters the path of execution away from the normal game update depending on which events are queued. Events are processed in the order of their priorities. 
-     * If no events are present in the queue, the game will update normally.
+     * If no events are present in the queue, the {@link TimerService} is advanced and the game will update normally. Timers are therefore paused alongside 
+     * the level while an event is disrupting execution, and the entities of the level are {@linkplain Level#holdEntities() held} in place so they aren't 
+     * interpolated between stale positions.
      * 
      * @see Event
      */
-    private void pauseEvents() {
+    private static void pauseEvents() {
+        if(!resolveEvents()) {
+            TimerService.advance();
+            level.update();
+        } else {
+            level.holdEntities();
+        }
+    }
+    
+    /**
+     * Dispatches the events posted to the {@link EventBus} since the previous tick and then processes the event at the front of the event queue.
+     * 
+     * @return true if an event disrupted the normal flow of execution this tick
+     */
+    private static boolean resolveEvents() {
+        EventBus.dispatch();
+        
         if(events.size() > 0) {
             event = events.peek();
             
             if(!event.resolved) {
                 switch(event.getPriority()) {
                     case Event.JOYSTICK_1_DIS, Event.JOYSTICK_2_DIS, Event.JOYSTICK_3_DIS, Event.JOYSTICK_4_DIS -> {
-                        event.resolved = glfwJoystickPresent(event.getPriority());
+                        //Resolved by the window once the controller has been reconnected.
                     }
                     
                     case Event.PAUSE -> {
@@ -123,41 +638,148 @@ public final class Game {
                 }
                 //TODO This is left open to the implementation to define.
             } else {
-                switch(event.getPriority()) {
-                    case Event.JOYSTICK_1_DIS, Event.JOYSTICK_2_DIS, Event.JOYSTICK_3_DIS, Event.JOYSTICK_4_DIS -> {
-                        if((Boolean) event.getData()) {
-                            App.removeUIComponent(event.getPriority(), "discon " + event.getPriority());
-                        } else {
-                            App.removeUIComponent(Event.JOYSTICK_1_DIS, "discon " + event.getPriority());
-                        }
-                        ServiceLocator.getAudio().resumeMusic();
-                        ServiceLocator.getAudio().setSourceState(ALL_SOURCES, AL_PLAYING);
-                    }
+                Event resolved = events.poll();
+                submitGLTask(() -> finishEvent(resolved));
+            }
+            
+            return true;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Restores the state changed by an event once it has been resolved. The UI and input devices belong to the rendering thread, so in threaded mode this 
+     * is submitted to it through {@link submitGLTask(Runnable)}.
+     * 
+     * @param event the event that was resolved
+     */
+    private static void finishEvent(Event event) {
+        switch(event.getPriority()) {
+            case Event.JOYSTICK_1_DIS, Event.JOYSTICK_2_DIS, Event.JOYSTICK_3_DIS, Event.JOYSTICK_4_DIS -> {
+                if((Boolean) event.getData()) {
+                    App.removeUIComponent(event.getPriority(), "discon " + event.getPriority());
+                } else {
+                    App.removeUIComponent(Event.JOYSTICK_1_DIS, "discon " + event.getPriority());
                 }
-                
-                events.poll();
-                App.setInputDeviceEnabled(PREV_STATE, false);
+                ServiceLocator.getAudio().resumeMusic();
+                ServiceLocator.getAudio().setSourceState(ALL_SOURCES, AL_PLAYING);
             }
+        }
+        
+        App.setInputDeviceEnabled(PREV_STATE, false);
+    }
+    
+    public static int getFPS()                  { return fps; }
+    public static int getTPS()                  { return tps; }
+    public static float getDelta()              { return (float) deltaMetric; }
+    public static float getAlpha()              { return alpha; }
+    public static int getTickRate()             { return tickRate; }
+    public static boolean getTicked()           { return ticked; }
+    public static float getFrameTime()          { return pacer.getMeanFrameTime(); }
+    public static float getFrameTimeDeviation() { return pacer.getFrameTimeDeviation(); }
+    public static boolean getLowPower()         { return pacer.getLowPower(); }
+    public static int getTickCount()            { return tickCount; }
+    public static String getLevelName()         { return ((nextLevel != null) ? nextLevel : level).getClass().getSimpleName(); }
+    public static int getMaxCatchUpSteps()      { return maxCatchUpSteps; }
+    public static long getLateTicks()           { return lateTicks; }
+    public static long getDroppedTicks()        { return droppedTicks; }
+    public static int getLongestBurst()         { return longestBurst; }
+    public static float getTimeDilation()       { return dilation; }
+    
+    /**
+     * Sets the number of times the game will be updated each second. Lowering the tick rate reduces the cost of simulating large levels while 
+     * {@linkplain getAlpha() interpolation} allows the game to continue to be rendered smoothly. 
+     * <br><br>
+     * NOTE: Utilities which count game ticks such as {@link tick(int)} and {@link dev.theskidster.xjge.util.Timer Timer} are not scaled by this value.
+     * 
+     * @param value the number of game ticks per second, between 1 and 1000
+     */
+    public static void setTickRate(int value) {
+        if(value > 0 && value <= 1000) {
+            tickRate = value;
+            Logger.logInfo("Tick rate changed: (" + tickRate + ")");
         } else {
-            level.update();
+            Logger.logWarning("Failed to set tick rate. Value must be between 1 and 1000.", null);
         }
     }
     
-    public static int getFPS()        { return fps; }
-    public static float getDelta()    { return (float) deltaMetric; }
-    public static boolean getTicked() { return ticked; }
+    /**
+     * Sets the maximum number of ticks the game loop may process back-to-back in a single frame while catching up after a stall. Any ticks still owed once
+     * this limit has been reached are dropped, which prevents a long stall from causing a chain of increasingly late frames at the cost of game time falling
+     * behind real time.
+     * 
+     * @param value the maximum number of ticks per frame, between 1 and 1000
+     * @see getTimeDilation()
+     */
+    public static void setMaxCatchUpSteps(int value) {
+        if(value > 0 && value <= 1000) {
+            maxCatchUpSteps = value;
+            Logger.logInfo("Max catch-up steps changed: (" + maxCatchUpSteps + ")");
+        } else {
+            Logger.logWarning("Failed to set max catch-up steps. Value must be between 1 and 1000.", null);
+        }
+    }
     
     /**
      * Exits the current level and changes to the one specified through the argument passed. 
+     * <br><br>
+     * The change is carried out asynchronously. A {@link LevelLoading loading level} takes the place of the current level immediately while the new level 
+     * {@linkplain Level#preload() requests its resources}, which are decoded in the background and uploaded over the course of the following frames. The 
+     * new level is initialized once every resource has finished loading. The resources of the previous level are freed a batch at a time by the 
+     * {@link AssetLoader} rather than all at once.
      * 
      * @param value the level we want to change to
      */
     public static void setLevel(Level value) {
+        if(simulation != null) {
+            if(Thread.currentThread() != glThread) {
+                submitGLTask(() -> setLevel(value));
+                return;
+            }
+            
+            simulation.suspend();
+        }
+        
         Logger.logInfo("Level changed to: \"" + value.getClass().getSimpleName() + "\"" + System.lineSeparator());
         
-        if(level != null) value.exit();
-        level = value;
-        level.init();
+        if(loadingLevel == null) loadingLevel = new LevelLoading();
+        
+        Level prevLevel = level;
+        
+        level     = loadingLevel;
+        nextLevel = value;
+        generation++;
+        
+        if(prevLevel != null && prevLevel != loadingLevel) {
+            releasing = true;
+            
+            try {
+                prevLevel.exit();
+            } finally {
+                releasing = false;
+            }
+        }
+        
+        nextLevel.preload();
+        
+        if(simulation != null) simulation.resume();
+    }
+    
+    /**
+     * Saves the entities, light sources, and skybox of the current level to a file which can later be loaded by a {@link LevelMap}. The state of the level 
+     * is captured at the start of the next game tick and written to the file in the background.
+     * 
+     * @param filename the name of the file to write
+     * @see LevelWriter
+     */
+    public static void saveLevel(String filename) {
+        runOnSimulation(() -> {
+            LevelWriter writer = new LevelWriter();
+            writer.capture(level);
+            
+            JobSystem.submit(() -> writer.write(filename));
+        });
     }
     
     /**
@@ -166,7 +788,7 @@ public final class Game {
      * @param e the entity we want to add
      */
     public static void addEntity(Entity e) {
-        level.entityList.add(e);
+        runOnSimulation(() -> level.addEntity(e));
     }
     
     /**
@@ -176,7 +798,62 @@ public final class Game {
      * @param light the light data to use in the fragment shader
      */
     public static void addLightSource(Light light) {
-        level.addLightSource(light);
+        submitGLTask(() -> {
+            if(simulation != null) simulation.suspend();
+            level.addLightSource(light);
+            if(simulation != null) simulation.resume();
+        });
+    }
+    
+    /**
+     * Executes a task that requires the OpenGL context, such as freeing the buffers of an entity. If called from the rendering thread (or while the engine isn't 
+     * running in {@linkplain App#getThreaded() threaded mode}) the task is executed immediately. Otherwise it will be executed by the rendering thread once every 
+     * snapshot that might still reference the resources in question has been discarded.
+     * <br><br>
+     * Tasks submitted by the rendering thread while the previous level is exiting during a {@linkplain setLevel(Level) level change} are instead 
+     * {@linkplain AssetLoader#release(Runnable) released} through the asset loader so they're executed in batches over the following frames.
+     * 
+     * @param task the work to perform on the rendering thread
+     */
+    public static void submitGLTask(Runnable task) {
+        if(releasing && Thread.currentThread() == glThread) {
+            AssetLoader.release(task);
+        } else if(simulation == null || Thread.currentThread() == glThread) {
+            task.run();
+        } else {
+            long seq = (simulation.isCurrentThread()) ? simulation.getSeq() + 1 : 0;
+            glTasks.add(new GLTask(seq, task));
+        }
+    }
+    
+    /**
+     * Executes a task that modifies the state of the current level or the objects updated alongside it, such as cameras and the commands of a 
+     * {@link dev.theskidster.xjge.puppets.Puppet Puppet}. In threaded mode, tasks submitted from other threads are deferred until the start of the next 
+     * game tick to avoid modifying the level while it's being updated.
+     * 
+     * @param task the work to perform on the simulation thread
+     */
+    public static void runOnSimulation(Runnable task) {
+        if(simulation == null || simulation.isCurrentThread()) task.run();
+        else                                                   simulation.submit(task);
+    }
+    
+    /**
+     * <b>*For internal use only*</b>
+     * <br><br>
+     * Executes a task on the rendering thread while the simulation thread is suspended. Used for work which requires the OpenGL context or window but may 
+     * also change state read by the simulation, such as the commands of the {@linkplain dev.theskidster.xjge.puppet.terminal.Terminal command terminal}.
+     * 
+     * @param task the work to perform with exclusive access to the current level
+     */
+    public static void runSuspended(Runnable task) {
+        if(simulation != null) simulation.suspend();
+        
+        try {
+            task.run();
+        } finally {
+            if(simulation != null) simulation.resume();
+        }
     }
     
     /**
@@ -191,24 +868,33 @@ public final class Game {
     }
     
     /**
-     * Adds an event to the event queue.
+     * Adds an event to the event queue. May be called from any thread, the event will enter the queue at the start of the next tick.
      * 
      * @param priority the priority of the event
      * @param data     (optional) additional data required by the event
      */
     public static void addEvent(int priority, Object data) {
-        events.add(new Event(priority, data));
+        eventChannel.post(new Event(priority, data));
     }
     
     /**
-     * Resolves and removes an event from the event queue.
+     * Resolves and removes an event from the event queue. May be called from any thread, the event will be resolved at the start of the next tick.
      * 
      * @param priority the priority of the event
      */
     public static void resolveEvent(int priority) {
-        events.forEach(evt -> {
-            evt.resolved = (evt.getPriority() == priority);
-        });
+        resolveChannel.post(priority);
+    }
+    
+    /**
+     * Marks the queued event of the specified priority as resolved. Called by the {@link EventBus} on the thread updating the level.
+     * 
+     * @param priority the priority of the event
+     */
+    private static void markResolved(int priority) {
+        for(Event evt : events) {
+            if(evt.getPriority() == priority) evt.resolved = true;
+        }
     }
     
 }
\ No newline at end of file
@@ -15,7 +15,8 @@ import static org.lwjgl.glfw.GLFW.glfwGetVersionString;
  */
 
 /**
- * Keeps a chronological record of significant events occurring within the application.
+ * Keeps a chronological record of significant events occurring within the application. Messages may be logged from any thread, each is written in full
+ * before the next so the output of different threads is never interleaved.
  */
 public final class Logger {
     
@@ -25,7 +26,7 @@ public final class Logger {
     /**
      * Displays information pertaining to the system variables of the current operating system on which the engine is running.
      */
-    static void logSystemInfo() {
+    static synchronized void logSystemInfo() {
         logInfo("--------------------------------------------------------------------------------");
         logInfo("OS NAME:\t\t" + System.getProperty("os.name"));
         logInfo("JAVA VERSION:\t" + System.getProperty("java.version"));
@@ -43,7 +44,7 @@ public final class Logger {
      * 
      * @param message the text to display
      */
-    public static void logInfo(String message) {
+    public static synchronized void logInfo(String message) {
         System.out.println("INFO: " + message);
                 
         builder.append("INFO: ")
@@ -58,7 +59,7 @@ public final class Logger {
      * @param message the text to display
      * @param e       an optional exception used to output a stack trace, if null is passed, no stack trace will be displayed
      */
-    public static void logWarning(String message, Exception e) {
+    public static synchronized void logWarning(String message, Exception e) {
         String timestamp = new SimpleDateFormat("MM-dd-yyyy h:mma").format(new Date());
                 
         System.out.println(System.lineSeparator() + timestamp);
@@ -99,7 +100,7 @@ public final class Logger {
      * @param message the text to display
      * @param e       an optional exception used to output a stack trace, if null is passed, the engine will generate a generic RuntimeException
      */
-    public static void logSevere(String message, Exception e) {
+    public static synchronized void logSevere(String message, Exception e) {
         String date = new SimpleDateFormat("MM-dd-yyyy").format(new Date());
         String time = new SimpleDateFormat("h:mma").format(new Date());
         
@@ -1,5 +1,9 @@
 package dev.theskidster.xjge.main;
 
+import dev.theskidster.xjge.level.Level;
+import dev.theskidster.xjge.level.LevelMap;
+import java.util.function.Supplier;
+
 /**
  * @author J Hoffman
  * Created: Jan 14, 2020
@@ -13,10 +17,80 @@ public class Main {
     /**
      * Application entry point.
      * 
+     * The following arguments are recognized:
+     * <ul>
+     * <li><b>-threaded</b> - updates the game on a dedicated simulation thread, see {@link App#getThreaded()}.</li>
+     * <li><b>-headless</b> - updates the game without a window, graphics context, or audio device, see {@link App#getHeadless()}.</li>
+     * <li><b>-uncapped</b> - processes ticks as fast as possible while running headless.</li>
+     * <li><b>-benchmark=&lt;name&gt;[:&lt;value&gt;]</b> - starts in one of the following benchmark levels:
+     *   <ul>
+     *   <li><b>ecs</b> - {@link dev.theskidster.xjge.level.LevelBenchmarkWorld LevelBenchmarkWorld} with 100,000 objects.</li>
+     *   <li><b>physics</b> - {@link dev.theskidster.xjge.level.LevelBenchmarkPhysics LevelBenchmarkPhysics} with 3,000 rigid bodies.</li>
+     *   <li><b>collision</b> - {@link dev.theskidster.xjge.level.LevelBenchmarkCollision LevelBenchmarkCollision} with 20,000 colliders.</li>
+     *   <li><b>spatial:&lt;grid|octree|none&gt;</b> - {@link dev.theskidster.xjge.level.LevelBenchmarkSpatial LevelBenchmarkSpatial} with 10,000 agents, 
+     *   finding the neighbors of each agent with the index specified.</li>
+     *   <li><b>lights:&lt;n&gt;</b> - enables clustered lighting and uses {@link dev.theskidster.xjge.level.LevelBenchmarkLights LevelBenchmarkLights} 
+     *   with the specified number of point lights, see {@link App#setClusteredLighting(boolean)}.</li>
+     *   <li><b>props:&lt;n&gt;</b> - {@link dev.theskidster.xjge.level.LevelBenchmarkRender LevelBenchmarkRender} with the specified number of props, 
+     *   which can't be used while running headless, see {@link App#setRenderSorting(boolean)}.</li>
+     *   </ul>
+     * The default {@link dev.theskidster.xjge.level.LevelBenchmark LevelBenchmark} is used while running headless if no benchmark is specified.</li>
+     * <li><b>-map=&lt;file&gt;</b> - loads the initial level from a level file using {@link dev.theskidster.xjge.level.LevelMap LevelMap}, see 
+     * {@link Game#saveLevel(String)}.</li>
+     * <li><b>-ticks=&lt;n&gt;</b> - exits after the specified number of ticks have been processed while running headless.</li>
+     * <li><b>-record=&lt;file&gt;</b> - records input from the first tick to a file, see {@link App#startRecording(String)}.</li>
+     * <li><b>-replay=&lt;file&gt;</b> - replays input previously recorded to a file, see {@link App#startReplay(String)}.</li>
+     * </ul>
+     * 
      * @param args the arguments to be supplied to the application when run from a command line
      */
     public static void main(String args[]) {
-        new App().start();
+        Supplier<Level> initialLevel = null;
+        
+        for(String arg : args) {
+            if(arg.startsWith("-ticks=")) {
+                try {
+                    App.maxTicks = Integer.parseInt(arg.substring(7));
+                } catch(NumberFormatException e) {
+                    Logger.logWarning("Invalid tick count: \"" + arg.substring(7) + "\"", null);
+                }
+                
+                continue;
+            }
+            
+            if(arg.startsWith("-benchmark=")) {
+                Supplier<Level> benchmark = Game.findBenchmark(arg.substring(11));
+                if(benchmark != null) initialLevel = benchmark;
+                
+                continue;
+            }
+            
+            if(arg.startsWith("-map=")) {
+                String filename = arg.substring(5);
+                initialLevel    = () -> new LevelMap(filename);
+                
+                continue;
+            }
+            
+            if(arg.startsWith("-record=")) {
+                App.recordFile = arg.substring(8);
+                continue;
+            }
+            
+            if(arg.startsWith("-replay=")) {
+                App.replayFile = arg.substring(8);
+                continue;
+            }
+            
+            switch(arg) {
+                case "-threaded" -> App.threaded = true;
+                case "-headless" -> App.headless = true;
+                case "-uncapped" -> App.uncapped = true;
+                default -> Logger.logWarning("Unrecognized argument: \"" + arg + "\"", null);
+            }
+        }
+        
+        new App(initialLevel).start();
     }
     
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package dev.theskidster.xjge.main;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Measures the time spent by the main thread in each phase of the {@link Game#loop()}. Timings are accumulated over the course of a frame and stored in a
+ * fixed-size ring buffer once it has completed so the history of recent frames can be displayed by the {@link dev.theskidster.xjge.ui.ProfilerInfo} component
+ * or exported to a CSV file for further analysis.
+ * <br><br>
+ * Every buffer used by the profiler is allocated once, recording a phase will never allocate memory. Phases are only recorded on the thread which called
+ * {@link Game#loop()}, while the engine is running in threaded mode the update phase is performed by the simulation thread and will therefore remain empty.
+ */
+public final class Profiler {
+    
+    private static int index;
+    private static int numFrames;
+    
+    public static final int FRAME            = 0;
+    public static final int INPUT            = 1;
+    public static final int UPDATE           = 2;
+    public static final int UPDATE_VIEWPORTS = 3;
+    public static final int SWAP_BUFFERS     = 4;
+    public static final int NUM_PHASES       = 5 + (4 * 3);
+    public static final int CAPACITY         = 600;
+    
+    private static final String[] names = new String[NUM_PHASES];
+    
+    private static final long[] starts    = new long[NUM_PHASES];
+    private static final long[] current   = new long[NUM_PHASES];
+    private static final long[][] samples = new long[NUM_PHASES][CAPACITY];
+    private static final long[] sorted    = new long[CAPACITY];
+    
+    static {
+        names[FRAME]            = "frame";
+        names[INPUT]            = "input";
+        names[UPDATE]           = "update";
+        names[UPDATE_VIEWPORTS] = "viewports";
+        names[SWAP_BUFFERS]     = "swap";
+        
+        for(int id = 0; id < 4; id++) {
+            names[camera(id)]  = "camera " + id;
+            names[ui(id)]      = "ui " + id;
+            names[texture(id)] = "texture " + id;
+        }
+    }
+    
+    /**
+     * Finds the phase in which the camera of a viewport renders the game world.
+     * 
+     * @param id the id number of the viewport
+     * @return the index of the phase
+     */
+    public static int camera(int id) {
+        return 5 + (id * 3);
+    }
+    
+    /**
+     * Finds the phase in which the UI components of a viewport are rendered.
+     * 
+     * @param id the id number of the viewport
+     * @return the index of the phase
+     */
+    public static int ui(int id) {
+        return 6 + (id * 3);
+    }
+    
+    /**
+     * Finds the phase in which the texture attachment of a viewport is drawn to the screen.
+     * 
+     * @param id the id number of the viewport
+     * @return the index of the phase
+     */
+    public static int texture(int id) {
+        return 7 + (id * 3);
+    }
+    
+    /**
+     * Marks the beginning of a phase.
+     * 
+     * @param phase the index of the phase
+     */
+    static void start(int phase) {
+        starts[phase] = System.nanoTime();
+    }
+    
+    /**
+     * Marks the end of a phase. If a phase is recorded multiple times in a single frame (such as when the game ticks more than once) its timings are summed.
+     * 
+     * @param phase the index of the phase
+     */
+    static void end(int phase) {
+        current[phase] += System.nanoTime() - starts[phase];
+    }
+    
+    /**
+     * Stores the timings of the current frame in the ring buffer and resets them for the next.
+     */
+    static void endFrame() {
+        end(FRAME);
+        
+        for(int p = 0; p < NUM_PHASES; p++) {
+            samples[p][index] = current[p];
+            current[p] = 0;
+        }
+        
+        index = (index + 1) % CAPACITY;
+        if(numFrames < CAPACITY) numFrames++;
+        
+        start(FRAME);
+    }
+    
+    /**
+     * Calculates the shortest, average, and 99th percentile timings of a phase over the frames currently held in the ring buffer.
+     * 
+     * @param phase the index of the phase
+     * @param dest  an array with a length of at least three which will contain the min, average, and p99 timings in nanoseconds respectively
+     */
+    public static void findStats(int phase, long[] dest) {
+        if(numFrames == 0) {
+            dest[0] = dest[1] = dest[2] = 0;
+            return;
+        }
+        
+        long sum = 0;
+        
+        for(int f = 0; f < numFrames; f++) {
+            sorted[f] = samples[phase][f];
+            sum += sorted[f];
+        }
+        
+        Arrays.sort(sorted, 0, numFrames);
+        
+        dest[0] = sorted[0];
+        dest[1] = sum / numFrames;
+        dest[2] = sorted[Math.min((int) Math.ceil(numFrames * 0.99) - 1, numFrames - 1)];
+    }
+    
+    /**
+     * Writes the contents of the ring buffer to a CSV file in the working directory. Each row represents a single frame, ordered from oldest to newest, and 
+     * begins with the index of the frame followed by a column for each phase containing the time in microseconds spent on it.
+     * 
+     * @return the name of the file produced or null if it could not be written
+     */
+    public static String dumpCSV() {
+        String date   = new SimpleDateFormat("MM-dd-yyyy h-mma").format(new Date());
+        File file     = new File("profile " + date + ".csv");
+        int duplicate = 0;
+        
+        while(file.exists()) {
+            duplicate++;
+            file = new File("profile " + date + " (" + duplicate + ").csv");
+        }
+        
+        try(PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+            writer.print("index");
+            for(String name : names) writer.print("," + name);
+            writer.println();
+            
+            int first = (numFrames < CAPACITY) ? 0 : index;
+            
+            for(int f = 0; f < numFrames; f++) {
+                int i = (first + f) % CAPACITY;
+                
+                writer.print(f);
+                for(int p = 0; p < NUM_PHASES; p++) writer.printf(",%.3f", samples[p][i] / 1000.0);
+                writer.println();
+            }
+        } catch(Exception e) {
+            Logger.logWarning("Failed to write profiler data to \"" + file.getName() + "\"", e);
+            return null;
+        }
+        
+        Logger.logInfo("Profiler data written to \"" + file.getName() + "\"");
+        
+        return file.getName();
+    }
+    
+    public static int getNumFrames()        { return numFrames; }
+    public static String getName(int phase) { return names[phase]; }
+    
+}
\ No newline at end of file
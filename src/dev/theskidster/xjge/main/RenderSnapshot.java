@@ -0,0 +1,171 @@
+package dev.theskidster.xjge.main;
+
+import dev.theskidster.xjge.entities.Entity;
+import dev.theskidster.xjge.entities.EntityState;
+import dev.theskidster.xjge.graphics.Light;
+import dev.theskidster.xjge.graphics.LightSource;
+import dev.theskidster.xjge.util.Camera;
+import dev.theskidster.xjge.util.Color;
+import java.util.Arrays;
+import java.util.List;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Contains a copy of the state required to render a single completed game tick. Snapshots are produced by the simulation thread and consumed by the rendering
+ * thread while the engine is running in {@linkplain App#getThreaded() threaded mode}.
+ * <br><br>
+ * Every value stored by a snapshot is allocated once and reused by later captures, the only exception being when the number of entities or light sources in the
+ * current level grows beyond what the snapshot has previously seen.
+ * 
+ * @see SnapshotBuffer
+ */
+public final class RenderSnapshot {
+    
+    int tick;
+    int generation;
+    long seq;
+    long time;
+    private int numEntities;
+    private int numLights;
+    
+    private EntityState[] entities = new EntityState[0];
+    
+    private Light[] lightData            = new Light[App.MAX_LIGHTS];
+    private LightSource[] lights         = new LightSource[App.MAX_LIGHTS];
+    private LightSource[] capturedLights = new LightSource[App.MAX_LIGHTS];
+    
+    final Vector3f[] camPos        = new Vector3f[4];
+    final Vector3f[] camPrevPos    = new Vector3f[4];
+    final Vector3f[] camDir        = new Vector3f[4];
+    final Vector3f[] camUp         = new Vector3f[4];
+    final Matrix4f[] viewMatrices  = new Matrix4f[4];
+    private final Vector3f tempPos = new Vector3f();
+    private final Vector3f tempVec = new Vector3f();
+    
+    RenderSnapshot() {
+        for(int i = 0; i < viewMatrices.length; i++) {
+            camPos[i]       = new Vector3f();
+            camPrevPos[i]   = new Vector3f();
+            camDir[i]       = new Vector3f(0, 0, -1);
+            camUp[i]        = new Vector3f(0, 1, 0);
+            viewMatrices[i] = new Matrix4f();
+        }
+    }
+    
+    /**
+     * Captures the state of every entity in the list provided.
+     * 
+     * @param entityList the entities inhabiting the current level
+     * @see Entity#capture(EntityState)
+     */
+    public void captureEntities(List<Entity> entityList) {
+        numEntities = entityList.size();
+        
+        if(entities.length < numEntities) {
+            var temp = new EntityState[Math.max(numEntities, entities.length * 2)];
+            System.arraycopy(entities, 0, temp, 0, entities.length);
+            
+            for(int i = entities.length; i < temp.length; i++) temp[i] = new EntityState();
+            entities = temp;
+        }
+        
+        for(int i = 0; i < numEntities; i++) {
+            Entity entity = entityList.get(i);
+            
+            entities[i].entity = entity;
+            entity.capture(entities[i]);
+        }
+        
+        //Release references to entities that are no longer present so they may be collected.
+        for(int i = numEntities; i < entities.length && entities[i].entity != null; i++) {
+            entities[i].entity = null;
+        }
+    }
+    
+    /**
+     * Captures the state of each light source in the current level. Light sources are copied into objects owned by the snapshot which share the graphics
+     * resources of the originals, meaning no calls to the graphics API are required.
+     * 
+     * @param sources   the light source objects of the current level
+     * @param numLights the number of lights the current level is using
+     */
+    public void captureLights(LightSource[] sources, int numLights) {
+        this.numLights = numLights;
+        
+        if(sources.length > lights.length) {
+            lightData      = Arrays.copyOf(lightData, sources.length);
+            lights         = Arrays.copyOf(lights, sources.length);
+            capturedLights = Arrays.copyOf(capturedLights, sources.length);
+        }
+        
+        for(int i = sources.length; i < lights.length; i++) lights[i] = null;
+        
+        for(int i = 0; i < sources.length; i++) {
+            if(sources[i] == null) {
+                lights[i] = null;
+                continue;
+            }
+            
+            if(capturedLights[i] != sources[i]) {
+                if(lightData[i] == null) {
+                    lightData[i] = new Light(0, 0, new Vector3f(), Color.WHITE, Color.WHITE);
+                }
+                
+                capturedLights[i] = sources[i];
+                lights[i]         = new LightSource(lightData[i], sources[i]);
+            }
+            
+            Light light = lightData[i];
+            
+            light.brightness = sources[i].getBrightness();
+            light.contrast   = sources[i].getContrast();
+            light.range      = sources[i].getRange();
+            light.position.set(sources[i].getPosition());
+            light.ambient.set(sources[i].getAmbient());
+            light.diffuse.set(sources[i].getDiffuse());
+            
+            lights[i].enabled = sources[i].enabled;
+            lights[i].prevPosition.set(sources[i].prevPosition);
+            lights[i].currPosition.set(sources[i].currPosition);
+        }
+    }
+    
+    /**
+     * Captures the orientation of a viewports camera.
+     * 
+     * @param id     the id number of the viewport
+     * @param camera the camera currently used by the viewport
+     */
+    void captureCamera(int id, Camera camera) {
+        camPos[id].set(camera.position);
+        camPrevPos[id].set(camera.prevPosition);
+        camDir[id].set(camera.direction);
+        camUp[id].set(camera.up);
+    }
+    
+    /**
+     * Calculates the view matrix of a viewports camera at an interpolated position between the previous and current game ticks. The view matrix is calculated 
+     * in the same manner as {@link dev.theskidster.xjge.puppet.freecam.Freecam#render() Freecam} so that the rendering thread need only upload it.
+     * 
+     * @param id    the id number of the viewport
+     * @param alpha the interpolation factor provided by {@link Game#getAlpha()}
+     * @return the view matrix of the viewport
+     */
+    Matrix4f findViewMatrix(int id, float alpha) {
+        camPrevPos[id].lerp(camPos[id], alpha, tempPos);
+        return viewMatrices[id].setLookAt(tempPos, tempPos.add(camDir[id], tempVec), camUp[id]);
+    }
+    
+    public int getTick()                     { return tick; }
+    public int getNumEntities()              { return numEntities; }
+    public EntityState getEntityState(int i) { return entities[i]; }
+    public int getNumLights()                { return numLights; }
+    public LightSource[] getLightSources()   { return lights; }
+    
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package dev.theskidster.xjge.main;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Advances the game simulation at a fixed rate on its own thread while the engine is running in {@linkplain App#getThreaded() threaded mode}. At the end of
+ * each game tick the state of the current level is captured into a {@link RenderSnapshot} and published through a {@link SnapshotBuffer} for the rendering
+ * thread to consume.
+ * <br><br>
+ * The simulation thread must never make calls to the graphics API. Work that requires the OpenGL context (such as freeing the buffers of a removed entity)
+ * should instead be submitted to the rendering thread with {@link Game#submitGLTask(Runnable)}.
+ */
+final class Simulation implements Runnable {
+    
+    private long seq;
+    private int suspendCount;
+    
+    private volatile boolean running = true;
+    private volatile boolean suspendRequest;
+    private volatile boolean suspended;
+    
+    private final Thread thread;
+    private final SnapshotBuffer buffer;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    
+    /**
+     * Creates a new simulation that will publish its snapshots to the buffer provided.
+     * 
+     * @param buffer the triple buffer shared with the rendering thread
+     */
+    Simulation(SnapshotBuffer buffer) {
+        this.buffer = buffer;
+        
+        thread = new Thread(this, "xjge-simulation");
+        thread.setDaemon(true);
+    }
+    
+    @Override
+    public void run() {
+        double targetDelta;
+        double delta  = 0;
+        long prevTime = System.nanoTime();
+        
+        try {
+            while(running) {
+                if(suspendRequest) {
+                    suspended = true;
+                    LockSupport.park(this);
+                    
+                    if(!suspendRequest) prevTime = System.nanoTime();
+                    
+                    continue;
+                }
+                
+                long currTime = System.nanoTime();
+                targetDelta   = 1.0 / Game.getTickRate();
+                delta        += (currTime - prevTime) / 1_000_000_000.0;
+                prevTime      = currTime;
+                
+                int burst = 0;
+                
+                while(delta >= targetDelta && burst < Game.getMaxCatchUpSteps() && !suspendRequest) {
+                    delta -= targetDelta;
+                    burst++;
+                    
+                    while(!tasks.isEmpty()) tasks.poll().run();
+                    
+                    Game.simulate();
+                    
+                    RenderSnapshot snapshot = buffer.getBack();
+                    snapshot.seq = ++seq;
+                    Game.capture(snapshot);
+                    snapshot.time = System.nanoTime();
+                    buffer.publish();
+                }
+                
+                if(!suspendRequest) delta = Game.limitCatchUp(burst, delta, targetDelta);
+                
+                if(delta < targetDelta) {
+                    LockSupport.parkNanos(this, (long) ((targetDelta - delta) * 1_000_000_000.0));
+                }
+            }
+        } catch(Exception e) {
+            Logger.logSevere("Simulation thread encountered an unrecoverable error.", e);
+        }
+    }
+    
+    long getSeq()             { return seq; }
+    boolean isCurrentThread() { return Thread.currentThread() == thread; }
+    
+    /**
+     * Starts the simulation thread.
+     */
+    void start() {
+        thread.start();
+    }
+    
+    /**
+     * Stops the simulation thread and waits for it to finish the tick it's currently processing.
+     */
+    void stop() {
+        running        = false;
+        suspendRequest = false;
+        LockSupport.unpark(thread);
+        
+        try {
+            thread.join();
+        } catch(InterruptedException e) {
+            Logger.logWarning(e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Asks the simulation thread to stop processing ticks and waits until it has done so. Used to give the rendering thread exclusive access to the current
+     * level during operations such as {@link Game#setLevel(Level)}. Suspensions may be nested, in which case the simulation will remain suspended until 
+     * every call has been matched by a call to {@link resume()}. Both should only be called by the rendering thread.
+     */
+    void suspend() {
+        if(suspendCount++ > 0) return;
+        
+        suspendRequest = true;
+        while(!suspended && thread.isAlive()) Thread.onSpinWait();
+    }
+    
+    /**
+     * Allows a simulation thread that was previously {@linkplain suspend() suspended} to continue processing ticks once the outermost suspension has ended.
+     */
+    void resume() {
+        if(suspendCount == 0 || --suspendCount > 0) return;
+        
+        suspended      = false;
+        suspendRequest = false;
+        LockSupport.unpark(thread);
+    }
+    
+    /**
+     * Queues a task that will be executed by the simulation thread at the start of its next tick.
+     * 
+     * @param task the task to execute
+     */
+    void submit(Runnable task) {
+        tasks.add(task);
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package dev.theskidster.xjge.main;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A lock-free triple buffer of {@link RenderSnapshot} objects. The simulation thread always writes to the back snapshot while the rendering thread reads from the
+ * front, the third snapshot is exchanged between them atomically. Neither thread will ever wait on the other- if the simulation publishes several snapshots
+ * before the renderer acquires one, only the most recent is kept.
+ */
+final class SnapshotBuffer {
+    
+    private static final int FRESH = 0b100;
+    private static final int INDEX = 0b011;
+    
+    private int back  = 0;
+    private int front = 2;
+    
+    private final AtomicInteger middle      = new AtomicInteger(1);
+    private final RenderSnapshot[] snapshots = new RenderSnapshot[3];
+    
+    SnapshotBuffer() {
+        for(int i = 0; i < snapshots.length; i++) snapshots[i] = new RenderSnapshot();
+    }
+    
+    /**
+     * Provides the snapshot the simulation thread should capture the current game tick into. Must only be called from the simulation thread.
+     * 
+     * @return the current back snapshot
+     */
+    RenderSnapshot getBack() {
+        return snapshots[back];
+    }
+    
+    /**
+     * Makes the back snapshot available to the rendering thread and reclaims whichever snapshot was previously waiting to be acquired. Must only be called from
+     * the simulation thread.
+     */
+    void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+    
+    /**
+     * Provides the most recently published snapshot. If nothing new has been published since the last call, the previous snapshot is returned again. Must only
+     * be called from the rendering thread.
+     * 
+     * @return the snapshot that should be rendered this frame
+     */
+    RenderSnapshot acquire() {
+        if((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+        }
+        
+        return snapshots[front];
+    }
+    
+}
\ No newline at end of file
@@ -5,11 +5,13 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import org.joml.Matrix4f;
 import org.joml.Vector2i;
 import static org.lwjgl.opengl.GL30.*;
 import org.lwjgl.system.MemoryStack;
 import dev.theskidster.xjge.util.Camera;
 import dev.theskidster.xjge.graphics.Graphics;
+import dev.theskidster.xjge.graphics.LightClusters;
 import dev.theskidster.xjge.puppet.freecam.Freecam;
 import dev.theskidster.xjge.shader.core.ShaderCore;
 import dev.theskidster.xjge.ui.Component;
@@ -28,6 +30,10 @@ class Viewport {
     final int texHandle;
     int width;
     int height;
+    int numDrawn;
+    int numCulled;
+    int numBinds;
+    int numDrawCalls;
     
     boolean active;
     
@@ -37,6 +43,8 @@ class Viewport {
     Camera prevCamera  = new Freecam();
     Camera currCamera  = new Freecam();
     
+    LightClusters clusters = new LightClusters(1000);
+    
     Map<String, Component> ui = new LinkedHashMap<>();
     
     /**
@@ -74,6 +82,7 @@ class Viewport {
         prevCamera = viewport.prevCamera;
         currCamera = viewport.currCamera;
         ui         = viewport.ui;
+        clusters   = viewport.clusters;
     }
     
     /**
@@ -148,6 +157,19 @@ class Viewport {
         }
     }
     
+    /**
+     * Variant of the "camera" rendering phase used in threaded mode. Uploads a view matrix captured by the simulation thread instead of reading the current 
+     * state of the viewports camera.
+     * 
+     * @param viewMatrix the view matrix captured by a {@link RenderSnapshot}
+     */
+    void renderCamera(Matrix4f viewMatrix) {
+        ShaderCore.getPrograms().forEach(name -> {
+            ShaderCore.use(name);
+            ShaderCore.setMat4("uView", false, viewMatrix);
+        });
+    }
+    
     /**
      * Convenience method used to revert the viewports camera projection matrix back to whatever type (orthogonal or perspective) it was using before.
      */
@@ -121,24 +121,30 @@ final class Window {
                 App.setFreecamEnabled(!App.getFreecamEnabled());
             }
             if(App.getFreecamEnabled() && !App.getTerminalEnabled()) {
-                if(key == GLFW_KEY_W) Puppets.FREECAM.pressed[0] = (action != GLFW_RELEASE);
-                if(key == GLFW_KEY_A) Puppets.FREECAM.pressed[1] = (action != GLFW_RELEASE);
-                if(key == GLFW_KEY_S) Puppets.FREECAM.pressed[2] = (action != GLFW_RELEASE);
-                if(key == GLFW_KEY_D) Puppets.FREECAM.pressed[3] = (action != GLFW_RELEASE);
-                
-                Puppets.FREECAM.setSpeedBoostEnabled(mods == GLFW_MOD_SHIFT);
+                Game.runOnSimulation(() -> {
+                    if(key == GLFW_KEY_W) Puppets.FREECAM.pressed[0] = (action != GLFW_RELEASE);
+                    if(key == GLFW_KEY_A) Puppets.FREECAM.pressed[1] = (action != GLFW_RELEASE);
+                    if(key == GLFW_KEY_S) Puppets.FREECAM.pressed[2] = (action != GLFW_RELEASE);
+                    if(key == GLFW_KEY_D) Puppets.FREECAM.pressed[3] = (action != GLFW_RELEASE);
+                    
+                    Puppets.FREECAM.setSpeedBoostEnabled(mods == GLFW_MOD_SHIFT);
+                });
             }
         });
         
         glfwSetCursorPosCallback(handle, (window, xpos, ypos) -> {
             if(App.getFreecamEnabled() && !App.getTerminalEnabled()) {
-                if(firstMouse) {
-                    Puppets.FREECAM.prevX = xpos;
-                    Puppets.FREECAM.prevY = ypos;
-                    firstMouse = false;
-                }
+                boolean first = firstMouse;
+                firstMouse    = false;
                 
-                Puppets.FREECAM.setDirection(xpos, ypos);
+                Game.runOnSimulation(() -> {
+                    if(first) {
+                        Puppets.FREECAM.prevX = xpos;
+                        Puppets.FREECAM.prevY = ypos;
+                    }
+                    
+                    Puppets.FREECAM.setDirection(xpos, ypos);
+                });
             } else {
                 firstMouse = true;
             }
@@ -166,7 +172,12 @@ final class Window {
             switch(event) {
                 case GLFW_CONNECTED -> {
                     App.findInputDevices();
-                    if(jid < GLFW_JOYSTICK_5) connected[jid] = true;
+                    
+                    if(jid < GLFW_JOYSTICK_5) {
+                        connected[jid] = true;
+                        Game.resolveEvent(jid);
+                    }
+                    
                     Logger.logInfo(
                             "Controller: \"" + App.getInputDeviceName(jid) +
                             "\" connected at position " + jid + ".");
@@ -0,0 +1,112 @@
+package dev.theskidster.xjge.physics;
+
+import org.ode4j.ode.DBody;
+import org.ode4j.ode.DContact;
+import org.ode4j.ode.DContactBuffer;
+import org.ode4j.ode.DContactGeomBuffer;
+import org.ode4j.ode.DContactJoint;
+import org.ode4j.ode.DGeom;
+import org.ode4j.ode.DWorld;
+import org.ode4j.ode.OdeHelper;
+import static org.ode4j.ode.OdeConstants.*;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Fixed-capacity pool of the contacts and contact joints used to resolve collisions during each step of the physics world. Rather than creating a new joint
+ * for every point of contact and discarding them all after the step as is typical with ode4j, each slot of the pool owns a contact and a joint which are
+ * created once and reused by attaching and detaching the joint from the bodies in contact. The geometry of each contact is written into the pool directly by
+ * the collision functions through views created alongside it, so stepping the world produces no garbage regardless of how many collisions occur.
+ * <br><br>
+ * Collisions found once every slot is in use are dropped for the remainder of the step.
+ */
+final class ContactPool {
+    
+    private int numUsed;
+    private int numDropped;
+    
+    static final int MAX_PER_PAIR = 4;
+    
+    private final DWorld world;
+    private final DContactBuffer contacts;
+    private final DContactGeomBuffer[] views;
+    private final DContactJoint[] joints;
+    
+    /**
+     * Creates a new contact pool.
+     * 
+     * @param world    the world the joints of the pool will belong to
+     * @param capacity the maximum number of contacts that may be resolved during a single step
+     */
+    ContactPool(DWorld world, int capacity) {
+        this.world = world;
+        
+        contacts = new DContactBuffer(capacity);
+        views    = new DContactGeomBuffer[capacity];
+        joints   = new DContactJoint[capacity];
+        
+        for(int i = 0; i < capacity; i++) {
+            DContact contact = contacts.get(i);
+            
+            contact.surface.mode       = dContactBounce | dContactSoftCFM | dContactApprox1;
+            contact.surface.mu         = 0.8;
+            contact.surface.bounce     = 0.2;
+            contact.surface.bounce_vel = 0.1;
+            contact.surface.soft_cfm   = 0.001;
+            
+            views[i] = contacts.getGeomBuffer().createView(i);
+        }
+    }
+    
+    /**
+     * Finds the points of contact between two pieces of geometry and attaches a joint from the pool to their bodies for each one.
+     * 
+     * @param o1 the first piece of geometry
+     * @param o2 the second piece of geometry
+     */
+    void collide(DGeom o1, DGeom o2) {
+        int available = Math.min(MAX_PER_PAIR, joints.length - numUsed);
+        
+        if(available == 0) {
+            numDropped++;
+            return;
+        }
+        
+        int numContacts = OdeHelper.collide(o1, o2, available, views[numUsed]);
+        
+        DBody b1 = o1.getBody();
+        DBody b2 = o2.getBody();
+        
+        for(int i = 0; i < numContacts; i++) {
+            if(joints[numUsed] == null) joints[numUsed] = OdeHelper.createContactJoint(world, contacts.get(numUsed));
+            
+            joints[numUsed].attach(b1, b2);
+            numUsed++;
+        }
+    }
+    
+    /**
+     * Detaches every joint used during the previous step so their slots may be used again. Called once the world has been stepped.
+     */
+    void release() {
+        for(int i = 0; i < numUsed; i++) joints[i].attach(null, null);
+        numUsed = 0;
+    }
+    
+    /**
+     * Destroys every joint created by the pool.
+     */
+    void destroy() {
+        for(int i = 0; i < joints.length; i++) {
+            if(joints[i] != null) joints[i].destroy();
+        }
+    }
+    
+    int getNumUsed()    { return numUsed; }
+    int getNumDropped() { return numDropped; }
+    int getCapacity()   { return joints.length; }
+    
+}
\ No newline at end of file
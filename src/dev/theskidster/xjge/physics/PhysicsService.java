@@ -0,0 +1,488 @@
+package dev.theskidster.xjge.physics;
+
+import dev.theskidster.xjge.main.Logger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import org.joml.Vector3f;
+import org.ode4j.math.DQuaternionC;
+import org.ode4j.math.DVector3C;
+import org.ode4j.ode.DBody;
+import org.ode4j.ode.DGeom;
+import org.ode4j.ode.DMass;
+import org.ode4j.ode.DSpace;
+import org.ode4j.ode.DWorld;
+import org.ode4j.ode.OdeHelper;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Rigid body simulation backed by ode4j. The service owns a single physics world and collision space which are stepped at a fixed rate on a dedicated thread
+ * once {@linkplain start() started}, independently of the game loop. Levels add bodies to the world through the service and receive a {@link RigidBody}
+ * handle in return, which entities use to exchange their position with the body.
+ * <br><br>
+ * The game thread never touches the physics world directly. Changes made through body handles are queued and applied by the physics thread before its next
+ * step, while the transform of every body is written to one of two buffers at the end of each step which then becomes the front buffer. The service is
+ * {@linkplain sync() synchronized} by the game loop at the start of every tick, which copies the transforms from the front buffer into each handle. The
+ * physics thread only waits on the game thread if it finishes two steps in the time it takes the game thread to read one buffer.
+ * <br><br>
+ * Methods of this class other than the setters for its parameters should only be called from the thread which updates the current level. Bodies may be
+ * {@linkplain RigidBody#remove() removed} from any thread.
+ */
+public final class PhysicsService {
+    
+    private static volatile int stepRate = 60;
+    private static int nextId            = 1;
+    private static int numSlots;
+    private static int numFree;
+    private static int[] freeSlots = new int[64];
+    
+    private static volatile int front;
+    private static volatile int reading = -1;
+    private static volatile boolean running;
+    private static volatile float stepTime;
+    private static volatile int numContacts;
+    private static volatile int numDropped;
+    
+    private static final int STRIDE           = 7;
+    private static final int MAX_CATCH_UP     = 4;
+    private static final int CONTACTS         = 16_384;
+    private static final float STEP_SMOOTHING = 0.05f;
+    
+    private static boolean initialized;
+    private static Thread thread;
+    private static DWorld world;
+    private static DSpace space;
+    private static ContactPool contacts;
+    
+    private static final List<RigidBody> bodies   = new ArrayList<>();
+    private static final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private static final TransformBuffer[] buffers = {new TransformBuffer(), new TransformBuffer()};
+    
+    private static DBody[] slotBodies = new DBody[64];
+    private static DGeom[] slotGeoms  = new DGeom[64];
+    private static int[] slotIds      = new int[64];
+    
+    /**
+     * The transform of every body in the world as of the end of a step, indexed by slot.
+     */
+    private static final class TransformBuffer {
+        int numSlots;
+        int[] ids      = new int[64];
+        float[] values = new float[64 * STRIDE];
+    }
+    
+    /**
+     * Creates the physics world and starts the thread which steps it. Bodies added before the service was started are created by the first step. Has no
+     * effect if the service is already running.
+     */
+    public static void start() {
+        if(running) return;
+        
+        if(!initialized) {
+            OdeHelper.initODE2(0);
+            initialized = true;
+        }
+        
+        world = OdeHelper.createWorld();
+        world.setGravity(0, -9.81, 0);
+        world.setERP(0.2);
+        world.setCFM(1e-5);
+        world.setQuickStepNumIterations(10);
+        world.setContactMaxCorrectingVel(10);
+        world.setContactSurfaceLayer(0.001);
+        world.setAutoDisableFlag(true);
+        
+        space    = OdeHelper.createHashSpace();
+        contacts = new ContactPool(world, CONTACTS);
+        
+        running = true;
+        
+        thread = new Thread(PhysicsService::run, "xjge-physics");
+        thread.setDaemon(true);
+        thread.start();
+        
+        Logger.logInfo("Physics started (" + stepRate + " steps per second)");
+    }
+    
+    /**
+     * Stops the physics thread and destroys the physics world along with every body it contains. Existing body handles become invalid.
+     */
+    public static void stop() {
+        if(!running) return;
+        
+        running = false;
+        LockSupport.unpark(thread);
+        
+        try {
+            thread.join();
+        } catch(InterruptedException e) {
+            Logger.logWarning(e.getMessage(), e);
+        }
+        
+        contacts.destroy();
+        space.destroy();
+        world.destroy();
+        
+        commands.clear();
+        for(RigidBody body : bodies) body.removed = true;
+        bodies.clear();
+        
+        Arrays.fill(slotBodies, null);
+        Arrays.fill(slotGeoms, null);
+        Arrays.fill(slotIds, 0);
+        
+        for(TransformBuffer buffer : buffers) buffer.numSlots = 0;
+        
+        numSlots = 0;
+        numFree  = 0;
+        front    = 0;
+    }
+    
+    /**
+     * Steps the physics world at a fixed rate until the service is stopped. Steps which are owed after a stall are dropped once the maximum number of
+     * catch-up steps has been reached.
+     */
+    private static void run() {
+        double delta  = 0;
+        long prevTime = System.nanoTime();
+        
+        try {
+            while(running) {
+                double targetDelta = 1.0 / stepRate;
+                long currTime      = System.nanoTime();
+                
+                delta   += (currTime - prevTime) / 1_000_000_000.0;
+                prevTime = currTime;
+                
+                int burst = 0;
+                
+                while(delta >= targetDelta && burst < MAX_CATCH_UP && running) {
+                    delta -= targetDelta;
+                    burst++;
+                    
+                    step(targetDelta);
+                }
+                
+                if(burst == MAX_CATCH_UP) delta = Math.min(delta, targetDelta);
+                
+                if(delta < targetDelta) {
+                    LockSupport.parkNanos((long) ((targetDelta - delta) * 1_000_000_000.0));
+                }
+            }
+        } catch(Exception e) {
+            Logger.logSevere("Physics thread encountered an unrecoverable error.", e);
+        }
+    }
+    
+    /**
+     * Applies any queued changes, resolves collisions, advances the world by a single step, and publishes the resulting transforms.
+     * 
+     * @param delta the amount of time to advance the world by in seconds
+     */
+    private static void step(double delta) {
+        long start = System.nanoTime();
+        
+        Runnable command;
+        while((command = commands.poll()) != null) command.run();
+        
+        space.collide(null, PhysicsService::nearCallback);
+        numContacts = contacts.getNumUsed();
+        numDropped  = contacts.getNumDropped();
+        
+        world.quickStep(delta);
+        contacts.release();
+        
+        publish();
+        
+        stepTime += (((System.nanoTime() - start) / 1_000_000f) - stepTime) * STEP_SMOOTHING;
+    }
+    
+    /**
+     * Called by the collision space for each pair of geometry whose bounds overlap. Static geometry is never tested against other static geometry.
+     */
+    private static void nearCallback(Object data, DGeom o1, DGeom o2) {
+        DBody b1 = o1.getBody();
+        DBody b2 = o2.getBody();
+        
+        if(b1 == null && b2 == null) return;
+        if(b1 != null && b2 != null && OdeHelper.areConnected(b1, b2)) return;
+        
+        contacts.collide(o1, o2);
+    }
+    
+    /**
+     * Writes the transform of every dynamic body to the back buffer and swaps it with the front buffer. If the game thread is still reading the back buffer
+     * from before the previous swap, the physics thread waits for it to finish.
+     */
+    private static void publish() {
+        int back = 1 - front;
+        
+        while(reading == back) Thread.onSpinWait();
+        
+        TransformBuffer buffer = buffers[back];
+        int size = slotIds.length;
+        
+        if(buffer.ids.length < size) {
+            buffer.ids    = new int[size];
+            buffer.values = new float[size * STRIDE];
+        }
+        
+        for(int slot = 0; slot < size; slot++) {
+            DBody body = slotBodies[slot];
+            
+            if(body == null) {
+                buffer.ids[slot] = 0;
+                continue;
+            }
+            
+            DVector3C position    = body.getPosition();
+            DQuaternionC rotation = body.getQuaternion();
+            int offset            = slot * STRIDE;
+            
+            buffer.values[offset]     = (float) position.get0();
+            buffer.values[offset + 1] = (float) position.get1();
+            buffer.values[offset + 2] = (float) position.get2();
+            buffer.values[offset + 3] = (float) rotation.get1();
+            buffer.values[offset + 4] = (float) rotation.get2();
+            buffer.values[offset + 5] = (float) rotation.get3();
+            buffer.values[offset + 6] = (float) rotation.get0();
+            buffer.ids[slot]          = slotIds[slot];
+        }
+        
+        buffer.numSlots = size;
+        front           = back;
+    }
+    
+    /**
+     * <b>*For internal use only*</b>
+     * <br><br>
+     * Copies the transforms published by the most recent step into every body handle and releases the slots of any bodies which have been removed since the
+     * previous tick. Called automatically by the game loop at the start of each tick. Bodies which haven't yet been created by the physics thread keep their initial position.
+     */
+    public static void sync() {
+        if(bodies.isEmpty()) return;
+        
+        int index;
+        
+        do {
+            index   = front;
+            reading = index;
+        } while(index != front);
+        
+        TransformBuffer buffer = buffers[index];
+        
+        for(int i = 0; i < bodies.size(); i++) {
+            RigidBody body = bodies.get(i);
+            
+            if(body.removed) {
+                RigidBody last = bodies.remove(bodies.size() - 1);
+                if(last != body) bodies.set(i--, last);
+                
+                if(numFree == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, numFree * 2);
+                freeSlots[numFree++] = body.slot;
+                
+                continue;
+            }
+            
+            if(body.getDynamic() && body.slot < buffer.numSlots && buffer.ids[body.slot] == body.id) {
+                body.sync(buffer.values, body.slot * STRIDE);
+            }
+        }
+        
+        reading = -1;
+    }
+    
+    /**
+     * Adds a sphere to the physics world.
+     * 
+     * @param position the initial position of the sphere
+     * @param radius   the radius of the sphere
+     * @param mass     the total mass of the sphere. Spheres with a mass of zero are static.
+     * @return a handle to the new body
+     */
+    public static RigidBody addSphere(Vector3f position, float radius, float mass) {
+        return add(position, mass, (space, dMass) -> {
+            DGeom geom = OdeHelper.createSphere(space, radius);
+            if(dMass != null) dMass.setSphereTotal(mass, radius);
+            return geom;
+        });
+    }
+    
+    /**
+     * Adds a box to the physics world.
+     * 
+     * @param position the initial position of the box
+     * @param size     the length of the box along each axis
+     * @param mass     the total mass of the box. Boxes with a mass of zero are static.
+     * @return a handle to the new body
+     */
+    public static RigidBody addBox(Vector3f position, Vector3f size, float mass) {
+        float x = size.x;
+        float y = size.y;
+        float z = size.z;
+        
+        return add(position, mass, (space, dMass) -> {
+            DGeom geom = OdeHelper.createBox(space, x, y, z);
+            if(dMass != null) dMass.setBoxTotal(mass, x, y, z);
+            return geom;
+        });
+    }
+    
+    /**
+     * Adds an infinite static plane to the physics world. Typically used as the ground of a level.
+     * 
+     * @param normal   the direction the plane faces
+     * @param distance the distance of the plane from the world origin along its normal
+     * @return a handle to the new plane
+     */
+    public static RigidBody addPlane(Vector3f normal, float distance) {
+        float x = normal.x;
+        float y = normal.y;
+        float z = normal.z;
+        
+        return add(new Vector3f(), 0, (space, dMass) -> OdeHelper.createPlane(space, x, y, z, distance));
+    }
+    
+    /**
+     * Creates the geometry of a body along with its mass on the physics thread.
+     */
+    @FunctionalInterface
+    private interface Shape {
+        DGeom create(DSpace space, DMass mass);
+    }
+    
+    /**
+     * Reserves a slot for a new body and queues its creation.
+     */
+    private static RigidBody add(Vector3f position, float mass, Shape shape) {
+        int slot = (numFree > 0) ? freeSlots[--numFree] : numSlots++;
+        
+        RigidBody handle = new RigidBody(nextId++, slot, position, mass > 0);
+        bodies.add(handle);
+        
+        float x = position.x;
+        float y = position.y;
+        float z = position.z;
+        
+        commands.add(() -> {
+            if(slot >= slotIds.length) {
+                int length = Math.max(slotIds.length * 2, slot + 1);
+                
+                slotBodies = Arrays.copyOf(slotBodies, length);
+                slotGeoms  = Arrays.copyOf(slotGeoms, length);
+                slotIds    = Arrays.copyOf(slotIds, length);
+            }
+            
+            if(mass > 0) {
+                DMass dMass = OdeHelper.createMass();
+                DGeom geom  = shape.create(space, dMass);
+                DBody body  = OdeHelper.createBody(world);
+                
+                body.setMass(dMass);
+                body.setPosition(x, y, z);
+                geom.setBody(body);
+                
+                slotBodies[slot] = body;
+                slotGeoms[slot]  = geom;
+            } else {
+                DGeom geom = shape.create(space, null);
+                if(geom.getClassID() != DGeom.dPlaneClass) geom.setPosition(x, y, z);
+                
+                slotGeoms[slot] = geom;
+            }
+            
+            slotIds[slot] = handle.id;
+        });
+        
+        return handle;
+    }
+    
+    /**
+     * Queues an operation on the physics world version of a body.
+     * 
+     * @param handle     the handle of the body
+     * @param bodyAction the operation to perform if the body is dynamic
+     * @param geomAction the operation to perform if the body is static, may be null
+     */
+    static void submit(RigidBody handle, Consumer<DBody> bodyAction, Consumer<DGeom> geomAction) {
+        if(handle.removed) return;
+        
+        int slot = handle.slot;
+        int id   = handle.id;
+        
+        commands.add(() -> {
+            if(slotIds[slot] != id) return;
+            
+            if(slotBodies[slot] != null) bodyAction.accept(slotBodies[slot]);
+            else if(geomAction != null)  geomAction.accept(slotGeoms[slot]);
+        });
+    }
+    
+    /**
+     * Queues the removal of a body from the physics world. The slot of the body is released by the next call to {@link sync()}.
+     * 
+     * @param handle the handle of the body to remove
+     */
+    static void remove(RigidBody handle) {
+        if(handle.removed) return;
+        
+        handle.removed = true;
+        
+        int slot = handle.slot;
+        int id   = handle.id;
+        
+        commands.add(() -> {
+            if(slotIds[slot] != id) return;
+            
+            slotGeoms[slot].destroy();
+            if(slotBodies[slot] != null) slotBodies[slot].destroy();
+            
+            slotBodies[slot] = null;
+            slotGeoms[slot]  = null;
+            slotIds[slot]    = 0;
+        });
+    }
+    
+    /**
+     * Sets the acceleration applied to every dynamic body in the world.
+     * 
+     * @param value the acceleration due to gravity in units per second squared
+     */
+    public static void setGravity(Vector3f value) {
+        float x = value.x;
+        float y = value.y;
+        float z = value.z;
+        
+        commands.add(() -> world.setGravity(x, y, z));
+    }
+    
+    public static boolean getRunning() { return running; }
+    public static int getStepRate()    { return stepRate; }
+    public static int getNumBodies()   { return bodies.size(); }
+    public static int getNumContacts() { return numContacts; }
+    public static int getNumDropped()  { return numDropped; }
+    public static float getStepTime()  { return stepTime; }
+    
+    /**
+     * Sets the number of times the physics world is stepped each second. The amount of time simulated by each step is the inverse of this value.
+     * 
+     * @param value the number of steps per second, between 1 and 1000
+     */
+    public static void setStepRate(int value) {
+        if(value > 0 && value <= 1000) {
+            stepRate = value;
+            Logger.logInfo("Physics step rate changed: (" + stepRate + ")");
+        } else {
+            Logger.logWarning("Failed to set physics step rate. Value must be between 1 and 1000.", null);
+        }
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package dev.theskidster.xjge.physics;
+
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Handle to a body simulated by the {@link PhysicsService}. The body itself lives on the physics thread, the handle exposes the position and rotation of the
+ * body as of the most recent step and forwards any changes made through it to the physics thread to be applied before the next one. Entities moved by a body
+ * should copy its position from the handle in their {@link dev.theskidster.xjge.entities.Entity#update() update()} method so that their previous position is
+ * preserved for interpolation.
+ * <br><br>
+ * Handles should only be used from the thread which updates the current level. Bodies created with a mass of zero are static and never move, their handles
+ * only serve to remove them from the world.
+ * 
+ * @see PhysicsService#addSphere(Vector3f, float, float)
+ * @see PhysicsService#addBox(Vector3f, Vector3f, float)
+ */
+public final class RigidBody {
+    
+    final int id;
+    final int slot;
+    volatile boolean removed;
+    
+    private final boolean dynamic;
+    
+    final Vector3f position    = new Vector3f();
+    final Quaternionf rotation = new Quaternionf();
+    
+    /**
+     * Creates a new handle.
+     * 
+     * @param id       the unique id of the body, used to tell it apart from previous bodies which occupied the same slot
+     * @param slot     the slot of the body in the transform buffers shared with the physics thread
+     * @param position the initial position of the body
+     * @param dynamic  if true, the body will be moved by the physics world
+     */
+    RigidBody(int id, int slot, Vector3f position, boolean dynamic) {
+        this.id      = id;
+        this.slot    = slot;
+        this.dynamic = dynamic;
+        
+        this.position.set(position);
+    }
+    
+    /**
+     * Copies the transform of the body published by the physics thread into this handle.
+     * 
+     * @param data   the buffer the transform was published to
+     * @param offset the index of the first value of the transform
+     */
+    void sync(float[] data, int offset) {
+        position.set(data[offset], data[offset + 1], data[offset + 2]);
+        rotation.set(data[offset + 3], data[offset + 4], data[offset + 5], data[offset + 6]);
+    }
+    
+    public boolean getDynamic() { return dynamic; }
+    public boolean getRemoved() { return removed; }
+    
+    /**
+     * Obtains the position of the body as of the most recent step.
+     * 
+     * @param dest the vector which will contain the position of the body
+     * @return the destination vector
+     */
+    public Vector3f getPosition(Vector3f dest) {
+        return dest.set(position);
+    }
+    
+    /**
+     * Obtains the rotation of the body as of the most recent step.
+     * 
+     * @param dest the quaternion which will contain the rotation of the body
+     * @return the destination quaternion
+     */
+    public Quaternionf getRotation(Quaternionf dest) {
+        return dest.set(rotation);
+    }
+    
+    /**
+     * Moves the body to a new position before the next step.
+     * 
+     * @param value the new position of the body
+     */
+    public void setPosition(Vector3f value) {
+        float x = value.x;
+        float y = value.y;
+        float z = value.z;
+        
+        position.set(value);
+        
+        PhysicsService.submit(this, body -> {
+            body.setPosition(x, y, z);
+            body.enable();
+        }, geom -> geom.setPosition(x, y, z));
+    }
+    
+    /**
+     * Sets the linear velocity of the body before the next step. Has no effect on static bodies.
+     * 
+     * @param value the new velocity of the body in units per second
+     */
+    public void setLinearVelocity(Vector3f value) {
+        float x = value.x;
+        float y = value.y;
+        float z = value.z;
+        
+        PhysicsService.submit(this, body -> {
+            body.setLinearVel(x, y, z);
+            body.enable();
+        }, null);
+    }
+    
+    /**
+     * Applies a force to the center of the body during the next step. Has no effect on static bodies.
+     * 
+     * @param value the force to apply
+     */
+    public void addForce(Vector3f value) {
+        float x = value.x;
+        float y = value.y;
+        float z = value.z;
+        
+        PhysicsService.submit(this, body -> {
+            body.addForce(x, y, z);
+            body.enable();
+        }, null);
+    }
+    
+    /**
+     * Removes the body from the physics world. May be called from any thread, the handle should not be used once the body has been removed.
+     */
+    public void remove() {
+        PhysicsService.remove(this);
+    }
+    
+}
\ No newline at end of file
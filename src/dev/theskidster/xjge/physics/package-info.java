@@ -0,0 +1,12 @@
+/**
+ * Provides rigid body physics through the ode4j library. A single physics world is owned by the {@link PhysicsService}, which steps it on a dedicated thread 
+ * at a fixed rate of its own and exchanges the transforms of its bodies with the game thread through a pair of buffers, so collision detection and 
+ * resolution never delay the game loop.
+ * <p>
+ * Levels add bodies to the world through the service and are returned a {@link RigidBody} handle for each. Entities moved by a body read its position from the 
+ * handle during their {@link dev.theskidster.xjge.entities.Entity#update() update()} method, while forces, velocities, and teleports applied through the 
+ * handle are forwarded to the physics thread and take effect on its next step. Levels which use physics are expected to 
+ * {@linkplain PhysicsService#start() start} the service once they've been initialized and {@linkplain PhysicsService#stop() stop} it when they exit.
+ * </p>
+ */
+package dev.theskidster.xjge.physics;
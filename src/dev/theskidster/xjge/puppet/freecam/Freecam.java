@@ -1,6 +1,7 @@
 package dev.theskidster.xjge.puppet.freecam;
 
 import org.joml.Vector3f;
+import dev.theskidster.xjge.main.Game;
 import dev.theskidster.xjge.util.Camera;
 import dev.theskidster.xjge.shader.core.ShaderCore;
 
@@ -52,7 +53,8 @@ public class Freecam extends Camera {
         ShaderCore.getPrograms().forEach(name -> {
             ShaderCore.use(name);
             
-            viewMatrix.setLookAt(position, position.add(direction, tempFront), up);
+            findRenderPosition(Game.getAlpha());
+            viewMatrix.setLookAt(renderPosition, renderPosition.add(direction, tempFront), up);
             ShaderCore.setMat4("uView", false, viewMatrix);
         });
     }
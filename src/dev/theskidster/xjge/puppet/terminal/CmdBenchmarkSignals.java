@@ -0,0 +1,145 @@
+package dev.theskidster.xjge.puppet.terminal;
+
+import java.beans.PropertyChangeListener;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import dev.theskidster.xjge.main.Logger;
+import dev.theskidster.xjge.util.Color;
+import dev.theskidster.xjge.util.IntSignal;
+import dev.theskidster.xjge.util.Observable;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+class CmdBenchmarkSignals extends TerminalCommand {
+    
+    private int sink;
+    
+    private static final int NUM_OBSERVERS = 4;
+    
+    public CmdBenchmarkSignals() {
+        super("Compares the time and memory used to notify observers through an Observable against an IntSignal.",
+              
+              "Optionally accepts the number of notifications to perform, which defaults to 1000000. The game will be unresponsive while " +
+              "the benchmark is running.",
+              
+              "benchmarkSignals [<int>]");
+    }
+    
+    @Override
+    public void execute(List<String> args) {
+        output = null;
+        
+        int count = 1_000_000;
+        
+        if(args.size() > 1) {
+            setOutput(errorTooManyArgs(args.size(), 1), Color.RED);
+            return;
+        } else if(!args.isEmpty()) {
+            try {
+                count = Integer.parseInt(args.get(0));
+            } catch(NumberFormatException e) {
+                setOutput(errorInvalidArg(args.get(0), "(int)"), Color.RED);
+                return;
+            }
+            
+            if(count <= 0) {
+                setOutput("ERROR: Value out of bounds, must be greater than 0.", Color.RED);
+                return;
+            }
+        }
+        
+        final int n    = count;
+        var observable = new Observable(this);
+        var signal     = new IntSignal();
+        
+        for(int i = 0; i < NUM_OBSERVERS; i++) {
+            PropertyChangeListener observer = evt -> sink += (Integer) evt.getNewValue();
+            IntSignal.Slot slot             = value -> sink += value;
+            
+            observable.addObserver(observer);
+            signal.connect(slot);
+        }
+        
+        //Warm up both paths so the JIT compiler has a chance to optimize them.
+        runObservable(observable, count / 10);
+        runSignal(signal, count / 10);
+        
+        long[] observableResult = measure(() -> runObservable(observable, n));
+        long[] signalResult     = measure(() -> runSignal(signal, n));
+        
+        String result = String.format("Observable: %.1fns %s | IntSignal: %.1fns %s (per notification, %d observers)",
+                                      observableResult[0] / (double) count, formatBytes(observableResult[1], count),
+                                      signalResult[0] / (double) count, formatBytes(signalResult[1], count),
+                                      NUM_OBSERVERS);
+        
+        Logger.logInfo(result);
+        setOutput(result, Color.WHITE);
+    }
+    
+    /**
+     * Formats the number of bytes allocated by each notification.
+     * 
+     * @param bytes the total number of bytes allocated, or -1 if allocations couldn't be measured
+     * @param count the number of notifications performed
+     * @return the bytes allocated per notification, or "n/a" if they couldn't be measured
+     */
+    private static String formatBytes(long bytes, int count) {
+        return (bytes < 0) ? "n/a" : (bytes / count) + "B";
+    }
+    
+    /**
+     * Notifies the observers of an observable with a changing value.
+     * 
+     * @param observable the observable to notify through
+     * @param count      the number of notifications to perform
+     */
+    private void runObservable(Observable observable, int count) {
+        for(int i = 0; i < count; i++) observable.notifyObservers("value", i);
+    }
+    
+    /**
+     * Emits a changing value through a signal.
+     * 
+     * @param signal the signal to emit through
+     * @param count  the number of notifications to perform
+     */
+    private void runSignal(IntSignal signal, int count) {
+        for(int i = 0; i < count; i++) signal.emit(i);
+    }
+    
+    /**
+     * Measures the time taken and memory allocated by the current thread while performing a task.
+     * 
+     * @param task the task to measure
+     * @return an array containing the elapsed time in nanoseconds and the number of bytes allocated, or -1 if allocations can't be measured on this JVM
+     */
+    private long[] measure(Runnable task) {
+        long startBytes = findAllocatedBytes();
+        long startTime  = System.nanoTime();
+        
+        task.run();
+        
+        long elapsed = System.nanoTime() - startTime;
+        long bytes   = (startBytes < 0) ? -1 : findAllocatedBytes() - startBytes;
+        
+        return new long[] {elapsed, bytes};
+    }
+    
+    /**
+     * Finds the total number of bytes allocated by the current thread.
+     * 
+     * @return the number of bytes allocated or -1 if the JVM doesn't support this measurement
+     */
+    private long findAllocatedBytes() {
+        if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            var bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        
+        return -1;
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package dev.theskidster.xjge.puppet.terminal;
+
+import java.util.List;
+import dev.theskidster.xjge.main.Profiler;
+import dev.theskidster.xjge.util.Color;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+class CmdDumpProfiler extends TerminalCommand {
+    
+    public CmdDumpProfiler() {
+        super("Writes the phase timings of recent frames recorded by the profiler to a CSV file in the working directory.",
+              
+              "Simply type dumpProfiler to use. This command contains no " +
+              "additional parameters.",
+              
+              "dumpProfiler");
+    }
+    
+    @Override
+    public void execute(List<String> args) {
+        String filename = Profiler.dumpCSV();
+        
+        if(filename != null) setOutput("Profiler data written to \"" + filename + "\"", Color.WHITE);
+        else                 setOutput("Failed to write profiler data.", Color.RED);
+    }
+    
+}
\ No newline at end of file
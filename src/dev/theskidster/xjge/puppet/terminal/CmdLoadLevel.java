@@ -0,0 +1,40 @@
+package dev.theskidster.xjge.puppet.terminal;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import dev.theskidster.xjge.level.LevelMap;
+import dev.theskidster.xjge.main.Game;
+import dev.theskidster.xjge.util.Color;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+class CmdLoadLevel extends TerminalCommand {
+    
+    public CmdLoadLevel() {
+        super("Changes the current level of the game to one loaded from a level file.",
+              
+              "Pass the name of a file previously written by the saveLevel command.",
+              
+              "loadLevel (<filename>)");
+    }
+    
+    @Override
+    public void execute(List<String> args) {
+        output = null;
+        
+        if(args.isEmpty()) {
+            setOutput(errorNotEnoughArgs(1), Color.RED);
+        } else if(args.size() > 1) {
+            setOutput(errorTooManyArgs(args.size(), 1), Color.RED);
+        } else if(!Files.isRegularFile(Path.of(args.get(0)))) {
+            setOutput(errorInvalidArg(args.get(0), "<filename>"), Color.RED);
+        } else {
+            Game.setLevel(new LevelMap(args.get(0)));
+        }
+    }
+    
+}
\ No newline at end of file
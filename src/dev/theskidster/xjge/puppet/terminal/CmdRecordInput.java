@@ -0,0 +1,45 @@
+package dev.theskidster.xjge.puppet.terminal;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import dev.theskidster.xjge.hardware.InputRecorder;
+import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.util.Color;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+class CmdRecordInput extends TerminalCommand {
+    
+    public CmdRecordInput() {
+        super("Starts or stops recording the input of each device along with the state of the level every tick.",
+              
+              "Optionally accepts the name of the file to record to. If a recording is already in progress it will be stopped and written " +
+              "to its file instead.",
+              
+              "recordInput [<filename>]");
+    }
+    
+    @Override
+    public void execute(List<String> args) {
+        output = null;
+        
+        if(args.size() > 1) {
+            setOutput(errorTooManyArgs(args.size(), 1), Color.RED);
+        } else if(InputRecorder.getRecording()) {
+            if(App.stopRecording()) setOutput("Input recording written to \"" + InputRecorder.getFilename() + "\"", Color.WHITE);
+            else                    setOutput("Failed to write input recording.", Color.RED);
+        } else {
+            String filename = (args.isEmpty())
+                            ? "input " + new SimpleDateFormat("MM-dd-yyyy h-mma").format(new Date()) + ".xjir"
+                            : args.get(0);
+            
+            if(App.startRecording(filename)) setOutput("Recording input to \"" + filename + "\"", Color.WHITE);
+            else                             setOutput("Failed to start input recording.", Color.RED);
+        }
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package dev.theskidster.xjge.puppet.terminal;
+
+import java.util.List;
+import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.util.Color;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+class CmdReplayInput extends TerminalCommand {
+    
+    public CmdReplayInput() {
+        super("Replays input previously captured with recordInput.",
+              
+              "Requires the name of the recording file. The replay will only match the recording if the level is in the same state it was " +
+              "when recording began.",
+              
+              "replayInput (<filename>)");
+    }
+    
+    @Override
+    public void execute(List<String> args) {
+        output = null;
+        
+        if(args.isEmpty()) {
+            setOutput(errorNotEnoughArgs(1), Color.RED);
+        } else if(args.size() > 1) {
+            setOutput(errorTooManyArgs(args.size(), 1), Color.RED);
+        } else {
+            if(App.startReplay(args.get(0))) setOutput("Replaying input from \"" + args.get(0) + "\"", Color.WHITE);
+            else                             setOutput("Failed to start input replay.", Color.RED);
+        }
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package dev.theskidster.xjge.puppet.terminal;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import dev.theskidster.xjge.main.Game;
+import dev.theskidster.xjge.util.Color;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+class CmdSaveLevel extends TerminalCommand {
+    
+    public CmdSaveLevel() {
+        super("Saves the entities, light sources, and skybox of the current level to a level file.",
+              
+              "Optionally accepts the name of the file to write. The file can be loaded again using the loadLevel command.",
+              
+              "saveLevel [<filename>]");
+    }
+    
+    @Override
+    public void execute(List<String> args) {
+        output = null;
+        
+        if(args.size() > 1) {
+            setOutput(errorTooManyArgs(args.size(), 1), Color.RED);
+        } else {
+            String filename = (args.isEmpty())
+                            ? "level " + new SimpleDateFormat("MM-dd-yyyy h-mma").format(new Date()) + ".xjlv"
+                            : args.get(0);
+            
+            Game.saveLevel(filename);
+            setOutput("Saving level to \"" + filename + "\"", Color.WHITE);
+        }
+    }
+    
+}
\ No newline at end of file
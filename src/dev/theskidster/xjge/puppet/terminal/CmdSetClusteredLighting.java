@@ -0,0 +1,42 @@
+package dev.theskidster.xjge.puppet.terminal;
+
+import java.util.List;
+import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.util.Color;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+class CmdSetClusteredLighting extends TerminalCommand {
+    
+    public CmdSetClusteredLighting() {
+        super("Changes whether point lights are assigned to clusters, lifting the limit on the number of lights a level may contain.",
+
+              useGenericShowing("clustered lighting"),
+
+              "setClusteredLighting [true|false]");
+    }
+
+    @Override
+    public void execute(List<String> args) {
+        output = null;
+
+        if(!args.isEmpty()) {
+            String parameter = args.get(0);
+
+            if(parameter.equals("true") || parameter.equals("false")) {
+                boolean value = Boolean.parseBoolean(parameter);
+                setOutput("Clustered lighting changed: (" + value + ")", Color.WHITE);
+                App.setClusteredLighting(value);
+            } else {
+                setOutput(errorInvalidArg(parameter, "(true) or (false)"), Color.RED);
+            }
+        } else {
+            App.setClusteredLighting(!App.getClusteredLighting());
+            setOutput("Clustered lighting changed: (" + App.getClusteredLighting() + ")", Color.WHITE);
+        }
+    }
+    
+}
\ No newline at end of file
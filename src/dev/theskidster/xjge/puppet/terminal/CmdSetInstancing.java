@@ -0,0 +1,42 @@
+package dev.theskidster.xjge.puppet.terminal;
+
+import java.util.List;
+import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.util.Color;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+class CmdSetInstancing extends TerminalCommand {
+    
+    public CmdSetInstancing() {
+        super("Changes whether instances of the same model are drawn together using a single draw call per mesh.",
+
+              useGenericShowing("instancing"),
+
+              "setInstancing [true|false]");
+    }
+
+    @Override
+    public void execute(List<String> args) {
+        output = null;
+
+        if(!args.isEmpty()) {
+            String parameter = args.get(0);
+
+            if(parameter.equals("true") || parameter.equals("false")) {
+                boolean value = Boolean.parseBoolean(parameter);
+                setOutput("Instancing changed: (" + value + ")", Color.WHITE);
+                App.setInstancing(value);
+            } else {
+                setOutput(errorInvalidArg(parameter, "(true) or (false)"), Color.RED);
+            }
+        } else {
+            App.setInstancing(!App.getInstancing());
+            setOutput("Instancing changed: (" + App.getInstancing() + ")", Color.WHITE);
+        }
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package dev.theskidster.xjge.puppet.terminal;
+
+import java.util.List;
+import dev.theskidster.xjge.main.Game;
+import dev.theskidster.xjge.util.Color;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+class CmdSetMaxCatchUpSteps extends TerminalCommand {
+    
+    public CmdSetMaxCatchUpSteps() {
+        super("Sets the maximum number of ticks the game may process back-to-back while catching up after a stall.", 
+
+              "Requires an integer between 1 and 1000. Ticks still owed once this limit is reached are dropped, slowing game time " + 
+              "relative to real time.",
+
+              "setMaxCatchUpSteps (<int>)");
+    }
+
+    @Override
+    public void execute(List<String> args) {
+        output = null;
+        
+        if(args.isEmpty()) {
+            setOutput(errorNotEnoughArgs(1), Color.RED);
+        } else {
+            if(args.size() > 1) {
+                setOutput(errorTooManyArgs(args.size(), 1), Color.RED);
+            } else {
+                try {
+                    int value = Integer.parseInt(args.get(0));
+
+                    if(value > 0 && value <= 1000) {
+                        Game.setMaxCatchUpSteps(value);
+                        setOutput("Max catch-up steps changed: (" + value + ")", Color.WHITE);
+                    } else {
+                        setOutput("ERROR: Value out of bounds, must be between 1 and 1000.", Color.RED);
+                    }
+                } catch(NumberFormatException e) {
+                    setOutput(errorInvalidArg(args.get(0), "(int)"), Color.RED);
+                }
+            }
+        }
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package dev.theskidster.xjge.puppet.terminal;
+
+import java.util.List;
+import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.util.Color;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+class CmdSetRenderSorting extends TerminalCommand {
+    
+    public CmdSetRenderSorting() {
+        super("Changes whether draw calls are sorted by the state they require to reduce the number of binds issued.",
+
+              useGenericShowing("render sorting"),
+
+              "setRenderSorting [true|false]");
+    }
+
+    @Override
+    public void execute(List<String> args) {
+        output = null;
+
+        if(!args.isEmpty()) {
+            String parameter = args.get(0);
+
+            if(parameter.equals("true") || parameter.equals("false")) {
+                boolean value = Boolean.parseBoolean(parameter);
+                setOutput("Render sorting changed: (" + value + ")", Color.WHITE);
+                App.setRenderSorting(value);
+            } else {
+                setOutput(errorInvalidArg(parameter, "(true) or (false)"), Color.RED);
+            }
+        } else {
+            App.setRenderSorting(!App.getRenderSorting());
+            setOutput("Render sorting changed: (" + App.getRenderSorting() + ")", Color.WHITE);
+        }
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package dev.theskidster.xjge.puppet.terminal;
+
+import java.util.List;
+import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.util.Color;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+class CmdSetTargetFPS extends TerminalCommand {
+    
+    public CmdSetTargetFPS() {
+        super("Sets the number of frames the game will attempt to render each second.", 
+
+              "Requires a positive integer, passing 0 will disable frame pacing.",
+
+              "setTargetFPS (<int>)");
+    }
+
+    @Override
+    public void execute(List<String> args) {
+        output = null;
+        
+        if(args.isEmpty()) {
+            setOutput(errorNotEnoughArgs(1), Color.RED);
+        } else {
+            if(args.size() > 1) {
+                setOutput(errorTooManyArgs(args.size(), 1), Color.RED);
+            } else {
+                try {
+                    int value = Integer.parseInt(args.get(0));
+
+                    if(value >= 0) {
+                        App.setTargetFPS(value);
+                        setOutput("Target FPS changed: (" + value + ")", Color.WHITE);
+                    } else {
+                        setOutput("ERROR: Value out of bounds, must not be negative.", Color.RED);
+                    }
+                } catch(NumberFormatException e) {
+                    setOutput(errorInvalidArg(args.get(0), "(int)"), Color.RED);
+                }
+            }
+        }
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package dev.theskidster.xjge.puppet.terminal;
+
+import java.util.List;
+import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.util.Color;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+class CmdShowProfiler extends TerminalCommand {
+    
+    public CmdShowProfiler() {
+        super("Displays the time spent in each phase of the game loop over recent frames.",
+              
+              useGenericShowing("component visibility"),
+              
+              "showProfiler [true|false]");
+    }
+    
+    @Override
+    public void execute(List<String> args) {
+        output = null;
+        
+        if(!args.isEmpty()) {
+            String parameter = args.get(0);
+            
+            if(parameter.equals("true") || parameter.equals("false")) {
+                boolean value = Boolean.parseBoolean(parameter);
+                App.setShowProfiler(value);
+            } else {
+                setOutput(errorInvalidArg(parameter, "(true) or (false)"), Color.RED);
+            }
+        } else {
+            App.setShowProfiler(!App.getShowProfiler());
+        }
+    }
+    
+}
\ No newline at end of file
@@ -16,7 +16,9 @@ import dev.theskidster.xjge.ui.RectangleBatch;
 import dev.theskidster.xjge.ui.Text;
 import dev.theskidster.xjge.util.Color;
 import dev.theskidster.xjge.util.ServiceLocator;
+import dev.theskidster.xjge.util.Timeout;
 import dev.theskidster.xjge.util.Timer;
+import dev.theskidster.xjge.util.TimerService;
 
 /**
  * @author J Hoffman
@@ -52,7 +54,8 @@ public final class Terminal extends Component implements PropertyChangeListener
     private final TerminalOutput[] cmdOutput = new TerminalOutput[5];
     
     public RectangleBatch rectBatch;
-    private final Timer timer = new Timer(1, 20, this);
+    private final Timer timer   = new Timer(1, 20, this);
+    private final Timeout blink = new Timeout(() -> cursorBlink = !cursorBlink);
     
     Map<String, TerminalCommand> commands       = new TreeMap<>();
     private final Map<Integer, Key> keyChars    = new HashMap<>();
@@ -87,24 +90,37 @@ public final class Terminal extends Component implements PropertyChangeListener
         
         //ENGINE
         commands.put("beep",                 new CmdBeep());
+        commands.put("benchmarkSignals",     new CmdBenchmarkSignals());
         commands.put("cls",                  new CmdCLS());
+        commands.put("dumpProfiler",         new CmdDumpProfiler());
         commands.put("help",                 new CmdHelp());
+        commands.put("recordInput",          new CmdRecordInput());
+        commands.put("replayInput",          new CmdReplayInput());
         commands.put("setAudioDevice",       new CmdSetAudioDevice());
+        commands.put("setClusteredLighting", new CmdSetClusteredLighting());
         commands.put("setDisplayDevice",     new CmdSetDisplayDevice());
         commands.put("setFullscreen",        new CmdSetFullscreen());
+        commands.put("setInstancing",        new CmdSetInstancing());
+        commands.put("setMaxCatchUpSteps",   new CmdSetMaxCatchUpSteps());
         commands.put("setMusicMasterVolume", new CmdSetMusicMasterVolume());
+        commands.put("setRenderSorting",     new CmdSetRenderSorting());
         commands.put("setSoundMasterVolume", new CmdSetSoundMasterVolume());
         commands.put("setSplitType",         new CmdSetSplitType());
+        commands.put("setTargetFPS",         new CmdSetTargetFPS());
+        commands.put("setTickRate",          new CmdSetTickRate());
         commands.put("setVSync",             new CmdSetVSync());
         commands.put("setVideoMode",         new CmdSetVideoMode());
         commands.put("showInputInfo",        new CmdShowInputInfo());
         commands.put("showLightSources",     new CmdShowLightSources());
+        commands.put("showProfiler",         new CmdShowProfiler());
         commands.put("showRuntimeInfo",      new CmdShowRuntimeInfo());
         commands.put("showSystemInfo",       new CmdShowSystemInfo());
         commands.put("terminate",            new CmdTerminate());
         
         //GAMEPLAY
-        commands.put("setLevel", new CmdSetLevel());
+        commands.put("loadLevel", new CmdLoadLevel());
+        commands.put("saveLevel", new CmdSaveLevel());
+        commands.put("setLevel",  new CmdSetLevel());
         //TODO add more gameplay commands here.
         
         keyChars.put(GLFW_KEY_SPACE,      new Key(' ', ' '));
@@ -159,9 +175,6 @@ public final class Terminal extends Component implements PropertyChangeListener
 
     @Override
     public void update() {
-        timer.update();
-        if(Game.tick(20) && cursorIdle) cursorBlink = !cursorBlink;
-        
         if(!prevTyped.equals(typed.toString())) {
             suggest = commands.keySet().stream().anyMatch(name -> name.regionMatches(0, typed.toString(), 0, typed.length())) && typed.length() > 0;
             
@@ -207,7 +220,13 @@ public final class Terminal extends Component implements PropertyChangeListener
     public void propertyChange(PropertyChangeEvent evt) {
         switch(evt.getPropertyName()) {
             //Used for cursor timer
-            case "finished" -> cursorIdle = (Boolean) evt.getNewValue();
+            case "finished" -> {
+                cursorIdle = (Boolean) evt.getNewValue();
+                
+                //The cursor only blinks while idle, so the blink is rescheduled each time the user stops typing.
+                if(cursorIdle) TimerService.schedule(blink, 20, 20);
+                else           blink.cancel();
+            }
         }
     }
     
@@ -418,7 +437,9 @@ public final class Terminal extends Component implements PropertyChangeListener
         TerminalOutput output;
         
         if(commands.containsKey(name)) {
-            commands.get(name).execute(args);
+            TerminalCommand cmd = commands.get(name);
+            
+            Game.runSuspended(() -> cmd.execute(args));
             output = commands.get(name).getOutput();
         } else {
             output = new TerminalOutput("ERROR: Command not recognized. Check syntax or use help.\n", Color.RED);
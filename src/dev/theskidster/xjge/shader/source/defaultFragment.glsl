@@ -3,6 +3,11 @@
 //Value should match the variable of the same name in the App class.
 #define MAX_LIGHTS 32
 
+//Values should match the variables of the same names in the LightClusters class.
+#define GRID_X 16
+#define GRID_Y 9
+#define GRID_Z 24
+
 in vec2 ioTexCoords;
 in vec3 ioColor;
 in vec3 ioNormal;
@@ -22,6 +27,14 @@ uniform sampler2D uTexture;
 uniform samplerCube uSkyTexture;
 uniform Light uLights[MAX_LIGHTS];
 uniform int uNumLights;
+uniform int uClustered;
+uniform float uClusterScale;
+uniform float uClusterBias;
+uniform vec2 uTileSize;
+uniform mat4 uView;
+uniform samplerBuffer uLightData;
+uniform isamplerBuffer uClusterGrid;
+uniform isamplerBuffer uLightIndices;
 
 out vec4 ioResult;
 
@@ -78,6 +91,34 @@ vec3 calcPointLight(Light light, vec3 normal, vec3 fragPos) {
     return (ambient + diffuse) * light.brightness;
 }
 
+/**
+ * Calculates the combined output of the point lights which affect the cluster 
+ * this fragment lies in. Each light fades to nothing at the edge of its range.
+ */
+vec3 calcClusteredLights(vec3 normal) {
+    float depth = -(uView * vec4(ioFragPos, 1)).z;
+    int slice   = clamp(int(log(max(depth, 0.0001)) * uClusterScale - uClusterBias), 0, GRID_Z - 1);
+    ivec2 tile  = clamp(ivec2(gl_FragCoord.xy / uTileSize), ivec2(0), ivec2(GRID_X - 1, GRID_Y - 1));
+    ivec2 list  = texelFetch(uClusterGrid, tile.x + tile.y * GRID_X + slice * GRID_X * GRID_Y).xy;
+    vec3 result = vec3(0);
+
+    for(int i = list.x; i < list.x + list.y; i++) {
+        int index = texelFetch(uLightIndices, i).x * 3;
+        vec4 a    = texelFetch(uLightData, index);
+        vec4 b    = texelFetch(uLightData, index + 1);
+        vec4 c    = texelFetch(uLightData, index + 2);
+
+        Light light = Light(b.w, c.w, a.xyz, b.xyz, c.xyz);
+
+        float ratio  = length(a.xyz - ioFragPos) / a.w;
+        float window = clamp(1.0 - ratio * ratio * ratio * ratio, 0.0, 1.0);
+
+        result += calcPointLight(light, normal, ioFragPos) * window * window;
+    }
+
+    return result;
+}
+
 void main() {
     switch(uType) {
         case 0: //Used for the framebuffer texture attachment.
@@ -103,12 +144,16 @@ void main() {
             ioResult = texture(uTexture, ioTexCoords);
             break;
 
-        case 5: //Used for 3D models.
+        case 5: case 10: //Used for 3D models and instanced 3D models.
             vec3 normal = normalize(ioNormal);
             vec3 result = calcWorldLight(uLights[0], normal);
 
-            for(int i = 1; i < uNumLights; i++) {
-                result += calcPointLight(uLights[i], normal, ioFragPos);
+            if(uClustered == 1) {
+                result += calcClusteredLights(normal);
+            } else {
+                for(int i = 1; i < uNumLights; i++) {
+                    result += calcPointLight(uLights[i], normal, ioFragPos);
+                }
             }
             
             makeTransparent(texture(uTexture, ioTexCoords).a);
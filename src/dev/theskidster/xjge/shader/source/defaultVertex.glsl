@@ -13,9 +13,11 @@ layout (location = 7) in ivec4 aBoneIDs;
 layout (location = 8) in vec4  aWeights;
 
 //Instanced attributes
-layout (location = 4) in vec3 aPosOffset;
-layout (location = 5) in vec2 aTexOffset;
-layout (location = 6) in vec3 aColOffset;
+layout (location = 4)  in vec3 aPosOffset;
+layout (location = 5)  in vec2 aTexOffset;
+layout (location = 6)  in vec3 aColOffset;
+layout (location = 9)  in mat4 aInstModel;
+layout (location = 13) in mat3 aInstNormal;
 
 uniform mat4 uModel;
 uniform mat4 uView;
@@ -115,5 +117,15 @@ void main() {
             ioColor     = uColor;
             gl_Position = uProjection * uModel * vec4(aPosition, 1);
             break;
+
+        case 10: //Used for instanced 3D models.
+            vec4 worldPos = aInstModel * vec4(aPosition, 1);
+            gl_Position   = uProjection * uView * worldPos;
+
+            ioColor     = aColOffset;
+            ioTexCoords = aTexCoords;
+            ioNormal    = aInstNormal * aNormal;
+            ioFragPos   = worldPos.xyz;
+            break;
     }
 }
\ No newline at end of file
@@ -32,7 +32,8 @@ public abstract class Component {
     }
     
     /**
-     * Updates the internal logic of a component.
+     * Updates the internal logic of a component. Components are updated by the {@link dev.theskidster.xjge.util.JobSystem JobSystem} alongside those of 
+     * other viewports, as such this method should never make calls to the graphics API.
      */
     public abstract void update();
     
@@ -0,0 +1,91 @@
+package dev.theskidster.xjge.ui;
+
+import org.joml.Vector3i;
+import dev.theskidster.xjge.main.App;
+import dev.theskidster.xjge.main.Profiler;
+import dev.theskidster.xjge.util.Color;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Displays the shortest, average, and 99th percentile time in milliseconds spent in each phase of the game loop as recorded by the {@link Profiler}. Phases
+ * which took no time over the recorded frames (such as those of inactive viewports) are omitted.
+ */
+public final class ProfilerInfo extends Component {
+    
+    private int numLines;
+    private int cooldown;
+    
+    private final Vector3i textPos      = new Vector3i();
+    private final Text[] text           = new Text[Profiler.NUM_PHASES + 1];
+    private final String[] lines        = new String[Profiler.NUM_PHASES + 1];
+    private final long[] stats          = new long[3];
+    private final StringBuilder builder = new StringBuilder();
+    
+    public ProfilerInfo() {
+        super(new Vector3i(), 0, 0);
+        
+        setSplitPosition();
+        
+        for(int i = 0; i < text.length; i++) {
+            text[i] = new Text();
+        }
+        
+        findLines();
+    }
+    
+    @Override
+    public void update() {
+        cooldown++;
+        
+        if(cooldown == 30) {
+            cooldown = 0;
+            findLines();
+        }
+    }
+    
+    @Override
+    public void render() {
+        for(int i = 0; i < numLines; i++) {
+            text[i].draw(lines[i], textPos.set(position.x, position.y - (14 * i), 0), (i == 0) ? Color.YELLOW : Color.WHITE);
+        }
+    }
+    
+    /**
+     * Recalculates the statistics of each phase from the frames currently held by the profiler.
+     */
+    private void findLines() {
+        lines[0] = "PROFILER (" + Profiler.getNumFrames() + " frames) min/avg/p99 ms";
+        numLines = 1;
+        
+        for(int p = 0; p < Profiler.NUM_PHASES; p++) {
+            Profiler.findStats(p, stats);
+            if(stats[2] == 0) continue;
+            
+            builder.setLength(0);
+            builder.append(Profiler.getName(p).toUpperCase())
+                   .append(": ")
+                   .append(String.format("%.2f", stats[0] / 1_000_000f))
+                   .append(" / ")
+                   .append(String.format("%.2f", stats[1] / 1_000_000f))
+                   .append(" / ")
+                   .append(String.format("%.2f", stats[2] / 1_000_000f));
+            
+            lines[numLines++] = builder.toString();
+        }
+    }
+    
+    @Override
+    public void setSplitPosition() {
+        position.x = App.getResolution().x - 280;
+        
+        switch(App.getSplitType()) {
+            case NO_SPLIT, VERTICAL            -> position.y = App.getResolution().y - 18;
+            case HORIZONTAL, TRIPLE, QUADRUPLE -> position.y = (App.getResolution().y / 2) - 18;
+        }
+    }
+    
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ import org.joml.Vector3i;
 import dev.theskidster.xjge.main.App;
 import dev.theskidster.xjge.main.Game;
 import dev.theskidster.xjge.util.Color;
+import dev.theskidster.xjge.util.JobSystem;
 
 /**
  * @author J Hoffman
@@ -15,8 +16,9 @@ import dev.theskidster.xjge.util.Color;
  */
 public final class RuntimeInfo extends Component {
     
-    private final Vector3i textPos = new Vector3i();
-    private final Text[] text      = new Text[6];
+    private final Vector3i textPos      = new Vector3i();
+    private final Text[] text           = new Text[11];
+    private final StringBuilder builder = new StringBuilder();
     
     public RuntimeInfo() {
         super(new Vector3i(), 0, 0);
@@ -50,8 +52,132 @@ public final class RuntimeInfo extends Component {
         
         text[5].draw("MEM FREE: " + Runtime.getRuntime().freeMemory(),
                 textPos.set(position.x, position.y - (14 * 5), 0), Color.CYAN);
+        
+        text[6].draw(findUtilization(),
+                textPos.set(position.x, position.y - (14 * 6), 0), Color.CYAN);
+        
+        text[7].draw(findFrameTime(),
+                textPos.set(position.x, position.y - (14 * 7), 0), Color.CYAN);
+        
+        text[8].draw(findCatchUp(),
+                textPos.set(position.x, position.y - (14 * 8), 0), Color.CYAN);
+        
+        text[9].draw(findCulling(),
+                textPos.set(position.x, position.y - (14 * 9), 0), Color.CYAN);
+        
+        text[10].draw(findDrawCalls(),
+                textPos.set(position.x, position.y - (14 * 10), 0), Color.CYAN);
     }
 
+    /**
+     * Produces a string containing the utilization of each worker thread in the {@link JobSystem} as a percentage of the last second.
+     * 
+     * @return the utilization of each worker
+     */
+    private String findUtilization() {
+        builder.setLength(0);
+        builder.append("JOBS:");
+        
+        for(int i = 0; i < JobSystem.getNumWorkers(); i++) {
+            builder.append(" ").append(Math.round(JobSystem.getUtilization(i) * 100)).append("%");
+        }
+        
+        return builder.toString();
+    }
+    
+    /**
+     * Produces a string containing the average time between recent frames, the standard deviation of that time, and the frame pacing strategy currently in use.
+     * 
+     * @return the frame time statistics
+     */
+    private String findFrameTime() {
+        builder.setLength(0);
+        builder.append("FRAME: ")
+               .append(String.format("%.2f", Game.getFrameTime()))
+               .append("ms (SD ")
+               .append(String.format("%.2f", Game.getFrameTimeDeviation()))
+               .append("ms) ");
+        
+        if(Game.getLowPower())          builder.append("LOW POWER");
+        else if(App.getTargetFPS() > 0) builder.append("PACED ").append(App.getTargetFPS());
+        else                            builder.append("UNPACED");
+        
+        return builder.toString();
+    }
+    
+    /**
+     * Produces a string containing the number of ticks which were processed late or dropped entirely while the game loop was catching up, along with the 
+     * longest run of back-to-back ticks and the current time dilation.
+     * 
+     * @return the catch-up statistics
+     */
+    private String findCatchUp() {
+        builder.setLength(0);
+        builder.append("TICKS: late ")
+               .append(Game.getLateTicks())
+               .append(" dropped ")
+               .append(Game.getDroppedTicks())
+               .append(" burst ")
+               .append(Game.getLongestBurst())
+               .append("/")
+               .append(Game.getMaxCatchUpSteps())
+               .append(" dilation ")
+               .append(Math.round(Game.getTimeDilation() * 100))
+               .append("%");
+        
+        return builder.toString();
+    }
+    
+    /**
+     * Produces a string containing the number of entities drawn and culled by each active viewport during the previous frame.
+     * 
+     * @return the culling statistics
+     */
+    private String findCulling() {
+        builder.setLength(0);
+        builder.append("DRAWN/CULLED:");
+        
+        for(int id = 0; id < 4; id++) {
+            if(App.getViewportActive(id)) {
+                builder.append(" ")
+                       .append(id)
+                       .append(":")
+                       .append(App.getViewportNumDrawn(id))
+                       .append("/")
+                       .append(App.getViewportNumCulled(id));
+            }
+        }
+        
+        return builder.toString();
+    }
+    
+    /**
+     * Produces a string containing the number of binds and draw calls issued by the render queue in each active viewport during the previous frame, whether 
+     * they were sorted, and whether models were drawn as instances.
+     * 
+     * @return the draw call statistics
+     */
+    private String findDrawCalls() {
+        builder.setLength(0);
+        builder.append("BINDS/DRAWS:");
+        
+        for(int id = 0; id < 4; id++) {
+            if(App.getViewportActive(id)) {
+                builder.append(" ")
+                       .append(id)
+                       .append(":")
+                       .append(App.getViewportNumBinds(id))
+                       .append("/")
+                       .append(App.getViewportNumDrawCalls(id));
+            }
+        }
+        
+        builder.append((App.getRenderSorting()) ? " SORTED" : " UNSORTED")
+               .append((App.getInstancing()) ? " INSTANCED" : " SEPARATE");
+        
+        return builder.toString();
+    }
+    
     @Override
     public void setSplitPosition() {
         position.x = 4;
@@ -0,0 +1,294 @@
+package dev.theskidster.xjge.util;
+
+import java.util.Arrays;
+import org.joml.Vector3fc;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Storage shared by the {@link SpatialIndex} implementations. The bounding sphere of each object is kept in parallel arrays indexed by its handle alongside a
+ * pair of links which subclasses use to chain the objects occupying the same region of the index together. Handles of removed objects are recycled through a
+ * free list so the arrays only grow when every handle is in use.
+ * <br><br>
+ * The parameters of the query currently being performed are held in fields rather than passed to a callback so that queries may be carried out without
+ * allocating memory.
+ * 
+ * @param <T> the type of object stored by the index
+ */
+abstract class AbstractSpatialIndex<T> implements SpatialIndex<T> {
+    
+    private int freeHead = -1;
+    private int numObjects;
+    int highWater;
+    int queryMode;
+    
+    static final int QUERY_SPHERE = 0;
+    static final int QUERY_BOX    = 1;
+    static final int QUERY_RAY    = 2;
+    
+    float qx, qy, qz, qr;
+    float qMinX, qMinY, qMinZ, qMaxX, qMaxY, qMaxZ;
+    float qDirX, qDirY, qDirZ;
+    
+    Object[] objects;
+    float[] px;
+    float[] py;
+    float[] pz;
+    float[] radii;
+    int[] next;
+    int[] prev;
+    
+    /**
+     * Allocates the arrays used to store objects.
+     * 
+     * @param initialCapacity the number of objects the index can hold before its arrays need to grow
+     */
+    AbstractSpatialIndex(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        
+        objects = new Object[capacity];
+        px      = new float[capacity];
+        py      = new float[capacity];
+        pz      = new float[capacity];
+        radii   = new float[capacity];
+        next    = new int[capacity];
+        prev    = new int[capacity];
+    }
+    
+    /**
+     * Reserves a handle for a new object and stores its bounding sphere.
+     * 
+     * @param object   the object to store
+     * @param position the center of the objects bounding sphere
+     * @param radius   the radius of the objects bounding sphere
+     * @return the handle of the object
+     */
+    int allocate(T object, Vector3fc position, float radius) {
+        int handle;
+        
+        if(freeHead != -1) {
+            handle   = freeHead;
+            freeHead = next[handle];
+        } else {
+            if(highWater == objects.length) grow(objects.length * 2);
+            handle = highWater++;
+        }
+        
+        objects[handle] = object;
+        px[handle]      = position.x();
+        py[handle]      = position.y();
+        pz[handle]      = position.z();
+        radii[handle]   = Math.max(radius, 0);
+        next[handle]    = -1;
+        prev[handle]    = -1;
+        
+        numObjects++;
+        
+        return handle;
+    }
+    
+    /**
+     * Returns the handle of an object to the free list.
+     * 
+     * @param handle the handle of the object to release
+     */
+    void release(int handle) {
+        objects[handle] = null;
+        next[handle]    = freeHead;
+        freeHead        = handle;
+        
+        numObjects--;
+    }
+    
+    /**
+     * Finds whether a handle refers to an object currently stored by the index.
+     * 
+     * @param handle the handle to check
+     * @return true if the handle is in use
+     */
+    boolean isLive(int handle) {
+        return handle >= 0 && handle < highWater && objects[handle] != null;
+    }
+    
+    /**
+     * Forgets every object stored by the index.
+     */
+    void releaseAll() {
+        Arrays.fill(objects, 0, highWater, null);
+        
+        freeHead   = -1;
+        numObjects = 0;
+        highWater  = 0;
+    }
+    
+    /**
+     * Increases the size of each array used to store objects. Subclasses which store additional data for each object should override this to grow their own
+     * arrays as well.
+     * 
+     * @param capacity the new number of objects the arrays can hold
+     */
+    void grow(int capacity) {
+        objects = Arrays.copyOf(objects, capacity);
+        px      = Arrays.copyOf(px, capacity);
+        py      = Arrays.copyOf(py, capacity);
+        pz      = Arrays.copyOf(pz, capacity);
+        radii   = Arrays.copyOf(radii, capacity);
+        next    = Arrays.copyOf(next, capacity);
+        prev    = Arrays.copyOf(prev, capacity);
+    }
+    
+    /**
+     * Stores the parameters of a sphere query.
+     */
+    void beginSphere(Vector3fc center, float radius) {
+        queryMode = QUERY_SPHERE;
+        qx        = center.x();
+        qy        = center.y();
+        qz        = center.z();
+        qr        = radius;
+        qMinX     = qx - radius;
+        qMinY     = qy - radius;
+        qMinZ     = qz - radius;
+        qMaxX     = qx + radius;
+        qMaxY     = qy + radius;
+        qMaxZ     = qz + radius;
+    }
+    
+    /**
+     * Stores the parameters of a box query.
+     */
+    void beginBox(Vector3fc min, Vector3fc max) {
+        queryMode = QUERY_BOX;
+        qMinX     = min.x();
+        qMinY     = min.y();
+        qMinZ     = min.z();
+        qMaxX     = max.x();
+        qMaxY     = max.y();
+        qMaxZ     = max.z();
+    }
+    
+    /**
+     * Stores the parameters of a ray query. The bounds of the query are set to the box which encloses the ray.
+     */
+    void beginRay(Vector3fc origin, Vector3fc direction, float maxDistance) {
+        queryMode = QUERY_RAY;
+        qx        = origin.x();
+        qy        = origin.y();
+        qz        = origin.z();
+        qDirX     = direction.x();
+        qDirY     = direction.y();
+        qDirZ     = direction.z();
+        qr        = (maxDistance > 0) ? maxDistance : 0;
+        
+        //Axes the ray doesn't travel along are skipped so that rays of infinite length don't produce NaN bounds.
+        float endX = (qDirX != 0) ? qx + qDirX * qr : qx;
+        float endY = (qDirY != 0) ? qy + qDirY * qr : qy;
+        float endZ = (qDirZ != 0) ? qz + qDirZ * qr : qz;
+        
+        qMinX = Math.min(qx, endX);
+        qMinY = Math.min(qy, endY);
+        qMinZ = Math.min(qz, endZ);
+        qMaxX = Math.max(qx, endX);
+        qMaxY = Math.max(qy, endY);
+        qMaxZ = Math.max(qz, endZ);
+    }
+    
+    /**
+     * Tests the bounding sphere of an object against the query currently being performed.
+     * 
+     * @param handle the handle of the object to test
+     * @return true if the object satisfies the query
+     */
+    boolean test(int handle) {
+        float x = px[handle];
+        float y = py[handle];
+        float z = pz[handle];
+        float r = radii[handle];
+        
+        switch(queryMode) {
+            case QUERY_SPHERE -> {
+                float dx = x - qx;
+                float dy = y - qy;
+                float dz = z - qz;
+                float rs = r + qr;
+                
+                return dx * dx + dy * dy + dz * dz <= rs * rs;
+            }
+            
+            case QUERY_BOX -> {
+                float dx = x - Math.max(qMinX, Math.min(x, qMaxX));
+                float dy = y - Math.max(qMinY, Math.min(y, qMaxY));
+                float dz = z - Math.max(qMinZ, Math.min(z, qMaxZ));
+                
+                return dx * dx + dy * dy + dz * dz <= r * r;
+            }
+            
+            default -> {
+                float t  = Math.max(0, Math.min((x - qx) * qDirX + (y - qy) * qDirY + (z - qz) * qDirZ, qr));
+                float dx = x - (qx + qDirX * t);
+                float dy = y - (qy + qDirY * t);
+                float dz = z - (qz + qDirZ * t);
+                
+                return dx * dx + dy * dy + dz * dz <= r * r;
+            }
+        }
+    }
+    
+    /**
+     * Tests an axis-aligned box against the query currently being performed. Used to skip regions of the index which cannot contain any results.
+     * 
+     * @return true if the box may contain objects which satisfy the query
+     */
+    boolean testBounds(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        if(minX > qMaxX || maxX < qMinX || minY > qMaxY || maxY < qMinY || minZ > qMaxZ || maxZ < qMinZ) return false;
+        
+        switch(queryMode) {
+            case QUERY_SPHERE -> {
+                float dx = qx - Math.max(minX, Math.min(qx, maxX));
+                float dy = qy - Math.max(minY, Math.min(qy, maxY));
+                float dz = qz - Math.max(minZ, Math.min(qz, maxZ));
+                
+                return dx * dx + dy * dy + dz * dz <= qr * qr;
+            }
+            
+            case QUERY_RAY -> {
+                float near = 0;
+                float far  = qr;
+                
+                if(qDirX != 0) {
+                    float t0 = (minX - qx) / qDirX;
+                    float t1 = (maxX - qx) / qDirX;
+                    near = Math.max(near, Math.min(t0, t1));
+                    far  = Math.min(far, Math.max(t0, t1));
+                }
+                
+                if(qDirY != 0) {
+                    float t0 = (minY - qy) / qDirY;
+                    float t1 = (maxY - qy) / qDirY;
+                    near = Math.max(near, Math.min(t0, t1));
+                    far  = Math.min(far, Math.max(t0, t1));
+                }
+                
+                if(qDirZ != 0) {
+                    float t0 = (minZ - qz) / qDirZ;
+                    float t1 = (maxZ - qz) / qDirZ;
+                    near = Math.max(near, Math.min(t0, t1));
+                    far  = Math.min(far, Math.max(t0, t1));
+                }
+                
+                return near <= far;
+            }
+            
+            default -> { return true; }
+        }
+    }
+    
+    @Override
+    public int size() {
+        return numObjects;
+    }
+    
+}
\ No newline at end of file
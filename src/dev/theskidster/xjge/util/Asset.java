@@ -0,0 +1,53 @@
+package dev.theskidster.xjge.util;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Handle representing a resource that's being loaded in the background by the {@link AssetLoader}. The handle is returned immediately while the file is
+ * decoded on a worker thread, the resource itself will become available once its data has been uploaded by the rendering thread.
+ * 
+ * @param <T> the type of resource being loaded
+ * @see AssetLoader#load(String, java.util.function.Supplier, java.util.function.Function)
+ */
+public final class Asset<T> {
+    
+    private final String name;
+    
+    private volatile boolean loaded;
+    private volatile T value;
+    
+    /**
+     * Creates a new asset handle.
+     * 
+     * @param name the name of the file the resource is being loaded from
+     */
+    Asset(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Supplies the finished resource to the handle. Called by the {@link AssetLoader} on the rendering thread.
+     * 
+     * @param value the resource or null if it failed to load
+     */
+    void complete(T value) {
+        this.value = value;
+        loaded     = true;
+    }
+    
+    public String getName()    { return name; }
+    public boolean getLoaded() { return loaded; }
+    
+    /**
+     * Obtains the resource this handle represents.
+     * 
+     * @return the loaded resource, or null if it hasn't finished loading yet or failed to load
+     */
+    public T get() {
+        return value;
+    }
+    
+}
\ No newline at end of file
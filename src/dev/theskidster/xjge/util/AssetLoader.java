@@ -0,0 +1,139 @@
+package dev.theskidster.xjge.util;
+
+import dev.theskidster.xjge.main.Logger;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Loads resources such as textures and models in the background so the game can continue to run while they're prepared. Loading is divided into two stages;
+ * the file is first read and decoded by the {@link JobSystem} on a worker thread, after which the decoded data is handed to the rendering thread which
+ * uploads it to the graphics API.
+ * <br><br>
+ * Uploads are carried out by the game loop at the start of each frame for no longer than the {@linkplain setUploadBudget(float) upload budget} allows,
+ * any that remain are left for the frames that follow. Resources that are no longer needed may also be {@linkplain release(Runnable) released} through the
+ * loader, in which case they're freed in batches under the same budget rather than all at once.
+ * 
+ * @see dev.theskidster.xjge.level.Level#preload()
+ */
+public final class AssetLoader {
+    
+    private static float uploadBudget = 2;
+    
+    private static final AtomicInteger numPending = new AtomicInteger();
+    
+    private static final Queue<Runnable> uploads  = new ConcurrentLinkedQueue<>();
+    private static final Queue<Runnable> releases = new ConcurrentLinkedQueue<>();
+    
+    /**
+     * Begins loading a resource in the background. Resource classes such as {@link dev.theskidster.xjge.graphics.Texture Texture} supply variants of this
+     * method for their own types which should be preferred.
+     * 
+     * @param <D>    the type of the data decoded from the file
+     * @param <T>    the type of resource being loaded
+     * @param name   the name of the file the resource is being loaded from, used to identify it in the log
+     * @param decode reads and decodes the file. Executed on a worker thread and therefore must not make calls to the graphics API.
+     * @param upload creates the resource from the decoded data. Executed on the rendering thread.
+     * @return a handle which will supply the resource once it has finished loading
+     */
+    public static <D, T> Asset<T> load(String name, Supplier<D> decode, Function<D, T> upload) {
+        Asset<T> asset = new Asset<>(name);
+        
+        numPending.incrementAndGet();
+        
+        JobSystem.submit(() -> {
+            boolean decoded = false;
+            
+            try {
+                D data = decode.get();
+                uploads.add(() -> finish(asset, upload, data));
+                decoded = true;
+            } catch(Exception e) {
+                Logger.logWarning("Failed to decode asset: \"" + name + "\"", e);
+            } finally {
+                //Errors aren't caught above, the handle is still completed so the pending count isn't left waiting on the asset forever.
+                if(!decoded) uploads.add(() -> finish(asset, null, null));
+            }
+        });
+        
+        return asset;
+    }
+    
+    /**
+     * Uploads the data of a resource and supplies the result to its handle.
+     */
+    private static <D, T> void finish(Asset<T> asset, Function<D, T> upload, D data) {
+        T value = null;
+        
+        try {
+            if(upload != null) value = upload.apply(data);
+        } catch(Exception e) {
+            Logger.logWarning("Failed to upload asset: \"" + asset.getName() + "\"", e);
+        } finally {
+            asset.complete(value);
+            numPending.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Defers a task which frees resources that are no longer needed. Released tasks are executed in the order they were submitted by
+     * {@link processUploads()} ahead of any uploads.
+     * 
+     * @param task the work which frees the resources
+     */
+    public static void release(Runnable task) {
+        releases.add(task);
+    }
+    
+    /**
+     * <b>*For internal use only*</b>
+     * <br><br>
+     * Executes deferred releases and then uploads on the rendering thread until the upload budget has been spent. At least one task is executed each time
+     * this is called so that loading will always make progress regardless of the budget. Called automatically by the game loop once per frame.
+     */
+    public static void processUploads() {
+        long deadline = System.nanoTime() + (long) (uploadBudget * 1_000_000);
+        
+        do {
+            Runnable task = releases.poll();
+            if(task == null) task = uploads.poll();
+            if(task == null) break;
+            
+            task.run();
+        } while(System.nanoTime() < deadline);
+    }
+    
+    /**
+     * Finds the number of resources which have been requested but have not yet finished loading.
+     * 
+     * @return the number of resources still being decoded or waiting to be uploaded
+     */
+    public static int getNumPending() {
+        return numPending.get();
+    }
+    
+    public static float getUploadBudget() { return uploadBudget; }
+    
+    /**
+     * Sets the amount of time the rendering thread may spend uploading resources and freeing those which have been released each frame. Larger budgets
+     * cause levels to load faster at the expense of longer frames while they do.
+     * 
+     * @param value the maximum amount of time to spend each frame in milliseconds, between 0.1 and 100
+     */
+    public static void setUploadBudget(float value) {
+        if(value >= 0.1f && value <= 100) {
+            uploadBudget = value;
+            Logger.logInfo("Upload budget changed: (" + uploadBudget + "ms)");
+        } else {
+            Logger.logWarning("Failed to set upload budget. Value must be between 0.1 and 100 milliseconds.", null);
+        }
+    }
+    
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package dev.theskidster.xjge.util;
 
+import org.joml.FrustumIntersection;
 import org.joml.Matrix4f;
 import org.joml.Vector3f;
 import dev.theskidster.xjge.main.App;
@@ -20,13 +21,27 @@ public abstract class Camera {
     
     public final String type;
     
+    private int numDrawn;
+    private int numCulled;
+    
     public Vector3f position  = new Vector3f();
     public Vector3f direction = new Vector3f(0, 0, -1);
     public Vector3f up        = new Vector3f(0, 1, 0);
     
+    /**
+     * The position of the camera at the start of the current game tick and the position it should be rendered from respectively. 
+     * 
+     * @see findRenderPosition(float)
+     */
+    public final Vector3f prevPosition   = new Vector3f();
+    public final Vector3f renderPosition = new Vector3f();
+    
     public Matrix4f viewMatrix    = new Matrix4f();
     protected Matrix4f projMatrix = new Matrix4f();
     
+    private final Matrix4f viewProjMatrix     = new Matrix4f();
+    private final FrustumIntersection frustum = new FrustumIntersection();
+    
     /**
      * Creates a new camera object that will use the projection type specified. The engine provides two projection types by default; orthographic projection and 
      * perspective projection, which are identified with "ortho" and "persp" respectively.
@@ -53,6 +68,72 @@ public abstract class Camera {
      */
     public abstract void render();
     
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Stores the current position of the camera so it may be interpolated during rendering. Called automatically at the start of each game tick before 
+     * {@link update()}.
+     */
+    public void storePrevState() {
+        prevPosition.set(position);
+    }
+    
+    /**
+     * Finds the position the camera should be rendered from by interpolating between its previous and current positions. The direction of the camera is not 
+     * interpolated as it's typically controlled by input devices which are polled at a higher rate than the game is updated.
+     * 
+     * @param alpha the interpolation factor provided by {@link dev.theskidster.xjge.main.Game#getAlpha() Game.getAlpha()}
+     * @return the value of {@link renderPosition}
+     */
+    public Vector3f findRenderPosition(float alpha) {
+        return prevPosition.lerp(position, alpha, renderPosition);
+    }
+    
+    /**
+     * <b>*For internal use only*</b> 
+     * <br><br>
+     * Extracts the planes of the view frustum from the current projection matrix and the view matrix provided, then resets the number of objects drawn and 
+     * culled. Called automatically by each viewport before the level is rendered from its perspective.
+     * 
+     * @param viewMatrix the view matrix the scene will be rendered with, either {@link viewMatrix} or one captured by a 
+     *                   {@link dev.theskidster.xjge.main.RenderSnapshot RenderSnapshot}
+     */
+    public void updateFrustum(Matrix4f viewMatrix) {
+        frustum.set(viewProjMatrix.set(projMatrix).mul(viewMatrix));
+        
+        numDrawn  = 0;
+        numCulled = 0;
+    }
+    
+    /**
+     * Determines whether an axis-aligned box is at least partially within the view frustum of the camera. Objects which fail this test can be skipped as they 
+     * won't appear in the viewport. The result is counted towards the statistics displayed by the {@link dev.theskidster.xjge.ui.RuntimeInfo RuntimeInfo} 
+     * component.
+     * 
+     * @param min the corner of the box with the smallest coordinates
+     * @param max the corner of the box with the largest coordinates
+     * @return true if the box is visible and should be drawn
+     */
+    public boolean testVisible(Vector3f min, Vector3f max) {
+        boolean visible = frustum.testAab(min, max);
+        
+        if(visible) numDrawn++;
+        else        numCulled++;
+        
+        return visible;
+    }
+    
+    /**
+     * Counts an object which was drawn without being tested against the view frustum, such as one with no bounds.
+     */
+    public void countDrawn() {
+        numDrawn++;
+    }
+    
+    public int getNumDrawn()         { return numDrawn; }
+    public int getNumCulled()        { return numCulled; }
+    public Matrix4f getProjMatrix()  { return projMatrix; }
+    
     /**
      * Sets the projection type of the camera. The engine provides both orthographic and perspective projection types by default which is sufficient enough for most 
      * cases. This functionality can be extended by the implementation to support more fringe projection types if needed.
@@ -0,0 +1,61 @@
+package dev.theskidster.xjge.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Collection of typed {@link EventChannel} objects used to pass events between systems without coupling them to one another or to the thread they run on.
+ * <br><br>
+ * Events may be posted to a channel from any thread, including worker threads of the {@link JobSystem} and callbacks issued by GLFW. Posted events are
+ * delivered in batches once per tick when the game loop calls {@link dispatch()}, channels are dispatched in the order they were created. While the engine 
+ * is running in {@linkplain dev.theskidster.xjge.main.App#getThreaded() threaded mode} the bus is dispatched by the simulation thread so subscribers may 
+ * safely change the state of the current level.
+ */
+public final class EventBus {
+    
+    private static final List<EventChannel<?>> channels = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Creates a new channel and adds it to the bus.
+     * 
+     * @param <T>      the type of event carried by the channel
+     * @param name     the name used to identify the channel in the log
+     * @param capacity the number of events that may be waiting to be dispatched before the channel begins to overflow
+     * @return the channel created
+     */
+    public static <T> EventChannel<T> createChannel(String name, int capacity) {
+        EventChannel<T> channel = new EventChannel<>(name, capacity);
+        channels.add(channel);
+        
+        return channel;
+    }
+    
+    /**
+     * Removes a channel from the bus. Events still waiting in the channel will not be dispatched.
+     * 
+     * @param channel the channel to remove
+     */
+    public static void removeChannel(EventChannel<?> channel) {
+        channels.remove(channel);
+    }
+    
+    /**
+     * Delivers the events posted to each channel since the previous dispatch to their subscribers.
+     * <br><br>
+     * <b>*For internal use only*</b>
+     * 
+     * @return the total number of events dispatched
+     */
+    public static int dispatch() {
+        int count = 0;
+        for(int i = 0; i < channels.size(); i++) count += channels.get(i).dispatch();
+        
+        return count;
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package dev.theskidster.xjge.util;
+
+import dev.theskidster.xjge.main.Logger;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A typed stream of events belonging to the {@link EventBus}. Any thread may {@linkplain post(Object) post} events to a channel at any time, those events are
+ * then held until the bus is {@linkplain EventBus#dispatch() dispatched} at which point they're delivered to each subscriber of the channel on the thread
+ * updating the current level in the order they were posted.
+ * <br><br>
+ * Events are held in a fixed-size {@link EventQueue} which allocates no memory. Should more events be posted between dispatches than the channel was created 
+ * to hold, the remainder are held in an unbounded overflow queue instead so that no event is ever lost, and a warning is logged suggesting the capacity 
+ * be raised.
+ * 
+ * @param <T> the type of event carried by this channel
+ */
+public final class EventChannel<T> {
+    
+    private final String name;
+    private volatile boolean overflowed;
+    
+    private final EventQueue<T> queue;
+    private final Queue<T> overflow = new ConcurrentLinkedQueue<>();
+    private final List<Consumer<? super T>> subscribers = new CopyOnWriteArrayList<>();
+    private final Consumer<T> deliver = this::deliver;
+    
+    /**
+     * Creates a new event channel. Channels are created through {@link EventBus#createChannel(String, int)}.
+     * 
+     * @param name     the name used to identify the channel in the log
+     * @param capacity the number of events that may be waiting to be dispatched before the channel begins to overflow
+     */
+    EventChannel(String name, int capacity) {
+        this.name = name;
+        queue     = new EventQueue<>(capacity);
+    }
+    
+    /**
+     * Posts an event to this channel. The event will be delivered to subscribers the next time the bus is dispatched. Events posted while the channel is full
+     * are held in its overflow queue until then.
+     * 
+     * @param event the event to post
+     */
+    public void post(T event) {
+        //Once the channel has overflowed, later events must follow those already in the overflow queue to keep them in order.
+        if(overflow.isEmpty() && queue.offer(event)) return;
+        
+        overflow.add(event);
+        overflowed = true;
+    }
+    
+    /**
+     * Registers a listener that will receive each event posted to this channel.
+     * 
+     * @param subscriber the action to perform on each event
+     */
+    public void subscribe(Consumer<? super T> subscriber) {
+        subscribers.add(subscriber);
+    }
+    
+    /**
+     * Removes a listener from this channel.
+     * 
+     * @param subscriber the listener previously supplied to {@link subscribe(Consumer)}
+     */
+    public void unsubscribe(Consumer<? super T> subscriber) {
+        subscribers.remove(subscriber);
+    }
+    
+    /**
+     * Delivers every event posted since the previous dispatch to the subscribers of this channel.
+     * 
+     * @return the number of events dispatched
+     */
+    int dispatch() {
+        if(overflowed) {
+            overflowed = false;
+            Logger.logWarning("Event channel \"" + name + "\" exceeded its capacity of " + queue.getCapacity() + " events. Consider increasing it.", null);
+        }
+        
+        int count = queue.drain(deliver);
+        
+        for(T event = overflow.poll(); event != null; event = overflow.poll()) {
+            deliver(event);
+            count++;
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Supplies a single event to every subscriber.
+     * 
+     * @param event the event to deliver
+     */
+    private void deliver(T event) {
+        for(int i = 0; i < subscribers.size(); i++) subscribers.get(i).accept(event);
+    }
+    
+    public String getName() { return name; }
+    
+}
\ No newline at end of file
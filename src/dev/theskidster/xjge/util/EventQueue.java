@@ -0,0 +1,115 @@
+package dev.theskidster.xjge.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Bounded lock-free queue which may be written to by any number of threads but read from by only one. Used by {@link EventChannel} objects to collect events
+ * posted from worker threads and callbacks until they're dispatched.
+ * <br><br>
+ * Producers claim a slot in the ring by advancing its tail with a compare-and-set operation and then publish their element to it. The consumer takes elements
+ * from the head in the order their slots were claimed, a slot which has been claimed but not yet published will end the current {@link drain(Consumer)} and
+ * be picked up by the next. No memory is allocated once the queue has been created.
+ * 
+ * @param <E> the type of element held by this queue
+ */
+public final class EventQueue<E> {
+    
+    private final int mask;
+    
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    
+    private final AtomicReferenceArray<E> buffer;
+    
+    /**
+     * Creates a new queue.
+     * 
+     * @param capacity the maximum number of elements the queue may hold at once. Rounded up to the nearest power of two.
+     */
+    public EventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        
+        mask   = size - 1;
+        buffer = new AtomicReferenceArray<>(size);
+    }
+    
+    /**
+     * Adds an element to the back of the queue. May be called by any thread.
+     * 
+     * @param element the element to add
+     * @return true if the element was added or false if the queue is full
+     */
+    public boolean offer(E element) {
+        if(element == null) throw new NullPointerException();
+        
+        while(true) {
+            long t = tail.get();
+            
+            if(t - head.get() > mask) return false;
+            
+            if(tail.compareAndSet(t, t + 1)) {
+                buffer.lazySet((int) (t & mask), element);
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Removes the element at the front of the queue. Must only be called by the consumer thread.
+     * 
+     * @return the element at the front of the queue or null if the queue is empty
+     */
+    public E poll() {
+        long h  = head.get();
+        int i   = (int) (h & mask);
+        E value = buffer.get(i);
+        
+        if(value == null) return null;
+        
+        buffer.lazySet(i, null);
+        head.lazySet(h + 1);
+        
+        return value;
+    }
+    
+    /**
+     * Removes every element currently held by the queue and supplies it to the consumer specified. Elements added while the queue is being drained will be
+     * left for the next call. Must only be called by the consumer thread.
+     * 
+     * @param consumer the action to perform on each element
+     * @return the number of elements removed
+     */
+    public int drain(Consumer<? super E> consumer) {
+        long limit = tail.get() - head.get();
+        int count  = 0;
+        
+        while(count < limit) {
+            E value = poll();
+            if(value == null) break;
+            
+            consumer.accept(value);
+            count++;
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Approximates the number of elements currently held by the queue.
+     * 
+     * @return the number of elements in the queue
+     */
+    public int size() {
+        return (int) Math.max(tail.get() - head.get(), 0);
+    }
+    
+    public int getCapacity() { return mask + 1; }
+    
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package dev.theskidster.xjge.util;
+
+import java.util.Arrays;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Variant of {@link Signal} which carries a primitive float value to its slots without boxing it.
+ */
+public final class FloatSignal {
+    
+    private volatile Slot[] slots = new Slot[0];
+    
+    /**
+     * Receives the values emitted by a {@link FloatSignal}.
+     */
+    @FunctionalInterface
+    public interface Slot {
+        void receive(float value);
+    }
+    
+    /**
+     * Connects a slot to this signal. A slot may be connected more than once, in which case it will receive each value once per connection.
+     * 
+     * @param slot the slot that will receive emitted values
+     */
+    public synchronized void connect(Slot slot) {
+        Slot[] copy = Arrays.copyOf(slots, slots.length + 1);
+        copy[slots.length] = slot;
+        slots = copy;
+    }
+    
+    /**
+     * Disconnects a slot from this signal. Only the most recent connection of the slot is removed.
+     * 
+     * @param slot the slot to disconnect
+     */
+    public synchronized void disconnect(Slot slot) {
+        for(int i = slots.length - 1; i >= 0; i--) {
+            if(slots[i] == slot) {
+                Slot[] copy = new Slot[slots.length - 1];
+                System.arraycopy(slots, 0, copy, 0, i);
+                System.arraycopy(slots, i + 1, copy, i, slots.length - i - 1);
+                slots = copy;
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Supplies a value to every slot connected to this signal in the order they were connected.
+     * 
+     * @param value the value to emit
+     */
+    public void emit(float value) {
+        Slot[] current = slots;
+        for(int i = 0; i < current.length; i++) current[i].receive(value);
+    }
+    
+    public int getNumSlots() { return slots.length; }
+    
+}
\ No newline at end of file
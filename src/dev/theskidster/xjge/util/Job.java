@@ -0,0 +1,84 @@
+package dev.theskidster.xjge.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Handle representing a single unit of work submitted to the {@link JobSystem}. Job handles may be passed as dependencies to other jobs, in which case the
+ * dependent job will not be executed until every job it depends on has finished.
+ * 
+ * @see JobSystem#submit(Runnable, Job...)
+ * @see JobSystem#waitFor(Job)
+ */
+public final class Job {
+    
+    private volatile boolean finished;
+    
+    final Runnable task;
+    final AtomicInteger pending;
+    private final List<Job> dependents = new ArrayList<>();
+    
+    /**
+     * Creates a new job handle. The pending count includes one additional reference held by the job system until the job has been fully submitted.
+     * 
+     * @param task            the work this job will perform
+     * @param numDependencies the number of jobs that must finish before this one may be executed
+     */
+    Job(Runnable task, int numDependencies) {
+        this.task = task;
+        pending   = new AtomicInteger(numDependencies + 1);
+    }
+    
+    /**
+     * Registers a job that will be notified once this job has finished.
+     * 
+     * @param job the dependent job
+     * @return false if this job has already finished, in which case the dependent job was not registered
+     */
+    synchronized boolean addDependent(Job job) {
+        if(finished) return false;
+        
+        dependents.add(job);
+        return true;
+    }
+    
+    /**
+     * Marks this job as finished and notifies its dependents.
+     * 
+     * @see JobSystem#execute(Job)
+     */
+    void finish() {
+        Job[] notify;
+        
+        synchronized(this) {
+            finished = true;
+            notify   = dependents.toArray(new Job[dependents.size()]);
+            dependents.clear();
+        }
+        
+        for(Job job : notify) job.release();
+    }
+    
+    /**
+     * Decrements the number of outstanding references to this job, scheduling it for execution once none remain.
+     */
+    void release() {
+        if(pending.decrementAndGet() == 0) JobSystem.schedule(this);
+    }
+    
+    /**
+     * Determines whether this job has been executed.
+     * 
+     * @return true if the job and its task have finished executing
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+    
+}
\ No newline at end of file
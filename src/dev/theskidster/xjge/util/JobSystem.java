@@ -0,0 +1,286 @@
+package dev.theskidster.xjge.util;
+
+import dev.theskidster.xjge.main.Logger;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Work-stealing pool of worker threads which engine subsystems may use to distribute their work across each core of the processor.
+ * <br><br>
+ * Each worker owns a queue of jobs. Jobs submitted by a worker are pushed to the front of its own queue and executed in last-in-first-out order, while idle
+ * workers steal the oldest jobs from the back of the queues of others. Jobs submitted from outside the pool (such as by the main thread) are placed in a
+ * shared queue that every worker will take from.
+ * <br><br>
+ * Workers which {@linkplain waitFor(Job) wait} on a job will help execute other outstanding jobs instead of blocking. Jobs should therefore never make
+ * calls to the graphics API or depend on being executed by a specific thread. Threads outside of the pool only ever execute work they submitted 
+ * themselves, as the queues may contain long running jobs (such as those of the {@link AssetLoader}) which would otherwise stall the game loop.
+ */
+public final class JobSystem {
+    
+    private static long prevSampleTime = System.nanoTime();
+    
+    private static final Worker[] workers;
+    private static final Queue<Job> sharedQueue = new ConcurrentLinkedQueue<>();
+    
+    /**
+     * Worker thread which executes the jobs submitted to the pool.
+     */
+    private static class Worker extends Thread {
+        private final int id;
+        
+        private volatile boolean idle;
+        private volatile long busyTime;
+        private volatile long jobsExecuted;
+        private long prevBusyTime;
+        private float utilization;
+        
+        private final Deque<Job> jobs = new ConcurrentLinkedDeque<>();
+        
+        Worker(int id) {
+            super("xjge-worker-" + id);
+            this.id = id;
+            setDaemon(true);
+        }
+        
+        @Override
+        public void run() {
+            int idleCycles = 0;
+            
+            while(true) {
+                Job job = findJob(this);
+                
+                if(job != null) {
+                    long start = System.nanoTime();
+                    execute(job);
+                    
+                    busyTime += System.nanoTime() - start;
+                    jobsExecuted++;
+                    idleCycles = 0;
+                } else if(idleCycles < 64) {
+                    idleCycles++;
+                    Thread.onSpinWait();
+                } else {
+                    idle = true;
+                    if(sharedQueue.isEmpty()) LockSupport.parkNanos(this, 1_000_000);
+                    idle = false;
+                }
+            }
+        }
+    }
+    
+    static {
+        workers = new Worker[Math.max(1, Runtime.getRuntime().availableProcessors() - 1)];
+        
+        for(int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(i);
+            workers[i].start();
+        }
+    }
+    
+    /**
+     * Submits a new job to the pool. If dependencies are specified the job will not be executed until each of them has finished.
+     * 
+     * @param task         the work to perform
+     * @param dependencies the jobs that must finish before this one may be executed
+     * @return a handle which can be used to wait on the job or pass it as a dependency to others
+     */
+    public static Job submit(Runnable task, Job... dependencies) {
+        Job job = new Job(task, dependencies.length);
+        
+        for(Job dependency : dependencies) {
+            if(!dependency.addDependent(job)) job.pending.decrementAndGet();
+        }
+        
+        job.release();
+        
+        return job;
+    }
+    
+    /**
+     * Blocks the calling thread until the job specified has finished. Rather than sleeping, workers will execute other outstanding jobs while they wait. 
+     * Threads outside of the pool will instead execute the job themselves if no worker has taken it yet.
+     * 
+     * @param job the job to wait for
+     */
+    public static void waitFor(Job job) {
+        if(Thread.currentThread() instanceof Worker) {
+            Worker worker = (Worker) Thread.currentThread();
+            
+            while(!job.isFinished()) {
+                Job other = findJob(worker);
+                
+                if(other != null) execute(other);
+                else              Thread.onSpinWait();
+            }
+        } else {
+            if(sharedQueue.remove(job)) execute(job);
+            while(!job.isFinished()) Thread.onSpinWait();
+        }
+    }
+    
+    /**
+     * Convenience method which executes the body of a loop over a range of indices in parallel. The range is divided into chunks of the size specified which 
+     * are claimed one at a time by the calling thread and any workers that join it. The calling thread only ever processes chunks of its own loop, and this 
+     * method will not return until every chunk has finished.
+     * <br><br>
+     * If the body throws an exception, chunks which haven't started yet are skipped and the first exception thrown by any thread is rethrown to the caller 
+     * once the rest have finished.
+     * 
+     * @param count the number of indices to process, beginning at zero
+     * @param grain the number of indices each chunk contains. Ranges smaller than this will be processed serially.
+     * @param body  the work to perform for each index
+     */
+    public static void parallelFor(int count, int grain, IntConsumer body) {
+        if(count <= grain) {
+            for(int i = 0; i < count; i++) body.accept(i);
+            return;
+        }
+        
+        int numChunks           = (count + grain - 1) / grain;
+        AtomicInteger next      = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(numChunks);
+        
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        
+        Runnable helper = () -> processChunks(next, remaining, failure, numChunks, count, grain, body);
+        
+        for(int j = 0; j < Math.min(numChunks - 1, workers.length); j++) submit(helper);
+        
+        try {
+            helper.run();
+        } finally {
+            while(remaining.get() > 0) Thread.onSpinWait();
+        }
+        
+        Throwable t = failure.get();
+        
+        if(t instanceof RuntimeException) throw (RuntimeException) t;
+        if(t instanceof Error)            throw (Error) t;
+        if(t != null)                     throw new RuntimeException(t);
+    }
+    
+    /**
+     * Claims and processes the chunks of a {@linkplain parallelFor(int, int, IntConsumer) parallel loop} until none remain.
+     * 
+     * @param next      the index of the next chunk to claim
+     * @param remaining the number of chunks which have yet to finish
+     * @param failure   the first exception thrown by the body, if any
+     * @param numChunks the total number of chunks in the loop
+     * @param count     the number of indices in the loop
+     * @param grain     the number of indices each chunk contains
+     * @param body      the work to perform for each index
+     */
+    private static void processChunks(AtomicInteger next, AtomicInteger remaining, AtomicReference<Throwable> failure, int numChunks, int count, int grain, 
+                                      IntConsumer body) {
+        int chunk;
+        
+        while((chunk = next.getAndIncrement()) < numChunks) {
+            int end = Math.min((chunk + 1) * grain, count);
+            
+            try {
+                if(failure.get() == null) {
+                    for(int i = chunk * grain; i < end; i++) body.accept(i);
+                }
+            } catch(Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                remaining.decrementAndGet();
+            }
+        }
+    }
+    
+    /**
+     * Places a job whose dependencies have been satisfied into the appropriate queue.
+     * 
+     * @param job the job to schedule
+     */
+    static void schedule(Job job) {
+        if(Thread.currentThread() instanceof Worker) {
+            ((Worker) Thread.currentThread()).jobs.addFirst(job);
+        } else {
+            sharedQueue.add(job);
+        }
+        
+        for(Worker worker : workers) {
+            if(worker.idle) {
+                LockSupport.unpark(worker);
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Finds the next job the thread specified should execute. Jobs are taken from the workers own queue first, then the shared queue, and finally stolen from
+     * other workers.
+     * 
+     * @param worker the worker searching for a job, or null if the calling thread is not part of the pool
+     * @return the job to execute or null if no jobs are available
+     */
+    private static Job findJob(Worker worker) {
+        Job job = (worker != null) ? worker.jobs.pollFirst() : null;
+        if(job == null) job = sharedQueue.poll();
+        
+        if(job == null) {
+            int offset = (worker != null) ? worker.id + 1 : 0;
+            
+            for(int i = 0; i < workers.length && job == null; i++) {
+                Worker victim = workers[(offset + i) % workers.length];
+                if(victim != worker) job = victim.jobs.pollLast();
+            }
+        }
+        
+        return job;
+    }
+    
+    /**
+     * Executes the task of a job and notifies any jobs that depend on it.
+     * 
+     * @param job the job to execute
+     */
+    private static void execute(Job job) {
+        try {
+            job.task.run();
+        } catch(Exception e) {
+            Logger.logSevere("Job encountered an unrecoverable error.", e);
+        } finally {
+            job.finish();
+        }
+    }
+    
+    /**
+     * <b>*For internal use only*</b>
+     * <br><br>
+     * Calculates the utilization of each worker since the last time this method was called. Called by the engine once every second.
+     */
+    public static void sampleUtilization() {
+        long currTime = System.nanoTime();
+        long elapsed  = currTime - prevSampleTime;
+        
+        if(elapsed <= 0) return;
+        
+        for(Worker worker : workers) {
+            long busyTime = worker.busyTime;
+            
+            worker.utilization  = (float) (busyTime - worker.prevBusyTime) / elapsed;
+            worker.prevBusyTime = busyTime;
+        }
+        
+        prevSampleTime = currTime;
+    }
+    
+    public static int getNumWorkers()          { return workers.length; }
+    public static float getUtilization(int id) { return workers[id].utilization; }
+    public static long getJobsExecuted(int id) { return workers[id].jobsExecuted; }
+    
+}
\ No newline at end of file
@@ -0,0 +1,330 @@
+package dev.theskidster.xjge.util;
+
+import java.util.Arrays;
+import org.joml.Vector3fc;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A {@link SpatialIndex} which recursively subdivides a cubic region of space into octants. Unlike a regular octree the bounds of each node are loosened to
+ * twice the size of the region it covers, this allows an object to be placed by the center of its bounding sphere alone at the depth where the nodes are
+ * at least as large as the sphere itself. Objects therefore never straddle the boundary between nodes, and an object only needs to be relinked when it
+ * moves into a different node at the same depth.
+ * <br><br>
+ * Nodes are created as objects move into them and are kept for the lifetime of the tree, each node records the number of objects contained by its subtree so
+ * that queries can skip empty branches. This makes the octree well suited to sparse levels spread across all three dimensions or containing objects of widely
+ * varying sizes. Objects outside of the region covered by the tree are held in the root node and tested against every query.
+ * 
+ * @param <T> the type of object stored by the octree
+ */
+public final class LooseOctree<T> extends AbstractSpatialIndex<T> {
+    
+    private int numNodes;
+    private final int maxDepth;
+    
+    private float[] nodeX;
+    private float[] nodeY;
+    private float[] nodeZ;
+    private float[] nodeHalf;
+    private int[] nodeDepth;
+    private int[] nodeParent;
+    private int[] nodeFirst;
+    private int[] nodeCount;
+    private int[] nodeChildren;
+    
+    private int[] owner;
+    private int[] depth;
+    
+    private final int[] stack;
+    private final float[] reach;
+    
+    /**
+     * Creates a new loose octree.
+     * 
+     * @param center          the center of the region covered by the tree
+     * @param halfSize        half the length of each side of the region covered by the tree
+     * @param maxDepth        the maximum number of times the region may be subdivided
+     * @param initialCapacity the number of objects the tree can hold before its arrays need to grow
+     */
+    public LooseOctree(Vector3fc center, float halfSize, int maxDepth, int initialCapacity) {
+        super(initialCapacity);
+        
+        this.maxDepth = Math.max(0, Math.min(maxDepth, 16));
+        
+        int capacity = objects.length;
+        
+        owner = new int[capacity];
+        depth = new int[capacity];
+        stack = new int[7 * this.maxDepth + 8];
+        reach = new float[this.maxDepth + 1];
+        
+        growNodes(64);
+        createNode(-1, center.x(), center.y(), center.z(), (halfSize > 0) ? halfSize : 1);
+    }
+    
+    /**
+     * Increases the size of each array used to store nodes.
+     */
+    private void growNodes(int capacity) {
+        if(nodeX == null) {
+            nodeX        = new float[capacity];
+            nodeY        = new float[capacity];
+            nodeZ        = new float[capacity];
+            nodeHalf     = new float[capacity];
+            nodeDepth    = new int[capacity];
+            nodeParent   = new int[capacity];
+            nodeFirst    = new int[capacity];
+            nodeCount    = new int[capacity];
+            nodeChildren = new int[capacity * 8];
+        } else {
+            nodeX        = Arrays.copyOf(nodeX, capacity);
+            nodeY        = Arrays.copyOf(nodeY, capacity);
+            nodeZ        = Arrays.copyOf(nodeZ, capacity);
+            nodeHalf     = Arrays.copyOf(nodeHalf, capacity);
+            nodeDepth    = Arrays.copyOf(nodeDepth, capacity);
+            nodeParent   = Arrays.copyOf(nodeParent, capacity);
+            nodeFirst    = Arrays.copyOf(nodeFirst, capacity);
+            nodeCount    = Arrays.copyOf(nodeCount, capacity);
+            nodeChildren = Arrays.copyOf(nodeChildren, capacity * 8);
+        }
+    }
+    
+    /**
+     * Creates a new empty node.
+     * 
+     * @return the index of the node
+     */
+    private int createNode(int parent, float x, float y, float z, float half) {
+        if(numNodes == nodeX.length) growNodes(numNodes * 2);
+        
+        int node = numNodes++;
+        
+        nodeX[node]      = x;
+        nodeY[node]      = y;
+        nodeZ[node]      = z;
+        nodeHalf[node]   = half;
+        nodeDepth[node]  = (parent == -1) ? 0 : nodeDepth[parent] + 1;
+        nodeParent[node] = parent;
+        nodeFirst[node]  = -1;
+        nodeCount[node]  = 0;
+        
+        Arrays.fill(nodeChildren, node * 8, node * 8 + 8, -1);
+        
+        return node;
+    }
+    
+    /**
+     * Finds the depth at which an object should be placed. This is the deepest level whose nodes are at least as large as the objects bounding sphere.
+     */
+    private int findDepth(float radius) {
+        int d      = 0;
+        float half = nodeHalf[0];
+        
+        while(d < maxDepth && half * 0.5f >= radius) {
+            half *= 0.5f;
+            d++;
+        }
+        
+        return d;
+    }
+    
+    /**
+     * Finds whether a point is inside the region covered by a node, excluding its loosened bounds.
+     */
+    private boolean contains(int node, float x, float y, float z) {
+        float half = nodeHalf[node];
+        
+        return x >= nodeX[node] - half && x < nodeX[node] + half &&
+               y >= nodeY[node] - half && y < nodeY[node] + half &&
+               z >= nodeZ[node] - half && z < nodeZ[node] + half;
+    }
+    
+    /**
+     * Finds the node at the depth specified containing a point, creating any nodes along the way that don't exist yet.
+     */
+    private int findNode(float x, float y, float z, int targetDepth) {
+        if(!contains(0, x, y, z)) return 0;
+        
+        int node = 0;
+        
+        for(int d = 0; d < targetDepth; d++) {
+            int octant = ((x >= nodeX[node]) ? 1 : 0) | ((y >= nodeY[node]) ? 2 : 0) | ((z >= nodeZ[node]) ? 4 : 0);
+            int child  = nodeChildren[node * 8 + octant];
+            
+            if(child == -1) {
+                float half = nodeHalf[node] * 0.5f;
+                
+                child = createNode(node,
+                                   nodeX[node] + (((octant & 1) != 0) ? half : -half),
+                                   nodeY[node] + (((octant & 2) != 0) ? half : -half),
+                                   nodeZ[node] + (((octant & 4) != 0) ? half : -half),
+                                   half);
+                
+                nodeChildren[node * 8 + octant] = child;
+            }
+            
+            node = child;
+        }
+        
+        return node;
+    }
+    
+    /**
+     * Adds an object to a node and increments the object count of the node and each of its ancestors.
+     */
+    private void link(int handle, int node) {
+        int head = nodeFirst[node];
+        
+        owner[handle] = node;
+        prev[handle]  = -1;
+        next[handle]  = head;
+        if(head != -1) prev[head] = handle;
+        
+        nodeFirst[node] = handle;
+        
+        for(int n = node; n != -1; n = nodeParent[n]) nodeCount[n]++;
+    }
+    
+    /**
+     * Removes an object from its node and decrements the object count of the node and each of its ancestors.
+     */
+    private void unlink(int handle) {
+        int node = owner[handle];
+        
+        if(prev[handle] != -1) next[prev[handle]] = next[handle];
+        else                   nodeFirst[node]    = next[handle];
+        
+        if(next[handle] != -1) prev[next[handle]] = prev[handle];
+        
+        for(int n = node; n != -1; n = nodeParent[n]) nodeCount[n]--;
+    }
+    
+    @Override
+    void grow(int capacity) {
+        super.grow(capacity);
+        
+        owner = Arrays.copyOf(owner, capacity);
+        depth = Arrays.copyOf(depth, capacity);
+    }
+    
+    @Override
+    public int insert(T object, Vector3fc position, float radius) {
+        int handle = allocate(object, position, radius);
+        
+        depth[handle] = findDepth(radii[handle]);
+        
+        for(int d = 0; d <= depth[handle]; d++) reach[d] = Math.max(reach[d], radii[handle]);
+        
+        link(handle, findNode(px[handle], py[handle], pz[handle], depth[handle]));
+        
+        return handle;
+    }
+    
+    @Override
+    public void update(int handle, Vector3fc position) {
+        if(!isLive(handle)) return;
+        
+        float x = position.x();
+        float y = position.y();
+        float z = position.z();
+        
+        px[handle] = x;
+        py[handle] = y;
+        pz[handle] = z;
+        
+        int node = owner[handle];
+        
+        if(nodeDepth[node] == depth[handle] && contains(node, x, y, z)) return;
+        
+        int target = findNode(x, y, z, depth[handle]);
+        
+        if(target != node) {
+            unlink(handle);
+            link(handle, target);
+        }
+    }
+    
+    @Override
+    public void remove(int handle) {
+        if(!isLive(handle)) return;
+        
+        unlink(handle);
+        release(handle);
+    }
+    
+    @Override
+    public void clear() {
+        releaseAll();
+        
+        numNodes = 0;
+        Arrays.fill(reach, 0);
+        createNode(-1, nodeX[0], nodeY[0], nodeZ[0], nodeHalf[0]);
+    }
+    
+    /**
+     * Visits every node whose loosened bounds overlap the current query and tests the objects it contains. The root node is always visited as it may hold
+     * objects outside of the region covered by the tree.
+     * <br><br>
+     * Rather than using the full loosened bounds of each node, the region covered by a node is only extended by the radius of the largest object placed at
+     * or below its depth. Trees populated by objects much smaller than their nodes (such as entities treated as points) are therefore searched as tightly as a
+     * regular octree would be.
+     * 
+     * @return the number of objects written to the destination array
+     */
+    @SuppressWarnings("unchecked")
+    private int search(T[] dest) {
+        int top   = 0;
+        int count = 0;
+        
+        stack[top++] = 0;
+        
+        while(top > 0 && count < dest.length) {
+            int node = stack[--top];
+            
+            for(int h = nodeFirst[node]; h != -1 && count < dest.length; h = next[h]) {
+                if(test(h)) dest[count++] = (T) objects[h];
+            }
+            
+            int childDepth = nodeDepth[node] + 1;
+            if(childDepth > maxDepth) continue;
+            
+            float extent = nodeHalf[node] * 0.5f + reach[childDepth];
+            
+            for(int i = 0; i < 8; i++) {
+                int child = nodeChildren[node * 8 + i];
+                
+                if(child != -1 && nodeCount[child] > 0 &&
+                   testBounds(nodeX[child] - extent, nodeY[child] - extent, nodeZ[child] - extent, 
+                              nodeX[child] + extent, nodeY[child] + extent, nodeZ[child] + extent)) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        
+        return count;
+    }
+    
+    @Override
+    public int querySphere(Vector3fc center, float radius, T[] dest) {
+        beginSphere(center, radius);
+        return search(dest);
+    }
+    
+    @Override
+    public int queryBox(Vector3fc min, Vector3fc max, T[] dest) {
+        beginBox(min, max);
+        return search(dest);
+    }
+    
+    @Override
+    public int queryRay(Vector3fc origin, Vector3fc direction, float maxDistance, T[] dest) {
+        beginRay(origin, direction, maxDistance);
+        return search(dest);
+    }
+    
+    public int getNumNodes() { return numNodes; }
+    
+}
\ No newline at end of file
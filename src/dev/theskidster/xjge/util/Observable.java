@@ -1,8 +1,9 @@
 package dev.theskidster.xjge.util;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
@@ -11,22 +12,29 @@ import java.util.Map;
  */
 
 /**
- * Component object which can be used to relay information about state changes occurring in the implementing object to one or more observers located anywhere in 
- * the application. Objects which use observable should define the properties (often fields) observers should look for in their constructors with the properties 
+ * Component object which can be used to relay information about state changes occurring in the implementing object to one or more observers located anywhere in
+ * the application. Objects which use observable should define the properties (often fields) observers should look for in their constructors with the properties
  * collection provided.
+ * <br><br>
+ * Observers are notified through a {@link Signal}. A {@link PropertyChangeEvent} is only created when a property has actually changed and at least one observer
+ * is present, however properties are still boxed. State which changes frequently should be exposed through a {@link Signal} or one of its primitive variants
+ * instead.
  */
 public class Observable {
     
-    private final PropertyChangeSupport observable;
+    private final Object source;
     public Map<String, Object> properties = new HashMap<>();
     
+    private final Signal<PropertyChangeEvent> signal = new Signal<>();
+    private final Map<PropertyChangeListener, Signal.Slot<PropertyChangeEvent>> slots = new IdentityHashMap<>();
+    
     /**
      * Creates a new observable object that will look for state changes in the object provided and supply it to other parts of the application.
      * 
      * @param object the implementing object that will expose its state
      */
     public Observable(Object object) {
-        observable = new PropertyChangeSupport(object);
+        source = object;
     }
     
     /**
@@ -35,7 +43,12 @@ public class Observable {
      * @param observer the object that is interested in the state changes of the one implementing the {@link Observable} component
      */
     public void addObserver(PropertyChangeListener observer) {
-        observable.addPropertyChangeListener(observer);
+        if(observer == null || slots.containsKey(observer)) return;
+        
+        Signal.Slot<PropertyChangeEvent> slot = observer::propertyChange;
+        
+        slots.put(observer, slot);
+        signal.connect(slot);
     }
     
     /**
@@ -44,18 +57,22 @@ public class Observable {
      * @param observer the observer to remove
      */
     public void removeObserver(PropertyChangeListener observer) {
-        observable.removePropertyChangeListener(observer);
+        Signal.Slot<PropertyChangeEvent> slot = slots.remove(observer);
+        if(slot != null) signal.disconnect(slot);
     }
     
     /**
-     * Notifies all observers of state changes in this object.
+     * Notifies all observers of state changes in this object. Observers will not be notified if the value of the property is equal to its previous value.
      * 
-     * @param name     the name of the property (field) we're observing 
+     * @param name     the name of the property (field) we're observing
      * @param property an object representing the value of the property changed
      */
     public void notifyObservers(String name, Object property) {
-        observable.firePropertyChange(name, properties.get(name), property);
-        properties.put(name, property);
+        Object prevProperty = properties.put(name, property);
+        
+        if(signal.getNumSlots() > 0 && (prevProperty == null || property == null || !prevProperty.equals(property))) {
+            signal.emit(new PropertyChangeEvent(source, name, prevProperty, property));
+        }
     }
     
 }
\ No newline at end of file
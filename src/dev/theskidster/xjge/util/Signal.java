@@ -0,0 +1,86 @@
+package dev.theskidster.xjge.util;
+
+import java.util.Arrays;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Typed notification mechanism which supplies values to any number of connected {@linkplain Slot slots}. Signals are a lighter alternative to
+ * {@link Observable} intended for state that changes frequently during gameplay (such as health or score), emitting a value allocates no memory.
+ * <br><br>
+ * Slots are stored in an array that is replaced whenever a slot is connected or disconnected, so values may be emitted from any thread while slots are being
+ * changed. Slots are executed on the thread which emitted the value. Primitive values should be emitted through the {@link IntSignal}, {@link FloatSignal},
+ * or {@link BooleanSignal} variants to avoid boxing them.
+ * 
+ * @param <T> the type of value emitted by this signal
+ */
+public final class Signal<T> {
+    
+    private volatile Slot<? super T>[] slots = newArray(0);
+    
+    /**
+     * Receives the values emitted by a {@link Signal}.
+     * 
+     * @param <T> the type of value received
+     */
+    @FunctionalInterface
+    public interface Slot<T> {
+        void receive(T value);
+    }
+    
+    /**
+     * Connects a slot to this signal. A slot may be connected more than once, in which case it will receive each value once per connection.
+     * 
+     * @param slot the slot that will receive emitted values
+     */
+    public synchronized void connect(Slot<? super T> slot) {
+        Slot<? super T>[] copy = Arrays.copyOf(slots, slots.length + 1);
+        copy[slots.length] = slot;
+        slots = copy;
+    }
+    
+    /**
+     * Disconnects a slot from this signal. Only the most recent connection of the slot is removed.
+     * 
+     * @param slot the slot to disconnect
+     */
+    public synchronized void disconnect(Slot<? super T> slot) {
+        for(int i = slots.length - 1; i >= 0; i--) {
+            if(slots[i] == slot) {
+                Slot<? super T>[] copy = newArray(slots.length - 1);
+                System.arraycopy(slots, 0, copy, 0, i);
+                System.arraycopy(slots, i + 1, copy, i, slots.length - i - 1);
+                slots = copy;
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Supplies a value to every slot connected to this signal in the order they were connected.
+     * 
+     * @param value the value to emit
+     */
+    public void emit(T value) {
+        Slot<? super T>[] current = slots;
+        for(int i = 0; i < current.length; i++) current[i].receive(value);
+    }
+    
+    /**
+     * Creates a new array of slots.
+     * 
+     * @param <T>    the type of value received by the slots
+     * @param length the length of the array
+     * @return the array created
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Slot<? super T>[] newArray(int length) {
+        return (Slot<? super T>[]) new Slot<?>[length];
+    }
+    
+    public int getNumSlots() { return slots.length; }
+    
+}
\ No newline at end of file
@@ -0,0 +1,374 @@
+package dev.theskidster.xjge.util;
+
+import java.util.Arrays;
+import org.joml.Vector3fc;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A {@link SpatialIndex} which divides space into an unbounded grid of uniformly sized cubic cells. Each object is placed in the cell containing the center of
+ * its bounding sphere, cells themselves are never allocated- instead the coordinates of a cell are hashed into a fixed table of buckets which chain together
+ * the objects of every cell that maps to them.
+ * <br><br>
+ * Moving an object only requires relinking it if it has crossed into a different cell, which makes the grid well suited to densely populated levels where
+ * objects are of a similar size and spread fairly evenly across the world (such as those which are mostly flat). The cell size should be close to the
+ * radius of the queries performed most often, objects much larger than a cell will inflate the number of cells each query must visit.
+ * 
+ * @param <T> the type of object stored by the grid
+ */
+public final class SpatialGrid<T> extends AbstractSpatialIndex<T> {
+    
+    private int stamp;
+    private int bucketMask;
+    private int minCellX = Integer.MAX_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int minCellZ = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+    private int maxCellZ = Integer.MIN_VALUE;
+    
+    private float maxRadius;
+    private final float cellSize;
+    private final float invCellSize;
+    
+    private int[] buckets;
+    private int[] cellX;
+    private int[] cellY;
+    private int[] cellZ;
+    private int[] stamps;
+    
+    /**
+     * Creates a new spatial hash grid.
+     * 
+     * @param cellSize        the length of each side of a grid cell in world units
+     * @param initialCapacity the number of objects the grid can hold before its arrays need to grow
+     */
+    public SpatialGrid(float cellSize, int initialCapacity) {
+        super(initialCapacity);
+        
+        this.cellSize = (cellSize > 0) ? cellSize : 1;
+        invCellSize   = 1f / this.cellSize;
+        
+        int capacity = objects.length;
+        
+        cellX  = new int[capacity];
+        cellY  = new int[capacity];
+        cellZ  = new int[capacity];
+        stamps = new int[capacity];
+        
+        rehash(capacity);
+    }
+    
+    /**
+     * Finds the bucket that a cell maps to.
+     */
+    private int hash(int x, int y, int z) {
+        int h = (x * 73856093) ^ (y * 19349663) ^ (z * 83492791);
+        return (h ^ (h >>> 16)) & bucketMask;
+    }
+    
+    /**
+     * Finds the coordinate of the cell containing a position along a single axis.
+     */
+    private int cell(float value) {
+        return (int) Math.floor(value * invCellSize);
+    }
+    
+    /**
+     * Expands the range of cells known to be occupied to include the cell of an object. The range never shrinks as objects leave it, it's only reset once 
+     * the grid is {@linkplain clear() cleared}.
+     */
+    private void occupy(int handle) {
+        minCellX = Math.min(minCellX, cellX[handle]);
+        minCellY = Math.min(minCellY, cellY[handle]);
+        minCellZ = Math.min(minCellZ, cellZ[handle]);
+        maxCellX = Math.max(maxCellX, cellX[handle]);
+        maxCellY = Math.max(maxCellY, cellY[handle]);
+        maxCellZ = Math.max(maxCellZ, cellZ[handle]);
+    }
+    
+    /**
+     * Adds an object to the front of the bucket its cell maps to.
+     */
+    private void link(int handle) {
+        int bucket = hash(cellX[handle], cellY[handle], cellZ[handle]);
+        int head   = buckets[bucket];
+        
+        prev[handle] = -1;
+        next[handle] = head;
+        if(head != -1) prev[head] = handle;
+        
+        buckets[bucket] = handle;
+    }
+    
+    /**
+     * Removes an object from the bucket its cell maps to.
+     */
+    private void unlink(int handle) {
+        if(prev[handle] != -1) next[prev[handle]] = next[handle];
+        else                   buckets[hash(cellX[handle], cellY[handle], cellZ[handle])] = next[handle];
+        
+        if(next[handle] != -1) prev[next[handle]] = prev[handle];
+    }
+    
+    /**
+     * Resizes the bucket table so it contains at least as many buckets as the grid can hold objects and relinks every object.
+     */
+    private void rehash(int capacity) {
+        int numBuckets = Integer.highestOneBit(Math.max(capacity, 64) - 1) << 1;
+        
+        buckets    = new int[numBuckets];
+        bucketMask = numBuckets - 1;
+        
+        Arrays.fill(buckets, -1);
+        
+        for(int h = 0; h < highWater; h++) {
+            if(objects[h] != null) link(h);
+        }
+    }
+    
+    @Override
+    void grow(int capacity) {
+        super.grow(capacity);
+        
+        cellX  = Arrays.copyOf(cellX, capacity);
+        cellY  = Arrays.copyOf(cellY, capacity);
+        cellZ  = Arrays.copyOf(cellZ, capacity);
+        stamps = Arrays.copyOf(stamps, capacity);
+        
+        rehash(capacity);
+    }
+    
+    @Override
+    public int insert(T object, Vector3fc position, float radius) {
+        int handle = allocate(object, position, radius);
+        
+        cellX[handle]  = cell(px[handle]);
+        cellY[handle]  = cell(py[handle]);
+        cellZ[handle]  = cell(pz[handle]);
+        stamps[handle] = stamp;
+        maxRadius      = Math.max(maxRadius, radii[handle]);
+        
+        occupy(handle);
+        link(handle);
+        
+        return handle;
+    }
+    
+    @Override
+    public void update(int handle, Vector3fc position) {
+        if(!isLive(handle)) return;
+        
+        px[handle] = position.x();
+        py[handle] = position.y();
+        pz[handle] = position.z();
+        
+        int x = cell(px[handle]);
+        int y = cell(py[handle]);
+        int z = cell(pz[handle]);
+        
+        if(x != cellX[handle] || y != cellY[handle] || z != cellZ[handle]) {
+            unlink(handle);
+            
+            cellX[handle] = x;
+            cellY[handle] = y;
+            cellZ[handle] = z;
+            
+            occupy(handle);
+            link(handle);
+        }
+    }
+    
+    @Override
+    public void remove(int handle) {
+        if(!isLive(handle)) return;
+        
+        unlink(handle);
+        release(handle);
+    }
+    
+    @Override
+    public void clear() {
+        releaseAll();
+        Arrays.fill(buckets, -1);
+        
+        maxRadius = 0;
+        minCellX  = minCellY = minCellZ = Integer.MAX_VALUE;
+        maxCellX  = maxCellY = maxCellZ = Integer.MIN_VALUE;
+    }
+    
+    /**
+     * Advances the stamp used to prevent an object from being reported more than once by a single query.
+     */
+    private void nextStamp() {
+        if(++stamp == Integer.MAX_VALUE) {
+            stamp = 1;
+            Arrays.fill(stamps, 0);
+        }
+    }
+    
+    /**
+     * Tests every object in a cell against the current query.
+     * 
+     * @return the number of objects in the destination array after the cell has been searched
+     */
+    @SuppressWarnings("unchecked")
+    private int searchCell(int x, int y, int z, T[] dest, int count) {
+        for(int h = buckets[hash(x, y, z)]; h != -1 && count < dest.length; h = next[h]) {
+            if(cellX[h] == x && cellY[h] == y && cellZ[h] == z && stamps[h] != stamp && test(h)) {
+                stamps[h]     = stamp;
+                dest[count++] = (T) objects[h];
+            }
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Tests every object in the cells overlapping the bounds of the current query, expanded to account for objects whose bounding spheres extend beyond the
+     * cell that contains them. If the range covers more cells than the grid has buckets every object is tested directly instead.
+     * 
+     * @return the number of objects written to the destination array
+     */
+    @SuppressWarnings("unchecked")
+    private int searchBounds(T[] dest) {
+        nextStamp();
+        
+        int minX = cell(qMinX - maxRadius);
+        int minY = cell(qMinY - maxRadius);
+        int minZ = cell(qMinZ - maxRadius);
+        int maxX = cell(qMaxX + maxRadius);
+        int maxY = cell(qMaxY + maxRadius);
+        int maxZ = cell(qMaxZ + maxRadius);
+        int count = 0;
+        
+        long numCells = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        
+        if(numCells > buckets.length) {
+            for(int h = 0; h < highWater && count < dest.length; h++) {
+                if(objects[h] != null && test(h)) dest[count++] = (T) objects[h];
+            }
+        } else {
+            for(int x = minX; x <= maxX; x++) {
+                for(int y = minY; y <= maxY; y++) {
+                    for(int z = minZ; z <= maxZ; z++) count = searchCell(x, y, z, dest, count);
+                }
+            }
+        }
+        
+        return count;
+    }
+    
+    @Override
+    public int querySphere(Vector3fc center, float radius, T[] dest) {
+        beginSphere(center, radius);
+        return searchBounds(dest);
+    }
+    
+    @Override
+    public int queryBox(Vector3fc min, Vector3fc max, T[] dest) {
+        beginBox(min, max);
+        return searchBounds(dest);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * The grid steps through each cell the ray passes through in order, searching the cells surrounding it within the radius of the largest object stored. 
+     * The ray is first clipped to the range of cells that have been occupied, so rays of any length only visit the cells objects may be found in.
+     */
+    @Override
+    public int queryRay(Vector3fc origin, Vector3fc direction, float maxDistance, T[] dest) {
+        beginRay(origin, direction, maxDistance);
+        nextStamp();
+        
+        if(minCellX > maxCellX) return 0;
+        
+        int reach = (int) Math.ceil(maxRadius * invCellSize);
+        
+        float near = 0;
+        float far  = qr;
+        
+        float minX = (float) (minCellX - reach) * cellSize;
+        float minY = (float) (minCellY - reach) * cellSize;
+        float minZ = (float) (minCellZ - reach) * cellSize;
+        float maxX = (float) (maxCellX + reach + 1) * cellSize;
+        float maxY = (float) (maxCellY + reach + 1) * cellSize;
+        float maxZ = (float) (maxCellZ + reach + 1) * cellSize;
+        
+        if(qDirX != 0) {
+            float t0 = (minX - qx) / qDirX;
+            float t1 = (maxX - qx) / qDirX;
+            near = Math.max(near, Math.min(t0, t1));
+            far  = Math.min(far, Math.max(t0, t1));
+        } else if(qx < minX || qx > maxX) {
+            return 0;
+        }
+        
+        if(qDirY != 0) {
+            float t0 = (minY - qy) / qDirY;
+            float t1 = (maxY - qy) / qDirY;
+            near = Math.max(near, Math.min(t0, t1));
+            far  = Math.min(far, Math.max(t0, t1));
+        } else if(qy < minY || qy > maxY) {
+            return 0;
+        }
+        
+        if(qDirZ != 0) {
+            float t0 = (minZ - qz) / qDirZ;
+            float t1 = (maxZ - qz) / qDirZ;
+            near = Math.max(near, Math.min(t0, t1));
+            far  = Math.min(far, Math.max(t0, t1));
+        } else if(qz < minZ || qz > maxZ) {
+            return 0;
+        }
+        
+        if(!(near <= far)) return 0;
+        
+        int x     = cell(qx + qDirX * near);
+        int y     = cell(qy + qDirY * near);
+        int z     = cell(qz + qDirZ * near);
+        int count = 0;
+        
+        int stepX = (qDirX > 0) ? 1 : (qDirX < 0) ? -1 : 0;
+        int stepY = (qDirY > 0) ? 1 : (qDirY < 0) ? -1 : 0;
+        int stepZ = (qDirZ > 0) ? 1 : (qDirZ < 0) ? -1 : 0;
+        
+        float nextX  = (stepX != 0) ? ((x + (stepX > 0 ? 1 : 0)) * cellSize - qx) / qDirX : Float.POSITIVE_INFINITY;
+        float nextY  = (stepY != 0) ? ((y + (stepY > 0 ? 1 : 0)) * cellSize - qy) / qDirY : Float.POSITIVE_INFINITY;
+        float nextZ  = (stepZ != 0) ? ((z + (stepZ > 0 ? 1 : 0)) * cellSize - qz) / qDirZ : Float.POSITIVE_INFINITY;
+        float deltaX = (stepX != 0) ? cellSize / Math.abs(qDirX) : Float.POSITIVE_INFINITY;
+        float deltaY = (stepY != 0) ? cellSize / Math.abs(qDirY) : Float.POSITIVE_INFINITY;
+        float deltaZ = (stepZ != 0) ? cellSize / Math.abs(qDirZ) : Float.POSITIVE_INFINITY;
+        
+        while(count < dest.length) {
+            for(int i = x - reach; i <= x + reach; i++) {
+                for(int j = y - reach; j <= y + reach; j++) {
+                    for(int k = z - reach; k <= z + reach; k++) count = searchCell(i, j, k, dest, count);
+                }
+            }
+            
+            if(nextX < nextY && nextX < nextZ) {
+                if(nextX > far) break;
+                x     += stepX;
+                nextX += deltaX;
+            } else if(nextY < nextZ) {
+                if(nextY > far) break;
+                y     += stepY;
+                nextY += deltaY;
+            } else {
+                if(nextZ > far || stepZ == 0) break;
+                z     += stepZ;
+                nextZ += deltaZ;
+            }
+        }
+        
+        return count;
+    }
+    
+    public float getCellSize() { return cellSize; }
+    
+}
\ No newline at end of file
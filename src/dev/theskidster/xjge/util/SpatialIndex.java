@@ -0,0 +1,91 @@
+package dev.theskidster.xjge.util;
+
+import org.joml.Vector3fc;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Organizes objects by their location in 3D space so those near a point, inside a region, or along a ray can be found without testing every object individually.
+ * Each object is approximated by a bounding sphere and identified by the handle returned when it was inserted.
+ * <br><br>
+ * Queries write their results to an array provided by the caller and never allocate memory. If more objects match a query than the array can hold the
+ * remainder are ignored. Implementations are not thread-safe, an index should only be used by the thread which updates the level that owns it.
+ * 
+ * @param <T> the type of object stored by the index
+ * @see SpatialGrid
+ * @see LooseOctree
+ */
+public interface SpatialIndex<T> {
+    
+    /**
+     * Adds an object to the index.
+     * 
+     * @param object   the object to add
+     * @param position the center of the objects bounding sphere
+     * @param radius   the radius of the objects bounding sphere
+     * @return a handle used to identify the object in subsequent calls to the index
+     */
+    int insert(T object, Vector3fc position, float radius);
+    
+    /**
+     * Moves an object to a new position. Objects which remain within the same region of the index are updated in place.
+     * 
+     * @param handle   the handle of the object returned by {@link insert(Object, Vector3fc, float)}
+     * @param position the new center of the objects bounding sphere
+     */
+    void update(int handle, Vector3fc position);
+    
+    /**
+     * Removes an object from the index. The handle of the object may be reused by objects inserted afterwards.
+     * 
+     * @param handle the handle of the object returned by {@link insert(Object, Vector3fc, float)}
+     */
+    void remove(int handle);
+    
+    /**
+     * Removes every object from the index.
+     */
+    void clear();
+    
+    /**
+     * Finds every object whose bounding sphere intersects a sphere.
+     * 
+     * @param center the center of the query sphere
+     * @param radius the radius of the query sphere
+     * @param dest   the array that will contain the objects found
+     * @return the number of objects written to the destination array
+     */
+    int querySphere(Vector3fc center, float radius, T[] dest);
+    
+    /**
+     * Finds every object whose bounding sphere intersects an axis-aligned box.
+     * 
+     * @param min  the corner of the box with the smallest coordinates
+     * @param max  the corner of the box with the largest coordinates
+     * @param dest the array that will contain the objects found
+     * @return the number of objects written to the destination array
+     */
+    int queryBox(Vector3fc min, Vector3fc max, T[] dest);
+    
+    /**
+     * Finds every object whose bounding sphere intersects a ray. Objects are not sorted by their distance from the origin of the ray.
+     * 
+     * @param origin      the point the ray is cast from
+     * @param direction   the direction of the ray. Must be normalized.
+     * @param maxDistance the length of the ray
+     * @param dest        the array that will contain the objects found
+     * @return the number of objects written to the destination array
+     */
+    int queryRay(Vector3fc origin, Vector3fc direction, float maxDistance, T[] dest);
+    
+    /**
+     * Finds the number of objects currently stored by the index.
+     * 
+     * @return the number of objects in the index
+     */
+    int size();
+    
+}
\ No newline at end of file
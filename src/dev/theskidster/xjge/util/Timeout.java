@@ -0,0 +1,59 @@
+package dev.theskidster.xjge.util;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * A callback scheduled by the {@link TimerService} to be executed once a number of game ticks have passed. Timeouts may be reused after they've expired or
+ * been {@linkplain cancel() cancelled} so objects which schedule the same callback repeatedly don't need to allocate a new timeout each time.
+ */
+public final class Timeout {
+    
+    long deadline;
+    int period;
+    int level = -1;
+    int slot;
+    
+    Timeout prev;
+    Timeout next;
+    
+    private final Runnable callback;
+    
+    /**
+     * Creates a new timeout. The timeout will not be executed until it's supplied to {@link TimerService#schedule(Timeout, int, int)}.
+     * 
+     * @param callback the action to perform once the timeout expires
+     */
+    public Timeout(Runnable callback) {
+        this.callback = callback;
+    }
+    
+    /**
+     * Executes the callback of this timeout.
+     */
+    void run() {
+        callback.run();
+    }
+    
+    /**
+     * Removes this timeout from the {@link TimerService} so that it will not be executed. Has no effect if the timeout isn't currently scheduled.
+     */
+    public void cancel() {
+        TimerService.cancel(this);
+    }
+    
+    /**
+     * Finds the number of ticks remaining until this timeout expires.
+     * 
+     * @return the number of ticks remaining or zero if the timeout is not scheduled
+     */
+    public int getRemaining() {
+        return TimerService.findRemaining(this);
+    }
+    
+    public boolean getScheduled() { return level != -1; }
+    public int getPeriod()        { return period; }
+    
+}
\ No newline at end of file
@@ -2,7 +2,6 @@ package dev.theskidster.xjge.util;
 
 import java.beans.PropertyChangeListener;
 import java.util.List;
-import dev.theskidster.xjge.main.Game;
 
 /**
  * @author J Hoffman
@@ -11,6 +10,9 @@ import dev.theskidster.xjge.main.Game;
 
 /**
  * A simple monotonic timing mechanism. Useful for game events and other systems that require specialized timing intervals.
+ * <br><br>
+ * Timers are driven by the {@link TimerService} and step forward on their own once started, counting ticks from the moment they were started rather than from
+ * the global tick count. Observers are notified on the thread which advances the timer service.
  */
 public class Timer {
     
@@ -18,17 +20,19 @@ public class Timer {
     public int speed;
     private final int initialTime;
     
+    private int remaining;
+    
     private boolean finished;
     private boolean start;
     
     private final Observable observable = new Observable(this);
+    private final Timeout timeout       = new Timeout(this::step);
     
     /**
      * Creates a new timer object that will step forward every time the specified number of update cycles have passed.
      * 
      * @param time  the total number of steps the timer must complete before it is finished
-     * @param speed the number of update ticks to wait before stepping forward. A single tick typically takes a millisecond.
-     * @see Game#tick(int)
+     * @param speed the number of update ticks to wait before stepping forward
      */
     public Timer(int time, int speed) {
         this.time   = time;
@@ -41,10 +45,9 @@ public class Timer {
      * the timer has finished.
      * 
      * @param time     the total number of steps the timer must complete before it is finished
-     * @param speed    the number of update ticks to wait before stepping forward. A single tick typically takes a millisecond.
+     * @param speed    the number of update ticks to wait before stepping forward
      * @param observer the object waiting for this timer to finish
      * @see Observable
-     * @see Game#tick(int)
      */
     public Timer(int time, int speed, PropertyChangeListener observer) {
         this.time   = time;
@@ -60,10 +63,9 @@ public class Timer {
      * observers once the timer has finished.
      * 
      * @param time      the total number of steps the timer must complete before it is finished
-     * @param speed     the number of update ticks to wait before stepping forward. A single tick typically takes a millisecond.
+     * @param speed     the number of update ticks to wait before stepping forward
      * @param observers the objects waiting for this timer to finish
      * @see Observable
-     * @see Game#tick(int)
      */
     public Timer(int time, int speed, List<PropertyChangeListener> observers) {
         this.time   = time;
@@ -75,14 +77,25 @@ public class Timer {
     }
     
     /**
-     * Starts the timer.
+     * Starts the timer. A timer which was previously stopped will resume from the point within the current step at which it was stopped.
      */
-    public void start() { start = true; };
+    public void start() {
+        if(!start) {
+            start = true;
+            TimerService.schedule(timeout, (remaining > 0) ? remaining : speed, speed);
+        }
+    }
     
     /**
      * Stops the timer. Doing so will pause it at its current time.
      */
-    public void stop()  { start = false; };
+    public void stop() {
+        if(start) {
+            start     = false;
+            remaining = timeout.getRemaining();
+            timeout.cancel();
+        }
+    }
     
     /**
      * Resets the time of the timer to its initial duration.
@@ -90,17 +103,26 @@ public class Timer {
     public void reset() { time = initialTime; }
     
     /**
-     * Updates the timer, it is expected that objects using a timer component will supply an {@link dev.theskidster.xjge.level.Level#update() update()} method 
-     * through which this can be called.
+     * Formerly used to step the timer forward each tick. Timers are now advanced by the {@link TimerService} and no longer need to be updated by their owner.
+     * 
+     * @deprecated calls to this method can be removed safely
+     */
+    @Deprecated
+    public void update() {}
+    
+    /**
+     * Called by the {@link TimerService} each time the number of ticks specified by the timers speed have passed.
      */
-    public void update() {
-        if(start) {
-            if(time != 0) {
-                if(Game.tick(speed)) time--;
-            } else {
-                finished = true;
-                observable.notifyObservers("finished", finished);
-            }
+    private void step() {
+        if(time > 0) time--;
+        
+        if(time == 0) {
+            timeout.cancel();
+            remaining = 0;
+            start     = false;
+            finished  = true;
+            
+            observable.notifyObservers("finished", finished);
         }
     }
     
@@ -109,11 +131,16 @@ public class Timer {
      * a timer will notify its observers once it has finished even if it had finished previously.
      */
     public void restart() {
-        finished = false;
-        start    = true;
+        finished  = false;
+        start     = true;
+        remaining = 0;
         
         observable.notifyObservers("finished", finished);
         reset();
+        
+        TimerService.schedule(timeout, speed, speed);
     }
     
+    public boolean getFinished() { return finished; }
+    
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package dev.theskidster.xjge.util;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Central scheduler which executes {@link Timeout} callbacks after a number of game ticks have passed. Used by {@link Timer} objects and anything else that
+ * needs to act at a specific point in the future without being polled every tick.
+ * <br><br>
+ * Timeouts are stored in a hierarchical timing wheel made up of four levels, each containing 64 slots. The first level holds timeouts due within the next 64
+ * ticks in the slot of the tick they're due, while each level above it covers a range 64 times larger than the one below. Whenever the slots of a lower level
+ * have been exhausted the next slot of the level above is cascaded down into it. Scheduling and cancelling timeouts are therefore constant time operations
+ * and each tick only visits the timeouts which are due, regardless of how many are waiting.
+ * <br><br>
+ * The wheel is advanced once per tick by the game loop on the thread which updates the current level. Timeouts may be scheduled or cancelled from any thread,
+ * however their callbacks will always be executed on the thread advancing the wheel and should be kept short.
+ */
+public final class TimerService {
+    
+    private static long now;
+    private static int numScheduled;
+    
+    private static final int LEVEL_BITS = 6;
+    private static final int NUM_SLOTS  = 1 << LEVEL_BITS;
+    private static final int SLOT_MASK  = NUM_SLOTS - 1;
+    private static final int NUM_LEVELS = 4;
+    private static final long MAX_SPAN  = 1L << (LEVEL_BITS * NUM_LEVELS);
+    
+    private static final Timeout[][] wheel = new Timeout[NUM_LEVELS][NUM_SLOTS];
+    
+    private static final Object lock = new Object();
+    
+    /**
+     * Schedules a timeout to be executed once a number of ticks have passed. If the timeout is already scheduled it will be rescheduled.
+     * 
+     * @param timeout the timeout to schedule
+     * @param delay   the number of ticks to wait before executing the timeout. Values less than one will execute it on the next tick.
+     * @param period  the number of ticks to wait between executions once the timeout first expires. Supplying zero will execute the timeout only once.
+     */
+    public static void schedule(Timeout timeout, int delay, int period) {
+        synchronized(lock) {
+            if(timeout.level != -1) unlink(timeout);
+            
+            timeout.deadline = now + Math.max(delay, 1);
+            timeout.period   = Math.max(period, 0);
+            
+            link(timeout);
+        }
+    }
+    
+    /**
+     * Removes a timeout from the wheel so that it will not be executed.
+     * 
+     * @param timeout the timeout to cancel
+     */
+    public static void cancel(Timeout timeout) {
+        synchronized(lock) {
+            if(timeout.level != -1) unlink(timeout);
+        }
+    }
+    
+    /**
+     * Finds the number of ticks remaining until a timeout expires.
+     * 
+     * @param timeout the timeout to query
+     * @return the number of ticks remaining or zero if the timeout is not scheduled
+     */
+    static int findRemaining(Timeout timeout) {
+        synchronized(lock) {
+            return (timeout.level != -1) ? (int) (timeout.deadline - now) : 0;
+        }
+    }
+    
+    /**
+     * Advances the wheel by a single tick and executes every timeout which has become due. Repeating timeouts are rescheduled before their callback is executed
+     * so they may cancel themselves.
+     * <br><br>
+     * <b>*For internal use only*</b>
+     */
+    public static void advance() {
+        synchronized(lock) {
+            now++;
+            
+            for(int level = 1; level < NUM_LEVELS; level++) {
+                if(((now >> (LEVEL_BITS * (level - 1))) & SLOT_MASK) != 0) break;
+                cascade(level, (int) ((now >> (LEVEL_BITS * level)) & SLOT_MASK));
+            }
+            
+            int slot = (int) (now & SLOT_MASK);
+            
+            while(wheel[0][slot] != null) {
+                Timeout timeout = wheel[0][slot];
+                unlink(timeout);
+                
+                if(timeout.deadline > now) {
+                    link(timeout);
+                    continue;
+                }
+                
+                if(timeout.period > 0) {
+                    timeout.deadline = now + timeout.period;
+                    link(timeout);
+                }
+                
+                timeout.run();
+            }
+        }
+    }
+    
+    /**
+     * Moves every timeout in a slot of an upper level of the wheel into the levels below it.
+     * 
+     * @param level the level containing the slot
+     * @param slot  the index of the slot to cascade
+     */
+    private static void cascade(int level, int slot) {
+        Timeout timeout = wheel[level][slot];
+        wheel[level][slot] = null;
+        
+        while(timeout != null) {
+            Timeout next = timeout.next;
+            
+            numScheduled--;
+            timeout.level = -1;
+            link(timeout);
+            
+            timeout = next;
+        }
+    }
+    
+    /**
+     * Inserts a timeout into the slot corresponding to its deadline.
+     * 
+     * @param timeout the timeout to insert
+     */
+    private static void link(Timeout timeout) {
+        long deadline = timeout.deadline;
+        long span     = Math.min(deadline - now, MAX_SPAN - 1);
+        if(span < 0) span = 0;
+        
+        int level = 0;
+        while(level < NUM_LEVELS - 1 && span >= (1L << (LEVEL_BITS * (level + 1)))) level++;
+        
+        if(deadline - now >= MAX_SPAN) deadline = now + MAX_SPAN - 1;
+        
+        int slot = (int) ((deadline >> (LEVEL_BITS * level)) & SLOT_MASK);
+        
+        timeout.level = level;
+        timeout.slot  = slot;
+        timeout.prev  = null;
+        timeout.next  = wheel[level][slot];
+        
+        if(timeout.next != null) timeout.next.prev = timeout;
+        wheel[level][slot] = timeout;
+        
+        numScheduled++;
+    }
+    
+    /**
+     * Removes a timeout from the slot it currently occupies.
+     * 
+     * @param timeout the timeout to remove
+     */
+    private static void unlink(Timeout timeout) {
+        if(timeout.prev != null) timeout.prev.next = timeout.next;
+        else                     wheel[timeout.level][timeout.slot] = timeout.next;
+        
+        if(timeout.next != null) timeout.next.prev = timeout.prev;
+        
+        timeout.prev  = null;
+        timeout.next  = null;
+        timeout.level = -1;
+        
+        numScheduled--;
+    }
+    
+    public static long getNow()          { return now; }
+    public static int getNumScheduled() { return numScheduled; }
+    
+}
\ No newline at end of file
@@ -0,0 +1,253 @@
+package dev.theskidster.xjge.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * @author J Hoffman
+ * Created: Oct 17, 2026
+ */
+
+/**
+ * Describes the position, rotation, and scale of an object relative to an optional parent transform. Transforms may be attached to one another to form a
+ * hierarchy in which children follow the movement of their parents, such as a hat resting on the head of a character.
+ * <br><br>
+ * Matrices are only recalculated when they're requested after a change has been made. Changing a transform marks it and each of its descendants as dirty,
+ * after which the world matrix of each is recalculated the next time it's read. The normal matrix is likewise only recalculated once the world matrix has
+ * changed. Setting a value equal to the one a transform already has will not mark it dirty, so objects which don't move never recalculate their matrices.
+ * <br><br>
+ * Transforms are not thread safe. Every transform of a hierarchy should be modified and read by the same thread.
+ */
+public final class Transform {
+    
+    private boolean localDirty;
+    private boolean worldDirty;
+    private boolean normalDirty;
+    private int version;
+    
+    private final Vector3f position    = new Vector3f();
+    private final Vector3f scale       = new Vector3f(1);
+    private final Quaternionf rotation = new Quaternionf();
+    private final Matrix4f localMatrix = new Matrix4f();
+    private final Matrix4f worldMatrix = new Matrix4f();
+    private final Matrix3f normal      = new Matrix3f();
+    
+    private Transform parent;
+    private final List<Transform> children = new ArrayList<>();
+    
+    private Object lodOwner;
+    private int[] lodLevels = new int[0];
+    
+    /**
+     * Marks the world matrix of this transform and each of its descendants as out of date. Descendants of a transform which is already dirty are skipped, as
+     * they were marked alongside it.
+     */
+    private void markDirty() {
+        if(worldDirty) return;
+        
+        worldDirty = true;
+        for(Transform child : children) child.markDirty();
+    }
+    
+    /**
+     * Attaches this transform to another. The position, rotation, and scale of this transform are then relative to those of its parent.
+     * 
+     * @param parent the transform to attach to, or null to detach this transform from its current parent
+     */
+    public void setParent(Transform parent) {
+        if(this.parent == parent) return;
+        
+        for(Transform ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+            if(ancestor == this) throw new IllegalArgumentException("A transform can't be attached to one of its own descendants.");
+        }
+        
+        if(this.parent != null) this.parent.children.remove(this);
+        if(parent != null)      parent.children.add(this);
+        
+        this.parent = parent;
+        markDirty();
+    }
+    
+    /**
+     * Sets the position of this transform relative to its parent.
+     * 
+     * @param position the position to set this transform to
+     */
+    public void setPosition(Vector3f position) {
+        setPosition(position.x, position.y, position.z);
+    }
+    
+    /**
+     * Variant of {@link setPosition(Vector3f)} which accepts individual components.
+     * 
+     * @param x the x coordinate of the new position
+     * @param y the y coordinate of the new position
+     * @param z the z coordinate of the new position
+     */
+    public void setPosition(float x, float y, float z) {
+        if(position.x == x && position.y == y && position.z == z) return;
+        
+        position.set(x, y, z);
+        localDirty = true;
+        markDirty();
+    }
+    
+    /**
+     * Sets the rotation of this transform relative to its parent.
+     * 
+     * @param rotation the rotation to set this transform to
+     */
+    public void setRotation(Quaternionf rotation) {
+        if(this.rotation.equals(rotation)) return;
+        
+        this.rotation.set(rotation);
+        localDirty = true;
+        markDirty();
+    }
+    
+    /**
+     * Sets the rotation of this transform relative to its parent to the angles specified, which are applied in the order of y, x, then z.
+     * 
+     * @param x the angle about the x-axis in degrees
+     * @param y the angle about the y-axis in degrees
+     * @param z the angle about the z-axis in degrees
+     */
+    public void setRotation(float x, float y, float z) {
+        float rx = (float) Math.toRadians(x);
+        float ry = (float) Math.toRadians(y);
+        float rz = (float) Math.toRadians(z);
+        
+        float qx = rotation.x;
+        float qy = rotation.y;
+        float qz = rotation.z;
+        float qw = rotation.w;
+        
+        rotation.rotationYXZ(ry, rx, rz);
+        
+        if(rotation.x == qx && rotation.y == qy && rotation.z == qz && rotation.w == qw) return;
+        
+        localDirty = true;
+        markDirty();
+    }
+    
+    /**
+     * Sets the scale of this transform relative to its parent.
+     * 
+     * @param scale the factor by which this transform will be scaled along each axis
+     */
+    public void setScale(Vector3f scale) {
+        if(this.scale.equals(scale)) return;
+        
+        this.scale.set(scale);
+        localDirty = true;
+        markDirty();
+    }
+    
+    /**
+     * Variant of {@link setScale(Vector3f)} which scales each axis uniformly.
+     * 
+     * @param factor the factor by which this transform will be scaled
+     */
+    public void setScale(float factor) {
+        if(scale.x == factor && scale.y == factor && scale.z == factor) return;
+        
+        scale.set(factor);
+        localDirty = true;
+        markDirty();
+    }
+    
+    public Transform getParent()         { return parent; }
+    public Vector3f getPosition()        { return position; }
+    public Quaternionf getRotation()     { return rotation; }
+    public Vector3f getScale()           { return scale; }
+    public List<Transform> getChildren() { return children; }
+    
+    /**
+     * Obtains the matrix which transforms points from the space of this transform into the space of its parent. The matrix is recalculated first if this
+     * transform has changed since it was last requested.
+     * 
+     * @return the local matrix of this transform. Should not be modified.
+     */
+    public Matrix4f getLocalMatrix() {
+        if(localDirty) {
+            localMatrix.translationRotateScale(position, rotation, scale);
+            localDirty = false;
+        }
+        
+        return localMatrix;
+    }
+    
+    /**
+     * Obtains the matrix which transforms points from the space of this transform into world space. The matrix is recalculated first if this transform or
+     * any of its ancestors have changed since it was last requested.
+     * 
+     * @return the world matrix of this transform. Should not be modified.
+     */
+    public Matrix4f getWorldMatrix() {
+        if(worldDirty) {
+            if(parent != null) parent.getWorldMatrix().mul(getLocalMatrix(), worldMatrix);
+            else               worldMatrix.set(getLocalMatrix());
+            
+            worldDirty  = false;
+            normalDirty = true;
+            version++;
+        }
+        
+        return worldMatrix;
+    }
+    
+    /**
+     * Obtains the matrix used to transform the normals of a surface using this transform into world space, which is the transpose of the inverse of the
+     * upper-left 3x3 portion of its world matrix. The matrix is only recalculated after the world matrix has changed.
+     * 
+     * @return the normal matrix of this transform. Should not be modified.
+     */
+    public Matrix3f getNormalMatrix() {
+        Matrix4f world = getWorldMatrix();
+        
+        if(normalDirty) {
+            world.normal(normal);
+            normalDirty = false;
+        }
+        
+        return normal;
+    }
+    
+    /**
+     * Obtains a number which changes each time the world matrix of this transform is recalculated. Objects which derive state from a transform can compare
+     * this against the version they last observed to determine whether their state is out of date.
+     * 
+     * @return the current version of the world matrix of this transform
+     */
+    public int getVersion() {
+        getWorldMatrix();
+        return version;
+    }
+    
+    /**
+     * <b>*For internal use only*</b>
+     * <br><br>
+     * Obtains the levels of detail a model attached to this transform was last drawn with, so models shared between several entities may apply hysteresis 
+     * to each of them separately. Attaching this transform to a different model resets the levels.
+     * 
+     * @param owner  the model being drawn with this transform
+     * @param length the number of levels the model requires
+     * @return the levels of detail last drawn by the model
+     */
+    public int[] getLodLevels(Object owner, int length) {
+        if(lodOwner != owner || lodLevels.length != length) {
+            if(lodLevels.length != length) lodLevels = new int[length];
+            else                           Arrays.fill(lodLevels, 0);
+            
+            lodOwner = owner;
+        }
+        
+        return lodLevels;
+    }
+    
+}
\ No newline at end of file
@@ -3,13 +3,27 @@
  * 
  * <p>These include things like:</p>
  * <ul>
+ * <li>{@link BooleanSignal}</li>
  * <li>{@link Camera}</li>
  * <li>{@link Color}</li>
  * <li>{@link ErrorUtil}</li>
+ * <li>{@link EventBus}</li>
+ * <li>{@link EventChannel}</li>
+ * <li>{@link EventQueue}</li>
+ * <li>{@link FloatSignal}</li>
+ * <li>{@link IntSignal}</li>
+ * <li>{@link Job}</li>
+ * <li>{@link JobSystem}</li>
  * <li>{@link Logger}</li>
+ * <li>{@link LooseOctree}</li>
  * <li>{@link Observable}</li>
  * <li>{@link ServiceLocator}</li>
+ * <li>{@link Signal}</li>
+ * <li>{@link SpatialGrid}</li>
+ * <li>{@link SpatialIndex}</li>
+ * <li>{@link Timeout}</li>
  * <li>{@link Timer}</li>
+ * <li>{@link TimerService}</li>
  * </ul>
  */
 package dev.theskidster.xjge.util;
\ No newline at end of file